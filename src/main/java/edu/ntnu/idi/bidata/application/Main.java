@@ -1,17 +1,39 @@
 package edu.ntnu.idi.bidata.application;
 
 import edu.ntnu.idi.bidata.menu.StringMenu;
+import edu.ntnu.idi.bidata.persistence.Checkpointer;
+import edu.ntnu.idi.bidata.persistence.Journal;
+import edu.ntnu.idi.bidata.persistence.JournalPosition;
+import edu.ntnu.idi.bidata.persistence.JournalRecorder;
+import edu.ntnu.idi.bidata.persistence.JournalReplayer;
+import edu.ntnu.idi.bidata.persistence.Snapshot;
+import edu.ntnu.idi.bidata.persistence.SyncPolicy;
 import edu.ntnu.idi.bidata.recipe.CookBook;
 import edu.ntnu.idi.bidata.register.FoodStorage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 
 /**
  * This is the starting point of the application.
  * The whole application is initialized and started from this class.
+ * On start, the last snapshot is loaded and the journal written after it is replayed.
+ * The changes of every menu command are written to the journal together.
+ * After a command has been saved, a new snapshot is written in the background if the journal
+ * has grown or some time has passed, and one is written when the application stops,
+ * after which the journal only keeps the records written after the snapshot.
  *
  * @author Mathias Erik Nord
  * @version 1.0.0
  */
 public class Main {
+  private static final Path JOURNAL_PATH = Path.of("mealplanner.journal");
+  private static final Path SNAPSHOT_PATH = Path.of("mealplanner.snapshot");
+  private static final long CHECKPOINT_BYTES = 1024L * 1024L;
+  private static final Duration CHECKPOINT_INTERVAL = Duration.ofMinutes(5);
+
   /**
    * Private empty constructor.
    */
@@ -31,8 +53,61 @@ public class Main {
     CookBook cookBook = new CookBook();
 
     UserInterface ui = new UserInterface(stringMenu, inputHandler, foodStorage, cookBook);
+    ui.addConversions();
+
+    Journal journal;
+    try {
+      journal = new Journal(JOURNAL_PATH, SyncPolicy.EVERY_COMMIT, Duration.ZERO);
+    } catch (IOException e) {
+      System.out.println("The journal could not be opened, changes are not saved: "
+          + e.getMessage());
+      ui.init();
+      ui.start();
+      return;
+    }
+
+    try (journal) {
+      JournalPosition covered = loadSnapshot(foodStorage, cookBook);
+      int replayedRecords = JournalReplayer.replay(journal, foodStorage, cookBook, covered);
+      JournalRecorder recorder = new JournalRecorder(journal);
+      foodStorage.addListener(recorder);
+      cookBook.addListener(recorder);
+
+      try (Checkpointer checkpointer = new Checkpointer(journal, SNAPSHOT_PATH, foodStorage,
+          cookBook, CHECKPOINT_BYTES, CHECKPOINT_INTERVAL)) {
+        ui.init(covered == JournalPosition.NONE && replayedRecords == 0, () -> {
+          recorder.commit();
+          checkpointer.checkpointIfDue();
+        });
+        ui.start();
+        recorder.commit();
+        checkpointer.checkpoint();
+      }
+    } catch (IOException | UncheckedIOException e) {
+      System.out.println("The journal could not be written, the application is stopped: "
+          + e.getMessage());
+    }
+  }
 
-    ui.init();
-    ui.start();
+  /**
+   * Loads the snapshot, if there is one.
+   * A snapshot that can not be loaded is reported and left alone, and the journal is then
+   * replayed on its own.
+   *
+   * @param foodStorage The food storage to load groceries into.
+   * @param cookBook The cookbook to load recipes into.
+   * @return The journal position covered by the snapshot,
+   *         <code>JournalPosition.NONE</code> if no snapshot was loaded.
+   */
+  private static JournalPosition loadSnapshot(FoodStorage foodStorage, CookBook cookBook) {
+    if (!Files.exists(SNAPSHOT_PATH)) {
+      return JournalPosition.NONE;
+    }
+    try {
+      return Snapshot.load(SNAPSHOT_PATH, foodStorage, cookBook);
+    } catch (IOException e) {
+      System.out.println("The snapshot could not be loaded: " + e.getMessage());
+      return JournalPosition.NONE;
+    }
   }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package edu.ntnu.idi.bidata.application;
 
+import edu.ntnu.idi.bidata.entity.Unit;
 import edu.ntnu.idi.bidata.util.StringFormatter;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -134,22 +135,19 @@ public class UserInputHandler {
    * @return Will return the inputted unit.
    * @since 0.0.1
    */
-  public String unitReader(String prompt) {
-    String unit = "";
-    boolean isUnitCorrect = false;
-    while (!isUnitCorrect) {
-      unit = stringReader(prompt);
-      cancelOperation(unit);
-      if (unit.equalsIgnoreCase("kilogram")
-          || unit.equalsIgnoreCase("liter")
-          || unit.equalsIgnoreCase("pcs")) {
-        isUnitCorrect = true;
-      } else {
+  public Unit unitReader(String prompt) {
+    Unit unit = null;
+    while (unit == null) {
+      String input = stringReader(prompt);
+      cancelOperation(input);
+      try {
+        unit = Unit.fromString(input);
+      } catch (IllegalArgumentException e) {
         System.out.println("You provided an invalid unit of measurement! "
-            + "Please use (kilogram/liter/pcs).");
+            + "Please use (kilogram/gram/liter/milliliter/pcs).");
       }
     }
-    return StringFormatter.normalizedString(unit);
+    return unit;
   }
 
   /**
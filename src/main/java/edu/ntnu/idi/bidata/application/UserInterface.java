@@ -1,6 +1,7 @@
 package edu.ntnu.idi.bidata.application;
 
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
 import edu.ntnu.idi.bidata.menu.MainMenu;
 import edu.ntnu.idi.bidata.menu.StringMenu;
 import edu.ntnu.idi.bidata.menu.cookbook.CookBookMenu;
@@ -9,9 +10,16 @@ import edu.ntnu.idi.bidata.menu.cookbook.CookBookMenuPrinter;
 import edu.ntnu.idi.bidata.menu.grocery.GroceryMenu;
 import edu.ntnu.idi.bidata.menu.grocery.GroceryMenuMutator;
 import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.CookableListener;
+import edu.ntnu.idi.bidata.recipe.CookableTracker;
 import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.ExpiryService;
 import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.UnitConverter;
+import edu.ntnu.idi.bidata.util.StringFormatter;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.HashMap;
 import java.util.Map;
@@ -31,8 +39,9 @@ public class UserInterface {
   private final UserInputHandler inputHandler;
   private final FoodStorage foodStorage;
   private final CookBook cookBook;
-  private static final String KILOGRAM = "Kilogram";
-  private static final String LITER = "Liter";
+  private static final Unit KILOGRAM = Unit.KILOGRAM;
+  private static final Unit LITER = Unit.LITER;
+  private static final int EXPIRY_WARNING_DAYS = 3;
 
   /**
    * The constructor that constructs the user interface.
@@ -58,12 +67,38 @@ public class UserInterface {
    * @since 0.0.1
    */
   public void init() {
-    addRecipe(cookBook);
-    addGrocery(foodStorage);
+    init(true, () -> { });
+  }
+
+  /**
+   * Initializes all the instances required to run the application.
+   * The conversions are not added here, see <code>addConversions</code>.
+   * The default groceries and recipes are only added if asked for,
+   * so a storage restored from the journal is not filled twice.
+   * The user is told when a change to the storage makes a recipe cookable.
+   *
+   * @param addDefaults <code>true</code> to add the default groceries and recipes.
+   * @param saveChanges Saves the changes made by a menu command, run after each command.
+   */
+  public void init(boolean addDefaults, Runnable saveChanges) {
+    Clock clock = Clock.systemDefaultZone();
+    if (addDefaults) {
+      addRecipe(cookBook);
+      addGrocery(foodStorage, LocalDate.now(clock));
+    }
+    CookableTracker.attach(cookBook, foodStorage).addListener(new CookableListener() {
+      @Override
+      public void recipeCookable(Recipe recipe) {
+        System.out.println(StringFormatter.GREEN + "You can now cook: "
+            + StringFormatter.RESET + recipe.getRecipeName());
+      }
+    });
 
     mainMenu = new MainMenu(inputHandler,
         initializeGroceryMenu(inputHandler, foodStorage, stringMenu),
-        initializeCookBookMenu(inputHandler, cookBook, foodStorage, stringMenu));
+        initializeCookBookMenu(inputHandler, cookBook, foodStorage, stringMenu),
+        new ExpiryService(foodStorage, clock, EXPIRY_WARNING_DAYS),
+        saveChanges);
   }
 
   private GroceryMenu initializeGroceryMenu(UserInputHandler uiInputHandler,
@@ -103,27 +138,43 @@ public class UserInterface {
    * @since 0.0.1
    */
   private void initializeGrocery(FoodStorage foodStorage, BigDecimal quantity,
-                                 String name, String unit, BigDecimal price, String expiryDate) {
+                                 String name, Unit unit, BigDecimal price, String expiryDate) {
     Grocery grocery = new Grocery(quantity, name, unit, price, expiryDate);
     foodStorage.addGrocery(grocery);
   }
 
+  /**
+   * Method that will add densities and piece weights of the default groceries,
+   * so recipes and groceries in different dimensions can be compared.
+   * Must be called before the storage is restored from a snapshot or the journal,
+   * since restored changes may convert between dimensions.
+   */
+  public void addConversions() {
+    UnitConverter unitConverter = foodStorage.getUnitConverter();
+    unitConverter.setDensity("Milk", BigDecimal.valueOf(1.03));
+    unitConverter.setDensity("Cola", BigDecimal.valueOf(1.04));
+    unitConverter.setPieceWeight("Chicken", BigDecimal.valueOf(250));
+  }
+
   /**
    * Method that will call <code>initializeGrocery</code>.
    * This is to initialize a given set of groceries to start the application with.
+   * The expiry dates are counted from today, so the groceries have not expired
+   * when the application starts.
    *
    * @param foodStorage Food storage that grocery should be added to.
+   * @param today The day the application is started on.
    * @since 0.0.1
    */
-  private void addGrocery(FoodStorage foodStorage) {
+  private void addGrocery(FoodStorage foodStorage, LocalDate today) {
     initializeGrocery(foodStorage, BigDecimal.valueOf(1), "Milk", LITER,
-        BigDecimal.valueOf(25), "2024-12-31");
+        BigDecimal.valueOf(25), today.plusDays(7).toString());
     initializeGrocery(foodStorage, BigDecimal.valueOf(1.25), "Chicken", KILOGRAM,
-        BigDecimal.valueOf(125), "2024-12-10");
+        BigDecimal.valueOf(125), today.plusDays(3).toString());
     initializeGrocery(foodStorage, BigDecimal.valueOf(2), "Rice", KILOGRAM,
-        BigDecimal.valueOf(45), "2025-10-30");
+        BigDecimal.valueOf(45), today.plusDays(300).toString());
     initializeGrocery(foodStorage, BigDecimal.valueOf(1.5), "Cola", LITER,
-        BigDecimal.valueOf(37), "2025-08-20");
+        BigDecimal.valueOf(37), today.plusDays(200).toString());
   }
 
   /**
@@ -139,7 +190,7 @@ public class UserInterface {
    */
   private void initializeRecipe(CookBook cookBook, String recipeName,
                                 String recipeDescription, String cookingInstructions,
-                                Map<String, SimpleEntry<BigDecimal, String>> ingredients,
+                                Map<String, SimpleEntry<BigDecimal, Unit>> ingredients,
                                 int amountOfServings) {
     Recipe recipe = new Recipe(recipeName, recipeDescription,
         cookingInstructions, ingredients, amountOfServings);
@@ -154,13 +205,13 @@ public class UserInterface {
    * @since 0.0.1
    */
   private void addRecipe(CookBook cookBook) {
-    Map<String, SimpleEntry<BigDecimal, String>> chickenRiceIngredients = new HashMap<>();
+    Map<String, SimpleEntry<BigDecimal, Unit>> chickenRiceIngredients = new HashMap<>();
     chickenRiceIngredients.put("Chicken", new SimpleEntry<>(BigDecimal.valueOf(0.75), KILOGRAM));
     chickenRiceIngredients.put("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.5), KILOGRAM));
     initializeRecipe(cookBook, "Chicken and rice", "This is a chicken and rice dish",
         "Fry chicken in pan, cook rice, serve.", chickenRiceIngredients, 3);
 
-    Map<String, SimpleEntry<BigDecimal, String>> pastaSalmonIngredients = new HashMap<>();
+    Map<String, SimpleEntry<BigDecimal, Unit>> pastaSalmonIngredients = new HashMap<>();
     pastaSalmonIngredients.put("Pasta", new SimpleEntry<>(BigDecimal.valueOf(0.5), KILOGRAM));
     pastaSalmonIngredients.put("Salmon", new SimpleEntry<>(BigDecimal.valueOf(0.35), KILOGRAM));
     initializeRecipe(cookBook, "Pasta and salmon", "This is a pasta and salmon dish",
@@ -0,0 +1,16 @@
+package edu.ntnu.idi.bidata.entity;
+
+/**
+ * This enum represents what a unit of measurement measures.
+ * Units of the same dimension can always be converted into each other.
+ * Every dimension has a base unit, and quantities are compared and summed in the base unit.
+ * The base unit of mass is gram, of volume milliliter, and of count pieces.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public enum Dimension {
+  MASS,
+  VOLUME,
+  COUNT
+}
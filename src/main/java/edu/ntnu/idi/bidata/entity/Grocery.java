@@ -1,24 +1,25 @@
 package edu.ntnu.idi.bidata.entity;
 
+import edu.ntnu.idi.bidata.util.FixedPoint;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 
 /**
  * This class represents a grocery with the attributes quantity, price, name,
  * expiration date and unit of measurement.
+ * Quantity and price are stored as fixed-point hundredths, see <code>FixedPoint</code>.
  *
  * @author Mathias Erik Nord
  * @since 16.10.2024
  * @version 1.0.0
  */
 public class Grocery {
-  private BigDecimal quantity; // Quantity, ex 2.0
-  private BigDecimal price; // Price of grocery
+  private long quantity; // Quantity in hundredths, ex 200 for 2.0
+  private long price; // Price of grocery in hundredths
   private String name; // Name of grocery
   private LocalDate expiryDate; // 'YYYY-MM-DD'
-  private String unit; // kilogram, liter, pcs
+  private Unit unit; // Liter, kilogram or pcs
 
   /**
    * Constructor for the Grocery class. Initializes the quantity, name, unit,
@@ -30,10 +31,27 @@ public class Grocery {
    * @param unit This is the unit of measurement that the grocery is measured in.
    * @param price This is the price of the grocery.
    * @param expiryDate This is the expiration date of the grocery. Format: 'YYYY-MM-DD'.
-   *
+   * @throws IllegalArgumentException if any of the details is invalid,
+   *                                  or the quantity or price is too large to be held.
    */
   public Grocery(BigDecimal quantity, String name, String unit,
                  BigDecimal price, String expiryDate) {
+    this(quantity, name, Unit.fromString(unit), price, expiryDate);
+  }
+
+  /**
+   * Constructor for the Grocery class, with a unit that is already parsed.
+   *
+   * @param quantity This is the quantity of the grocery.
+   * @param name This is the name of the grocery.
+   * @param unit This is the unit of measurement that the grocery is measured in.
+   * @param price This is the price of the grocery.
+   * @param expiryDate This is the expiration date of the grocery. Format: 'YYYY-MM-DD'.
+   * @throws IllegalArgumentException if any of the details is invalid,
+   *                                  or the quantity or price is too large to be held.
+   */
+  public Grocery(BigDecimal quantity, String name, Unit unit,
+                 BigDecimal price, String expiryDate) {
     setQuantity(quantity);
     setName(name);
     setExpiryDate(expiryDate);
@@ -41,12 +59,41 @@ public class Grocery {
     setPrice(price);
   }
 
+  /**
+   * Constructor for the Grocery class, with quantity and price already as fixed-point values
+   * and the expiry date already parsed.
+   * Used when groceries are loaded from a snapshot, so nothing is parsed or rounded again.
+   * The fields are validated and set directly, so no overridable method is called.
+   *
+   * @param quantity This is the quantity of the grocery, in hundredths.
+   * @param name This is the name of the grocery.
+   * @param unit This is the unit of measurement that the grocery is measured in.
+   * @param price This is the price of the grocery, in hundredths.
+   * @param expiryDate This is the expiration date of the grocery.
+   */
+  public Grocery(long quantity, String name, Unit unit, long price, LocalDate expiryDate) {
+    this.quantity = validQuantity(quantity);
+    this.name = validName(name);
+    this.expiryDate = validExpiryDate(expiryDate);
+    this.unit = validUnit(unit);
+    this.price = validPrice(price);
+  }
+
   /**
    * Accessor method for <code>quantity</code>.
    *
    * @return the value of the field, quantity.
    */
   public BigDecimal getQuantity() {
+    return FixedPoint.toBigDecimal(quantity);
+  }
+
+  /**
+   * Accessor method for <code>quantity</code> as a fixed-point value.
+   *
+   * @return the quantity in hundredths.
+   */
+  public long getQuantityHundredths() {
     return quantity;
   }
 
@@ -56,13 +103,26 @@ public class Grocery {
    * @param quantity Represents the quantity of a grocery.
    *
    * @throws IllegalArgumentException if quantity is less than zero,
-   *                                  because a negative quantity is not possible.
+   *                                  because a negative quantity is not possible,
+   *                                  or if it is too large to be held.
    */
   public void setQuantity(BigDecimal quantity) {
     if (quantity.compareTo(BigDecimal.ZERO) < 0) {
       throw new IllegalArgumentException("Quantity can not have a negative value.");
     }
-    this.quantity = quantity.setScale(2, RoundingMode.HALF_UP);
+    setQuantityHundredths(FixedPoint.of(quantity));
+  }
+
+  /**
+   * Mutator method for <code>quantity</code> as a fixed-point value.
+   *
+   * @param quantity Represents the quantity of a grocery, in hundredths.
+   *
+   * @throws IllegalArgumentException if quantity is less than zero,
+   *                                  because a negative quantity is not possible.
+   */
+  public void setQuantityHundredths(long quantity) {
+    this.quantity = validQuantity(quantity);
   }
 
   /**
@@ -82,10 +142,7 @@ public class Grocery {
    * @throws IllegalArgumentException if name is null, blank or empty.
    */
   public void setName(String name) {
-    if (name == null || name.isBlank()) {
-      throw new IllegalArgumentException("Name can not be null, blank or empty.");
-    }
-    this.name = name;
+    this.name = validName(name);
   }
 
   /**
@@ -113,12 +170,23 @@ public class Grocery {
     }
   }
 
+  /**
+   * Mutator method for <code>expiryDate</code>, with a date that is already parsed.
+   *
+   * @param expiryDate the expiry date of the grocery.
+   *
+   * @throws IllegalArgumentException if the expiry date is null.
+   */
+  public void setExpiryDate(LocalDate expiryDate) {
+    this.expiryDate = validExpiryDate(expiryDate);
+  }
+
   /**
    * Accessor method for <code>unit</code>.
    *
    * @return the value of field unit.
    */
-  public String getUnit() {
+  public Unit getUnit() {
     return unit;
   }
 
@@ -129,15 +197,21 @@ public class Grocery {
    *                          Either liter, kilogram or pcs.
    *
    * @throws IllegalArgumentException if provided parameter does not match
-   *                                     the string value "liter" or "kilogram".
+   *                                     the string value "liter", "kilogram" or "pcs".
    */
   public void setUnit(String unit) {
-    if (!unit.equalsIgnoreCase("liter")
-            && !unit.equalsIgnoreCase("kilogram")
-            && !unit.equalsIgnoreCase("pcs")) {
-      throw new IllegalArgumentException("Unit of measurement must be liter, kilogram or pcs");
-    }
-    this.unit = unit;
+    setUnit(Unit.fromString(unit));
+  }
+
+  /**
+   * Mutator method for <code>unit</code>.
+   *
+   * @param unit the unit of measurement that the quantity is measured in.
+   *
+   * @throws IllegalArgumentException if the unit is null.
+   */
+  public void setUnit(Unit unit) {
+    this.unit = validUnit(unit);
   }
 
   /**
@@ -146,6 +220,15 @@ public class Grocery {
    * @return the price of the grocery.
    */
   public BigDecimal getPrice() {
+    return FixedPoint.toBigDecimal(price);
+  }
+
+  /**
+   * Accessor method for <code>price</code> as a fixed-point value.
+   *
+   * @return the price of the grocery in hundredths.
+   */
+  public long getPriceHundredths() {
     return price;
   }
 
@@ -156,11 +239,94 @@ public class Grocery {
    *
    * @throws IllegalArgumentException if the provided parameter is less than zero.
    *                                  This is to prevent a negative price.
+   *                                  Also thrown if the price is too large to be held.
    */
   public void setPrice(BigDecimal price) {
     if (price.compareTo(BigDecimal.ZERO) < 0) {
       throw new IllegalArgumentException("The price can not be less than zero.");
     }
-    this.price = price.setScale(2, RoundingMode.HALF_UP);
+    setPriceHundredths(FixedPoint.of(price));
+  }
+
+  /**
+   * Mutator method for <code>price</code> as a fixed-point value.
+   *
+   * @param price parameter price in hundredths that is passed to the field price.
+   *
+   * @throws IllegalArgumentException if the provided parameter is less than zero.
+   *                                  This is to prevent a negative price.
+   */
+  public void setPriceHundredths(long price) {
+    this.price = validPrice(price);
+  }
+
+  /**
+   * Validates a quantity in hundredths.
+   *
+   * @param quantity The quantity to validate.
+   * @return The quantity.
+   * @throws IllegalArgumentException if the quantity is negative.
+   */
+  private static long validQuantity(long quantity) {
+    if (quantity < 0) {
+      throw new IllegalArgumentException("Quantity can not have a negative value.");
+    }
+    return quantity;
+  }
+
+  /**
+   * Validates a name.
+   *
+   * @param name The name to validate.
+   * @return The name.
+   * @throws IllegalArgumentException if the name is null, blank or empty.
+   */
+  private static String validName(String name) {
+    if (name == null || name.isBlank()) {
+      throw new IllegalArgumentException("Name can not be null, blank or empty.");
+    }
+    return name;
+  }
+
+  /**
+   * Validates an expiry date.
+   *
+   * @param expiryDate The date to validate.
+   * @return The date.
+   * @throws IllegalArgumentException if the date is null.
+   */
+  private static LocalDate validExpiryDate(LocalDate expiryDate) {
+    if (expiryDate == null) {
+      throw new IllegalArgumentException("You have entered an invalid date!");
+    }
+    return expiryDate;
+  }
+
+  /**
+   * Validates a unit of measurement.
+   *
+   * @param unit The unit to validate.
+   * @return The unit.
+   * @throws IllegalArgumentException if the unit is null.
+   */
+  private static Unit validUnit(Unit unit) {
+    if (unit == null) {
+      throw new IllegalArgumentException("Unit of measurement must be liter, kilogram or pcs");
+    }
+    return unit;
+  }
+
+  /**
+   * Validates a price in hundredths.
+   *
+   * @param price The price to validate.
+   * @return The price.
+   * @throws IllegalArgumentException if the price is negative.
+   */
+  private static long validPrice(long price) {
+    if (price < 0) {
+      throw new IllegalArgumentException("The price can not be less than zero.");
+    }
+    return price;
   }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package edu.ntnu.idi.bidata.entity;
+
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This enum represents the units of measurement a grocery or an ingredient can be measured in.
+ * There is only one instance of each unit, so units are compared by reference,
+ * and can be used as index in arrays through <code>ordinal</code>.
+ * Text input is turned into a unit once, with <code>fromString</code>.
+ * Every unit belongs to a <code>Dimension</code>, and knows how many of the base unit
+ * of that dimension it equals, so 1 kilogram is 1000 gram.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public enum Unit {
+  LITER("Liter", Dimension.VOLUME, 1000, "l"),
+  MILLILITER("Milliliter", Dimension.VOLUME, 1, "ml"),
+  KILOGRAM("Kilogram", Dimension.MASS, 1000, "kg"),
+  GRAM("Gram", Dimension.MASS, 1, "g"),
+  PCS("Pcs", Dimension.COUNT, 1, "pc");
+
+  private static final Map<String, Unit> BY_NAME = new HashMap<>(); // Canonical name as key
+  private final String displayName;
+  private final Dimension dimension;
+  private final long factor;
+  private final String abbreviation;
+
+  static {
+    for (Unit unit : values()) {
+      BY_NAME.put(canonicalName(unit.name()), unit);
+      BY_NAME.put(unit.abbreviation, unit);
+    }
+  }
+
+  /**
+   * Constructor for <code>Unit</code>.
+   *
+   * @param displayName The name of the unit, as shown to the user.
+   * @param dimension The dimension the unit measures.
+   * @param factor How many of the base unit of the dimension one of this unit equals.
+   * @param abbreviation The short name of the unit, also accepted by <code>fromString</code>.
+   */
+  Unit(String displayName, Dimension dimension, long factor, String abbreviation) {
+    this.displayName = displayName;
+    this.dimension = dimension;
+    this.factor = factor;
+    this.abbreviation = abbreviation;
+  }
+
+  /**
+   * Finds the unit with the given name or abbreviation.
+   * The lookup is case-insensitive, and ignores surrounding whitespace.
+   *
+   * @param unit The name of the unit, ex liter, milliliter, kilogram, gram or pcs.
+   * @return The unit with the given name.
+   * @throws IllegalArgumentException if the name does not match a unit.
+   */
+  public static Unit fromString(String unit) {
+    Unit foundUnit = unit == null ? null : BY_NAME.get(canonicalName(unit));
+    if (foundUnit == null) {
+      throw new IllegalArgumentException(
+          "Unit of measurement must be liter, milliliter, kilogram, gram or pcs");
+    }
+    return foundUnit;
+  }
+
+  /**
+   * Accessor method for <code>dimension</code>.
+   *
+   * @return The dimension the unit measures.
+   */
+  public Dimension getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Converts a fixed-point quantity in this unit to the base unit of its dimension.
+   *
+   * @param quantity The quantity in this unit, in hundredths.
+   * @return The quantity in the base unit, in hundredths.
+   * @throws IllegalArgumentException if the result is too large to be held.
+   */
+  public long toBase(long quantity) {
+    try {
+      return Math.multiplyExact(quantity, factor);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("The quantity is too large to be held.");
+    }
+  }
+
+  /**
+   * Converts a fixed-point quantity in the base unit of the dimension to this unit.
+   * The result is rounded half up to the nearest hundredth of this unit.
+   *
+   * @param baseQuantity The quantity in the base unit, in hundredths.
+   * @return The quantity in this unit, in hundredths.
+   */
+  public long fromBase(long baseQuantity) {
+    return FixedPoint.multiplyDivide(baseQuantity, 1, factor);
+  }
+
+  /**
+   * Converts a fixed-point quantity in the base unit of the dimension to this unit.
+   * The result is rounded up to the next hundredth of this unit, so a quantity that is taken
+   * in this unit is never less than the quantity asked for.
+   *
+   * @param baseQuantity The quantity in the base unit, in hundredths.
+   * @return The quantity in this unit, in hundredths.
+   */
+  public long fromBaseRoundedUp(long baseQuantity) {
+    return Math.ceilDiv(baseQuantity, factor);
+  }
+
+  /**
+   * Returns the name of the unit, as shown to the user.
+   *
+   * @return The display name of the unit.
+   */
+  @Override
+  public String toString() {
+    return displayName;
+  }
+}
@@ -0,0 +1,62 @@
+package edu.ntnu.idi.bidata.importer;
+
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateString;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateUnit;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Parser for rows of groceries, for example from an exported receipt.
+ * The columns are name, quantity, unit of measurement, price and expiry date (YYYY-MM-DD),
+ * the same details the grocery menu asks for.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class GroceryRowParser implements RowParser<Grocery> {
+  private static final int COLUMNS = 5;
+
+  /**
+   * Parses a row into a grocery.
+   *
+   * @param fields The fields of the row.
+   * @return A new grocery.
+   * @throws IllegalArgumentException if the row does not have five columns,
+   *                                  or any of the details is invalid.
+   */
+  @Override
+  public Grocery parse(List<String> fields) {
+    if (fields.size() != COLUMNS) {
+      throw new IllegalArgumentException("Expected " + COLUMNS + " columns, found "
+          + fields.size() + ".");
+    }
+    String name = fields.get(0).trim();
+    validateString(name);
+    BigDecimal quantity = parseDecimal(fields.get(1), "quantity");
+    Unit unit = Unit.fromString(fields.get(2));
+    validateUnit(unit);
+    BigDecimal price = parseDecimal(fields.get(3), "price");
+    String expiryDate = fields.get(4).trim();
+    validateString(expiryDate);
+    return new Grocery(quantity, name, unit, price, expiryDate);
+  }
+
+  /**
+   * Parses a decimal number.
+   *
+   * @param field The field to parse.
+   * @param column The name of the column, used in the error message.
+   * @return The decimal number.
+   * @throws IllegalArgumentException if the field is not a number.
+   */
+  static BigDecimal parseDecimal(String field, String column) {
+    try {
+      return new BigDecimal(field.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The " + column + " is not a number.");
+    }
+  }
+}
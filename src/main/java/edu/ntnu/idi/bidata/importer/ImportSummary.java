@@ -0,0 +1,62 @@
+package edu.ntnu.idi.bidata.importer;
+
+/**
+ * This class represents the outcome of an import.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class ImportSummary {
+  private final long rowsRead;
+  private final long rowsRejected;
+  private final long elapsedNanos;
+
+  /**
+   * Constructor for <code>ImportSummary</code>.
+   *
+   * @param rowsRead The number of rows read, without the header and blank rows.
+   * @param rowsRejected The number of rows that could not be imported.
+   * @param elapsedNanos The time the import took, in nanoseconds.
+   */
+  public ImportSummary(long rowsRead, long rowsRejected, long elapsedNanos) {
+    this.rowsRead = rowsRead;
+    this.rowsRejected = rowsRejected;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  /**
+   * Accessor method for <code>rowsRead</code>.
+   *
+   * @return The number of rows read, without the header and blank rows.
+   */
+  public long getRowsRead() {
+    return rowsRead;
+  }
+
+  /**
+   * Accessor method for the number of rows that were imported.
+   *
+   * @return The number of rows read that were not rejected.
+   */
+  public long getRowsImported() {
+    return rowsRead - rowsRejected;
+  }
+
+  /**
+   * Accessor method for <code>rowsRejected</code>.
+   *
+   * @return The number of rows that could not be imported.
+   */
+  public long getRowsRejected() {
+    return rowsRejected;
+  }
+
+  /**
+   * Calculates the throughput of the import.
+   *
+   * @return The number of rows read per second.
+   */
+  public double getRowsPerSecond() {
+    return elapsedNanos == 0 ? 0 : rowsRead * 1_000_000_000.0 / elapsedNanos;
+  }
+}
@@ -0,0 +1,91 @@
+package edu.ntnu.idi.bidata.importer;
+
+import static edu.ntnu.idi.bidata.recipe.RecipeValidator.amountOfServingsValidation;
+import static edu.ntnu.idi.bidata.recipe.RecipeValidator.mapInputValidation;
+import static edu.ntnu.idi.bidata.recipe.RecipeValidator.stringInputValidation;
+
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import java.math.BigDecimal;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser for rows of recipes, for example from an exported recipe collection.
+ * The columns are name, description, cooking instructions, amount of servings and ingredients.
+ * The ingredients are written as <code>name:quantity:unit</code>, separated by semicolons,
+ * for example <code>Rice:0.25:kilogram;Milk:200:ml</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class RecipeRowParser implements RowParser<Recipe> {
+  private static final int COLUMNS = 5;
+
+  /**
+   * Parses a row into a recipe.
+   *
+   * @param fields The fields of the row.
+   * @return A new recipe.
+   * @throws IllegalArgumentException if the row does not have five columns,
+   *                                  or any of the details is invalid.
+   */
+  @Override
+  public Recipe parse(List<String> fields) {
+    if (fields.size() != COLUMNS) {
+      throw new IllegalArgumentException("Expected " + COLUMNS + " columns, found "
+          + fields.size() + ".");
+    }
+    String name = fields.get(0).trim();
+    String description = fields.get(1).trim();
+    String instructions = fields.get(2).trim();
+    stringInputValidation(name);
+    stringInputValidation(description);
+    stringInputValidation(instructions);
+    int amountOfServings;
+    try {
+      amountOfServings = Integer.parseInt(fields.get(3).trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("The amount of servings is not a whole number.");
+    }
+    amountOfServingsValidation(amountOfServings);
+    Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = parseIngredients(fields.get(4));
+    mapInputValidation(ingredients);
+    return new Recipe(name, description, instructions, ingredients, amountOfServings);
+  }
+
+  /**
+   * Parses the ingredients of a recipe.
+   *
+   * @param field The field with the ingredients.
+   * @return Map of ingredients, in the order they were written.
+   * @throws IllegalArgumentException if an ingredient is not written as
+   *                                  <code>name:quantity:unit</code>, or is written twice.
+   */
+  private static Map<String, SimpleEntry<BigDecimal, Unit>> parseIngredients(String field) {
+    Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new LinkedHashMap<>();
+    for (String ingredient : field.split(";")) {
+      if (ingredient.isBlank()) {
+        continue;
+      }
+      String[] parts = ingredient.split(":");
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("The ingredient '" + ingredient.trim()
+            + "' must be written as name:quantity:unit.");
+      }
+      BigDecimal quantity = GroceryRowParser.parseDecimal(parts[1], "quantity");
+      SimpleEntry<BigDecimal, Unit> quantityAndUnit =
+          new SimpleEntry<>(quantity, Unit.fromString(parts[2]));
+      if (ingredients.put(parts[0].trim(), quantityAndUnit) != null) {
+        throw new IllegalArgumentException("The ingredient " + parts[0].trim()
+            + " is written twice.");
+      }
+    }
+    if (ingredients.isEmpty()) {
+      throw new IllegalArgumentException("The recipe must have at least one ingredient.");
+    }
+    return ingredients;
+  }
+}
@@ -0,0 +1,51 @@
+package edu.ntnu.idi.bidata.importer;
+
+/**
+ * This class represents a row that could not be imported, and why.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class RowError {
+  private final long rowNumber;
+  private final String message;
+
+  /**
+   * Constructor for <code>RowError</code>.
+   *
+   * @param rowNumber The number of the row in the file, starting at one.
+   * @param message Why the row could not be imported.
+   */
+  public RowError(long rowNumber, String message) {
+    this.rowNumber = rowNumber;
+    this.message = message;
+  }
+
+  /**
+   * Accessor method for <code>rowNumber</code>.
+   *
+   * @return The number of the row in the file, starting at one.
+   */
+  public long getRowNumber() {
+    return rowNumber;
+  }
+
+  /**
+   * Accessor method for <code>message</code>.
+   *
+   * @return Why the row could not be imported.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Returns the error as text, for example "Row 12: The quantity is not a number."
+   *
+   * @return The error as text.
+   */
+  @Override
+  public String toString() {
+    return "Row " + rowNumber + ": " + message;
+  }
+}
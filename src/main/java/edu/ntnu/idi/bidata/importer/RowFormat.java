@@ -0,0 +1,122 @@
+package edu.ntnu.idi.bidata.importer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Enum representing the text formats rows can be imported from.
+ * CSV fields are separated by commas, and may be wrapped in double quotes so they can hold
+ * commas, with a doubled quote for a quote inside the field.
+ * TSV fields are separated by tabs, and are never quoted.
+ * A row is always a single line, so fields can not hold line breaks.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public enum RowFormat {
+  CSV(','),
+  TSV('\t');
+
+  private static final char QUOTE = '"';
+  private final char delimiter;
+
+  /**
+   * Constructor for <code>RowFormat</code>.
+   *
+   * @param delimiter The character between two fields.
+   */
+  RowFormat(char delimiter) {
+    this.delimiter = delimiter;
+  }
+
+  /**
+   * Finds the format of a file from its extension.
+   * Files ending with <code>.tsv</code> or <code>.tab</code> are TSV, every other file is CSV.
+   *
+   * @param path The path of the file.
+   * @return The format of the file.
+   * @throws IllegalArgumentException if the path is null.
+   */
+  public static RowFormat fromPath(Path path) {
+    if (path == null) {
+      throw new IllegalArgumentException("The path cannot be null.");
+    }
+    String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+    return fileName.endsWith(".tsv") || fileName.endsWith(".tab") ? TSV : CSV;
+  }
+
+  /**
+   * Splits a row into its fields.
+   * Surrounding whitespace is kept, and is left to the parser of the row.
+   *
+   * @param row The row to split.
+   * @return The fields of the row, in order.
+   * @throws IllegalArgumentException if a quoted field is not closed, or is followed by
+   *                                  something else than a delimiter.
+   */
+  public List<String> split(String row) {
+    List<String> fields = new ArrayList<>();
+    if (this == TSV) {
+      int start = 0;
+      int end;
+      while ((end = row.indexOf(delimiter, start)) >= 0) {
+        fields.add(row.substring(start, end));
+        start = end + 1;
+      }
+      fields.add(row.substring(start));
+      return fields;
+    }
+
+    int position = 0;
+    while (true) {
+      if (position < row.length() && row.charAt(position) == QUOTE) {
+        position = readQuoted(row, position + 1, fields);
+      } else {
+        int end = row.indexOf(delimiter, position);
+        if (end < 0) {
+          end = row.length();
+        }
+        fields.add(row.substring(position, end));
+        position = end;
+      }
+      if (position >= row.length()) {
+        return fields;
+      }
+      position++; // Skips the delimiter
+    }
+  }
+
+  /**
+   * Reads a quoted field, from after its opening quote.
+   *
+   * @param row The row to read from.
+   * @param start The position after the opening quote.
+   * @param fields The fields to add the field to.
+   * @return The position after the closing quote.
+   * @throws IllegalArgumentException if the field is not closed, or the closing quote is not
+   *                                  followed by a delimiter or the end of the row.
+   */
+  private int readQuoted(String row, int start, List<String> fields) {
+    StringBuilder field = new StringBuilder();
+    int position = start;
+    while (true) {
+      int quote = row.indexOf(QUOTE, position);
+      if (quote < 0) {
+        throw new IllegalArgumentException("A quoted field is not closed.");
+      }
+      field.append(row, position, quote);
+      if (quote + 1 < row.length() && row.charAt(quote + 1) == QUOTE) {
+        field.append(QUOTE);
+        position = quote + 2;
+      } else {
+        if (quote + 1 < row.length() && row.charAt(quote + 1) != delimiter) {
+          throw new IllegalArgumentException("A quoted field must be followed by a delimiter.");
+        }
+        fields.add(field.toString());
+        return quote + 1;
+      }
+    }
+  }
+}
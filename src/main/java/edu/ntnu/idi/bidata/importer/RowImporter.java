@@ -0,0 +1,384 @@
+package edu.ntnu.idi.bidata.importer;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * This class imports rows from a CSV or TSV stream, and parses them in parallel.
+ * Rows are read on the calling thread and grouped into batches, which are parsed and validated
+ * by a pool of worker threads. Only a fixed number of batches may be read ahead of the oldest
+ * batch that is not yet stored, so memory stays bounded however long the stream is.
+ * Parsed batches are handed to a <code>RowSink</code> on the calling thread, in the order they
+ * were read, so the sink can store them in a <code>FoodStorage</code> or <code>CookBook</code>
+ * that is not thread-safe. Every row that can not be parsed or stored is reported as a
+ * <code>RowError</code>, and the import continues with the next row.
+ *
+ * @param <T> The type of object the rows are parsed into.
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class RowImporter<T> {
+  private static final int DEFAULT_BATCH_SIZE = 1_000;
+  private static final char BYTE_ORDER_MARK = '\uFEFF';
+  private final RowParser<T> parser;
+  private final RowFormat format;
+  private final boolean hasHeader;
+  private final int threads;
+  private final int batchSize;
+  private final int maxBatchesAhead;
+
+  /**
+   * Constructor for <code>RowImporter</code>, with one worker per processor,
+   * batches of a thousand rows, and two batches read ahead per worker.
+   *
+   * @param parser The parser of a single row.
+   * @param format The format of the rows.
+   * @param hasHeader <code>true</code> if the first row holds the column names,
+   *                  and should be skipped.
+   * @throws IllegalArgumentException if the parser or the format is null.
+   */
+  public RowImporter(RowParser<T> parser, RowFormat format, boolean hasHeader) {
+    this(parser, format, hasHeader, Runtime.getRuntime().availableProcessors(),
+        DEFAULT_BATCH_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor for <code>RowImporter</code>.
+   *
+   * @param parser The parser of a single row.
+   * @param format The format of the rows.
+   * @param hasHeader <code>true</code> if the first row holds the column names,
+   *                  and should be skipped.
+   * @param threads The number of worker threads that parse rows.
+   * @param batchSize The number of rows in a batch.
+   * @param maxBatchesAhead The number of batches that may be read before the oldest
+   *                        one has been stored.
+   * @throws IllegalArgumentException if the parser or the format is null,
+   *                                  or a number is not positive.
+   */
+  public RowImporter(RowParser<T> parser, RowFormat format, boolean hasHeader, int threads,
+                     int batchSize, int maxBatchesAhead) {
+    if (parser == null || format == null) {
+      throw new IllegalArgumentException("Parser and format cannot be null.");
+    }
+    if (threads <= 0 || batchSize <= 0 || maxBatchesAhead <= 0) {
+      throw new IllegalArgumentException(
+          "Threads, batch size and batches ahead must be positive.");
+    }
+    this.parser = parser;
+    this.format = format;
+    this.hasHeader = hasHeader;
+    this.threads = threads;
+    this.batchSize = batchSize;
+    this.maxBatchesAhead = maxBatchesAhead;
+  }
+
+  /**
+   * Creates an importer of grocery rows, see <code>GroceryRowParser</code>.
+   *
+   * @param format The format of the rows.
+   * @return A new importer, that expects a header row.
+   */
+  public static RowImporter<Grocery> forGroceries(RowFormat format) {
+    return new RowImporter<>(new GroceryRowParser(), format, true);
+  }
+
+  /**
+   * Creates an importer of recipe rows, see <code>RecipeRowParser</code>.
+   *
+   * @param format The format of the rows.
+   * @return A new importer, that expects a header row.
+   */
+  public static RowImporter<Recipe> forRecipes(RowFormat format) {
+    return new RowImporter<>(new RecipeRowParser(), format, true);
+  }
+
+  /**
+   * Creates a sink that adds every batch of groceries to the storage with one call,
+   * so every batch is one change.
+   * If the batch is rejected, for example because a summed quantity is too large, nothing of it
+   * has been added, and its groceries are added one at a time instead. Every grocery that is
+   * still rejected is reported, and the other groceries of the batch are kept.
+   *
+   * @param foodStorage The food storage to add the groceries to.
+   * @return The sink.
+   */
+  public static RowSink<Grocery> into(FoodStorage foodStorage) {
+    return (batch, errors) -> {
+      try {
+        foodStorage.addGroceries(batch.getValues());
+      } catch (IllegalArgumentException batchRejected) {
+        for (int i = 0; i < batch.size(); i++) {
+          try {
+            foodStorage.addGrocery(batch.getValues().get(i));
+          } catch (IllegalArgumentException e) {
+            errors.accept(new RowError(batch.getRowNumber(i), e.getMessage()));
+          }
+        }
+      }
+    };
+  }
+
+  /**
+   * Creates a sink that adds every recipe to the cookbook.
+   * A recipe with the name of a recipe that is already in the cookbook is reported,
+   * and the first recipe is kept.
+   *
+   * @param cookBook The cookbook to add the recipes to.
+   * @return The sink.
+   */
+  public static RowSink<Recipe> into(CookBook cookBook) {
+    return (batch, errors) -> {
+      for (int i = 0; i < batch.size(); i++) {
+        try {
+          cookBook.addRecipe(batch.getValues().get(i));
+        } catch (IllegalArgumentException e) {
+          errors.accept(new RowError(batch.getRowNumber(i), e.getMessage()));
+        }
+      }
+    };
+  }
+
+  /**
+   * Imports every row of a file, in the format given to the constructor.
+   *
+   * @param path The path of the file, read as UTF-8.
+   * @param sink The sink that stores the parsed rows.
+   * @param errors The consumer that is told about every row that could not be imported.
+   * @return A summary of the import.
+   * @throws IOException if the file can not be read.
+   */
+  public ImportSummary importFile(Path path, RowSink<T> sink, Consumer<RowError> errors)
+      throws IOException {
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return importRows(reader, sink, errors);
+    }
+  }
+
+  /**
+   * Imports every row of a stream.
+   * Blank rows are skipped. A byte order mark in front of the first row is ignored.
+   *
+   * @param reader The stream to read rows from. The stream is not closed.
+   * @param sink The sink that stores the parsed rows.
+   * @param errors The consumer that is told about every row that could not be imported.
+   * @return A summary of the import.
+   * @throws IOException if the stream can not be read.
+   * @throws IllegalArgumentException if an argument is null.
+   */
+  public ImportSummary importRows(BufferedReader reader, RowSink<T> sink,
+                                  Consumer<RowError> errors) throws IOException {
+    if (reader == null || sink == null || errors == null) {
+      throw new IllegalArgumentException("Reader, sink and error consumer cannot be null.");
+    }
+    long start = System.nanoTime();
+    long[] rejected = new long[1];
+    Consumer<RowError> countingErrors = error -> {
+      rejected[0]++;
+      errors.accept(error);
+    };
+    ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "row-importer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    Deque<Future<Batch<T>>> batchesAhead = new ArrayDeque<>(maxBatchesAhead);
+    long rowsRead = 0;
+    try {
+      long rowNumber = 0;
+      List<String> rows = new ArrayList<>(batchSize);
+      long[] rowNumbers = new long[batchSize];
+      String row;
+      while ((row = reader.readLine()) != null) {
+        rowNumber++;
+        if (rowNumber == 1 && !row.isEmpty() && row.charAt(0) == BYTE_ORDER_MARK) {
+          row = row.substring(1);
+        }
+        if ((rowNumber == 1 && hasHeader) || row.isBlank()) {
+          continue;
+        }
+        rowNumbers[rows.size()] = rowNumber;
+        rows.add(row);
+        rowsRead++;
+        if (rows.size() == batchSize) {
+          if (batchesAhead.size() == maxBatchesAhead) {
+            store(batchesAhead.removeFirst(), sink, countingErrors);
+          }
+          batchesAhead.addLast(submit(workers, rows, rowNumbers));
+          rows = new ArrayList<>(batchSize);
+          rowNumbers = new long[batchSize];
+        }
+      }
+      if (!rows.isEmpty()) {
+        batchesAhead.addLast(submit(workers, rows, rowNumbers));
+      }
+      while (!batchesAhead.isEmpty()) {
+        store(batchesAhead.removeFirst(), sink, countingErrors);
+      }
+    } finally {
+      workers.shutdownNow();
+    }
+    return new ImportSummary(rowsRead, rejected[0], System.nanoTime() - start);
+  }
+
+  /**
+   * Hands a batch of rows to the workers.
+   *
+   * @param workers The worker threads.
+   * @param rows The rows of the batch.
+   * @param rowNumbers The number of every row in the file.
+   * @return The batch, once it has been parsed.
+   */
+  private Future<Batch<T>> submit(ExecutorService workers, List<String> rows, long[] rowNumbers) {
+    return workers.submit(() -> parse(rows, rowNumbers));
+  }
+
+  /**
+   * Splits, parses and validates a batch of rows. Runs on a worker thread.
+   * A row with a number that is too large to be held is reported like any other invalid row.
+   *
+   * @param rows The rows of the batch.
+   * @param rowNumbers The number of every row in the file.
+   * @return The parsed batch, with the rows that could not be parsed.
+   */
+  private Batch<T> parse(List<String> rows, long[] rowNumbers) {
+    List<T> values = new ArrayList<>(rows.size());
+    long[] valueRowNumbers = new long[rows.size()];
+    List<RowError> rowErrors = new ArrayList<>();
+    for (int i = 0; i < rows.size(); i++) {
+      try {
+        values.add(parser.parse(format.split(rows.get(i))));
+        valueRowNumbers[values.size() - 1] = rowNumbers[i];
+      } catch (IllegalArgumentException | DateTimeException e) {
+        rowErrors.add(new RowError(rowNumbers[i], e.getMessage()));
+      } catch (ArithmeticException e) {
+        rowErrors.add(new RowError(rowNumbers[i], "A number in the row is too large."));
+      }
+    }
+    return new Batch<>(values, valueRowNumbers, rowErrors);
+  }
+
+  /**
+   * Waits for a batch to be parsed, reports its errors and hands it to the sink.
+   *
+   * @param parsedBatch The batch being parsed.
+   * @param sink The sink that stores the parsed rows.
+   * @param errors The consumer of errors.
+   * @throws IOException if the thread is interrupted while waiting.
+   */
+  private void store(Future<Batch<T>> parsedBatch, RowSink<T> sink, Consumer<RowError> errors)
+      throws IOException {
+    Batch<T> batch;
+    try {
+      batch = parsedBatch.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for rows to be parsed.");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("A row could not be parsed.", e.getCause());
+    }
+    batch.getErrors().forEach(errors);
+    if (batch.size() > 0) {
+      sink.store(batch, errors);
+    }
+  }
+
+  /**
+   * This class represents a batch of parsed rows, together with the number of every row.
+   *
+   * @param <T> The type of object the rows were parsed into.
+   */
+  public static final class Batch<T> {
+    private final List<T> values;
+    private final long[] rowNumbers;
+    private final List<RowError> errors;
+
+    /**
+     * Constructor for <code>Batch</code>.
+     *
+     * @param values The parsed rows.
+     * @param rowNumbers The number of every parsed row in the file.
+     * @param errors The rows of the batch that could not be parsed.
+     */
+    private Batch(List<T> values, long[] rowNumbers, List<RowError> errors) {
+      this.values = Collections.unmodifiableList(values);
+      this.rowNumbers = rowNumbers;
+      this.errors = errors;
+    }
+
+    /**
+     * Accessor method for <code>values</code>.
+     *
+     * @return An unmodifiable list of the parsed rows, in the order they were read.
+     */
+    public List<T> getValues() {
+      return values;
+    }
+
+    /**
+     * Accessor method for the number of a parsed row in the file.
+     *
+     * @param index The index of the row in <code>getValues</code>.
+     * @return The number of the row in the file, starting at one.
+     */
+    public long getRowNumber(int index) {
+      return rowNumbers[index];
+    }
+
+    /**
+     * Accessor method for the number of parsed rows.
+     *
+     * @return The number of parsed rows in the batch.
+     */
+    public int size() {
+      return values.size();
+    }
+
+    /**
+     * Accessor method for <code>errors</code>.
+     *
+     * @return The rows of the batch that could not be parsed.
+     */
+    private List<RowError> getErrors() {
+      return errors;
+    }
+  }
+
+  /**
+   * Sink that stores the parsed rows of an import. Always called on the importing thread.
+   *
+   * @param <T> The type of object the rows were parsed into.
+   */
+  @FunctionalInterface
+  public interface RowSink<T> {
+    /**
+     * Stores a batch of parsed rows.
+     *
+     * @param batch The parsed rows.
+     * @param errors The consumer to report rows that could not be stored to.
+     */
+    void store(Batch<T> batch, Consumer<RowError> errors);
+  }
+}
@@ -0,0 +1,24 @@
+package edu.ntnu.idi.bidata.importer;
+
+import java.util.List;
+
+/**
+ * Parser that turns the fields of a row into an object.
+ * A parser is called from several threads at once, and must therefore not keep any state
+ * between rows.
+ *
+ * @param <T> The type of object the rows are parsed into.
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface RowParser<T> {
+  /**
+   * Parses and validates a single row.
+   *
+   * @param fields The fields of the row.
+   * @return The parsed object.
+   * @throws IllegalArgumentException if the row is invalid. The message is reported for the row.
+   */
+  T parse(List<String> fields);
+}
@@ -1,12 +1,21 @@
 package edu.ntnu.idi.bidata.menu;
 
 import edu.ntnu.idi.bidata.application.UserInputHandler;
+import edu.ntnu.idi.bidata.entity.Grocery;
 import edu.ntnu.idi.bidata.menu.cookbook.CookBookMenu;
 import edu.ntnu.idi.bidata.menu.grocery.GroceryMenu;
+import edu.ntnu.idi.bidata.register.ExpiryService;
+import edu.ntnu.idi.bidata.util.GroceryFormatter;
+import edu.ntnu.idi.bidata.util.StringFormatter;
+import java.time.LocalDate;
+import java.util.List;
 
 /**
  * This class represents the main menu of the application.
  * It allows the user to navigate to the grocery menu or the cookbook menu.
+ * Before each command, expired groceries are moved to waste,
+ * and groceries that will soon expire are shown.
+ * After each command, the changes it made are saved.
  *
  * @author Mathias Erik Nord
  * @version 1.0.0
@@ -16,6 +25,8 @@ public class MainMenu {
   private final UserInputHandler inputHandler;
   private final GroceryMenu groceryMenu;
   private final CookBookMenu cookBookMenu;
+  private final ExpiryService expiryService;
+  private final Runnable saveChanges;
   private final StringMenu stringMenu = new StringMenu();
 
   /**
@@ -24,12 +35,18 @@ public class MainMenu {
    * @param inputHandler The user input handler.
    * @param groceryMenu The grocery menu.
    * @param cookBookMenu The cookbook menu.
+   * @param expiryService The service that expires the groceries in storage.
+   * @param saveChanges Saves the changes made by a command, run after each command.
    */
   public MainMenu(UserInputHandler inputHandler, GroceryMenu groceryMenu,
-                  CookBookMenu cookBookMenu) {
+                  CookBookMenu cookBookMenu, ExpiryService expiryService,
+                  Runnable saveChanges) {
     this.inputHandler = inputHandler;
     this.groceryMenu = groceryMenu;
     this.cookBookMenu = cookBookMenu;
+    this.expiryService = expiryService;
+    this.saveChanges = saveChanges;
+    expiryService.addListener(this::printExpiringSoon);
   }
 
   /**
@@ -63,6 +80,7 @@ public class MainMenu {
     MainCommands command = null;
 
     do {
+      printExpired(expiryService.advance());
       stringMenu.printMainMenu();
       int commandValue;
 
@@ -73,9 +91,35 @@ public class MainMenu {
       } catch (IllegalArgumentException e) {
         System.out.println(e.getMessage());
       }
+      saveChanges.run();
     } while (command != MainCommands.EXIT);
   }
 
+  /**
+   * Prints the groceries that expired and were moved to waste, if any.
+   *
+   * @param expiredGroceries The groceries that expired.
+   */
+  private void printExpired(List<Grocery> expiredGroceries) {
+    if (!expiredGroceries.isEmpty()) {
+      System.out.println(StringFormatter.RED + "These groceries have expired, "
+          + "and were moved to waste:" + StringFormatter.RESET);
+      System.out.println(GroceryFormatter.formatGroceries(expiredGroceries));
+    }
+  }
+
+  /**
+   * Prints the groceries that will soon expire.
+   *
+   * @param today The current date.
+   * @param expiringGroceries The groceries that will soon expire.
+   */
+  private void printExpiringSoon(LocalDate today, List<Grocery> expiringGroceries) {
+    System.out.println(StringFormatter.GREEN + "These groceries should be used soon:"
+        + StringFormatter.RESET);
+    System.out.println(GroceryFormatter.formatGroceries(expiringGroceries));
+  }
+
   private void commandHandler(MainCommands command) {
     switch (command) {
       case MainCommands.GROCERY_MENU -> groceryMenu.groceryMenu();
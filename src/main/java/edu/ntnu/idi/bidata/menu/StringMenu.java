@@ -43,7 +43,7 @@ public class StringMenu {
    * Prints the cookbook menu to the console.
    * The cookbook menu includes options to create a recipe,
    * remove a recipe, print recipes, print a specific recipe,
-   * get a recipe recommendation, or go back to the previous menu.
+   * get a recipe recommendation, cook a recipe, or go back to the previous menu.
    */
   public void printCookbookMenu() {
     final String cookbookMenu = StringFormatter.RED + """
@@ -56,6 +56,7 @@ public class StringMenu {
         [3] - Print recipes.
         [4] - Print recipe.
         [5] - Recipe recommendation.
+        [6] - Cook recipe.
         [0] - Go back.
         """;
     System.out.println(cookbookMenu);
@@ -79,6 +80,7 @@ public class StringMenu {
           [4] - List of all groceries.
           [5] - List of expired groceries.
           [6] - Value of all groceries.
+          [7] - Groceries to use first.
           [0] - Go Back.
           """;
     System.out.println(groceryMenu);
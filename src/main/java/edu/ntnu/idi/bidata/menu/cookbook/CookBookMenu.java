@@ -53,6 +53,7 @@ public class CookBookMenu {
     PRINT_RECIPES(3),
     PRINT_RECIPE(4),
     RECIPE_RECOMMENDATION(5),
+    COOK_RECIPE(6),
     BACK(0);
 
     private final int value;
@@ -118,6 +119,8 @@ public class CookBookMenu {
           cookBookMenuPrinter.printRecipe(ERRORMESSAGE, inputHandler, cookBook, foodStorage);
       case CookBookCommand.RECIPE_RECOMMENDATION ->
           cookBookMenuPrinter.recipeRecommendation(ERRORMESSAGE, cookBook, foodStorage);
+      case CookBookCommand.COOK_RECIPE ->
+          cookBookMenuMutator.cookRecipe(ERRORMESSAGE, cookBook, foodStorage);
       case CookBookCommand.BACK -> System.out.println("Going back to main menu.\n");
       default -> System.out.println("Invalid command.\n");
     }
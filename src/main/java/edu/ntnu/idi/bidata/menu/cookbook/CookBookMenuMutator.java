@@ -1,8 +1,10 @@
 package edu.ntnu.idi.bidata.menu.cookbook;
 
 import edu.ntnu.idi.bidata.application.UserInputHandler;
+import edu.ntnu.idi.bidata.entity.Unit;
 import edu.ntnu.idi.bidata.recipe.CookBook;
 import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
 import edu.ntnu.idi.bidata.util.StringFormatter;
 import java.math.BigDecimal;
 import java.util.AbstractMap.SimpleEntry;
@@ -45,7 +47,7 @@ public class CookBookMenuMutator {
           .stringReader("Please enter cooking instructions: ");
       int servings = inputHandler.intReader("Please enter amount of servings");
 
-      Map<String, SimpleEntry<BigDecimal, String>> ingredients = new HashMap<>();
+      Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new HashMap<>();
       boolean isUserDone = false;
 
       ingredientPrompt(isUserDone, ingredients);
@@ -68,7 +70,7 @@ public class CookBookMenuMutator {
    * @since 0.0.1
    */
   private void ingredientPrompt(boolean isUserDone,
-                                Map<String, SimpleEntry<BigDecimal, String>> ingredients) {
+                                Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
     while (!isUserDone) {
       String name = inputHandler
           .stringReader("Please enter name of ingredient (type 'done' if finished): ");
@@ -77,8 +79,8 @@ public class CookBookMenuMutator {
       } else {
         BigDecimal quantity = inputHandler
             .decimalReader("Please enter required quantity of ingredient: ");
-        String unit = inputHandler
-            .unitReader("Please enter unit of measurement. (kilogram/liter/pcs).");
+        Unit unit = inputHandler
+            .unitReader("Please enter unit of measurement. (kilogram/gram/liter/milliliter/pcs).");
         ingredients.put(name,
             new SimpleEntry<>(quantity, unit));
       }
@@ -102,4 +104,24 @@ public class CookBookMenuMutator {
       System.out.println(errorMessage + e.getMessage());
     }
   }
+
+  /**
+   * Allow the user to cook a recipe, which removes its ingredients from the food storage.
+   *
+   * @param errorMessage The error message to display, in case of an exception.
+   * @param cookBook The cookbook that contains the recipe.
+   * @param foodStorage The food storage to take the ingredients from.
+   * @since 0.0.1
+   */
+  public void cookRecipe(String errorMessage, CookBook cookBook, FoodStorage foodStorage) {
+    try {
+      String recipeToCook = inputHandler.stringReader("Please enter recipe to cook: ");
+      cookBook.cookRecipe(recipeToCook, foodStorage);
+      System.out.println("\n" + recipeToCook + StringFormatter.GREEN
+          + " was cooked, and the ingredients were removed from storage!"
+          + StringFormatter.RESET);
+    } catch (NoSuchElementException | IllegalArgumentException e) {
+      System.out.println(errorMessage + e.getMessage());
+    }
+  }
 }
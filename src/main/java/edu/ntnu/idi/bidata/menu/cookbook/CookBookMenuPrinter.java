@@ -3,9 +3,11 @@ package edu.ntnu.idi.bidata.menu.cookbook;
 import edu.ntnu.idi.bidata.application.UserInputHandler;
 import edu.ntnu.idi.bidata.recipe.CookBook;
 import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.recipe.RecipeScoring;
 import edu.ntnu.idi.bidata.register.FoodStorage;
 import edu.ntnu.idi.bidata.util.CookBookFormatter;
 import edu.ntnu.idi.bidata.util.StringFormatter;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -16,6 +18,9 @@ import java.util.NoSuchElementException;
  * @since 28.11.2024
  */
 public class CookBookMenuPrinter {
+  private static final int MAX_TYPOS = 2;
+  private static final int MAX_SUGGESTIONS = 3;
+  private static final int MAX_RECOMMENDATIONS = 3;
 
   /**
    * Constructs a new instance of <code>CookBookMenuPrinter</code>.
@@ -41,6 +46,7 @@ public class CookBookMenuPrinter {
 
   /**
    * Prints a specific recipe from the cookbook.
+   * If no recipe has the name, recipes with similar names are suggested.
    *
    * @param errorMessage The error message to display in case of an exception.
    * @param uiInputHandler The handler for user input, used to read input from the user.
@@ -50,11 +56,12 @@ public class CookBookMenuPrinter {
    */
   public void printRecipe(String errorMessage, UserInputHandler uiInputHandler, CookBook cookBook,
                           FoodStorage foodStorage) {
+    String recipeToPrint = null;
     try {
       System.out.println("Printable recipes: ");
       cookBook.getAllRecipes().forEach((s, recipe) -> System.out.println(recipe.getRecipeName()));
       System.out.println();
-      String recipeToPrint = uiInputHandler.stringReader("Please enter recipe to print: ");
+      recipeToPrint = uiInputHandler.stringReader("Please enter recipe to print: ");
       Recipe recipe = cookBook.getRecipe(recipeToPrint);
       boolean isAvailable = cookBook.matchRecipeToGrocery(foodStorage, recipe);
       String availability = isAvailable ? StringFormatter.GREEN
@@ -67,11 +74,16 @@ public class CookBookMenuPrinter {
       System.out.println(availability);
     } catch (NoSuchElementException e) {
       System.out.println(errorMessage + e.getMessage());
+      if (recipeToPrint != null) {
+        System.out.println(StringFormatter.suggestions(
+            cookBook.recipeNamesCloseTo(recipeToPrint, MAX_TYPOS, MAX_SUGGESTIONS)));
+      }
     }
   }
 
   /**
-   * Prints a recommended recipe based on the available ingredients in the food storage.
+   * Prints the best recipes based on the available ingredients in the food storage,
+   * and whether each of them can be cooked now.
    *
    * @param errorMessage The error message to display in case of an exception.
    * @param cookBook The cookbook containing the recipes.
@@ -80,12 +92,18 @@ public class CookBookMenuPrinter {
    */
   public void recipeRecommendation(String errorMessage, CookBook cookBook,
                                    FoodStorage foodStorage) {
-    try {
-      Recipe recommendedRecipe = cookBook.recipeRecommendation(foodStorage);
-      System.out.println(StringFormatter.GREEN + "\nRecommended recipe: "
-          + StringFormatter.RESET + recommendedRecipe.getRecipeName());
-    } catch (NoSuchElementException e) {
-      System.out.println(errorMessage + e.getMessage());
+    List<Recipe> recommendedRecipes =
+        cookBook.recommend(foodStorage, MAX_RECOMMENDATIONS, RecipeScoring.DEFAULT);
+    if (recommendedRecipes.isEmpty()) {
+      System.out.println(errorMessage + "There is no recipes that"
+          + " can be made with your groceries.");
+      return;
+    }
+    System.out.println(StringFormatter.GREEN + "\nRecommended recipes:" + StringFormatter.RESET);
+    for (Recipe recipe : recommendedRecipes) {
+      String status = cookBook.matchRecipeToGrocery(foodStorage, recipe)
+          ? "ready to cook" : "missing ingredients";
+      System.out.println(recipe.getRecipeName() + " (" + status + ")");
     }
   }
 }
@@ -51,6 +51,7 @@ public class GroceryMenu {
     LIST_OF_ALL_GROCERIES(4),
     LIST_OF_EXPIRED_GROCERIES(5),
     VALUE_OF_ALL_GROCERIES(6),
+    SOONEST_EXPIRING_GROCERIES(7),
     BACK(0);
 
     private final int value;
@@ -119,6 +120,8 @@ public class GroceryMenu {
           groceryPrinter.listOfExpiredGroceries(ERRORMESSAGE, foodStorage);
       case GroceryCommand.VALUE_OF_ALL_GROCERIES ->
           groceryPrinter.valueOfAllGroceries(ERRORMESSAGE, foodStorage);
+      case GroceryCommand.SOONEST_EXPIRING_GROCERIES ->
+          groceryPrinter.soonestExpiringGroceries(ERRORMESSAGE, foodStorage);
       case GroceryCommand.BACK -> System.out.println("Going back to main menu.\n");
       default -> System.out.println("Invalid command.\n");
     }
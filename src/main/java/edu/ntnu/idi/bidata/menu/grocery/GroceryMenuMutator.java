@@ -2,6 +2,7 @@ package edu.ntnu.idi.bidata.menu.grocery;
 
 import edu.ntnu.idi.bidata.application.UserInputHandler;
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
 import edu.ntnu.idi.bidata.register.FoodStorage;
 import edu.ntnu.idi.bidata.util.StringFormatter;
 import java.math.BigDecimal;
@@ -56,9 +57,11 @@ public class GroceryMenuMutator {
   public void removeGrocery(String errorMessage, FoodStorage foodStorage) {
     String groceryToRemove = inputHandler.stringReader("Name of grocery to remove: ");
     BigDecimal quantityToRemove = inputHandler.decimalReader("Quantity to remove: ");
+    Unit unitOfMeasurement = inputHandler
+        .unitReader("Please enter unit of measurement (kilogram/gram/liter/milliliter/pcs): ");
 
     try {
-      foodStorage.removeGrocery(groceryToRemove, quantityToRemove);
+      foodStorage.removeGrocery(groceryToRemove, quantityToRemove, unitOfMeasurement);
       System.out.println(StringFormatter.GREEN
           + "\nGrocery was removed successfully!"
           + StringFormatter.RESET);
@@ -78,8 +81,8 @@ public class GroceryMenuMutator {
     String nameOfGrocery = inputHandler.stringReader("Please enter name of grocery: ");
     BigDecimal quantityOfGrocery = inputHandler
         .decimalReader("Please enter quantity of grocery: ");
-    String unitOfMeasurement = inputHandler
-        .unitReader("Please enter unit of measurement (kilogram/liter/pcs): ");
+    Unit unitOfMeasurement = inputHandler
+        .unitReader("Please enter unit of measurement (kilogram/gram/liter/milliliter/pcs): ");
     BigDecimal priceOfGrocery = inputHandler.decimalReader("Please enter price of grocery: ");
     String dateOfExpiry = inputHandler.dateReader("Please enter expiry date (YYYY-MM-DD): ");
 
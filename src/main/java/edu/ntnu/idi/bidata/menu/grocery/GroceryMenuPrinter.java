@@ -1,11 +1,10 @@
 package edu.ntnu.idi.bidata.menu.grocery;
 
 import edu.ntnu.idi.bidata.application.UserInputHandler;
-import edu.ntnu.idi.bidata.entity.Grocery;
 import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.GroceryPage;
 import edu.ntnu.idi.bidata.util.GroceryFormatter;
 import edu.ntnu.idi.bidata.util.StringFormatter;
-import java.util.List;
 import java.util.NoSuchElementException;
 
 /**
@@ -16,6 +15,9 @@ import java.util.NoSuchElementException;
  * @since 28.11.2024
  */
 public class GroceryMenuPrinter {
+  private static final int PAGE_SIZE = 10; // Grocery names per page
+  private static final int MAX_TYPOS = 2;
+  private static final int MAX_SUGGESTIONS = 3;
   private final UserInputHandler inputHandler;
 
   /**
@@ -32,6 +34,7 @@ public class GroceryMenuPrinter {
 
   /**
    * Prompts the user for a grocery to search for and prints the details if found.
+   * If no grocery has the name, groceries with similar names are suggested.
    *
    * @param foodStorage The food storage to search in.
    * @param errorMessage Error message to display.
@@ -48,11 +51,14 @@ public class GroceryMenuPrinter {
       System.out.println(formattedGrocery);
     } catch (NoSuchElementException e) {
       System.out.println(errorMessage + e.getMessage());
+      System.out.println(StringFormatter.suggestions(
+          foodStorage.groceryNamesCloseTo(groceryToSearch, MAX_TYPOS, MAX_SUGGESTIONS)));
     }
   }
 
   /**
-   * Prints a list of all groceries in the food storage.
+   * Prints a list of all groceries in the food storage, one page at a time.
+   * After each page the user is asked if the next page should be printed.
    *
    * @param errorMessage The error message to display in case of an exception.
    * @param foodStorage The food storage to list the groceries from.
@@ -60,9 +66,14 @@ public class GroceryMenuPrinter {
    */
   public void listOfAllGroceries(String errorMessage, FoodStorage foodStorage) {
     try {
-      String formattedGroceries = GroceryFormatter.formatSortedGroceries(foodStorage);
-      System.out.println(formattedGroceries);
-    } catch (NoSuchElementException e) {
+      GroceryPage page = foodStorage.getPage(null, PAGE_SIZE);
+      System.out.println(GroceryFormatter.formatGroceries(page.getGroceries()));
+      while (page.hasNext() && inputHandler
+          .stringReader("Show the next page? (y/n): ").equalsIgnoreCase("y")) {
+        page = foodStorage.getPage(page.getNextKey(), PAGE_SIZE);
+        System.out.println(GroceryFormatter.formatGroceries(page.getGroceries()));
+      }
+    } catch (IllegalArgumentException | NoSuchElementException e) {
       System.out.println(errorMessage + e.getMessage());
     }
   }
@@ -80,13 +91,30 @@ public class GroceryMenuPrinter {
       String dateOfExpiry = inputHandler
           .dateReader("Please enter date to check which groceries "
               + "expires before given date ('YYYY-MM-DD'): ");
-      List<Grocery> expiredGroceries = foodStorage.listOfExpiredGroceries(dateOfExpiry);
       String formattedExpiredGroceries = GroceryFormatter
           .formatExpiredGroceries(foodStorage, dateOfExpiry);
       System.out.println(formattedExpiredGroceries);
       System.out.println(StringFormatter.GREEN + "Value of expired groceries: "
           + StringFormatter.RESET
-          + foodStorage.valueOfExpiredGroceries(expiredGroceries) + "\n");
+          + foodStorage.valueOfGroceriesExpiringBefore(dateOfExpiry) + "\n");
+    } catch (IllegalArgumentException | NoSuchElementException e) {
+      System.out.println(errorMessage + e.getMessage());
+    }
+  }
+
+  /**
+   * Prompts the user for a number of groceries, and prints the groceries that expire first.
+   *
+   * @param errorMessage The error message to display in case of an exception.
+   * @param foodStorage The food storage to list the groceries from.
+   * @since 0.0.1
+   */
+  public void soonestExpiringGroceries(String errorMessage, FoodStorage foodStorage) {
+    try {
+      int numberOfGroceries = inputHandler
+          .intReader("Please enter how many groceries to show: ");
+      System.out.println(GroceryFormatter
+          .formatGroceries(foodStorage.soonestExpiring(numberOfGroceries)));
     } catch (IllegalArgumentException | NoSuchElementException e) {
       System.out.println(errorMessage + e.getMessage());
     }
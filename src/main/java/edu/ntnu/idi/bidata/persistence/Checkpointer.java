@@ -0,0 +1,266 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.UsageBucket;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps the journal short, by writing a snapshot of the storage and the cookbook
+ * and compacting the journal up to the position of the snapshot.
+ * A checkpoint is due when enough bytes have been written to the journal since the last one,
+ * or when enough time has passed and something has been written.
+ * Checkpoints are only started between commands, right after the changes of a command have been
+ * committed, so the snapshot and its journal position always match, and the checkpointer never
+ * commits the journal itself, which keeps the journal at one commit per command.
+ * The state is captured on the thread that changes the storage. The storage and the cookbook
+ * hand out copies, so nothing changed by a later command reaches the snapshot.
+ * The snapshot is then written and the journal compacted on a background thread,
+ * while the storage can be changed again, and records written meanwhile are kept by the compaction.
+ * Only one checkpoint runs at a time. A failed checkpoint leaves the journal as it was,
+ * and is reported on the thread that changes the storage, the next time a checkpoint is due.
+ * Its methods must be called on the thread that changes the storage.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class Checkpointer implements Closeable {
+  private final Journal journal;
+  private final Path snapshotPath;
+  private final FoodStorage foodStorage;
+  private final CookBook cookBook;
+  private final long bytesBetweenCheckpoints;
+  private final long nanosBetweenCheckpoints;
+  private final ExecutorService writer;
+  private final AtomicInteger checkpoints = new AtomicInteger();
+  private Future<?> running;
+  private long bytesAtLastCheckpoint;
+  private long lastCheckpoint = System.nanoTime();
+  private volatile IOException lastFailure;
+  private IOException reportedFailure;
+
+  /**
+   * Constructor for <code>Checkpointer</code>.
+   *
+   * @param journal The journal to compact.
+   * @param snapshotPath The path of the snapshot file.
+   * @param foodStorage The food storage to write to the snapshot.
+   * @param cookBook The cookbook to write to the snapshot.
+   * @param bytesBetweenCheckpoints The number of bytes written to the journal that makes
+   *                                a checkpoint due.
+   * @param timeBetweenCheckpoints The time since the last checkpoint that makes a checkpoint due.
+   * @throws IllegalArgumentException if an argument is null, or a limit is not positive.
+   */
+  public Checkpointer(Journal journal, Path snapshotPath, FoodStorage foodStorage,
+                      CookBook cookBook, long bytesBetweenCheckpoints,
+                      Duration timeBetweenCheckpoints) {
+    if (journal == null || snapshotPath == null || foodStorage == null || cookBook == null
+        || timeBetweenCheckpoints == null) {
+      throw new IllegalArgumentException("Provided input cannot be null.");
+    }
+    if (bytesBetweenCheckpoints <= 0 || timeBetweenCheckpoints.isNegative()
+        || timeBetweenCheckpoints.isZero()) {
+      throw new IllegalArgumentException("The limits between checkpoints must be positive.");
+    }
+    this.journal = journal;
+    this.snapshotPath = snapshotPath;
+    this.foodStorage = foodStorage;
+    this.cookBook = cookBook;
+    this.bytesBetweenCheckpoints = bytesBetweenCheckpoints;
+    this.nanosBetweenCheckpoints = timeBetweenCheckpoints.toNanos();
+    this.bytesAtLastCheckpoint = journal.getBytesWritten();
+    this.writer = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "checkpointer");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Writes a checkpoint now, on the calling thread, after any running checkpoint has finished.
+   * Used when the application stops, after the changes of the last command have been committed.
+   *
+   * @throws IOException if the snapshot can not be written, or the journal can not be compacted.
+   * @throws IllegalStateException if the journal has records that are not committed.
+   */
+  public void checkpoint() throws IOException {
+    if (journal.hasPendingRecords()) {
+      throw new IllegalStateException("The journal has records that are not committed.");
+    }
+    awaitRunning();
+    capture().run();
+  }
+
+  /**
+   * Accessor method for the number of checkpoints that have finished.
+   *
+   * @return The number of finished checkpoints.
+   */
+  public int getCheckpointCount() {
+    return checkpoints.get();
+  }
+
+  /**
+   * Accessor method for the failure of the last background checkpoint that failed.
+   *
+   * @return The failure, or <code>null</code> if no background checkpoint has failed.
+   */
+  public IOException getLastFailure() {
+    return lastFailure;
+  }
+
+  /**
+   * Waits for the running checkpoint, if any, to finish.
+   * A failure of the checkpoint is kept, see <code>getLastFailure</code>.
+   *
+   * @throws IOException if the thread is interrupted while waiting.
+   */
+  public void awaitCheckpoint() throws IOException {
+    awaitRunning();
+  }
+
+  /**
+   * Waits for the running checkpoint to finish, and stops the background thread.
+   *
+   * @throws IOException if the thread is interrupted while waiting.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      awaitRunning();
+    } finally {
+      writer.shutdown();
+    }
+  }
+
+  /**
+   * Captures the state and starts a checkpoint in the background,
+   * if one is due and none is running.
+   * Must be called between commands, after the changes of the command have been committed.
+   * Nothing is started while the journal has records that are not committed, because the
+   * snapshot would then hold changes that are after its journal position.
+   * The time since the last checkpoint is checked here as well, because the storage may only be
+   * read on this thread. Changes made before a quiet period are safe in the journal meanwhile.
+   *
+   * @throws UncheckedIOException if the position of the journal can not be read.
+   */
+  public void checkpointIfDue() {
+    if (journal.hasPendingRecords() || (running != null && !running.isDone())) {
+      return;
+    }
+    reportFailure();
+    long bytesSinceCheckpoint = journal.getBytesWritten() - bytesAtLastCheckpoint;
+    boolean isDue = bytesSinceCheckpoint >= bytesBetweenCheckpoints
+        || (bytesSinceCheckpoint > 0
+        && System.nanoTime() - lastCheckpoint >= nanosBetweenCheckpoints);
+    if (!isDue) {
+      return;
+    }
+    CheckpointTask task;
+    try {
+      task = capture();
+    } catch (IOException e) {
+      throw new UncheckedIOException("The journal could not be read.", e);
+    }
+    running = writer.submit(() -> {
+      try {
+        task.run();
+      } catch (IOException e) {
+        lastFailure = e;
+      }
+    });
+  }
+
+  /**
+   * Copies the state of the storage and the cookbook, together with the journal position it
+   * matches. The journal must have no records that are not committed.
+   * The storage already hands out copies of its lots, and recipes are copied because they can
+   * be changed. Texts of recipes that have not been read are not read here, the copy reads them
+   * from the snapshot they were loaded from when it is written. Wasted lots are never changed,
+   * so only the list is copied, and the usage totals are copied into new buckets.
+   *
+   * @return A task that writes the copied state and compacts the journal.
+   * @throws IOException if the position of the journal can not be read.
+   */
+  private CheckpointTask capture() throws IOException {
+    JournalPosition position = journal.getPosition();
+    List<Grocery> groceries = foodStorage.getAllGroceries();
+    List<Grocery> waste = foodStorage.getWasteLedger().getWaste();
+    List<UsageBucket> usage = foodStorage.getUsageRollups().getBuckets();
+    List<Recipe> recipes = new ArrayList<>();
+    for (Recipe recipe : cookBook.getRecipes()) {
+      recipes.add(recipe.copy());
+    }
+    bytesAtLastCheckpoint = journal.getBytesWritten();
+    lastCheckpoint = System.nanoTime();
+
+    return () -> {
+      Snapshot.write(snapshotPath, groceries, recipes, waste, usage, position);
+      journal.compact(position.getOffset(), position.getEpoch() + 1);
+      checkpoints.incrementAndGet();
+    };
+  }
+
+  /**
+   * Waits for the running checkpoint, if any, to finish.
+   *
+   * @throws IOException if the thread is interrupted while waiting.
+   */
+  private void awaitRunning() throws IOException {
+    if (running == null) {
+      return;
+    }
+    try {
+      running.get();
+      running = null;
+      reportFailure();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a checkpoint.");
+    } catch (ExecutionException e) {
+      running = null;
+      throw new IOException("The checkpoint failed.", e.getCause());
+    }
+  }
+
+  /**
+   * Tells the user about the last background checkpoint that failed, if it has not been told.
+   * The changes are still safe in the journal, which is only compacted after a checkpoint
+   * has been written.
+   */
+  private void reportFailure() {
+    IOException failure = lastFailure;
+    if (failure != null && failure != reportedFailure) {
+      reportedFailure = failure;
+      System.out.println("A snapshot could not be written, the journal keeps every change: "
+          + failure.getMessage());
+    }
+  }
+
+  /**
+   * The part of a checkpoint that runs in the background.
+   */
+  @FunctionalInterface
+  private interface CheckpointTask {
+    /**
+     * Writes the snapshot and compacts the journal.
+     *
+     * @throws IOException if the snapshot can not be written, or the journal can not be compacted.
+     */
+    void run() throws IOException;
+  }
+}
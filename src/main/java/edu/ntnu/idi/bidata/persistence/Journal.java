@@ -0,0 +1,410 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * This class represents an append-only journal of changes, stored in a single file.
+ * The file starts with a header holding the epoch of the journal, which is raised every time
+ * the journal is reset or compacted after a snapshot, so a snapshot can tell which journal
+ * it covers. Together with an offset in the file, the epoch marks a <code>JournalPosition</code>.
+ * Every record is written as its payload length, a CRC32 checksum of its type and payload,
+ * its type, and the payload itself.
+ * Records are first appended to memory, and are written by <code>commit</code>,
+ * so every record appended since the last commit is written in one write and forced once.
+ * When the journal is replayed, it stops at the first record that is cut off or does not match
+ * its checksum, and cuts the file there, so a crash in the middle of a write only loses
+ * the records that were not completely written.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class Journal implements Closeable {
+  /**
+   * The size of the header in front of every payload, in bytes.
+   */
+  static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Byte.BYTES;
+  /**
+   * The size of the file header, which holds a magic number and the epoch.
+   */
+  static final int FILE_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+  private static final int MAGIC = 0x4D504A4E; // "MPJN"
+  private final Path path;
+  private FileChannel channel; // Replaced when the journal is compacted
+  private final SyncPolicy syncPolicy;
+  private final long syncIntervalNanos;
+  private final List<ByteBuffer> pendingRecords = new ArrayList<>();
+  private long lastSync = System.nanoTime();
+  private long bytesWritten;
+  private long epoch;
+
+  /**
+   * Constructor for <code>Journal</code>.
+   * Opens the journal file, or creates it with epoch zero if it does not exist.
+   * New records are written after the existing ones.
+   *
+   * @param path The path of the journal file.
+   * @param syncPolicy When commits are forced to the disk.
+   * @param syncInterval The longest time between two forces, used with
+   *                     <code>SyncPolicy.INTERVAL</code>.
+   * @throws IOException if the file can not be opened, or is not a journal.
+   * @throws IllegalArgumentException if an argument is null, or the interval is negative.
+   */
+  public Journal(Path path, SyncPolicy syncPolicy, Duration syncInterval) throws IOException {
+    if (path == null || syncPolicy == null || syncInterval == null || syncInterval.isNegative()) {
+      throw new IllegalArgumentException("Path, sync policy and a positive interval are required.");
+    }
+    this.syncPolicy = syncPolicy;
+    this.syncIntervalNanos = syncInterval.toNanos();
+    this.path = path;
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      if (channel.size() < FILE_HEADER_SIZE) {
+        writeFileHeader(0);
+      } else {
+        readFileHeader();
+      }
+      channel.position(channel.size());
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the epoch from the file header.
+   *
+   * @throws IOException if the header can not be read, or the file is not a journal.
+   */
+  private void readFileHeader() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+    while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+      // Keep reading until the header is full.
+    }
+    header.flip();
+    if (header.getInt() != MAGIC) {
+      throw new IOException("The file is not a journal.");
+    }
+    epoch = header.getLong();
+  }
+
+  /**
+   * Empties the file, and writes a new file header with the given epoch.
+   *
+   * @param newEpoch The epoch of the empty journal.
+   * @throws IOException if the header can not be written.
+   */
+  private void writeFileHeader(long newEpoch) throws IOException {
+    channel.truncate(0);
+    ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putLong(newEpoch);
+    header.flip();
+    while (header.hasRemaining()) {
+      channel.write(header, header.position());
+    }
+    channel.force(false);
+    channel.position(FILE_HEADER_SIZE);
+    epoch = newEpoch;
+  }
+
+  /**
+   * Appends a record to memory. The record is written by the next <code>commit</code>.
+   *
+   * @param type The type of the record.
+   * @param payload The payload of the record.
+   */
+  public synchronized void append(RecordType type, byte[] payload) {
+    CRC32 checksum = new CRC32();
+    checksum.update(type.getCode());
+    checksum.update(payload);
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length);
+    buffer.putInt(payload.length)
+        .putInt((int) checksum.getValue())
+        .put(type.getCode())
+        .put(payload)
+        .flip();
+    pendingRecords.add(buffer);
+  }
+
+  /**
+   * Writes every record appended since the last commit, in a single write.
+   * The write is forced to the disk as decided by the sync policy.
+   *
+   * @throws IOException if the records can not be written.
+   */
+  public synchronized void commit() throws IOException {
+    if (pendingRecords.isEmpty()) {
+      return;
+    }
+    ByteBuffer[] buffers = pendingRecords.toArray(new ByteBuffer[0]);
+    long remaining = 0;
+    for (ByteBuffer buffer : buffers) {
+      remaining += buffer.remaining();
+    }
+    while (remaining > 0) {
+      long written = channel.write(buffers);
+      remaining -= written;
+      bytesWritten += written;
+    }
+    pendingRecords.clear();
+    syncIfDue();
+  }
+
+  /**
+   * Forces the written records to the disk, if the sync policy says so.
+   *
+   * @throws IOException if the records can not be forced.
+   */
+  private void syncIfDue() throws IOException {
+    long now = System.nanoTime();
+    boolean isDue = switch (syncPolicy) {
+      case EVERY_COMMIT -> true;
+      case INTERVAL -> now - lastSync >= syncIntervalNanos;
+      case OS -> false;
+    };
+    if (isDue) {
+      channel.force(false);
+      lastSync = now;
+    }
+  }
+
+  /**
+   * Reads every complete record in the journal, from the oldest to the newest.
+   * Reading stops at the first record that is cut off, has an unknown type or does not match
+   * its checksum. The file is then cut after the last good record,
+   * so later records are written after it.
+   *
+   * @param handler The handler that is given every good record.
+   * @return The number of records that were given to the handler.
+   * @throws IOException if the journal can not be read.
+   */
+  public synchronized int replay(RecordHandler handler) throws IOException {
+    return replay(handler, FILE_HEADER_SIZE);
+  }
+
+  /**
+   * Reads every complete record from the given offset, from the oldest to the newest.
+   * Used to replay only the records that were written after a snapshot.
+   * Reading stops as described for <code>replay(RecordHandler)</code>.
+   *
+   * @param handler The handler that is given every good record.
+   * @param offset The offset of the first record to read, as given by <code>getPosition</code>.
+   *               An offset past the end of the file reads nothing.
+   * @return The number of records that were given to the handler.
+   * @throws IOException if the journal can not be read.
+   * @throws IllegalArgumentException if the offset is inside the file header.
+   */
+  public synchronized int replay(RecordHandler handler, long offset) throws IOException {
+    if (offset < FILE_HEADER_SIZE) {
+      throw new IllegalArgumentException("The offset cannot be inside the file header.");
+    }
+    long size = channel.size();
+    long start = Math.min(offset, size);
+    ByteBuffer records = readAll(start, size - start);
+    CRC32 checksum = new CRC32();
+    int replayed = 0;
+    long validEnd = start;
+
+    while (records.remaining() >= HEADER_SIZE) {
+      int length = records.getInt();
+      int storedChecksum = records.getInt();
+      byte code = records.get();
+      RecordType type = RecordType.fromCode(code);
+      if (type == null || length < 0 || length > records.remaining()) {
+        break;
+      }
+      ByteBuffer payload = records.slice(records.position(), length);
+      checksum.reset();
+      checksum.update(code);
+      checksum.update(payload.duplicate());
+      if ((int) checksum.getValue() != storedChecksum) {
+        break;
+      }
+      records.position(records.position() + length);
+      handler.handle(type, payload.asReadOnlyBuffer());
+      validEnd = start + records.position();
+      replayed++;
+    }
+
+    if (validEnd < size) {
+      channel.truncate(validEnd);
+      channel.force(false);
+    }
+    channel.position(validEnd);
+    return replayed;
+  }
+
+  /**
+   * Reads every record of the file into memory with as few reads as possible.
+   * The file is not mapped, because a mapped file can not be cut on every platform.
+   *
+   * @param start The offset of the first record to read.
+   * @param size The size of the records to read.
+   * @return A buffer with the records, positioned at the first one.
+   * @throws IOException if the file can not be read, or is too large to be read at once.
+   */
+  private ByteBuffer readAll(long start, long size) throws IOException {
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("The journal is too large to be replayed.");
+    }
+    ByteBuffer records = ByteBuffer.allocate((int) size);
+    long position = start;
+    while (records.hasRemaining()) {
+      int read = channel.read(records, position);
+      if (read < 0) {
+        break;
+      }
+      position += read;
+    }
+    return records.flip();
+  }
+
+  /**
+   * Removes every record, and raises the epoch of the journal to the given epoch.
+   * Called after a snapshot that covers every record has been written.
+   * Records that are appended but not committed are dropped, since the snapshot covers them.
+   *
+   * @param newEpoch The new epoch, which must be higher than the current one.
+   * @throws IOException if the journal can not be reset.
+   * @throws IllegalArgumentException if the new epoch is not higher than the current one.
+   */
+  public synchronized void reset(long newEpoch) throws IOException {
+    if (newEpoch <= epoch) {
+      throw new IllegalArgumentException("The new epoch must be higher than the current one.");
+    }
+    pendingRecords.clear();
+    writeFileHeader(newEpoch);
+  }
+
+  /**
+   * Removes every record before the given offset, keeps the records after it,
+   * and raises the epoch of the journal to the given epoch.
+   * Called after a snapshot that covers the records before the offset has been written,
+   * while new records may already have been written after it.
+   * The kept records are written to a new file with the new header, which then replaces the
+   * journal in one move, so a crash leaves either the old or the new journal behind.
+   * Only committed records are kept. Records that are appended but not committed stay in memory,
+   * and are written to the compacted journal by the next commit, so a command that is still
+   * running is never written in part.
+   *
+   * @param offset The offset of the first record to keep, as given by <code>getPosition</code>.
+   * @param newEpoch The new epoch, which must be higher than the current one.
+   * @throws IOException if the journal can not be compacted.
+   * @throws IllegalArgumentException if the new epoch is not higher than the current one,
+   *                                  or the offset is outside the records.
+   */
+  public synchronized void compact(long offset, long newEpoch) throws IOException {
+    if (newEpoch <= epoch) {
+      throw new IllegalArgumentException("The new epoch must be higher than the current one.");
+    }
+    long size = channel.size();
+    if (offset < FILE_HEADER_SIZE || offset > size) {
+      throw new IllegalArgumentException("The offset must be inside the records.");
+    }
+    Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel target = FileChannel.open(compacted, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putLong(newEpoch);
+      header.flip();
+      while (header.hasRemaining()) {
+        target.write(header);
+      }
+      long copied = 0;
+      while (copied < size - offset) {
+        copied += channel.transferTo(offset + copied, size - offset - copied, target);
+      }
+      target.force(false);
+    }
+    channel.close();
+    try {
+      Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      // Reopens the old journal if the move failed, so it can still be written to.
+      channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      channel.position(channel.size());
+    }
+    epoch = newEpoch;
+  }
+
+  /**
+   * Accessor method for the position after the last committed record.
+   * Records appended but not committed are not counted.
+   *
+   * @return The current position of the journal.
+   * @throws IOException if the position can not be read.
+   */
+  public synchronized JournalPosition getPosition() throws IOException {
+    return new JournalPosition(epoch, channel.position());
+  }
+
+  /**
+   * Checks if records have been appended since the last commit.
+   *
+   * @return <code>true</code> if there are records that are not committed,
+   *         <code>false</code> otherwise.
+   */
+  public synchronized boolean hasPendingRecords() {
+    return !pendingRecords.isEmpty();
+  }
+
+  /**
+   * Accessor method for the epoch of the journal.
+   *
+   * @return The epoch, which is raised every time the journal is reset.
+   */
+  public synchronized long getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * Accessor method for the number of bytes written since the journal was opened.
+   *
+   * @return The number of bytes written by commits.
+   */
+  public synchronized long getBytesWritten() {
+    return bytesWritten;
+  }
+
+  /**
+   * Commits the pending records, forces them to the disk unless the sync policy is
+   * <code>SyncPolicy.OS</code>, and closes the file.
+   *
+   * @throws IOException if the records can not be written, or the file can not be closed.
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    try {
+      commit();
+      if (syncPolicy != SyncPolicy.OS) {
+        channel.force(false);
+      }
+    } finally {
+      channel.close();
+    }
+  }
+
+  /**
+   * Handler that is given the records of a journal when it is replayed.
+   */
+  @FunctionalInterface
+  public interface RecordHandler {
+    /**
+     * Handles a single record.
+     *
+     * @param type The type of the record.
+     * @param payload The payload of the record, positioned at its start.
+     */
+    void handle(RecordType type, ByteBuffer payload);
+  }
+}
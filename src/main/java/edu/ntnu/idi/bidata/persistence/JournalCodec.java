@@ -0,0 +1,341 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Utility class for turning groceries, recipes and changes into record payloads and back.
+ * Quantities and prices are stored as fixed-point hundredths, units as their ordinal,
+ * dates as epoch days and text as its length followed by its UTF-8 bytes.
+ * The order of the <code>Unit</code> constants is part of the format, and must not change.
+ * The text and ingredient helpers are shared with <code>Snapshot</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class JournalCodec {
+  private JournalCodec() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Encodes a single grocery.
+   *
+   * @param grocery The grocery to encode.
+   * @return The payload.
+   */
+  public static byte[] encodeGrocery(Grocery grocery) {
+    return encode(out -> writeGrocery(out, grocery));
+  }
+
+  /**
+   * Decodes a single grocery.
+   *
+   * @param payload The payload, positioned at its start.
+   * @return A new grocery.
+   */
+  public static Grocery decodeGrocery(ByteBuffer payload) {
+    return readGrocery(payload);
+  }
+
+  /**
+   * Encodes a batch of groceries.
+   *
+   * @param groceries The groceries to encode.
+   * @return The payload.
+   */
+  public static byte[] encodeGroceries(Collection<Grocery> groceries) {
+    return encode(out -> {
+      out.writeInt(groceries.size());
+      for (Grocery grocery : groceries) {
+        writeGrocery(out, grocery);
+      }
+    });
+  }
+
+  /**
+   * Decodes a batch of groceries.
+   *
+   * @param payload The payload, positioned at its start.
+   * @return A list of new groceries, in the order they were encoded.
+   */
+  public static List<Grocery> decodeGroceries(ByteBuffer payload) {
+    int count = payload.getInt();
+    List<Grocery> groceries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      groceries.add(readGrocery(payload));
+    }
+    return groceries;
+  }
+
+  /**
+   * Encodes the removal of a quantity of a grocery.
+   * The date it was used on is written first, and is read back with <code>decodeDate</code>
+   * before the rest is read with <code>decodeRemoval</code>.
+   *
+   * @param usedOn The date the quantity was counted as used on.
+   * @param nameOfGrocery The name of the grocery.
+   * @param quantity The quantity that was removed.
+   * @param unit The unit of measurement of the quantity.
+   * @return The payload.
+   */
+  public static byte[] encodeRemoval(LocalDate usedOn, String nameOfGrocery, BigDecimal quantity,
+                                     Unit unit) {
+    return encode(out -> {
+      out.writeLong(usedOn.toEpochDay());
+      writeString(out, nameOfGrocery);
+      out.writeLong(FixedPoint.of(quantity));
+      out.writeByte(unit.ordinal());
+    });
+  }
+
+  /**
+   * Decodes the removal of a quantity of a grocery.
+   *
+   * @param payload The payload, positioned after the date it was used on.
+   * @return An entry with the name of the grocery as key, and the quantity and its unit
+   *         of measurement as value.
+   */
+  public static SimpleEntry<String, SimpleEntry<BigDecimal, Unit>> decodeRemoval(
+      ByteBuffer payload) {
+    String nameOfGrocery = readString(payload);
+    BigDecimal quantity = FixedPoint.toBigDecimal(payload.getLong());
+    return new SimpleEntry<>(nameOfGrocery,
+        new SimpleEntry<>(quantity, Unit.values()[payload.get()]));
+  }
+
+  /**
+   * Encodes the removal of a map of ingredients.
+   * The date they were used on is written first, and is read back with <code>decodeDate</code>
+   * before the ingredients are read with <code>decodeIngredients</code>.
+   *
+   * @param usedOn The date the ingredients were counted as used on.
+   * @param ingredients Map of ingredients, name is key,
+   *                    key of value is quantity and value of value is unit of measurement.
+   * @return The payload.
+   */
+  public static byte[] encodeIngredients(LocalDate usedOn,
+                                         Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
+    return encode(out -> {
+      out.writeLong(usedOn.toEpochDay());
+      writeIngredients(out, ingredients);
+    });
+  }
+
+  /**
+   * Decodes a map of ingredients.
+   *
+   * @param payload The payload, positioned after the date they were used on.
+   * @return Map of ingredients, in the order they were encoded.
+   */
+  public static Map<String, SimpleEntry<BigDecimal, Unit>> decodeIngredients(ByteBuffer payload) {
+    return readIngredients(payload);
+  }
+
+  /**
+   * Encodes a recipe.
+   *
+   * @param recipe The recipe to encode.
+   * @return The payload.
+   */
+  public static byte[] encodeRecipe(Recipe recipe) {
+    return encode(out -> {
+      writeString(out, recipe.getRecipeName());
+      writeString(out, recipe.getRecipeDescription());
+      writeString(out, recipe.getCookingInstructions());
+      out.writeInt(recipe.getAmountOfServings());
+      writeIngredients(out, recipe.getIngredients());
+    });
+  }
+
+  /**
+   * Decodes a recipe.
+   *
+   * @param payload The payload, positioned at its start.
+   * @return A new recipe.
+   */
+  public static Recipe decodeRecipe(ByteBuffer payload) {
+    String recipeName = readString(payload);
+    String recipeDescription = readString(payload);
+    String cookingInstructions = readString(payload);
+    int amountOfServings = payload.getInt();
+    return new Recipe(recipeName, recipeDescription, cookingInstructions,
+        readIngredients(payload), amountOfServings);
+  }
+
+  /**
+   * Encodes a name, for example the name of a removed recipe.
+   *
+   * @param name The name to encode.
+   * @return The payload.
+   */
+  public static byte[] encodeName(String name) {
+    return encode(out -> writeString(out, name));
+  }
+
+  /**
+   * Decodes a name.
+   *
+   * @param payload The payload, positioned at its start.
+   * @return The name.
+   */
+  public static String decodeName(ByteBuffer payload) {
+    return readString(payload);
+  }
+
+  /**
+   * Encodes a date, for example the date expired lots were moved to the waste ledger.
+   *
+   * @param date The date to encode.
+   * @return The payload.
+   */
+  public static byte[] encodeDate(LocalDate date) {
+    return encode(out -> out.writeLong(date.toEpochDay()));
+  }
+
+  /**
+   * Decodes a date.
+   *
+   * @param payload The payload, positioned at its start.
+   * @return The date.
+   */
+  public static LocalDate decodeDate(ByteBuffer payload) {
+    return LocalDate.ofEpochDay(payload.getLong());
+  }
+
+  /**
+   * Runs a writer against an in-memory stream, and returns what was written.
+   *
+   * @param writer The writer of the payload.
+   * @return The payload.
+   */
+  private static byte[] encode(PayloadWriter writer) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      writer.write(out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Writes a grocery to a stream.
+   *
+   * @param out The stream to write to.
+   * @param grocery The grocery to write.
+   * @throws IOException if the stream can not be written to.
+   */
+  private static void writeGrocery(DataOutputStream out, Grocery grocery) throws IOException {
+    writeString(out, grocery.getName());
+    out.writeByte(grocery.getUnit().ordinal());
+    out.writeLong(grocery.getQuantityHundredths());
+    out.writeLong(grocery.getPriceHundredths());
+    out.writeLong(grocery.getExpiryDate().toEpochDay());
+  }
+
+  /**
+   * Reads a grocery from a payload.
+   *
+   * @param payload The payload to read from.
+   * @return A new grocery.
+   */
+  private static Grocery readGrocery(ByteBuffer payload) {
+    String name = readString(payload);
+    Unit unit = Unit.values()[payload.get()];
+    BigDecimal quantity = FixedPoint.toBigDecimal(payload.getLong());
+    BigDecimal price = FixedPoint.toBigDecimal(payload.getLong());
+    String expiryDate = LocalDate.ofEpochDay(payload.getLong()).toString();
+    return new Grocery(quantity, name, unit, price, expiryDate);
+  }
+
+  /**
+   * Writes a map of ingredients to a stream.
+   *
+   * @param out The stream to write to.
+   * @param ingredients The ingredients to write.
+   * @throws IOException if the stream can not be written to.
+   */
+  static void writeIngredients(DataOutputStream out,
+                               Map<String, SimpleEntry<BigDecimal, Unit>> ingredients)
+      throws IOException {
+    out.writeInt(ingredients.size());
+    for (Map.Entry<String, SimpleEntry<BigDecimal, Unit>> ingredient : ingredients.entrySet()) {
+      writeString(out, ingredient.getKey());
+      out.writeLong(FixedPoint.of(ingredient.getValue().getKey()));
+      out.writeByte(ingredient.getValue().getValue().ordinal());
+    }
+  }
+
+  /**
+   * Reads a map of ingredients from a payload.
+   *
+   * @param payload The payload to read from.
+   * @return Map of ingredients, in the order they were written.
+   */
+  static Map<String, SimpleEntry<BigDecimal, Unit>> readIngredients(ByteBuffer payload) {
+    int count = payload.getInt();
+    Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new LinkedHashMap<>();
+    for (int i = 0; i < count; i++) {
+      String name = readString(payload);
+      BigDecimal quantity = FixedPoint.toBigDecimal(payload.getLong());
+      ingredients.put(name, new SimpleEntry<>(quantity, Unit.values()[payload.get()]));
+    }
+    return ingredients;
+  }
+
+  /**
+   * Writes text to a stream, as its length followed by its UTF-8 bytes.
+   *
+   * @param out The stream to write to.
+   * @param text The text to write.
+   * @throws IOException if the stream can not be written to.
+   */
+  static void writeString(DataOutputStream out, String text) throws IOException {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads text from a payload.
+   *
+   * @param payload The payload to read from.
+   * @return The text.
+   */
+  static String readString(ByteBuffer payload) {
+    byte[] bytes = new byte[payload.getInt()];
+    payload.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Writer of a payload.
+   */
+  @FunctionalInterface
+  private interface PayloadWriter {
+    /**
+     * Writes the payload.
+     *
+     * @param out The stream to write to.
+     * @throws IOException if the stream can not be written to.
+     */
+    void write(DataOutputStream out) throws IOException;
+  }
+}
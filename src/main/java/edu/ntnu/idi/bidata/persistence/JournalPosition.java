@@ -0,0 +1,51 @@
+package edu.ntnu.idi.bidata.persistence;
+
+/**
+ * This class represents a position in a <code>Journal</code>, as the epoch of the journal
+ * and an offset in its file.
+ * A snapshot stores the position it was taken at, so only the records after it are replayed.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class JournalPosition {
+  /**
+   * The position before every journal, used when no snapshot was loaded.
+   */
+  public static final JournalPosition NONE = new JournalPosition(-1, Journal.FILE_HEADER_SIZE);
+  private final long epoch;
+  private final long offset;
+
+  /**
+   * Constructor for <code>JournalPosition</code>.
+   *
+   * @param epoch The epoch of the journal.
+   * @param offset The offset in the journal file, after the file header.
+   * @throws IllegalArgumentException if the offset is inside the file header.
+   */
+  public JournalPosition(long epoch, long offset) {
+    if (offset < Journal.FILE_HEADER_SIZE) {
+      throw new IllegalArgumentException("The offset cannot be inside the file header.");
+    }
+    this.epoch = epoch;
+    this.offset = offset;
+  }
+
+  /**
+   * Accessor method for <code>epoch</code>.
+   *
+   * @return The epoch of the journal.
+   */
+  public long getEpoch() {
+    return epoch;
+  }
+
+  /**
+   * Accessor method for <code>offset</code>.
+   *
+   * @return The offset in the journal file.
+   */
+  public long getOffset() {
+    return offset;
+  }
+}
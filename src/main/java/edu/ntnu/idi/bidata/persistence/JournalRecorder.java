@@ -0,0 +1,150 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBookListener;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorageListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listener that writes every change to a <code>FoodStorage</code> and a <code>CookBook</code>
+ * to a <code>Journal</code>.
+ * Every event becomes one record, which is appended to the journal when the event is told.
+ * The records are written by <code>commit</code>, which is called once per menu command,
+ * so every change made by a command is written and forced once.
+ * Events are only told after a change has been validated and made, so the journal never holds
+ * a change that failed. A crash before the commit loses the changes of the running command,
+ * which have not been saved anywhere else either.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class JournalRecorder implements FoodStorageListener, CookBookListener {
+  private final Journal journal;
+
+  /**
+   * Constructor for <code>JournalRecorder</code>.
+   *
+   * @param journal The journal to write to.
+   * @throws IllegalArgumentException if the journal is null.
+   */
+  public JournalRecorder(Journal journal) {
+    if (journal == null) {
+      throw new IllegalArgumentException("The journal cannot be null.");
+    }
+    this.journal = journal;
+  }
+
+  /**
+   * Writes the added grocery as a <code>GROCERY_ADDED</code> record.
+   *
+   * @param grocery The grocery that was added.
+   */
+  @Override
+  public void groceryAdded(Grocery grocery) {
+    record(RecordType.GROCERY_ADDED, JournalCodec.encodeGrocery(grocery));
+  }
+
+  /**
+   * Writes the added batch as a single <code>GROCERIES_ADDED</code> record.
+   *
+   * @param groceries The groceries that were added.
+   */
+  @Override
+  public void groceriesAdded(Collection<Grocery> groceries) {
+    record(RecordType.GROCERIES_ADDED, JournalCodec.encodeGroceries(groceries));
+  }
+
+  /**
+   * Writes the removal as a <code>GROCERY_REMOVED</code> record.
+   * The date is written with it, so a replay counts the quantity as used on the same day.
+   *
+   * @param nameOfGrocery The name of the grocery.
+   * @param quantity The quantity that was removed.
+   * @param unit The unit of measurement of the quantity.
+   * @param usedOn The date the quantity was counted as used on.
+   */
+  @Override
+  public void groceryRemoved(String nameOfGrocery, BigDecimal quantity, Unit unit,
+                             LocalDate usedOn) {
+    record(RecordType.GROCERY_REMOVED,
+        JournalCodec.encodeRemoval(usedOn, nameOfGrocery, quantity, unit));
+  }
+
+  /**
+   * Writes the removed ingredients as a single <code>INGREDIENTS_REMOVED</code> record,
+   * with the date they were counted as used on.
+   *
+   * @param ingredients The ingredients that were removed.
+   * @param usedOn The date the ingredients were counted as used on.
+   */
+  @Override
+  public void ingredientsRemoved(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients,
+                                 LocalDate usedOn) {
+    record(RecordType.INGREDIENTS_REMOVED, JournalCodec.encodeIngredients(usedOn, ingredients));
+  }
+
+  /**
+   * Writes the expiry as a <code>GROCERIES_EXPIRED</code> record.
+   * Only the date is written, since replaying the expiry on the same storage expires
+   * the same lots.
+   *
+   * @param today The date the lots were expired on.
+   * @param groceries The lots that expired.
+   */
+  @Override
+  public void groceriesExpired(LocalDate today, List<Grocery> groceries) {
+    record(RecordType.GROCERIES_EXPIRED, JournalCodec.encodeDate(today));
+  }
+
+  /**
+   * Writes the added recipe as a <code>RECIPE_ADDED</code> record.
+   *
+   * @param recipe The recipe that was added.
+   */
+  @Override
+  public void recipeAdded(Recipe recipe) {
+    record(RecordType.RECIPE_ADDED, JournalCodec.encodeRecipe(recipe));
+  }
+
+  /**
+   * Writes the removal as a <code>RECIPE_REMOVED</code> record.
+   *
+   * @param recipeName The name of the recipe that was removed.
+   */
+  @Override
+  public void recipeRemoved(String recipeName) {
+    record(RecordType.RECIPE_REMOVED, JournalCodec.encodeName(recipeName));
+  }
+
+  /**
+   * Writes every record appended since the last commit to the journal.
+   *
+   * @throws UncheckedIOException if the records can not be written.
+   */
+  public void commit() {
+    try {
+      journal.commit();
+    } catch (IOException e) {
+      throw new UncheckedIOException("The changes could not be written to the journal.", e);
+    }
+  }
+
+  /**
+   * Appends a record to the journal. The record is written by the next <code>commit</code>.
+   *
+   * @param type The type of the record.
+   * @param payload The payload of the record.
+   */
+  private void record(RecordType type, byte[] payload) {
+    journal.append(type, payload);
+  }
+}
@@ -0,0 +1,130 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+
+/**
+ * Utility class for rebuilding a <code>FoodStorage</code> and a <code>CookBook</code>
+ * from the records of a <code>Journal</code>.
+ * Every record is applied through the same methods that made the change,
+ * so the storage ends up in the same state as before the application stopped.
+ * The journal should be replayed before a <code>JournalRecorder</code> is added as listener,
+ * so the replayed changes are not written again, and after the densities and piece weights
+ * are added to the unit converter, so changes across dimensions can be applied.
+ * A record that can not be applied is reported and skipped, so one bad record does not
+ * stop the application from starting.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class JournalReplayer {
+  private JournalReplayer() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Replays every complete record of the journal into the storage and the cookbook.
+   *
+   * @param journal The journal to replay.
+   * @param foodStorage The food storage to apply grocery records to.
+   * @param cookBook The cookbook to apply recipe records to.
+   * @return The number of records that were replayed, skipped records included.
+   * @throws IOException if the journal can not be read.
+   * @throws IllegalArgumentException if an argument is null.
+   */
+  public static int replay(Journal journal, FoodStorage foodStorage, CookBook cookBook)
+      throws IOException {
+    if (journal == null || foodStorage == null || cookBook == null) {
+      throw new IllegalArgumentException("Journal, food storage and cookbook cannot be null.");
+    }
+    return journal.replay((type, payload) -> applyOrSkip(type, payload, foodStorage, cookBook));
+  }
+
+  /**
+   * Replays the part of the journal that was written after a loaded snapshot.
+   * If the journal has the epoch of the snapshot, only the records after the position of the
+   * snapshot are replayed. This happens when the application stopped after a snapshot was
+   * written, but before the journal was compacted.
+   * If the journal is older than the snapshot, every record is already part of the storage,
+   * and the journal is reset to the next epoch instead of replayed.
+   *
+   * @param journal The journal to replay.
+   * @param foodStorage The food storage to apply grocery records to.
+   * @param cookBook The cookbook to apply recipe records to.
+   * @param covered The journal position covered by the snapshot,
+   *                <code>JournalPosition.NONE</code> if no snapshot was loaded.
+   * @return The number of records that were replayed, skipped records included.
+   * @throws IOException if the journal can not be read or reset.
+   * @throws IllegalArgumentException if an argument is null.
+   */
+  public static int replay(Journal journal, FoodStorage foodStorage, CookBook cookBook,
+                           JournalPosition covered) throws IOException {
+    if (journal == null || foodStorage == null || cookBook == null || covered == null) {
+      throw new IllegalArgumentException("Journal, food storage, cookbook and position "
+          + "cannot be null.");
+    }
+    if (journal.getEpoch() < covered.getEpoch()) {
+      journal.reset(covered.getEpoch() + 1);
+      return 0;
+    }
+    long offset = journal.getEpoch() == covered.getEpoch()
+        ? covered.getOffset() : Journal.FILE_HEADER_SIZE;
+    return journal.replay(
+        (type, payload) -> applyOrSkip(type, payload, foodStorage, cookBook), offset);
+  }
+
+  /**
+   * Applies a single record, or reports and skips it if it can not be applied.
+   *
+   * @param type The type of the record.
+   * @param payload The payload of the record.
+   * @param foodStorage The food storage to apply grocery records to.
+   * @param cookBook The cookbook to apply recipe records to.
+   */
+  private static void applyOrSkip(RecordType type, ByteBuffer payload,
+                                  FoodStorage foodStorage, CookBook cookBook) {
+    try {
+      apply(type, payload, foodStorage, cookBook);
+    } catch (RuntimeException e) {
+      System.out.println("A " + type + " record could not be replayed and is skipped: "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Applies a single record.
+   *
+   * @param type The type of the record.
+   * @param payload The payload of the record.
+   * @param foodStorage The food storage to apply grocery records to.
+   * @param cookBook The cookbook to apply recipe records to.
+   */
+  static void apply(RecordType type, ByteBuffer payload,
+                    FoodStorage foodStorage, CookBook cookBook) {
+    switch (type) {
+      case GROCERY_ADDED -> foodStorage.addGrocery(JournalCodec.decodeGrocery(payload));
+      case GROCERIES_ADDED -> foodStorage.addGroceries(JournalCodec.decodeGroceries(payload));
+      case GROCERY_REMOVED -> {
+        LocalDate usedOn = JournalCodec.decodeDate(payload);
+        SimpleEntry<String, SimpleEntry<BigDecimal, Unit>> removal =
+            JournalCodec.decodeRemoval(payload);
+        foodStorage.removeGrocery(removal.getKey(), removal.getValue().getKey(),
+            removal.getValue().getValue(), usedOn);
+      }
+      case INGREDIENTS_REMOVED -> {
+        LocalDate usedOn = JournalCodec.decodeDate(payload);
+        foodStorage.removeIngredients(JournalCodec.decodeIngredients(payload), usedOn);
+      }
+      case RECIPE_ADDED -> cookBook.addRecipe(JournalCodec.decodeRecipe(payload));
+      case RECIPE_REMOVED -> cookBook.removeRecipe(JournalCodec.decodeName(payload));
+      case GROCERIES_EXPIRED ->
+          foodStorage.removeExpiredGroceries(JournalCodec.decodeDate(payload));
+    }
+  }
+}
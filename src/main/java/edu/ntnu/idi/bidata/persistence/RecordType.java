@@ -0,0 +1,53 @@
+package edu.ntnu.idi.bidata.persistence;
+
+/**
+ * This enum represents the types of records in a <code>Journal</code>.
+ * Each type is stored as a single byte, which must never change once records are written.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public enum RecordType {
+  GROCERY_ADDED((byte) 1),
+  GROCERIES_ADDED((byte) 2),
+  GROCERY_REMOVED((byte) 3),
+  INGREDIENTS_REMOVED((byte) 4),
+  RECIPE_ADDED((byte) 5),
+  RECIPE_REMOVED((byte) 6),
+  GROCERIES_EXPIRED((byte) 7);
+
+  private final byte code;
+
+  /**
+   * Constructor for <code>RecordType</code>.
+   *
+   * @param code The byte the type is stored as.
+   */
+  RecordType(byte code) {
+    this.code = code;
+  }
+
+  /**
+   * Accessor method for <code>code</code>.
+   *
+   * @return The byte the type is stored as.
+   */
+  public byte getCode() {
+    return code;
+  }
+
+  /**
+   * Finds the record type stored as the given byte.
+   *
+   * @param code The stored byte.
+   * @return The record type, or <code>null</code> if no type is stored as the byte.
+   */
+  public static RecordType fromCode(byte code) {
+    for (RecordType type : values()) {
+      if (type.code == code) {
+        return type;
+      }
+    }
+    return null;
+  }
+}
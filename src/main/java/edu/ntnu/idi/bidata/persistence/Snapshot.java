@@ -0,0 +1,347 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.Usage;
+import edu.ntnu.idi.bidata.register.UsageBucket;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Utility class for writing the whole state of a <code>FoodStorage</code> and a
+ * <code>CookBook</code> to a compact binary file, and for loading it again.
+ * Loading a snapshot and replaying the short journal written after it is much faster
+ * than replaying every change ever made.
+ * The file starts with a magic number, a format version, the journal position it covers,
+ * and the number of groceries and recipes. Groceries follow in the layout of
+ * <code>JournalCodec</code>, then recipes, whose description and cooking instructions are placed
+ * last so they can be skipped, then the number of wasted lots and the lots themselves,
+ * and last the number of usage buckets and the buckets themselves.
+ * The file ends with a CRC32 checksum of everything before it.
+ * A snapshot is loaded by mapping the file, and the texts of a recipe are only decoded from the
+ * mapping when they are first read.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class Snapshot {
+  /**
+   * The version of the format written by this class.
+   */
+  public static final int VERSION = 1;
+  private static final int MAGIC = 0x4D50534E; // "MPSN"
+  private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES
+      + Integer.BYTES + Integer.BYTES;
+
+  private Snapshot() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Writes a snapshot of the storage, its waste ledger and usage totals, and the cookbook.
+   * The snapshot is first written to a temporary file next to the target, forced to the disk,
+   * and then moved over the target, so a crash never leaves a half written snapshot behind.
+   *
+   * @param path The path of the snapshot file.
+   * @param foodStorage The food storage to write.
+   * @param cookBook The cookbook to write.
+   * @param journalPosition The journal position after the last record in the snapshot.
+   * @throws IOException if the snapshot can not be written.
+   * @throws IllegalArgumentException if an argument is null, or the epoch is negative.
+   */
+  public static void write(Path path, FoodStorage foodStorage, CookBook cookBook,
+                           JournalPosition journalPosition) throws IOException {
+    if (foodStorage == null || cookBook == null) {
+      throw new IllegalArgumentException("Path, food storage and cookbook cannot be null.");
+    }
+    write(path, foodStorage.getAllGroceries(), cookBook.getRecipes(),
+        foodStorage.getWasteLedger().getWaste(), foodStorage.getUsageRollups().getBuckets(),
+        journalPosition);
+  }
+
+  /**
+   * Writes a snapshot of groceries, recipes, waste and usage that were captured earlier,
+   * for example by a <code>Checkpointer</code> that writes on another thread.
+   * The groceries and recipes must not be changed while they are written.
+   *
+   * @param path The path of the snapshot file.
+   * @param groceries Every grocery lot to write.
+   * @param recipes Every recipe to write.
+   * @param waste Every lot of the waste ledger to write.
+   * @param usage Every bucket of the usage totals to write.
+   * @param journalPosition The journal position after the last record in the snapshot.
+   * @throws IOException if the snapshot can not be written.
+   * @throws IllegalArgumentException if an argument is null, or the epoch is negative.
+   */
+  public static void write(Path path, List<Grocery> groceries, Collection<Recipe> recipes,
+                           List<Grocery> waste, List<UsageBucket> usage,
+                           JournalPosition journalPosition) throws IOException {
+    if (path == null || groceries == null || recipes == null || waste == null || usage == null
+        || journalPosition == null) {
+      throw new IllegalArgumentException("Path, groceries, recipes, waste, usage and position "
+          + "cannot be null.");
+    }
+    if (journalPosition.getEpoch() < 0) {
+      throw new IllegalArgumentException("The journal epoch cannot be negative.");
+    }
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      CRC32 checksum = new CRC32();
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          new CheckedOutputStream(Channels.newOutputStream(channel), checksum)));
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeLong(journalPosition.getEpoch());
+      out.writeLong(journalPosition.getOffset());
+      out.writeInt(groceries.size());
+      out.writeInt(recipes.size());
+      for (Grocery grocery : groceries) {
+        writeGrocery(out, grocery);
+      }
+      for (Recipe recipe : recipes) {
+        writeRecipe(out, recipe);
+      }
+      out.writeInt(waste.size());
+      for (Grocery grocery : waste) {
+        writeGrocery(out, grocery);
+      }
+      out.writeInt(usage.size());
+      for (UsageBucket bucket : usage) {
+        writeUsageBucket(out, bucket);
+      }
+      out.flush();
+      out.writeInt((int) checksum.getValue());
+      out.flush();
+      channel.force(true);
+    }
+    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Loads a snapshot into the storage, its waste ledger and usage totals, and the cookbook.
+   * The whole file is checked before anything is added, so a damaged snapshot changes nothing.
+   *
+   * @param path The path of the snapshot file.
+   * @param foodStorage The food storage to add the groceries to.
+   * @param cookBook The cookbook to add the recipes to.
+   * @return The journal position after the last record in the snapshot.
+   * @throws IOException if the file can not be read, is not a snapshot, has another version,
+   *                     or is damaged.
+   * @throws IllegalArgumentException if an argument is null.
+   */
+  public static JournalPosition load(Path path, FoodStorage foodStorage, CookBook cookBook)
+      throws IOException {
+    if (path == null || foodStorage == null || cookBook == null) {
+      throw new IllegalArgumentException("Path, food storage and cookbook cannot be null.");
+    }
+    MappedByteBuffer snapshot;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < Integer.BYTES + Integer.BYTES || channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("The file is not a snapshot.");
+      }
+      snapshot = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (snapshot.getInt() != MAGIC) {
+      throw new IOException("The file is not a snapshot.");
+    }
+    int version = snapshot.getInt();
+    if (version != VERSION) {
+      throw new IOException("The snapshot has version " + version + ", expected " + VERSION + ".");
+    }
+    if (snapshot.limit() < HEADER_SIZE + Integer.BYTES) {
+      throw new IOException("The snapshot is damaged.");
+    }
+    verifyChecksum(snapshot);
+
+    JournalPosition journalPosition;
+    List<Grocery> groceries;
+    List<Recipe> recipes;
+    List<Grocery> waste = new ArrayList<>();
+    List<UsageBucket> usage = new ArrayList<>();
+    try {
+      long journalEpoch = snapshot.getLong();
+      long journalOffset = snapshot.getLong();
+      journalPosition = new JournalPosition(journalEpoch, journalOffset);
+      int groceryCount = snapshot.getInt();
+      int recipeCount = snapshot.getInt();
+      groceries = new ArrayList<>(groceryCount);
+      recipes = new ArrayList<>(recipeCount);
+      for (int i = 0; i < groceryCount; i++) {
+        groceries.add(readGrocery(snapshot));
+      }
+      for (int i = 0; i < recipeCount; i++) {
+        recipes.add(readRecipe(snapshot));
+      }
+      int wasteCount = snapshot.getInt();
+      for (int i = 0; i < wasteCount; i++) {
+        waste.add(readGrocery(snapshot));
+      }
+      int usageCount = snapshot.getInt();
+      for (int i = 0; i < usageCount; i++) {
+        usage.add(readUsageBucket(snapshot));
+      }
+    } catch (BufferUnderflowException | IndexOutOfBoundsException
+             | IllegalArgumentException e) {
+      throw new IOException("The snapshot is damaged.", e);
+    }
+
+    foodStorage.addGroceries(groceries);
+    waste.forEach(foodStorage.getWasteLedger()::add);
+    usage.forEach(foodStorage.getUsageRollups()::restore);
+    for (Recipe recipe : recipes) {
+      cookBook.addRecipe(recipe);
+    }
+    return journalPosition;
+  }
+
+  /**
+   * Checks the checksum at the end of the snapshot against the content before it.
+   *
+   * @param snapshot The whole snapshot. Its position is not changed.
+   * @throws IOException if the checksum does not match.
+   */
+  private static void verifyChecksum(ByteBuffer snapshot) throws IOException {
+    int end = snapshot.limit() - Integer.BYTES;
+    CRC32 checksum = new CRC32();
+    checksum.update(snapshot.slice(0, end));
+    if ((int) checksum.getValue() != snapshot.getInt(end)) {
+      throw new IOException("The snapshot is damaged.");
+    }
+  }
+
+  /**
+   * Writes a grocery, with quantity and price as fixed-point values.
+   *
+   * @param out The stream to write to.
+   * @param grocery The grocery to write.
+   * @throws IOException if the stream can not be written to.
+   */
+  private static void writeGrocery(DataOutputStream out, Grocery grocery) throws IOException {
+    JournalCodec.writeString(out, grocery.getName());
+    out.writeByte(grocery.getUnit().ordinal());
+    out.writeLong(grocery.getQuantityHundredths());
+    out.writeLong(grocery.getPriceHundredths());
+    out.writeLong(grocery.getExpiryDate().toEpochDay());
+  }
+
+  /**
+   * Reads a grocery, without going through decimals or text dates.
+   *
+   * @param snapshot The snapshot to read from.
+   * @return A new grocery.
+   */
+  private static Grocery readGrocery(ByteBuffer snapshot) {
+    String name = JournalCodec.readString(snapshot);
+    Unit unit = Unit.values()[snapshot.get()];
+    long quantity = snapshot.getLong();
+    long price = snapshot.getLong();
+    return new Grocery(quantity, name, unit, price, LocalDate.ofEpochDay(snapshot.getLong()));
+  }
+
+  /**
+   * Writes a usage bucket, with every amount as a fixed-point value.
+   *
+   * @param out The stream to write to.
+   * @param bucket The bucket to write.
+   * @throws IOException if the stream can not be written to.
+   */
+  private static void writeUsageBucket(DataOutputStream out, UsageBucket bucket)
+      throws IOException {
+    out.writeLong(bucket.getDay().toEpochDay());
+    JournalCodec.writeString(out, bucket.getName());
+    out.writeByte(bucket.getUnit().ordinal());
+    Usage usage = bucket.getUsage();
+    out.writeLong(usage.getWastedQuantityHundredths());
+    out.writeLong(usage.getWastedValueHundredths());
+    out.writeLong(usage.getConsumedQuantityHundredths());
+    out.writeLong(usage.getConsumedValueHundredths());
+  }
+
+  /**
+   * Reads a usage bucket.
+   *
+   * @param snapshot The snapshot to read from.
+   * @return A new usage bucket.
+   */
+  private static UsageBucket readUsageBucket(ByteBuffer snapshot) {
+    LocalDate day = LocalDate.ofEpochDay(snapshot.getLong());
+    String name = JournalCodec.readString(snapshot);
+    Unit unit = Unit.values()[snapshot.get()];
+    Usage usage = new Usage(snapshot.getLong(), snapshot.getLong(),
+        snapshot.getLong(), snapshot.getLong());
+    return new UsageBucket(day, name, unit, usage);
+  }
+
+  /**
+   * Writes a recipe, with the description and cooking instructions last.
+   *
+   * @param out The stream to write to.
+   * @param recipe The recipe to write.
+   * @throws IOException if the stream can not be written to.
+   */
+  private static void writeRecipe(DataOutputStream out, Recipe recipe) throws IOException {
+    JournalCodec.writeString(out, recipe.getRecipeName());
+    out.writeInt(recipe.getAmountOfServings());
+    JournalCodec.writeIngredients(out, recipe.getIngredients());
+    JournalCodec.writeString(out, recipe.getRecipeDescription());
+    JournalCodec.writeString(out, recipe.getCookingInstructions());
+  }
+
+  /**
+   * Reads a recipe, and skips over its description and cooking instructions.
+   * The recipe is given suppliers that decode the texts from the mapping when they are read.
+   *
+   * @param snapshot The snapshot to read from.
+   * @return A new recipe.
+   */
+  private static Recipe readRecipe(ByteBuffer snapshot) {
+    String recipeName = JournalCodec.readString(snapshot);
+    int amountOfServings = snapshot.getInt();
+    Map<String, SimpleEntry<BigDecimal, Unit>> ingredients =
+        JournalCodec.readIngredients(snapshot);
+    Supplier<String> recipeDescription = skipString(snapshot);
+    Supplier<String> cookingInstructions = skipString(snapshot);
+    return new Recipe(recipeName, recipeDescription, cookingInstructions,
+        ingredients, amountOfServings);
+  }
+
+  /**
+   * Skips over text in the snapshot, and returns a supplier that decodes it later.
+   *
+   * @param snapshot The snapshot to read from, positioned at the length of the text.
+   * @return A supplier of the text.
+   */
+  private static Supplier<String> skipString(ByteBuffer snapshot) {
+    int length = snapshot.getInt();
+    ByteBuffer text = snapshot.slice(snapshot.position(), length);
+    snapshot.position(snapshot.position() + length);
+    return () -> StandardCharsets.UTF_8.decode(text.duplicate()).toString();
+  }
+}
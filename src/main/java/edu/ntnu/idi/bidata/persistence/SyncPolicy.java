@@ -0,0 +1,25 @@
+package edu.ntnu.idi.bidata.persistence;
+
+/**
+ * This enum represents when a <code>Journal</code> forces its writes to the disk.
+ * Forcing makes a commit survive a power loss, but is the slowest part of a commit.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public enum SyncPolicy {
+  /**
+   * Every commit is forced to the disk before the commit returns.
+   */
+  EVERY_COMMIT,
+  /**
+   * A commit is forced if the last force is older than the sync interval of the journal.
+   * A crash may lose the commits of the last interval, but never corrupts older ones.
+   */
+  INTERVAL,
+  /**
+   * Commits are never forced, and are written to the disk when the operating system decides.
+   * A crash of the application loses nothing, but a power loss may.
+   */
+  OS
+}
@@ -1,15 +1,33 @@
 package edu.ntnu.idi.bidata.recipe;
 
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import edu.ntnu.idi.bidata.recipe.PantrySnapshot.ScoredRecipe;
 import edu.ntnu.idi.bidata.register.FoodStorage;
-import java.math.BigDecimal;
-import java.util.AbstractMap.SimpleEntry;
+import edu.ntnu.idi.bidata.util.IngredientIds;
+import edu.ntnu.idi.bidata.util.NameIndex;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * The <code>CookBook</code> class represents a collection of recipes.
  * It provides methods to add, remove and retrieve recipes.
+ * The recipe names are also kept in a trie, so they can be completed and corrected while typing,
+ * see <code>NameIndex</code>.
+ * Each canonical ingredient name is mapped to the recipes that use it, so a recommendation only
+ * looks at recipes whose ingredients are in the storage. The ingredients of a recipe must not be
+ * changed while it is in the cookbook; remove it and add it again instead.
  *
  * @author Mathias Erik Nord
  * @version 1.0.0
@@ -17,6 +35,10 @@ import java.util.NoSuchElementException;
  */
 public class CookBook {
   private final Map<String, Recipe> recipes;
+  private final NameIndex nameIndex = new NameIndex();
+  // Canonical ingredient name as key
+  private final Map<String, Set<String>> recipesByIngredient = new HashMap<>();
+  private final List<CookBookListener> listeners = new ArrayList<>();
 
   /**
    * Constructor for the class <code>CookBook</code>.
@@ -26,6 +48,28 @@ public class CookBook {
     this.recipes = new HashMap<>();
   }
 
+  /**
+   * Adds a listener that is told about every later change to the cookbook.
+   *
+   * @param listener The listener to add.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public void addListener(CookBookListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("The listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener, so it is no longer told about changes to the cookbook.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeListener(CookBookListener listener) {
+    listeners.remove(listener);
+  }
+
   /**
    * Accessor method for <code>recipes</code>.
    *
@@ -39,6 +83,16 @@ public class CookBook {
     return Map.copyOf(recipes); // Use of copyOf inspired by CoPilot.
   }
 
+  /**
+   * Accessor method for every recipe in the cookbook.
+   * Unlike <code>getAllRecipes</code>, the collection may be empty.
+   *
+   * @return An unmodifiable view of the recipes.
+   */
+  public Collection<Recipe> getRecipes() {
+    return Collections.unmodifiableCollection(recipes.values());
+  }
+
   /**
    * Accessor method for <code>recipe</code>.
    *
@@ -54,6 +108,48 @@ public class CookBook {
     return recipe;
   }
 
+  /**
+   * Accessor method for the recipes that use an ingredient.
+   *
+   * @param ingredientName The name of the ingredient, in any case.
+   * @return An unmodifiable set of the names of the recipes, which is empty if no recipe uses it.
+   * @throws IllegalArgumentException if the ingredient name is null.
+   */
+  public Set<String> getRecipesWithIngredient(String ingredientName) {
+    if (ingredientName == null) {
+      throw new IllegalArgumentException("Ingredient name cannot be null.");
+    }
+    Set<String> recipeNames = recipesByIngredient.get(canonicalName(ingredientName));
+    return recipeNames == null ? Set.of() : Collections.unmodifiableSet(recipeNames);
+  }
+
+  /**
+   * Completes a recipe name, for example while the user is typing it.
+   *
+   * @param prefix The start of the name, in any case.
+   * @param limit The highest number of names to return.
+   * @return List of the names of recipes that start with the prefix, in alphabetical order.
+   * @throws IllegalArgumentException if the prefix is null, or the limit is not positive.
+   */
+  public List<String> recipeNamesStartingWith(String prefix, int limit) {
+    return nameIndex.startingWith(prefix, limit);
+  }
+
+  /**
+   * Finds the names of recipes that are close to a name, for example one with a typo.
+   * See <code>NameIndex.closeTo</code>.
+   *
+   * @param recipeName The name to compare with.
+   * @param maxDistance The highest number of characters that may differ.
+   * @param limit The highest number of names to return.
+   * @return List of the names, the closest first.
+   * @throws IllegalArgumentException if the name is null, the distance is negative,
+   *                                  or the limit is not positive.
+   */
+  public List<String> recipeNamesCloseTo(String recipeName, int maxDistance, int limit) {
+    return nameIndex.closeTo(recipeName, maxDistance, limit);
+  }
+
   /**
    * Mutator method for <code>recipe</code>.
    * Will add a recipe to the cookbook.
@@ -68,6 +164,12 @@ public class CookBook {
       throw new IllegalArgumentException("There is already a recipe with the same name!");
     }
     recipes.put(recipe.getRecipeName(), recipe);
+    nameIndex.add(recipe.getRecipeName());
+    for (String key : recipe.getBaseQuantities().keySet()) {
+      recipesByIngredient.computeIfAbsent(key, k -> new LinkedHashSet<>())
+          .add(recipe.getRecipeName());
+    }
+    listeners.forEach(listener -> listener.recipeAdded(recipe));
   }
 
   /**
@@ -84,13 +186,42 @@ public class CookBook {
     } else if (!recipes.containsKey(recipeName)) {
       throw new NoSuchElementException("The recipe does not exist!");
     }
-    recipes.remove(recipeName);
+    Recipe removedRecipe = recipes.remove(recipeName);
+    nameIndex.remove(recipeName);
+    for (String key : removedRecipe.getBaseQuantities().keySet()) {
+      Set<String> recipeNames = recipesByIngredient.get(key);
+      recipeNames.remove(recipeName);
+      if (recipeNames.isEmpty()) {
+        recipesByIngredient.remove(key);
+      }
+    }
+    listeners.forEach(listener -> listener.recipeRemoved(recipeName));
+  }
+
+  /**
+   * Cooks the given recipe, by removing all of its ingredients from the food storage at once.
+   * Either every ingredient is removed, or, if one of them is missing, none of them are.
+   *
+   * @param recipeName The name of the recipe to cook.
+   * @param foodStorage The food storage to take the ingredients from.
+   * @throws IllegalArgumentException if the food storage is null,
+   *                                  or if there is not enough of an ingredient.
+   * @throws NoSuchElementException if the recipe does not exist, or an ingredient is missing.
+   */
+  public void cookRecipe(String recipeName, FoodStorage foodStorage) {
+    if (foodStorage == null) {
+      throw new IllegalArgumentException("Food storage cannot be null!");
+    }
+    foodStorage.removeIngredients(getRecipe(recipeName).getIngredients());
   }
 
   /**
    * Accessor method that will recommend a recipe,
    * based on what is already in the given foodStorage.
    * Improvement inspired by CoPilot.
+   * Only the recipes that use a grocery in the storage are looked at, through the ingredient
+   * index. The ingredients found in the storage are counted per recipe, and the quantities of a
+   * recipe are only checked once every one of its ingredients has been found.
    *
    * @param foodStorage storage to check for groceries.
    * @return Will return a recipe, if there are enough groceries.
@@ -101,28 +232,148 @@ public class CookBook {
     if (foodStorage == null) {
       throw new IllegalArgumentException("Food storage cannot be null!");
     }
-    return recipes.values().stream()
-        .filter(recipe -> matchRecipeToGrocery(foodStorage, recipe))
-        .findFirst()
-        .orElseThrow(() ->
-            new NoSuchElementException("There is no recipes that"
-                + " can be made with your groceries."));
+    Set<String> groceryKeys = foodStorage.getGroceryKeys();
+    boolean fewerGroceries = groceryKeys.size() <= recipesByIngredient.size();
+    Set<String> keysToVisit = fewerGroceries ? groceryKeys : recipesByIngredient.keySet();
+    Set<String> keysToCheck = fewerGroceries ? recipesByIngredient.keySet() : groceryKeys;
+
+    Map<String, Integer> ingredientsFound = new HashMap<>();
+    for (String key : keysToVisit) {
+      if (!keysToCheck.contains(key)) {
+        continue;
+      }
+      for (String recipeName : recipesByIngredient.get(key)) {
+        Recipe recipe = recipes.get(recipeName);
+        int found = ingredientsFound.merge(recipeName, 1, Integer::sum);
+        if (found == recipe.getBaseQuantities().size()
+            && matchRecipeToGrocery(foodStorage, recipe)) {
+          return recipe;
+        }
+      }
+    }
+    throw new NoSuchElementException("There is no recipes that"
+        + " can be made with your groceries.");
+  }
+
+  /**
+   * Ranks the recipes against the groceries in the given food storage, and returns the best ones.
+   * See <code>RecipeScoring</code> for how a recipe is scored. Only recipes that use at least one
+   * grocery in the storage are scored, through the ingredient index. Each grocery is summarized
+   * and scored for expiry once, and the best recipes are kept in a heap of at most
+   * <code>k</code> recipes, so the cost grows with the number of recipes scored, not with the
+   * number of lots or the square of the recipes.
+   *
+   * @param foodStorage The storage to rank the recipes against.
+   * @param k The highest number of recipes to return.
+   * @param scoring The weights of the score.
+   * @return List of the recipes, the best first, and in alphabetical order within a score.
+   *         The list is empty if no recipe uses a grocery in the storage.
+   * @throws IllegalArgumentException if the food storage or the scoring is null,
+   *                                  or k is not positive.
+   */
+  public List<Recipe> recommend(FoodStorage foodStorage, int k, RecipeScoring scoring) {
+    if (foodStorage == null || scoring == null) {
+      throw new IllegalArgumentException("Food storage and scoring cannot be null!");
+    }
+    if (k <= 0) {
+      throw new IllegalArgumentException("The number of recipes must be positive.");
+    }
+    PantrySnapshot pantry = new PantrySnapshot(foodStorage, scoring, recipesByIngredient.keySet());
+    long recipesToVisit = 0;
+    for (String key : pantry.getKeys()) {
+      recipesToVisit += recipesByIngredient.get(key).size();
+    }
+
+    PriorityQueue<ScoredRecipe> best = new PriorityQueue<>(k + 1, PantrySnapshot.WORST_FIRST);
+    if (recipesToVisit < recipes.size()) {
+      Set<String> scoredRecipes = new HashSet<>();
+      for (String key : pantry.getKeys()) {
+        for (String recipeName : recipesByIngredient.get(key)) {
+          if (scoredRecipes.add(recipeName)) {
+            pantry.offer(best, k, recipes.get(recipeName));
+          }
+        }
+      }
+    } else {
+      // Most recipes use a grocery in storage, so each recipe is scored once without a visited set
+      for (Recipe recipe : recipes.values()) {
+        pantry.offer(best, k, recipe);
+      }
+    }
+    return PantrySnapshot.ranked(best);
+  }
+
+  /**
+   * Ranks the recipes like <code>recommend</code>, split over the threads of a fork/join pool.
+   * A snapshot of the storage is taken on the calling thread, and every recipe is scored against
+   * it, so the storage is not read while the pool works. The cookbook and the unit converter of
+   * the storage must not be changed until the method returns. The result is the same as the
+   * result of <code>recommend</code>, whatever the number of threads.
+   *
+   * @param foodStorage The storage to rank the recipes against.
+   * @param k The highest number of recipes to return.
+   * @param scoring The weights of the score.
+   * @param pool The pool to run the ranking in.
+   * @return List of the recipes, the best first, and in alphabetical order within a score.
+   * @throws IllegalArgumentException if the food storage, the scoring or the pool is null,
+   *                                  or k is not positive.
+   */
+  public List<Recipe> recommendParallel(FoodStorage foodStorage, int k, RecipeScoring scoring,
+                                        ForkJoinPool pool) {
+    if (foodStorage == null || scoring == null || pool == null) {
+      throw new IllegalArgumentException("Food storage, scoring and pool cannot be null!");
+    }
+    if (k <= 0) {
+      throw new IllegalArgumentException("The number of recipes must be positive.");
+    }
+    PantrySnapshot pantry = new PantrySnapshot(foodStorage, scoring, recipesByIngredient.keySet());
+    Recipe[] recipeArray = recipes.values().toArray(new Recipe[0]);
+    return PantrySnapshot.ranked(
+        pool.invoke(new RankRecipesTask(recipeArray, 0, recipeArray.length, k, pantry)));
+  }
+
+  /**
+   * Finds every recipe that can be cooked with the groceries in the storage, split over the
+   * threads of a fork/join pool. As in <code>recommendParallel</code>, the recipes are checked
+   * against a snapshot of the storage, and the cookbook and the unit converter of the storage
+   * must not be changed until the method returns.
+   *
+   * @param foodStorage The storage to check the recipes against.
+   * @param pool The pool to run the check in.
+   * @return List of the cookable recipes, in alphabetical order.
+   * @throws IllegalArgumentException if the food storage or the pool is null.
+   */
+  public List<Recipe> cookableRecipesParallel(FoodStorage foodStorage, ForkJoinPool pool) {
+    if (foodStorage == null || pool == null) {
+      throw new IllegalArgumentException("Food storage and pool cannot be null!");
+    }
+    PantrySnapshot pantry =
+        new PantrySnapshot(foodStorage, RecipeScoring.DEFAULT, recipesByIngredient.keySet());
+    Recipe[] recipeArray = recipes.values().toArray(new Recipe[0]);
+    List<Recipe> cookable =
+        pool.invoke(new CookableRecipesTask(recipeArray, 0, recipeArray.length, pantry));
+    cookable.sort(Comparator.comparing(Recipe::getRecipeName));
+    return cookable;
   }
 
   /**
    * Method checks if a given recipe can be made with the available groceries in the food storage.
+   * The quantities of the recipe are already in base units, so nothing is converted per match.
+   * A recipe with an ingredient that is not in storage at all is rejected by comparing the sets
+   * of ingredients as bits, before any quantity is looked at.
    *
    * @param foodStorage The food storage to check for available groceries.
    * @param recipe The recipe to match with the groceries.
    * @return <code>true</code> if possible to make, and <code>false</code> if not possible.
    */
   public boolean matchRecipeToGrocery(FoodStorage foodStorage, Recipe recipe) {
-    for (Map.Entry<String, SimpleEntry<BigDecimal, String>> ingredient :
-        recipe.getIngredients().entrySet()) {
-      String nameOfIngredient = ingredient.getKey();
-      BigDecimal requiredQuantity = ingredient.getValue().getKey();
-      String requiredUnit = ingredient.getValue().getValue();
-      if (!foodStorage.isGroceryAvailable(nameOfIngredient, requiredQuantity, requiredUnit)) {
+    IngredientIds ingredientIds = foodStorage.getIngredientIds();
+    if (recipe.hasUnknownIngredients(ingredientIds)
+        || !foodStorage.containsAllIngredients(recipe.getIngredientBits(ingredientIds))) {
+      return false;
+    }
+    for (Map.Entry<String, long[]> ingredient : recipe.getBaseQuantities().entrySet()) {
+      if (!foodStorage.isGroceryAvailable(ingredient.getKey(), ingredient.getValue())) {
         return false;
       }
     }
@@ -0,0 +1,30 @@
+package edu.ntnu.idi.bidata.recipe;
+
+/**
+ * Listener that is told about every change to a <code>CookBook</code>.
+ * Each method is called after the cookbook has been changed.
+ * A change that throws an exception is not reported.
+ * All methods do nothing by default, so a listener only implements the events it needs.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public interface CookBookListener {
+  /**
+   * Called after a recipe has been added.
+   *
+   * @param recipe The recipe that was added.
+   */
+  default void recipeAdded(Recipe recipe) {
+    // Does nothing by default.
+  }
+
+  /**
+   * Called after a recipe has been removed.
+   *
+   * @param recipeName The name of the recipe that was removed.
+   */
+  default void recipeRemoved(String recipeName) {
+    // Does nothing by default.
+  }
+}
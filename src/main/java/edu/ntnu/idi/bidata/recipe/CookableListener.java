@@ -0,0 +1,31 @@
+package edu.ntnu.idi.bidata.recipe;
+
+/**
+ * Listener that is told when a recipe can be cooked with the groceries in storage,
+ * and when it no longer can, see <code>CookableTracker</code>.
+ * Each method is called once per change, after the tracker has been updated.
+ * All methods do nothing by default, so a listener only implements the events it needs.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public interface CookableListener {
+  /**
+   * Called when every ingredient of a recipe has become available.
+   *
+   * @param recipe The recipe that can now be cooked.
+   */
+  default void recipeCookable(Recipe recipe) {
+    // Does nothing by default.
+  }
+
+  /**
+   * Called when an ingredient of a cookable recipe is no longer available,
+   * or when a cookable recipe is removed from the cookbook.
+   *
+   * @param recipe The recipe that can no longer be cooked.
+   */
+  default void recipeUncookable(Recipe recipe) {
+    // Does nothing by default.
+  }
+}
@@ -0,0 +1,63 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join task that finds the recipes that can be cooked in a range of an array of recipes,
+ * see <code>CookBook.cookableRecipesParallel</code>.
+ * A range larger than the threshold is split in two halves, and the results are joined in the
+ * order of the array, so the result does not depend on how the halves are scheduled.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+final class CookableRecipesTask extends RecursiveTask<List<Recipe>> {
+  private static final long serialVersionUID = 1L; // Tasks are never serialized
+
+  private final transient Recipe[] recipes;
+  private final int from;
+  private final int to;
+  private final transient PantrySnapshot pantry;
+
+  /**
+   * Constructor for <code>CookableRecipesTask</code>.
+   *
+   * @param recipes The recipes to check. The array is not changed.
+   * @param from The index of the first recipe in the range.
+   * @param to The index after the last recipe in the range.
+   * @param pantry The snapshot to check the recipes against.
+   */
+  CookableRecipesTask(Recipe[] recipes, int from, int to, PantrySnapshot pantry) {
+    this.recipes = recipes;
+    this.from = from;
+    this.to = to;
+    this.pantry = pantry;
+  }
+
+  /**
+   * Checks the range, or splits it and joins the results of both halves.
+   *
+   * @return List of the cookable recipes in the range, in the order of the array.
+   */
+  @Override
+  protected List<Recipe> compute() {
+    if (to - from <= RankRecipesTask.THRESHOLD) {
+      List<Recipe> cookable = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        if (pantry.isCookable(recipes[i])) {
+          cookable.add(recipes[i]);
+        }
+      }
+      return cookable;
+    }
+    int middle = (from + to) >>> 1;
+    CookableRecipesTask left = new CookableRecipesTask(recipes, from, middle, pantry);
+    left.fork();
+    List<Recipe> right = new CookableRecipesTask(recipes, middle, to, pantry).compute();
+    List<Recipe> cookable = left.join();
+    cookable.addAll(right);
+    return cookable;
+  }
+}
@@ -0,0 +1,265 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.FoodStorageListener;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class keeps the set of recipes that can be cooked with the groceries in a food storage.
+ * For each recipe it keeps the ingredients that are not available in the required quantity.
+ * It listens to the storage and the cookbook, and when the quantity of a grocery changes,
+ * only the recipes that use the grocery are checked again, through the ingredient index of the
+ * cookbook. A recipe is cookable when none of its ingredients are missing, so the cookable
+ * recipes are read without matching every recipe against the storage.
+ * Densities and piece weights are not listened to, so <code>refresh</code> must be called
+ * after the unit converter of the storage has been changed.
+ * The tracker is not thread-safe, and must be used from the same thread as the storage.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class CookableTracker implements FoodStorageListener, CookBookListener {
+  private final CookBook cookBook;
+  private final FoodStorage foodStorage;
+  private final Map<String, Set<String>> missingByRecipe = new HashMap<>(); // Canonical ingredients
+  private final Map<String, Recipe> cookable = new LinkedHashMap<>();
+  private final List<CookableListener> listeners = new ArrayList<>();
+
+  /**
+   * Constructor for the class <code>CookableTracker</code>.
+   * The tracker is not registered with the cookbook and the storage until
+   * <code>attach</code> has checked every recipe.
+   *
+   * @param cookBook The cookbook with the recipes to track.
+   * @param foodStorage The food storage to match the recipes against.
+   */
+  private CookableTracker(CookBook cookBook, FoodStorage foodStorage) {
+    this.cookBook = cookBook;
+    this.foodStorage = foodStorage;
+  }
+
+  /**
+   * Creates a tracker, checks every recipe of the cookbook once, and then starts listening to
+   * the cookbook and the storage. The tracker is fully built before it is registered,
+   * so no event can reach it half-way through.
+   *
+   * @param cookBook The cookbook with the recipes to track.
+   * @param foodStorage The food storage to match the recipes against.
+   * @return The tracker, listening to the cookbook and the storage.
+   * @throws IllegalArgumentException if the cookbook or the food storage is null.
+   */
+  public static CookableTracker attach(CookBook cookBook, FoodStorage foodStorage) {
+    if (cookBook == null || foodStorage == null) {
+      throw new IllegalArgumentException("Cookbook and food storage cannot be null.");
+    }
+    CookableTracker tracker = new CookableTracker(cookBook, foodStorage);
+    cookBook.getRecipes().forEach(tracker::track);
+    cookBook.addListener(tracker);
+    foodStorage.addListener(tracker);
+    return tracker;
+  }
+
+  /**
+   * Adds a listener that is told about every later change to the cookable recipes.
+   *
+   * @param listener The listener to add.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public void addListener(CookableListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("The listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener, so it is no longer told about changes to the cookable recipes.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeListener(CookableListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Accessor method for the recipes that can be cooked with the groceries in storage.
+   *
+   * @return An unmodifiable view of the cookable recipes, in the order they became cookable.
+   */
+  public Collection<Recipe> getCookable() {
+    return Collections.unmodifiableCollection(cookable.values());
+  }
+
+  /**
+   * Checks if a recipe can be cooked with the groceries in storage.
+   *
+   * @param recipeName The name of the recipe.
+   * @return <code>true</code> if the recipe is cookable, <code>false</code> otherwise.
+   */
+  public boolean isCookable(String recipeName) {
+    return cookable.containsKey(recipeName);
+  }
+
+  /**
+   * Accessor method for the number of ingredients of a recipe that are not available.
+   *
+   * @param recipeName The name of the recipe.
+   * @return The number of missing ingredients.
+   * @throws IllegalArgumentException if the recipe is not in the cookbook.
+   */
+  public int getMissingCount(String recipeName) {
+    Set<String> missing = missingByRecipe.get(recipeName);
+    if (missing == null) {
+      throw new IllegalArgumentException("The recipe is not tracked.");
+    }
+    return missing.size();
+  }
+
+  /**
+   * Checks every recipe against the storage again, for example after a density has been set.
+   */
+  public void refresh() {
+    for (Recipe recipe : cookBook.getRecipes()) {
+      for (String key : recipe.getBaseQuantities().keySet()) {
+        update(recipe, key);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void recipeAdded(Recipe recipe) {
+    track(recipe);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void recipeRemoved(String recipeName) {
+    missingByRecipe.remove(recipeName);
+    Recipe removed = cookable.remove(recipeName);
+    if (removed != null) {
+      listeners.forEach(listener -> listener.recipeUncookable(removed));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void groceryAdded(Grocery grocery) {
+    groceryChanged(canonicalName(grocery.getName()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void groceriesAdded(Collection<Grocery> groceries) {
+    Set<String> keys = new HashSet<>();
+    groceries.forEach(grocery -> keys.add(canonicalName(grocery.getName())));
+    keys.forEach(this::groceryChanged);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void groceryRemoved(String nameOfGrocery, BigDecimal quantity, Unit unit,
+                             LocalDate usedOn) {
+    groceryChanged(canonicalName(nameOfGrocery));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void ingredientsRemoved(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients,
+                                 LocalDate usedOn) {
+    Set<String> keys = new HashSet<>();
+    ingredients.keySet().forEach(name -> keys.add(canonicalName(name)));
+    keys.forEach(this::groceryChanged);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void groceriesExpired(LocalDate today, List<Grocery> groceries) {
+    Set<String> keys = new HashSet<>();
+    groceries.forEach(grocery -> keys.add(canonicalName(grocery.getName())));
+    keys.forEach(this::groceryChanged);
+  }
+
+  /**
+   * Starts tracking a recipe, by checking each of its ingredients against the storage.
+   *
+   * @param recipe The recipe to track.
+   */
+  private void track(Recipe recipe) {
+    Set<String> missing = new HashSet<>();
+    recipe.getBaseQuantities().forEach((key, required) -> {
+      if (!foodStorage.isGroceryAvailable(key, required)) {
+        missing.add(key);
+      }
+    });
+    missingByRecipe.put(recipe.getRecipeName(), missing);
+    if (missing.isEmpty()) {
+      cookable.put(recipe.getRecipeName(), recipe);
+      listeners.forEach(listener -> listener.recipeCookable(recipe));
+    }
+  }
+
+  /**
+   * Checks the recipes that use a grocery again, after the quantity of the grocery has changed.
+   *
+   * @param key The canonical name of the grocery.
+   */
+  private void groceryChanged(String key) {
+    for (String recipeName : cookBook.getRecipesWithIngredient(key)) {
+      update(cookBook.getRecipe(recipeName), key);
+    }
+  }
+
+  /**
+   * Checks one ingredient of a recipe against the storage, and tells the listeners if the recipe
+   * became cookable or uncookable.
+   *
+   * @param recipe The recipe to update.
+   * @param key The canonical name of the ingredient.
+   */
+  private void update(Recipe recipe, String key) {
+    Set<String> missing = missingByRecipe.get(recipe.getRecipeName());
+    boolean wasCookable = missing.isEmpty();
+    if (foodStorage.isGroceryAvailable(key, recipe.getBaseQuantities().get(key))) {
+      missing.remove(key);
+    } else {
+      missing.add(key);
+    }
+    if (!wasCookable && missing.isEmpty()) {
+      cookable.put(recipe.getRecipeName(), recipe);
+      listeners.forEach(listener -> listener.recipeCookable(recipe));
+    } else if (wasCookable && !missing.isEmpty()) {
+      cookable.remove(recipe.getRecipeName());
+      listeners.forEach(listener -> listener.recipeUncookable(recipe));
+    }
+  }
+}
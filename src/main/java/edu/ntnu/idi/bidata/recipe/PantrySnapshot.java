@@ -0,0 +1,203 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.GroceryStock;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import edu.ntnu.idi.bidata.util.IngredientBits;
+import edu.ntnu.idi.bidata.util.IngredientIds;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * This class is a read-only summary of the groceries in a food storage, used to score recipes.
+ * Each grocery that a recipe uses is summarized and scored for expiry once, when the snapshot
+ * is taken, so scoring a recipe only reads the snapshot. The summaries are kept in an array by
+ * ingredient number, and a copy of the set of groceries in storage is kept as bits, so a recipe
+ * is rejected with a few word operations before any quantity is looked at,
+ * see <code>IngredientBits</code>. Because nothing in the snapshot changes,
+ * it can be shared by several threads, as long as the unit converter of the storage is not
+ * changed while it is used.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+final class PantrySnapshot {
+  /**
+   * Order of scored recipes with the worst first: the lowest score, and the name that comes
+   * last within a score. The names of recipes are unique, so the order does not depend on the
+   * order the recipes were scored in.
+   */
+  static final Comparator<ScoredRecipe> WORST_FIRST = Comparator
+      .comparingDouble(ScoredRecipe::score)
+      .thenComparing(scored -> scored.recipe().getRecipeName(), Comparator.reverseOrder());
+
+  private final Set<String> keys;
+  private final IngredientIds ingredientIds;
+  private final IngredientScore[] scoresById;
+  private final long[] stockBits;
+  private final RecipeScoring scoring;
+  private final long totalValue;
+
+  /**
+   * Takes a snapshot of the groceries in storage that are used by a recipe.
+   *
+   * @param foodStorage The storage to summarize.
+   * @param scoring The weights of the score.
+   * @param usedKeys The canonical names of every ingredient used by a recipe.
+   */
+  PantrySnapshot(FoodStorage foodStorage, RecipeScoring scoring, Set<String> usedKeys) {
+    Set<String> usedGroceries = new HashSet<>();
+    IngredientIds dictionary = foodStorage.getIngredientIds();
+    IngredientScore[] scores = new IngredientScore[dictionary.size()];
+    for (String key : foodStorage.getGroceryKeys()) {
+      if (usedKeys.contains(key)) {
+        GroceryStock stock = foodStorage.getStock(key);
+        usedGroceries.add(key);
+        scores[dictionary.idOf(key)] =
+            new IngredientScore(stock, scoring.expiryScore(stock.getDaysUntilExpiry()));
+      }
+    }
+    this.keys = Collections.unmodifiableSet(usedGroceries);
+    this.ingredientIds = dictionary;
+    this.scoresById = scores;
+    this.stockBits = foodStorage.getStockBits();
+    this.scoring = scoring;
+    this.totalValue = FixedPoint.of(foodStorage.valueOfAllGroceries());
+  }
+
+  /**
+   * Accessor method for the canonical names of the groceries in the snapshot.
+   *
+   * @return The canonical names.
+   */
+  Set<String> getKeys() {
+    return keys;
+  }
+
+  /**
+   * Scores a recipe against the snapshot.
+   * Expiry and value are only counted for the ingredients that are available.
+   *
+   * @param recipe The recipe to score.
+   * @return The score of the recipe, or <code>NaN</code> if it uses no grocery in the snapshot.
+   */
+  double score(Recipe recipe) {
+    if (!IngredientBits.intersects(stockBits, recipe.getIngredientBits(ingredientIds))) {
+      return Double.NaN;
+    }
+    int[] ids = recipe.getIngredientIds(ingredientIds);
+    long[][] quantities = recipe.getIngredientQuantities();
+    int covered = 0;
+    double expiry = 0;
+    long usedValue = 0;
+    for (int i = 0; i < ids.length; i++) {
+      IngredientScore ingredientScore = scoreOf(ids[i]);
+      if (ingredientScore != null && ingredientScore.stock().covers(quantities[i])) {
+        covered++;
+        expiry += ingredientScore.expiryScore();
+        usedValue += ingredientScore.stock().valueOf(quantities[i]);
+      }
+    }
+    int ingredients = ids.length;
+    double value = totalValue <= 0 ? 0 : Math.min(1, (double) usedValue / totalValue);
+    return scoring.score((double) covered / ingredients, expiry / ingredients, value);
+  }
+
+  /**
+   * Checks if every ingredient of a recipe is available in the snapshot.
+   *
+   * @param recipe The recipe to check.
+   * @return <code>true</code> if the recipe can be cooked, <code>false</code> otherwise.
+   */
+  boolean isCookable(Recipe recipe) {
+    if (recipe.hasUnknownIngredients(ingredientIds)
+        || !IngredientBits.containsAll(stockBits, recipe.getIngredientBits(ingredientIds))) {
+      return false;
+    }
+    int[] ids = recipe.getIngredientIds(ingredientIds);
+    long[][] quantities = recipe.getIngredientQuantities();
+    for (int i = 0; i < ids.length; i++) {
+      IngredientScore ingredientScore = scoreOf(ids[i]);
+      if (ingredientScore == null || !ingredientScore.stock().covers(quantities[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the summary of a grocery by its number.
+   *
+   * @param id The number of the grocery, as numbered by the storage, or <code>-1</code>.
+   * @return The summary, or <code>null</code> if the grocery is not in the snapshot.
+   */
+  private IngredientScore scoreOf(int id) {
+    return id >= 0 && id < scoresById.length ? scoresById[id] : null;
+  }
+
+  /**
+   * Scores a recipe, and keeps it in the heap if it is among the k best so far.
+   * Recipes that use no grocery in the snapshot are left out.
+   *
+   * @param best The heap of the best recipes, ordered by <code>WORST_FIRST</code>.
+   * @param k The highest number of recipes in the heap.
+   * @param recipe The recipe to score.
+   */
+  void offer(PriorityQueue<ScoredRecipe> best, int k, Recipe recipe) {
+    double score = score(recipe);
+    if (!Double.isNaN(score)) {
+      keep(best, k, new ScoredRecipe(recipe, score));
+    }
+  }
+
+  /**
+   * Keeps a scored recipe in the heap if it is among the k best so far.
+   *
+   * @param best The heap of the best recipes, ordered by <code>WORST_FIRST</code>.
+   * @param k The highest number of recipes in the heap.
+   * @param candidate The scored recipe.
+   */
+  static void keep(PriorityQueue<ScoredRecipe> best, int k, ScoredRecipe candidate) {
+    if (best.size() < k) {
+      best.add(candidate);
+    } else if (WORST_FIRST.compare(candidate, best.peek()) > 0) {
+      best.poll();
+      best.add(candidate);
+    }
+  }
+
+  /**
+   * Empties a heap of the best recipes into a list, the best first.
+   *
+   * @param best The heap of the best recipes.
+   * @return List of the recipes, the best first.
+   */
+  static List<Recipe> ranked(PriorityQueue<ScoredRecipe> best) {
+    List<ScoredRecipe> ranked = new ArrayList<>(best);
+    ranked.sort(WORST_FIRST.reversed());
+    return ranked.stream().map(ScoredRecipe::recipe).toList();
+  }
+
+  /**
+   * The summary of a grocery in storage, with its expiry score.
+   *
+   * @param stock The summary of the lots of the grocery.
+   * @param expiryScore The score of how soon the grocery expires.
+   */
+  private record IngredientScore(GroceryStock stock, double expiryScore) {
+  }
+
+  /**
+   * A recipe with its score, kept in the heaps of the recommendations.
+   *
+   * @param recipe The recipe.
+   * @param score The score of the recipe.
+   */
+  record ScoredRecipe(Recipe recipe, double score) {
+  }
+}
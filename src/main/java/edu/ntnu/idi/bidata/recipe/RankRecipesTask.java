@@ -0,0 +1,68 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import edu.ntnu.idi.bidata.recipe.PantrySnapshot.ScoredRecipe;
+import java.util.PriorityQueue;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork/join task that finds the k best recipes in a range of an array of recipes,
+ * see <code>CookBook.recommendParallel</code>.
+ * A range larger than the threshold is split in two halves. Each half keeps its own heap of
+ * the k best, and the heaps are merged with the same total order, so the result does not depend
+ * on how the halves are scheduled.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+final class RankRecipesTask extends RecursiveTask<PriorityQueue<ScoredRecipe>> {
+  private static final long serialVersionUID = 1L; // Tasks are never serialized
+  static final int THRESHOLD = 2_048;
+
+  private final transient Recipe[] recipes;
+  private final int from;
+  private final int to;
+  private final int k;
+  private final transient PantrySnapshot pantry;
+
+  /**
+   * Constructor for <code>RankRecipesTask</code>.
+   *
+   * @param recipes The recipes to rank. The array is not changed.
+   * @param from The index of the first recipe in the range.
+   * @param to The index after the last recipe in the range.
+   * @param k The highest number of recipes to keep.
+   * @param pantry The snapshot to score the recipes against.
+   */
+  RankRecipesTask(Recipe[] recipes, int from, int to, int k, PantrySnapshot pantry) {
+    this.recipes = recipes;
+    this.from = from;
+    this.to = to;
+    this.k = k;
+    this.pantry = pantry;
+  }
+
+  /**
+   * Ranks the range, or splits it and merges the best of both halves.
+   *
+   * @return The heap of the k best recipes in the range, with the worst first.
+   */
+  @Override
+  protected PriorityQueue<ScoredRecipe> compute() {
+    if (to - from <= THRESHOLD) {
+      PriorityQueue<ScoredRecipe> best = new PriorityQueue<>(k + 1, PantrySnapshot.WORST_FIRST);
+      for (int i = from; i < to; i++) {
+        pantry.offer(best, k, recipes[i]);
+      }
+      return best;
+    }
+    int middle = (from + to) >>> 1;
+    RankRecipesTask left = new RankRecipesTask(recipes, from, middle, k, pantry);
+    left.fork();
+    PriorityQueue<ScoredRecipe> best =
+        new RankRecipesTask(recipes, middle, to, k, pantry).compute();
+    for (ScoredRecipe scored : left.join()) {
+      PantrySnapshot.keep(best, k, scored);
+    }
+    return best;
+  }
+}
@@ -4,14 +4,25 @@ import static edu.ntnu.idi.bidata.recipe.RecipeValidator.amountOfServingsValidat
 import static edu.ntnu.idi.bidata.recipe.RecipeValidator.mapInputValidation;
 import static edu.ntnu.idi.bidata.recipe.RecipeValidator.stringInputValidation;
 
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.util.BaseQuantities;
+import edu.ntnu.idi.bidata.util.IngredientBits;
+import edu.ntnu.idi.bidata.util.IngredientIds;
 import java.math.BigDecimal;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * This class represents a recipe.
  * It includes details such as the name, description, cooking instructions,
  * ingredients and amount of servings.
+ * The description and cooking instructions may be read lazily, see the constructor that
+ * takes suppliers.
+ * The ingredients are copied when the recipe is created, and can not be changed afterwards,
+ * so a <code>CookBook</code> that indexes the recipe by its ingredients is never out of date.
  *
  * @author Mathias Erik Nord
  * @since 13.11.24
@@ -21,7 +32,12 @@ public class Recipe {
   private String recipeName;
   private String recipeDescription;
   private String cookingInstructions;
-  private Map<String, SimpleEntry<BigDecimal, String>> ingredients; // Refactor inspired by CoPilot.
+  private Supplier<String> recipeDescriptionSource; // Set until the description is read
+  private Supplier<String> cookingInstructionsSource; // Set until the instructions are read
+  private Map<String, SimpleEntry<BigDecimal, Unit>> ingredients; // Refactor inspired by CoPilot.
+  private Map<String, long[]> baseQuantities; // Canonical name as key
+  private long[][] ingredientQuantities; // Same order as baseQuantities
+  private volatile IngredientNumbers ingredientNumbers; // Of the last storage matched against
   private int amountOfServings;
 
   /**
@@ -36,7 +52,7 @@ public class Recipe {
    *
    */
   public Recipe(String recipeName, String recipeDescription, String cookingInstructions,
-                Map<String, SimpleEntry<BigDecimal, String>> ingredients, int amountOfServings) {
+                Map<String, SimpleEntry<BigDecimal, Unit>> ingredients, int amountOfServings) {
     setRecipeName(recipeName);
     setRecipeDescription(recipeDescription);
     setCookingInstructions(cookingInstructions);
@@ -44,6 +60,60 @@ public class Recipe {
     setAmountOfServings(amountOfServings);
   }
 
+  /**
+   * Constructor that will create a recipe, whose description and cooking instructions are
+   * only read when they are first asked for.
+   * Used when recipes are loaded from a snapshot, so the long texts of recipes that are never
+   * shown are never decoded. The texts are validated when they are read.
+   * The name and the servings are validated and set directly, so no overridable method is called.
+   *
+   * @param recipeName The name of the dish.
+   * @param recipeDescription Supplier of the description of the dish.
+   * @param cookingInstructions Supplier of the instructions on how to cook the dish.
+   * @param ingredients A map of the ingredients needed and the amount of ingredient.
+   * @param amountOfServings The number of servings the recipe is intended for.
+   * @throws IllegalArgumentException if an input is invalid, or a supplier is null.
+   */
+  public Recipe(String recipeName, Supplier<String> recipeDescription,
+                Supplier<String> cookingInstructions,
+                Map<String, SimpleEntry<BigDecimal, Unit>> ingredients, int amountOfServings) {
+    if (recipeDescription == null || cookingInstructions == null) {
+      throw new IllegalArgumentException("Provided input cannot be null, empty or blank.");
+    }
+    stringInputValidation(recipeName);
+    this.recipeName = recipeName;
+    this.recipeDescriptionSource = recipeDescription;
+    this.cookingInstructionsSource = cookingInstructions;
+    setIngredients(ingredients);
+    amountOfServingsValidation(amountOfServings);
+    this.amountOfServings = amountOfServings;
+  }
+
+  /**
+   * Creates a copy of the recipe, for example to write it on another thread.
+   * A description or cooking instructions that have not been read yet are not read here,
+   * the copy reads them from the same supplier when it is asked for them.
+   *
+   * @return A copy of the recipe.
+   */
+  public Recipe copy() {
+    return new Recipe(recipeName, sourceOf(recipeDescription, recipeDescriptionSource),
+        sourceOf(cookingInstructions, cookingInstructionsSource), getIngredients(),
+        amountOfServings);
+  }
+
+  /**
+   * Finds the supplier of a text, which is the supplier it is read from if it has not been read,
+   * or a supplier of the text itself.
+   *
+   * @param text The text, if it has been read.
+   * @param source The supplier of the text, if it has not been read.
+   * @return The supplier of the text.
+   */
+  private static Supplier<String> sourceOf(String text, Supplier<String> source) {
+    return source != null ? source : () -> text;
+  }
+
   /**
    * Accessor method for <code>recipeName</code>.
    *
@@ -74,6 +144,9 @@ public class Recipe {
    * @since 0.0.1
    */
   public String getRecipeDescription() {
+    if (recipeDescriptionSource != null) {
+      setRecipeDescription(recipeDescriptionSource.get());
+    }
     return recipeDescription;
   }
 
@@ -88,6 +161,7 @@ public class Recipe {
   public void setRecipeDescription(String recipeDescription) {
     stringInputValidation(recipeDescription);
     this.recipeDescription = recipeDescription;
+    this.recipeDescriptionSource = null;
   }
 
   /**
@@ -97,6 +171,9 @@ public class Recipe {
    * @since 0.0.1
    */
   public String getCookingInstructions() {
+    if (cookingInstructionsSource != null) {
+      setCookingInstructions(cookingInstructionsSource.get());
+    }
     return cookingInstructions;
   }
 
@@ -111,6 +188,7 @@ public class Recipe {
   public void setCookingInstructions(String cookingInstructions) {
     stringInputValidation(cookingInstructions);
     this.cookingInstructions = cookingInstructions;
+    this.cookingInstructionsSource = null;
   }
 
   /**
@@ -120,21 +198,139 @@ public class Recipe {
    *         key of value is quantity and value of value is unit of measurement.
    * @since 0.0.1
    */
-  public Map<String, SimpleEntry<BigDecimal, String>> getIngredients() {
-    return Map.copyOf(ingredients); // Use of copyOf inspired by CoPilot.
+  public Map<String, SimpleEntry<BigDecimal, Unit>> getIngredients() {
+    return copyOf(ingredients);
+  }
+
+  /**
+   * Accessor method for the quantities of the ingredients in base units.
+   * The quantities are converted once, when the recipe is created,
+   * so matching the recipe against a storage compares plain numbers.
+   * The returned arrays must not be changed.
+   *
+   * @return A map with the canonical name of the ingredient as key, and the quantities in
+   *         base units in hundredths, indexed by dimension ordinal, as value.
+   */
+  public Map<String, long[]> getBaseQuantities() {
+    return baseQuantities;
   }
 
   /**
-   * Mutator method for <code>ingredients</code>.
-   * Sets the ingredients for a recipe.
+   * Accessor method for the numbers of the ingredients, see <code>IngredientIds</code>.
+   * An ingredient that has never been in the storage has no number, and is <code>-1</code>.
+   * The returned array must not be changed.
+   *
+   * @param dictionary The numbers of the storage the recipe is matched against.
+   * @return The numbers of the ingredients, in the same order as
+   *         <code>getIngredientQuantities</code>.
+   */
+  public int[] getIngredientIds(IngredientIds dictionary) {
+    return numbersIn(dictionary).ids();
+  }
+
+  /**
+   * Accessor method for the quantities of the ingredients in base units, by position.
+   * The returned arrays must not be changed.
+   *
+   * @return The quantities in base units in hundredths, indexed by dimension ordinal,
+   *         in the same order as <code>getIngredientIds</code> and <code>getBaseQuantities</code>.
+   */
+  public long[][] getIngredientQuantities() {
+    return ingredientQuantities;
+  }
+
+  /**
+   * Accessor method for the set of ingredients, as bits, see <code>IngredientBits</code>.
+   * Ingredients that have never been in the storage have no number, and are not in the set,
+   * see <code>hasUnknownIngredients</code>.
+   * The returned array must not be changed.
+   *
+   * @param dictionary The numbers of the storage the recipe is matched against.
+   * @return The set of ingredients.
+   */
+  public long[] getIngredientBits(IngredientIds dictionary) {
+    return numbersIn(dictionary).bits();
+  }
+
+  /**
+   * Checks if an ingredient has never been in the storage, so it has no number.
+   * Such a recipe can not be cooked from the storage, whatever its set of ingredients holds.
+   *
+   * @param dictionary The numbers of the storage the recipe is matched against.
+   * @return <code>true</code> if an ingredient has no number, <code>false</code> otherwise.
+   */
+  public boolean hasUnknownIngredients(IngredientIds dictionary) {
+    return !numbersIn(dictionary).complete();
+  }
+
+  /**
+   * Numbers the ingredients with the numbers of a storage, and keeps the result until the
+   * recipe is matched against a storage with other numbers.
+   * The numbers are only looked up, so matching never gives a name a number. If an ingredient
+   * had no number, the ingredients are numbered again once the storage has numbered more names.
+   * Threads that number the same recipe at once get the same numbers, so the result is
+   * published without locking.
+   *
+   * @param dictionary The numbers of the storage the recipe is matched against.
+   * @return The numbers and the set of the ingredients.
+   * @throws IllegalArgumentException if the dictionary is null.
+   */
+  private IngredientNumbers numbersIn(IngredientIds dictionary) {
+    if (dictionary == null) {
+      throw new IllegalArgumentException("The ingredient numbers cannot be null.");
+    }
+    IngredientNumbers numbers = ingredientNumbers;
+    if (numbers == null || numbers.dictionary() != dictionary
+        || (!numbers.complete() && numbers.dictionarySize() != dictionary.size())) {
+      int dictionarySize = dictionary.size();
+      int[] ids = new int[baseQuantities.size()];
+      long[] bits = new long[0];
+      boolean complete = true;
+      int position = 0;
+      for (String key : baseQuantities.keySet()) {
+        int id = dictionary.find(key);
+        ids[position++] = id;
+        if (id < 0) {
+          complete = false;
+        } else {
+          bits = IngredientBits.with(bits, id);
+        }
+      }
+      numbers = new IngredientNumbers(dictionary, dictionarySize, ids, bits, complete);
+      ingredientNumbers = numbers;
+    }
+    return numbers;
+  }
+
+  /**
+   * Mutator method for <code>ingredients</code>, only used when the recipe is created.
+   * Sets a copy of the ingredients for a recipe, and converts their quantities to base units.
+   * The ingredients are numbered, and kept as a set of bits, the first time they are matched
+   * against a storage, so they can be matched without comparing names.
    *
    * @param ingredients The ingredients that are needed to make the recipe.
    * @throws IllegalArgumentException if the ingredient map is invalid.
    * @since 0.0.1
    */
-  public void setIngredients(Map<String, SimpleEntry<BigDecimal, String>> ingredients) {
+  private void setIngredients(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
     mapInputValidation(ingredients);
-    this.ingredients = ingredients;
+    this.ingredients = copyOf(ingredients);
+    this.baseQuantities = Collections.unmodifiableMap(BaseQuantities.of(this.ingredients));
+    this.ingredientQuantities = baseQuantities.values().toArray(new long[0][]);
+  }
+
+  /**
+   * Copies a map of ingredients, with a new entry for every ingredient,
+   * so neither the map nor its entries are shared.
+   *
+   * @param ingredients The ingredients to copy.
+   * @return An unmodifiable copy of the ingredients, in the same order.
+   */
+  private static Map<String, SimpleEntry<BigDecimal, Unit>> copyOf(
+      Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
+    Map<String, SimpleEntry<BigDecimal, Unit>> copy = new LinkedHashMap<>();
+    ingredients.forEach((name, quantity) -> copy.put(name, new SimpleEntry<>(quantity)));
+    return Collections.unmodifiableMap(copy);
   }
 
   /**
@@ -159,4 +355,17 @@ public class Recipe {
     amountOfServingsValidation(amountOfServings);
     this.amountOfServings = amountOfServings;
   }
+
+  /**
+   * The numbers and the set of the ingredients, as numbered by one storage.
+   *
+   * @param dictionary The numbers of the storage.
+   * @param dictionarySize The number of names in the dictionary when the recipe was numbered.
+   * @param ids The numbers of the ingredients, in the same order as the quantities.
+   * @param bits The set of the ingredients.
+   * @param complete <code>true</code> if every ingredient has a number.
+   */
+  private record IngredientNumbers(IngredientIds dictionary, int dictionarySize, int[] ids,
+                                   long[] bits, boolean complete) {
+  }
 }
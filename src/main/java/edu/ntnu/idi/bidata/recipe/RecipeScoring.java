@@ -0,0 +1,111 @@
+package edu.ntnu.idi.bidata.recipe;
+
+/**
+ * This class holds the weights used to rank recipes against a food storage,
+ * see <code>CookBook.recommend</code>.
+ * A recipe gets three partial scores between zero and one: the share of its ingredients that are
+ * available, how soon the groceries it uses expire, and the share of the value in storage it
+ * uses. The score of the recipe is the weighted sum of the three.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class RecipeScoring {
+  /**
+   * Scoring that ranks by coverage first, and prefers groceries that expire within a week.
+   */
+  public static final RecipeScoring DEFAULT = new RecipeScoring(1.0, 0.5, 0.25, 7);
+
+  private final double coverageWeight;
+  private final double expiryWeight;
+  private final double valueWeight;
+  private final int expiryHorizonDays;
+
+  /**
+   * Constructor for <code>RecipeScoring</code>.
+   *
+   * @param coverageWeight The weight of the share of ingredients that are available.
+   * @param expiryWeight The weight of how soon the used groceries expire.
+   * @param valueWeight The weight of the share of the value in storage that is used.
+   * @param expiryHorizonDays The number of days after which a grocery no longer counts as
+   *                          expiring soon.
+   * @throws IllegalArgumentException if a weight is negative or not a number,
+   *                                  or the horizon is not positive.
+   */
+  public RecipeScoring(double coverageWeight, double expiryWeight, double valueWeight,
+                       int expiryHorizonDays) {
+    if (!(coverageWeight >= 0) || !(expiryWeight >= 0) || !(valueWeight >= 0)) {
+      throw new IllegalArgumentException("The weights cannot be negative.");
+    }
+    if (expiryHorizonDays <= 0) {
+      throw new IllegalArgumentException("The expiry horizon must be positive.");
+    }
+    this.coverageWeight = coverageWeight;
+    this.expiryWeight = expiryWeight;
+    this.valueWeight = valueWeight;
+    this.expiryHorizonDays = expiryHorizonDays;
+  }
+
+  /**
+   * Accessor method for the weight of the share of ingredients that are available.
+   *
+   * @return The coverage weight.
+   */
+  public double getCoverageWeight() {
+    return coverageWeight;
+  }
+
+  /**
+   * Accessor method for the weight of how soon the used groceries expire.
+   *
+   * @return The expiry weight.
+   */
+  public double getExpiryWeight() {
+    return expiryWeight;
+  }
+
+  /**
+   * Accessor method for the weight of the share of the value in storage that is used.
+   *
+   * @return The value weight.
+   */
+  public double getValueWeight() {
+    return valueWeight;
+  }
+
+  /**
+   * Accessor method for the number of days after which a grocery no longer counts as
+   * expiring soon.
+   *
+   * @return The expiry horizon in days.
+   */
+  public int getExpiryHorizonDays() {
+    return expiryHorizonDays;
+  }
+
+  /**
+   * Scores how soon a grocery expires. The score falls in a straight line from one, for a
+   * grocery that expires today or has expired, to zero at the horizon.
+   *
+   * @param daysUntilExpiry The number of days until the first lot of the grocery expires.
+   * @return The score between zero and one.
+   */
+  double expiryScore(long daysUntilExpiry) {
+    if (daysUntilExpiry >= expiryHorizonDays) {
+      return 0;
+    }
+    return daysUntilExpiry <= 0 ? 1 : 1 - (double) daysUntilExpiry / expiryHorizonDays;
+  }
+
+  /**
+   * Combines the partial scores of a recipe.
+   *
+   * @param coverage The share of the ingredients that are available.
+   * @param expiry The average expiry score of the ingredients.
+   * @param value The share of the value in storage that the recipe uses.
+   * @return The weighted score.
+   */
+  double score(double coverage, double expiry, double value) {
+    return coverageWeight * coverage + expiryWeight * expiry + valueWeight * value;
+  }
+}
@@ -1,5 +1,6 @@
 package edu.ntnu.idi.bidata.recipe;
 
+import edu.ntnu.idi.bidata.entity.Unit;
 import java.math.BigDecimal;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Map;
@@ -25,14 +26,14 @@ public class RecipeValidator {
    * @param errorMessage The StringBuilder to append messages to.
    * @since 0.0.1
    */
-  private static void ingredientValidation(Map<String, SimpleEntry<BigDecimal, String>> ingredients,
+  private static void ingredientValidation(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients,
                                            StringBuilder errorMessage) {
     if (ingredients == null) {
       errorMessage.append("The inputted ingredients cannot be null\n");
     } else {
-      for (Map.Entry<String, SimpleEntry<BigDecimal, String>> entry : ingredients.entrySet()) {
+      for (Map.Entry<String, SimpleEntry<BigDecimal, Unit>> entry : ingredients.entrySet()) {
         String ingredientName = entry.getKey();
-        SimpleEntry<BigDecimal, String> quantityAndUnit = entry.getValue();
+        SimpleEntry<BigDecimal, Unit> quantityAndUnit = entry.getValue();
 
         validateIngredientName(errorMessage, ingredientName);
         validateQuantityAndUnit(errorMessage, quantityAndUnit);
@@ -49,7 +50,7 @@ public class RecipeValidator {
    * @since 0.0.1
    */
   private static void validateQuantityAndUnit(StringBuilder errorMessage,
-                                              SimpleEntry<BigDecimal, String> quantityAndUnit) {
+                                              SimpleEntry<BigDecimal, Unit> quantityAndUnit) {
     if (quantityAndUnit == null) {
       errorMessage.append("Quantity and unit cannot be null");
       return;
@@ -58,8 +59,8 @@ public class RecipeValidator {
         || quantityAndUnit.getKey().compareTo(BigDecimal.ZERO) <= 0) {
       errorMessage.append("Quantity cannot be null, less than or equal to zero.");
     }
-    if (quantityAndUnit.getValue() == null || quantityAndUnit.getValue().isBlank()) {
-      errorMessage.append("Unit of measurement cannot be null, empty or blank.");
+    if (quantityAndUnit.getValue() == null) {
+      errorMessage.append("Unit of measurement cannot be null.");
     }
   }
 
@@ -85,7 +86,7 @@ public class RecipeValidator {
    *                                  less than or equal to zero.
    * @since 0.0.1
    */
-  public static void mapInputValidation(Map<String, SimpleEntry<BigDecimal, String>> ingredients) {
+  public static void mapInputValidation(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
     StringBuilder errorMessage = new StringBuilder();
     ingredientValidation(ingredients, errorMessage);
     if (!errorMessage.isEmpty()) {
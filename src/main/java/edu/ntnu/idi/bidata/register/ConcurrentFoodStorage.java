@@ -0,0 +1,195 @@
+package edu.ntnu.idi.bidata.register;
+
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateGrocery;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateGroceryLots;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateInputs;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateString;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateUnit;
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import edu.ntnu.idi.bidata.entity.Dimension;
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class represents a storage of groceries that can be shared between threads.
+ * It offers the same operations as <code>FoodStorage</code>.
+ * Writes to groceries with different names run in parallel, because every write only locks
+ * the entry of its own canonical name in a <code>ConcurrentHashMap</code>.
+ * The lots of a grocery are never changed in place. A write builds a changed copy of the lots,
+ * with new instances of <code>Grocery</code> for the changed lots, and publishes it when done.
+ * The lots are merged and taken from by <code>GroceryLots</code>, as in <code>FoodStorage</code>.
+ * Readers therefore never block writers, and never see a half-done write.
+ * Every read sees the lots of each name as they were after a complete write. A read that covers
+ * several names, such as the sorted list or the total value, reads them one at a time, so a
+ * write to another name that runs at the same time may or may not be included.
+ * The total value is summed from the same lots, so it always matches what a read of the lots sees.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class ConcurrentFoodStorage {
+  private final ConcurrentHashMap<String, GroceryLots> groceries = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for <code>ConcurrentFoodStorage</code>.
+   * Constructor is empty, because the storage starts out empty.
+   */
+  public ConcurrentFoodStorage() {
+    // Currently empty
+  }
+
+  /**
+   * Adds an instance of <code>Grocery</code> to the storage.
+   * If the grocery already exists with the same expiration date and unit,
+   * it updates the quantity and price.
+   * The storage keeps its own copy of the grocery, so later changes to the provided instance
+   * do not affect the storage.
+   *
+   * @param providedGrocery The instance of a <code>Grocery</code> to add.
+   * @throws IllegalArgumentException if the provided grocery is invalid,
+   *                                  or if the summed quantity or price is too large.
+   */
+  public void addGrocery(Grocery providedGrocery) {
+    validateGrocery(providedGrocery);
+    Grocery providedLot = GroceryLots.copyOf(providedGrocery);
+
+    groceries.compute(canonicalName(providedLot.getName()), (key, currentLots) -> {
+      GroceryLots groceryLots = currentLots == null ? new GroceryLots() : currentLots.copy();
+      groceryLots.addLot(providedLot);
+      return groceryLots;
+    });
+  }
+
+  /**
+   * Removes a specified grocery from the storage.
+   * The quantity is converted from the given unit to base units, and is taken from the lots
+   * in the same dimension, the lot that expires first being used first.
+   *
+   * @param groceryToRemove The name of the grocery to remove.
+   * @param quantityToRemove The quantity to remove.
+   * @param unitOfMeasurement The unit of measurement of the quantity to remove.
+   * @throws IllegalArgumentException if the inputs are invalid,
+   *                                  or if the quantity is higher than available quantity.
+   * @throws NoSuchElementException if the grocery is not in storage.
+   */
+  public void removeGrocery(String groceryToRemove, BigDecimal quantityToRemove,
+                            Unit unitOfMeasurement) {
+    validateInputs(groceryToRemove, quantityToRemove);
+    validateUnit(unitOfMeasurement);
+    long quantityInBaseUnit = unitOfMeasurement.toBase(FixedPoint.of(quantityToRemove));
+    Dimension dimension = unitOfMeasurement.getDimension();
+
+    groceries.compute(canonicalName(groceryToRemove), (key, currentLots) -> {
+      validateGroceryLots(currentLots);
+      if (quantityInBaseUnit > currentLots.getQuantity(dimension)) {
+        throw new
+            IllegalArgumentException("You are trying to remove a higher quantity, than available.");
+      }
+      GroceryLots groceryLots = currentLots.copy();
+      removalLogic(groceryLots, dimension, quantityInBaseUnit);
+      return groceryLots.isEmpty() ? null : groceryLots;
+    });
+  }
+
+  /**
+   * The removal logic used when removing a grocery.
+   * The lots are taken from in order, see <code>GroceryLots.take</code>.
+   *
+   * @param groceryLots The copy of the lots to remove quantity from.
+   * @param dimension The dimension of the quantity to remove.
+   * @param remainingToRemove The remaining quantity to remove, in hundredths of the base unit.
+   */
+  private void removalLogic(GroceryLots groceryLots, Dimension dimension,
+                            long remainingToRemove) {
+    for (Grocery grocery : groceryLots.getLots(dimension)) {
+      if (remainingToRemove <= 0) {
+        return;
+      }
+      long taken = groceryLots.take(grocery, remainingToRemove).quantity();
+      remainingToRemove = Math.max(0, remainingToRemove - grocery.getUnit().toBase(taken));
+    }
+  }
+
+  /**
+   * Method that searches for an instance of <code>Grocery</code> in the storage.
+   * The search is case-insensitive. The returned groceries are copies.
+   *
+   * @param nameOfGrocery The name of the grocery to search for.
+   * @return List of groceries that matches the search, ordered by expiry date.
+   * @throws IllegalArgumentException if the input name is invalid.
+   * @throws NoSuchElementException if no grocery with the given name is found.
+   */
+  public List<Grocery> searchGrocery(String nameOfGrocery) {
+    validateString(nameOfGrocery);
+    GroceryLots searchedGrocery = groceries.get(canonicalName(nameOfGrocery));
+
+    if (searchedGrocery == null) {
+      throw new NoSuchElementException("No grocery with the given name was found.");
+    }
+    return List.copyOf(searchedGrocery.copyOfLots());
+  }
+
+  /**
+   * Accessor method for the total value of all groceries in storage.
+   * The value is summed from the lots of every name, read the same way as by
+   * <code>getSortedList</code>, so it matches the prices of the lots a read sees.
+   *
+   * @return The total value of all groceries.
+   */
+  public BigDecimal valueOfAllGroceries() {
+    long totalValue = 0;
+    for (GroceryLots groceryLots : groceries.values()) {
+      totalValue += groceryLots.getValue();
+    }
+    return FixedPoint.toBigDecimal(totalValue);
+  }
+
+  /**
+   * Get method to get a sorted list of all groceries in storage.
+   * Sorted alphabetically by name. The returned groceries are copies.
+   * The lots of each grocery are read as they were after a complete write.
+   *
+   * @return Sorted list of groceries.
+   * @throws NoSuchElementException if the grocery list is empty.
+   */
+  public List<Grocery> getSortedList() {
+    List<Grocery> sortedList = groceries.values().stream()
+        .flatMap(groceryLots -> groceryLots.copyOfLots().stream())
+        .sorted(Comparator.comparing(Grocery::getName))
+        .toList();
+
+    if (sortedList.isEmpty()) {
+      throw new NoSuchElementException("The grocery list is empty!");
+    }
+    return sortedList;
+  }
+
+  /**
+   * Checks if there is enough quantity of a specified grocery.
+   * The quantity of every lot measured in the same dimension as the given unit is counted,
+   * converted to the base unit of the dimension.
+   *
+   * @param nameOfIngredient The name of the ingredient to check.
+   * @param requiredQuantity The required quantity of ingredient.
+   * @param unitOfMeasurement The unit of measurement.
+   * @return <code>true</code> if the required quantity is available, <code>false</code> otherwise.
+   * @throws IllegalArgumentException if the name or the unit is invalid,
+   *                                  or the required quantity is too large to be held.
+   */
+  public boolean isGroceryAvailable(String nameOfIngredient, BigDecimal requiredQuantity,
+                                    Unit unitOfMeasurement) {
+    validateString(nameOfIngredient);
+    validateUnit(unitOfMeasurement);
+    GroceryLots groceryLots = groceries.get(canonicalName(nameOfIngredient));
+    return groceryLots != null
+        && groceryLots.getQuantity(unitOfMeasurement.getDimension())
+        >= unitOfMeasurement.toBase(FixedPoint.of(requiredQuantity));
+  }
+}
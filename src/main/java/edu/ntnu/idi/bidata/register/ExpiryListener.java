@@ -0,0 +1,25 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Listener that is told by an <code>ExpiryService</code> about lots that will soon expire.
+ * Each lot is reported once, on the first day it is within the warning period,
+ * or when it is added if it is already within the period that has been reported.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface ExpiryListener {
+  /**
+   * Called when lots have come within the warning period.
+   * The groceries are copies, so changing them does not change the storage.
+   *
+   * @param today The current date of the service.
+   * @param groceries The lots that will soon expire, ordered by expiry date.
+   */
+  void groceriesExpiringSoon(LocalDate today, List<Grocery> groceries);
+}
@@ -0,0 +1,152 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service that moves expired lots out of a <code>FoodStorage</code> as the days pass,
+ * and tells its listeners about lots that will expire within a number of days.
+ * Each time the service is advanced to a new day, the lots that expired before it are moved to
+ * the waste ledger of the storage, and the lots whose expiry date has come within the warning
+ * period since the last day are reported. Both are read from the expiry date index of the
+ * storage, so the cost of a day depends on the number of lots that expire or are reported,
+ * and not on the amount of groceries in storage. A day that was skipped, for example while the
+ * application was stopped, is caught up on the next advance.
+ * A lot that is added with an expiry date inside the period that has already been reported is
+ * reported when it is added, so it is not missed until the service is next advanced.
+ * The service must be advanced on the thread that changes the storage.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class ExpiryService {
+  private final FoodStorage foodStorage;
+  private final Clock clock;
+  private final int warningDays;
+  private final List<ExpiryListener> listeners = new ArrayList<>();
+  private LocalDate today;
+  private LocalDate warnedThrough;
+
+  /**
+   * Constructor for <code>ExpiryService</code>.
+   *
+   * @param foodStorage The food storage to expire lots in.
+   * @param clock The clock that gives the current day.
+   * @param warningDays The number of days before its expiry date a lot is reported.
+   * @throws IllegalArgumentException if an argument is null, or the days are negative.
+   */
+  public ExpiryService(FoodStorage foodStorage, Clock clock, int warningDays) {
+    if (foodStorage == null || clock == null) {
+      throw new IllegalArgumentException("Food storage and clock cannot be null.");
+    }
+    if (warningDays < 0) {
+      throw new IllegalArgumentException("The number of warning days cannot be negative.");
+    }
+    this.foodStorage = foodStorage;
+    this.clock = clock;
+    this.warningDays = warningDays;
+    foodStorage.addListener(new FoodStorageListener() {
+      @Override
+      public void groceryAdded(Grocery grocery) {
+        reportAdded(List.of(grocery));
+      }
+
+      @Override
+      public void groceriesAdded(Collection<Grocery> groceries) {
+        reportAdded(groceries);
+      }
+    });
+  }
+
+  /**
+   * Adds a listener that is told about lots that will soon expire.
+   *
+   * @param listener The listener to add.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public void addListener(ExpiryListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("The listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Advances the service to the current day of the clock.
+   *
+   * @return List of the lots that expired, which is empty if the day has not changed.
+   */
+  public List<Grocery> advance() {
+    return advanceTo(LocalDate.now(clock));
+  }
+
+  /**
+   * Advances the service to the given day.
+   * Lots that expired before the day are moved to the waste ledger, and lots that expire
+   * within the warning period and have not been reported before are reported.
+   * A day that is not after the current day of the service changes nothing.
+   *
+   * @param day The day to advance to.
+   * @return List of the lots that expired, ordered by expiry date.
+   * @throws IllegalArgumentException if the day is null.
+   */
+  public List<Grocery> advanceTo(LocalDate day) {
+    if (day == null) {
+      throw new IllegalArgumentException("The day cannot be null.");
+    }
+    if (today != null && !day.isAfter(today)) {
+      return List.of();
+    }
+    today = day;
+    List<Grocery> expiredGroceries = foodStorage.removeExpiredGroceries(day);
+
+    LocalDate fromDate = warnedThrough == null ? day : warnedThrough.plusDays(1);
+    warnedThrough = day.plusDays(warningDays);
+    if (!fromDate.isAfter(warnedThrough)) {
+      List<Grocery> expiringGroceries =
+          foodStorage.listOfGroceriesExpiringBetween(fromDate, warnedThrough);
+      if (!expiringGroceries.isEmpty()) {
+        listeners.forEach(listener -> listener.groceriesExpiringSoon(day, expiringGroceries));
+      }
+    }
+    return expiredGroceries;
+  }
+
+  /**
+   * Reports the added lots that expire within the period that has already been reported,
+   * since they were not in storage when the period was read.
+   * Nothing is reported before the service has been advanced for the first time.
+   *
+   * @param groceries The lots that were added.
+   */
+  private void reportAdded(Collection<Grocery> groceries) {
+    if (warnedThrough == null) {
+      return;
+    }
+    List<Grocery> expiringGroceries = new ArrayList<>();
+    for (Grocery grocery : groceries) {
+      LocalDate expiryDate = grocery.getExpiryDate();
+      if (!expiryDate.isBefore(today) && !expiryDate.isAfter(warnedThrough)) {
+        expiringGroceries.add(grocery);
+      }
+    }
+    if (!expiringGroceries.isEmpty()) {
+      expiringGroceries.sort(Comparator.comparing(Grocery::getExpiryDate));
+      listeners.forEach(listener -> listener.groceriesExpiringSoon(today, expiringGroceries));
+    }
+  }
+
+  /**
+   * Accessor method for the current day of the service.
+   *
+   * @return The last day the service was advanced to, or <code>null</code> if never advanced.
+   */
+  public LocalDate getToday() {
+    return today;
+  }
+}
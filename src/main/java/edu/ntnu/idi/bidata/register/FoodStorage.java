@@ -1,27 +1,68 @@
 package edu.ntnu.idi.bidata.register;
 
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateDate;
 import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateGrocery;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateGroceryBatch;
 import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateGroceryList;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateGroceryLots;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateIngredients;
 import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateInputs;
 import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateString;
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateUnit;
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
 
+import edu.ntnu.idi.bidata.entity.Dimension;
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.util.BaseQuantities;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import edu.ntnu.idi.bidata.util.IngredientBits;
+import edu.ntnu.idi.bidata.util.IngredientIds;
+import edu.ntnu.idi.bidata.util.NameIndex;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.DateTimeException;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
 
 
 /**
  * This class represents a storage where instances of <code>Grocery</code>> can be stored.
  * The storage can represent a fridge, drawer, freezer etc.
+ * Groceries are indexed by their canonical name, so lookups by name are case-insensitive
+ * and do not depend on the amount of groceries in storage.
+ * A secondary index orders the groceries by expiry date, so queries on expiry date
+ * only visit the groceries within the requested range.
+ * Another index keeps the grocery names in alphabetical order as they are added and removed,
+ * so listings can be read in order, one page at a time, without sorting the storage.
+ * The names are also kept in a trie, so they can be completed and corrected while typing,
+ * see <code>NameIndex</code>.
+ * The value of the groceries is kept as running totals, which are updated on every change.
+ * Totals are kept as fixed-point hundredths, see <code>FixedPoint</code>,
+ * and are only converted to <code>BigDecimal</code> when they are returned.
+ * The lots of each grocery are kept in a container that caches the total quantity per dimension
+ * in base units, so availability checks do not depend on the amount of lots,
+ * and compare plain numbers even when the recipe and the grocery use different units.
+ * When a grocery is removed, the lots that expire first are used first.
+ * Groceries are copied when they are added, and the groceries that are returned are copies,
+ * so the lots in storage can only be changed through the storage, which keeps its indexes
+ * and totals in step.
+ * Lots that have expired can be moved to a waste ledger, see <code>WasteLedger</code>.
+ * The quantity and value that expire or are used are added to running totals per day,
+ * see <code>UsageRollups</code>.
+ * Listeners can be added to be told about every change, see <code>FoodStorageListener</code>.
  *
  * @author Mathias Erik Nord
  * @since 05.11.2024
@@ -29,157 +70,515 @@ import java.util.NoSuchElementException;
  *
  */
 public class FoodStorage {
-  private final Map<String, List<Grocery>> groceries = new HashMap<>();
+  private final Map<String, GroceryLots> groceries = new HashMap<>(); // Canonical name as key
+  private final NavigableMap<String, GroceryLots> groceriesByName = new TreeMap<>();
+  private final NameIndex nameIndex = new NameIndex();
+  private final IngredientIds ingredientIds = new IngredientIds(); // Numbers of stockBits
+  private long[] stockBits = new long[0]; // The groceries in storage, see IngredientBits
+  // Every lot, with its canonical name as value, per expiry date
+  private final NavigableMap<LocalDate, Map<Grocery, String>> groceriesByExpiry = new TreeMap<>();
+  private final long[] valueByUnit = new long[Unit.values().length]; // Unit ordinal as index
+  private final UnitConverter unitConverter;
+  private final List<FoodStorageListener> listeners = new ArrayList<>();
+  private final WasteLedger wasteLedger = new WasteLedger();
+  private final UsageRollups usageRollups = new UsageRollups();
+  private final Clock clock;
+  private long totalValue; // Hundredths
 
   /**
    * Constructor for <code>FoodStorage</code>.
-   * Constructor is empty, because the idea is to have an empty storage,
+   * The idea is to have an empty storage,
    * that will be filled with instances of Grocery, with the according methods.
+   * The storage starts with an empty unit converter, so quantities are only compared
+   * within the same dimension until densities or piece weights are added.
    */
   public FoodStorage() {
-    // Currently empty
+    this(new UnitConverter());
+  }
+
+  /**
+   * Constructor for <code>FoodStorage</code>, with the unit converter to use when
+   * comparing quantities in different dimensions.
+   *
+   * @param unitConverter The unit converter with densities and piece weights.
+   * @throws IllegalArgumentException if the unit converter is null.
+   */
+  public FoodStorage(UnitConverter unitConverter) {
+    this(unitConverter, Clock.systemDefaultZone());
+  }
+
+  /**
+   * Constructor for <code>FoodStorage</code>, with the unit converter to use when
+   * comparing quantities in different dimensions, and the clock that gives the day
+   * groceries are used on.
+   *
+   * @param unitConverter The unit converter with densities and piece weights.
+   * @param clock The clock that gives the day groceries are used on.
+   * @throws IllegalArgumentException if the unit converter or the clock is null.
+   */
+  public FoodStorage(UnitConverter unitConverter, Clock clock) {
+    if (unitConverter == null || clock == null) {
+      throw new IllegalArgumentException("The unit converter and clock cannot be null.");
+    }
+    this.unitConverter = unitConverter;
+    this.clock = clock;
+  }
+
+  /**
+   * Accessor method for the unit converter of the storage.
+   * Densities and piece weights added to it are used by later availability checks.
+   *
+   * @return The unit converter.
+   */
+  public UnitConverter getUnitConverter() {
+    return unitConverter;
+  }
+
+  /**
+   * Accessor method for the waste ledger of the storage.
+   * It holds the lots that were removed by <code>removeExpiredGroceries</code>.
+   *
+   * @return The waste ledger.
+   */
+  public WasteLedger getWasteLedger() {
+    return wasteLedger;
+  }
+
+  /**
+   * Accessor method for the usage totals of the storage.
+   *
+   * @return The totals of the groceries that were wasted and used.
+   */
+  public UsageRollups getUsageRollups() {
+    return usageRollups;
+  }
+
+  /**
+   * Adds a listener that is told about every later change to the storage.
+   *
+   * @param listener The listener to add.
+   * @throws IllegalArgumentException if the listener is null.
+   */
+  public void addListener(FoodStorageListener listener) {
+    if (listener == null) {
+      throw new IllegalArgumentException("The listener cannot be null.");
+    }
+    listeners.add(listener);
+  }
+
+  /**
+   * Removes a listener, so it is no longer told about changes to the storage.
+   *
+   * @param listener The listener to remove.
+   */
+  public void removeListener(FoodStorageListener listener) {
+    listeners.remove(listener);
   }
 
   /**
    * Adds an instance of <code>Grocery</code> to the storage.
-   * If the grocery already exists with the same expiration date, it updates the quantity and price.
+   * If the grocery already exists with the same expiration date and unit,
+   * it updates the quantity and price.
+   * A copy of the grocery is stored, so changing the provided grocery afterwards does not
+   * affect the storage. Listeners are given another copy, never the stored lot.
    *
    * @param providedGrocery The instance of a <code>Grocery</code> to add.
-   * @throws IllegalArgumentException if the provided grocery is invalid.
+   * @throws IllegalArgumentException if the provided grocery is invalid,
+   *                                  or if the summed quantity or price is too large.
    */
   public void addGrocery(Grocery providedGrocery) {
     validateGrocery(providedGrocery);
-    List<Grocery> groceryList = groceries.getOrDefault(providedGrocery.getName(),
-        new ArrayList<>());
-    Iterator<Grocery> groceryIterator = groceryList.iterator();
+    Grocery addedGrocery = GroceryLots.copyOf(providedGrocery);
+    String key = canonicalName(addedGrocery.getName());
+    addToLots(key, lotsOf(key, addedGrocery.getName()), addedGrocery);
+    Grocery reportedGrocery = GroceryLots.copyOf(addedGrocery);
+    listeners.forEach(listener -> listener.groceryAdded(reportedGrocery));
+  }
 
-    boolean isFound = false;
-    boolean found = isFound(providedGrocery, groceryIterator, isFound);
+  /**
+   * Adds a batch of groceries to the storage, for example the lines of a receipt.
+   * Lines with the same name, expiry date and unit are merged into a new grocery before they
+   * reach the storage, and the other lines are copied, so the provided groceries are neither
+   * changed nor kept. Each grocery name is looked up once for the whole batch.
+   * Every line is validated, and every sum is checked, before anything is added,
+   * so if a line is invalid or a sum is too large, none of the lines are added.
+   * Listeners are given copies of the added lines, and are not told about an empty batch.
+   *
+   * @param providedGroceries The groceries to add.
+   * @throws IllegalArgumentException if the collection or any of the groceries is invalid,
+   *                                  or if a merged quantity or price is too large.
+   */
+  public void addGroceries(Collection<Grocery> providedGroceries) {
+    validateGroceryBatch(providedGroceries);
+    if (providedGroceries.isEmpty()) {
+      return;
+    }
+    Map<String, Map<SimpleEntry<LocalDate, Unit>, Grocery>> groupedGroceries =
+        new LinkedHashMap<>();
+
+    for (Grocery providedGrocery : providedGroceries) {
+      Map<SimpleEntry<LocalDate, Unit>, Grocery> groceriesWithName =
+          groupedGroceries.computeIfAbsent(canonicalName(providedGrocery.getName()),
+              name -> new LinkedHashMap<>());
+      groceriesWithName.merge(
+          new SimpleEntry<>(providedGrocery.getExpiryDate(), providedGrocery.getUnit()),
+          GroceryLots.copyOf(providedGrocery), GroceryLots::merged);
+    }
+    groupedGroceries.forEach((key, groceriesWithName) -> {
+      GroceryLots groceryLots = groceries.getOrDefault(key, new GroceryLots());
+      for (Grocery grocery : groceriesWithName.values()) {
+        groceryLots.checkAdd(grocery); // Only checks that the sums can be held
+      }
+    });
+    List<Grocery> addedGroceries = new ArrayList<>();
+    groupedGroceries.forEach((key, groceriesWithName) -> {
+      GroceryLots groceryLots = lotsOf(key, groceriesWithName.values().iterator().next().getName());
+      groceriesWithName.values().forEach(grocery -> {
+        addToLots(key, groceryLots, grocery);
+        addedGroceries.add(GroceryLots.copyOf(grocery));
+      });
+    });
+    listeners.forEach(listener -> listener.groceriesAdded(addedGroceries));
+  }
 
-    if (!found) {
-      groceryList.add(providedGrocery);
+  /**
+   * Finds the lots of a grocery, and creates them if the grocery is not in storage.
+   * New lots are added to the lookup map and the name indexes.
+   *
+   * @param key The canonical name of the grocery.
+   * @param name The name of the grocery, as it is shown when names are completed.
+   * @return The lots of the grocery.
+   */
+  private GroceryLots lotsOf(String key, String name) {
+    GroceryLots groceryLots = groceries.get(key);
+    if (groceryLots == null) {
+      groceryLots = new GroceryLots();
+      groceries.put(key, groceryLots);
+      groceriesByName.put(key, groceryLots);
+      nameIndex.add(name);
+      stockBits = IngredientBits.with(stockBits, ingredientIds.idOf(key));
     }
-    groceries.put(providedGrocery.getName(), groceryList);
+    return groceryLots;
   }
 
   /**
-   * Checks if the given grocery is found in the storage.
+   * Removes the lots of a grocery from the lookup map and the name indexes.
    *
-   * @param providedGrocery The instance of <code>Grocery</code> to check.
-   * @param groceryIterator The iterator for the grocery list.
-   * @param isFound The flag indicating if the grocery is found.
-   * @return <code>true</code> if the grocery is found, <code>false</code> if not found.
+   * @param key The canonical name of the grocery.
    */
-  private boolean isFound(Grocery providedGrocery, Iterator<Grocery> groceryIterator,
-                          boolean isFound) {
-    while (groceryIterator.hasNext() && !isFound) {
-      Grocery grocery = groceryIterator.next();
+  private void removeLots(String key) {
+    groceries.remove(key);
+    groceriesByName.remove(key);
+    nameIndex.removeAll(key);
+    IngredientBits.clear(stockBits, ingredientIds.idOf(key));
+  }
 
-      if (grocery.getExpiryDate().equals(providedGrocery.getExpiryDate())) {
-        grocery.setQuantity(grocery.getQuantity().add(providedGrocery.getQuantity()));
-        grocery.setPrice(grocery.getPrice().add(providedGrocery.getPrice()));
+  /**
+   * Adds a grocery to the lots with the same name, and to the indexes of the storage.
+   * If a lot with the same expiry date and unit exists, it is replaced by a lot that holds both.
+   *
+   * @param key The canonical name of the grocery.
+   * @param groceryLots The lots of the grocery with the same name.
+   * @param providedGrocery The grocery to add.
+   * @throws IllegalArgumentException if the summed quantity or price is too large.
+   */
+  private void addToLots(String key, GroceryLots groceryLots, Grocery providedGrocery) {
+    Grocery replacedLot = groceryLots.addLot(providedGrocery);
+    if (replacedLot != null) {
+      removeFromExpiryIndex(replacedLot);
+    }
+    addToExpiryIndex(key,
+        groceryLots.findLot(providedGrocery.getExpiryDate(), providedGrocery.getUnit()));
+    adjustValue(providedGrocery.getUnit(), providedGrocery.getPriceHundredths());
+  }
+
+  /**
+   * Adds a lot to the expiry date index.
+   *
+   * @param key The canonical name of the grocery.
+   * @param grocery The lot to add to the index.
+   */
+  private void addToExpiryIndex(String key, Grocery grocery) {
+    groceriesByExpiry.computeIfAbsent(grocery.getExpiryDate(), date -> new HashMap<>())
+        .put(grocery, key);
+  }
 
-        isFound = true;
+  /**
+   * Removes a lot from the expiry date index.
+   *
+   * @param grocery The lot to remove from the index.
+   */
+  private void removeFromExpiryIndex(Grocery grocery) {
+    Map<Grocery, String> groceriesOnDate = groceriesByExpiry.get(grocery.getExpiryDate());
+    if (groceriesOnDate != null) {
+      groceriesOnDate.remove(grocery);
+      if (groceriesOnDate.isEmpty()) {
+        groceriesByExpiry.remove(grocery.getExpiryDate());
       }
     }
-    return isFound;
   }
 
   /**
-   * Removes the specified quantity of the provided grocery, from the list.
+   * Removes the specified quantity of the provided grocery, from the lots.
    * This method was inspired by GitHub Copilot, to help reduce the cognitive complexity that
    *                                                                   SonarLint was throwing.
    *
-   * @param groceryToRemove The grocery to remove.
-   * @param quantityToRemove The quantity to remove.
-   * @param groceryList The list to remove groceries from.
+   * The quantity is converted from the given unit to base units, and is compared with
+   * the lots in base units, so lots measured in different units of the same dimension
+   * are counted by what they hold.
+   *
+   * @param key The canonical name of the grocery to remove.
+   * @param quantityToRemove The quantity to remove, in hundredths of the given unit.
+   * @param unit The unit of measurement of the quantity.
+   * @param groceryLots The lots to remove groceries from.
+   * @param usedOn The date the quantity is counted as used on.
    * @throws IllegalArgumentException if the quantity to remove is higher than available quantity.
    */
-  private void removeGroceryFromList(String groceryToRemove,
-                                     BigDecimal quantityToRemove, List<Grocery> groceryList) {
-    BigDecimal availableQuantity = groceryList.stream()
-        .filter(grocery -> grocery.getName()
-            .equalsIgnoreCase(groceryToRemove))
-        .map(Grocery::getQuantity)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    if (quantityToRemove.compareTo(availableQuantity) > 0) {
+  private void removeGroceryFromLots(String key, long quantityToRemove, Unit unit,
+                                     GroceryLots groceryLots, LocalDate usedOn) {
+    long[] requiredByDimension = new long[Dimension.values().length];
+    requiredByDimension[unit.getDimension().ordinal()] = unit.toBase(quantityToRemove);
+    if (!unitConverter.covers(key, groceryLots.getQuantities(), requiredByDimension)) {
       throw new
           IllegalArgumentException("You are trying to remove a higher quantity, than available.");
     }
-    Iterator<Grocery> groceryIterator = groceryList.iterator();
-    removalLogic(groceryToRemove, groceryIterator, quantityToRemove);
+    removalLogic(key, groceryLots, requiredByDimension, usedOn);
   }
 
   /**
-   * The removal logic used when removing a grocery.
+   * The removal logic used when removing a grocery or an ingredient.
+   * The quantity of each dimension is first taken from the lots measured in the same dimension,
+   * then from lots in other dimensions if the unit converter can convert between them,
+   * the lot that expires first being used first.
    *
-   * @param groceryToRemove The grocery to remove.
-   * @param groceryIterator The iterator that iterates the groceries.
-   * @param remainingToRemove The remaining quantity to remove.
+   * @param key The canonical name of the groceries.
+   * @param groceryLots The lots to remove quantity from.
+   * @param requiredByDimension The quantities to remove in base units in hundredths,
+   *                            indexed by dimension ordinal.
+   * @param usedOn The date the quantities are counted as used on.
    */
-  private void removalLogic(String groceryToRemove, Iterator<Grocery> groceryIterator,
-                            BigDecimal remainingToRemove) {
-    while (groceryIterator.hasNext() && remainingToRemove.compareTo(BigDecimal.ZERO) > 0) {
-      Grocery grocery = groceryIterator.next();
-
-      if (grocery.getName().equalsIgnoreCase(groceryToRemove)) {
-        if (grocery.getQuantity().compareTo(remainingToRemove) <= 0) {
-          remainingToRemove = remainingToRemove.subtract(grocery.getQuantity());
-          groceryIterator.remove();
-        } else {
-          BigDecimal pricePerUnit = grocery.getPrice()
-              .divide(grocery.getQuantity(), RoundingMode.HALF_UP);
-          grocery.setQuantity(grocery.getQuantity().subtract(remainingToRemove));
-          grocery.setPrice(pricePerUnit.multiply(grocery.getQuantity()));
-          remainingToRemove = BigDecimal.ZERO;
-        }
-      }
+  private void removalLogic(String key, GroceryLots groceryLots, long[] requiredByDimension,
+                            LocalDate usedOn) {
+    long[] remainingByDimension = requiredByDimension.clone();
+    for (Dimension dimension : Dimension.values()) {
+      remainingByDimension[dimension.ordinal()] = consumeInDimension(key, groceryLots,
+          groceryLots.getLots(dimension), dimension, remainingByDimension[dimension.ordinal()],
+          usedOn);
+    }
+    for (Dimension dimension : Dimension.values()) {
+      remainingByDimension[dimension.ordinal()] = consumeInDimension(key, groceryLots,
+          new ArrayList<>(groceryLots.getLots()), dimension,
+          remainingByDimension[dimension.ordinal()], usedOn);
     }
   }
 
   /**
    * Removes a specified grocery from the storage.
+   * The grocery is looked up by its canonical name, so the case of the name does not matter.
+   * The quantity is taken first from the lots measured in the same dimension as the given unit,
+   * then from lots in other dimensions if the unit converter can convert between them.
+   * The quantity is counted as used today, by the clock of the storage.
    *
    * @param groceryToRemove The name of the grocery to remove.
    * @param quantityToRemove The quantity to remove.
-   * @throws IllegalArgumentException if the inputs are invalid.
-   * @throws NoSuchElementException if the grocery list is empty.
+   * @param unitOfMeasurement The unit of measurement of the quantity to remove.
+   * @throws IllegalArgumentException if the inputs are invalid,
+   *                                  or if the quantity is higher than available quantity.
+   * @throws NoSuchElementException if the grocery is not in storage.
+   */
+  public void removeGrocery(String groceryToRemove, BigDecimal quantityToRemove,
+                            Unit unitOfMeasurement) {
+    removeGrocery(groceryToRemove, quantityToRemove, unitOfMeasurement, LocalDate.now(clock));
+  }
+
+  /**
+   * Removes a specified grocery from the storage, counting the quantity as used on the given
+   * date. Used when a removal is replayed, so it is counted on the day it was first made.
+   *
+   * @param groceryToRemove The name of the grocery to remove.
+   * @param quantityToRemove The quantity to remove.
+   * @param unitOfMeasurement The unit of measurement of the quantity to remove.
+   * @param usedOn The date the quantity is counted as used on.
+   * @throws IllegalArgumentException if the inputs are invalid, if the quantity is too large
+   *                                  to be held, or if it is higher than available quantity.
+   * @throws NoSuchElementException if the grocery is not in storage.
    */
-  public void removeGrocery(String groceryToRemove, BigDecimal quantityToRemove) {
+  public void removeGrocery(String groceryToRemove, BigDecimal quantityToRemove,
+                            Unit unitOfMeasurement, LocalDate usedOn) {
     validateInputs(groceryToRemove, quantityToRemove);
+    validateUnit(unitOfMeasurement);
+    validateDate(usedOn);
+
+    String key = canonicalName(groceryToRemove);
+    GroceryLots groceryLots = groceries.get(key);
+
+    validateGroceryLots(groceryLots);
+    removeGroceryFromLots(key, FixedPoint.of(quantityToRemove), unitOfMeasurement, groceryLots,
+        usedOn);
+
+    if (groceryLots.isEmpty()) {
+      removeLots(key);
+    }
+    listeners.forEach(listener ->
+        listener.groceryRemoved(groceryToRemove, quantityToRemove, unitOfMeasurement, usedOn));
+  }
+
+  /**
+   * Removes every ingredient of a recipe from the storage in one step.
+   * The required quantity of each ingredient is first taken from the lots measured in the same
+   * dimension, then from lots in other dimensions if the unit converter can convert between them,
+   * the lot that expires first being used first.
+   * Each grocery is looked up once, and every ingredient is checked before anything is removed,
+   * so if one ingredient is missing, none of the ingredients are removed.
+   * The ingredients are counted as used today, by the clock of the storage.
+   *
+   * @param ingredients Map of ingredients, name is key,
+   *                    key of value is quantity and value of value is unit of measurement.
+   * @throws IllegalArgumentException if the ingredients are invalid,
+   *                                  or if there is not enough of an ingredient.
+   * @throws NoSuchElementException if an ingredient is not in storage.
+   */
+  public void removeIngredients(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
+    removeIngredients(ingredients, LocalDate.now(clock));
+  }
+
+  /**
+   * Removes every ingredient of a recipe from the storage in one step, counting the ingredients
+   * as used on the given date. Used when a removal is replayed, so it is counted on the day it
+   * was first made.
+   *
+   * @param ingredients Map of ingredients, name is key,
+   *                    key of value is quantity and value of value is unit of measurement.
+   * @param usedOn The date the ingredients are counted as used on.
+   * @throws IllegalArgumentException if the ingredients or the date are invalid,
+   *                                  or if there is not enough of an ingredient.
+   * @throws NoSuchElementException if an ingredient is not in storage.
+   */
+  public void removeIngredients(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients,
+                                LocalDate usedOn) {
+    validateIngredients(ingredients);
+    validateDate(usedOn);
+    Map<String, long[]> requiredQuantities = BaseQuantities.of(ingredients);
 
-    List<Grocery> groceryList = groceries.getOrDefault(groceryToRemove, new ArrayList<>());
+    Map<String, GroceryLots> lotsToRemoveFrom = new HashMap<>();
+    requiredQuantities.forEach((key, quantityByDimension) -> {
+      GroceryLots groceryLots = groceries.get(key);
+      if (groceryLots == null) {
+        throw new NoSuchElementException("The ingredient " + key + " was not found!");
+      }
+      if (!unitConverter.covers(key, groceryLots.getQuantities(), quantityByDimension)) {
+        throw new IllegalArgumentException("There is not enough of the ingredient " + key + ".");
+      }
+      lotsToRemoveFrom.put(key, groceryLots);
+    });
 
-    validateGroceryList(groceryList);
-    removeGroceryFromList(groceryToRemove, quantityToRemove, groceryList);
+    lotsToRemoveFrom.forEach((key, groceryLots) -> {
+      removalLogic(key, groceryLots, requiredQuantities.get(key), usedOn);
+      if (groceryLots.isEmpty()) {
+        removeLots(key);
+      }
+    });
+    listeners.forEach(listener -> listener.ingredientsRemoved(ingredients, usedOn));
+  }
 
-    if (groceryList.isEmpty()) {
-      groceries.remove(groceryToRemove);
+  /**
+   * Takes a quantity given in the base unit of a dimension from the given lots, in order.
+   * Lots in other dimensions are skipped, unless the unit converter can convert between them.
+   *
+   * @param key The canonical name of the grocery.
+   * @param groceryLots The lots the groceries belong to.
+   * @param candidates The lots to take quantity from, ordered by expiry date.
+   * @param dimension The dimension of the quantity to remove.
+   * @param remainingToRemove The quantity to remove, in hundredths of the base unit.
+   * @param usedOn The date the quantity is counted as used on.
+   * @return The quantity that is still left to remove, in hundredths of the base unit.
+   */
+  private long consumeInDimension(String key, GroceryLots groceryLots, List<Grocery> candidates,
+                                  Dimension dimension, long remainingToRemove, LocalDate usedOn) {
+    for (Grocery grocery : candidates) {
+      Dimension lotDimension = grocery.getUnit().getDimension();
+      if (remainingToRemove > 0 && unitConverter.canConvert(key, dimension, lotDimension)) {
+        long remainingInLot = consumeLotInBaseUnit(key, groceryLots, grocery,
+            unitConverter.convert(key, remainingToRemove, dimension, lotDimension), usedOn);
+        remainingToRemove = remainingInLot == 0 ? 0
+            : unitConverter.convert(key, remainingInLot, lotDimension, dimension);
+      }
+    }
+    return remainingToRemove;
+  }
+
+  /**
+   * Takes as much as possible of a quantity given in the base unit of the lot's dimension,
+   * see <code>GroceryLots.take</code>, and keeps the indexes and totals of the storage in step.
+   * What was taken is counted as used on the given date.
+   *
+   * @param key The canonical name of the grocery.
+   * @param groceryLots The lots the grocery belongs to.
+   * @param grocery The lot to take quantity from.
+   * @param remainingToRemove The quantity to remove, in hundredths of the base unit.
+   * @param usedOn The date the quantity is counted as used on.
+   * @return The quantity that is still left to remove after this lot,
+   *         in hundredths of the base unit.
+   */
+  private long consumeLotInBaseUnit(String key, GroceryLots groceryLots, Grocery grocery,
+                                    long remainingToRemove, LocalDate usedOn) {
+    Unit unit = grocery.getUnit();
+    GroceryLots.Taken taken = groceryLots.take(grocery, remainingToRemove);
+    removeFromExpiryIndex(grocery);
+    if (taken.remainder() != null) {
+      addToExpiryIndex(key, taken.remainder());
     }
+    adjustValue(unit, -taken.value());
+    usageRollups.recordConsumption(usedOn, key, unit,
+        taken.quantity(), taken.value());
+    return Math.max(0, remainingToRemove - unit.toBase(taken.quantity()));
   }
 
   /**
    * Method that searches for an instance of <code>Grocery</code> in the storage.
+   * The search is case-insensitive.
    *
    * @param nameOfGrocery The name of the grocery to search for.
    * @return List of groceries that matches the search.
    * @throws IllegalArgumentException if the input name is invalid.
+   * @throws NoSuchElementException if no grocery with the given name is found.
    */
   public List<Grocery> searchGrocery(String nameOfGrocery) {
     validateString(nameOfGrocery);
-    List<Grocery> searchedGrocery = new ArrayList<>();
-    for (List<Grocery> groceryList : groceries.values()) {
-      for (Grocery grocery : groceryList) {
-        if (grocery.getName().equalsIgnoreCase(nameOfGrocery)) {
-          searchedGrocery.add(grocery);
-        }
-      }
-    }
-    if (searchedGrocery.isEmpty()) {
+    GroceryLots searchedGrocery = groceries.get(canonicalName(nameOfGrocery));
+
+    if (searchedGrocery == null || searchedGrocery.isEmpty()) {
       throw new NoSuchElementException("No grocery with the given name was found.");
     }
-    return List.copyOf(searchedGrocery); // Use of copyOf inspired by CoPilot.
+    return List.copyOf(searchedGrocery.copyOfLots()); // Use of copyOf inspired by CoPilot.
+  }
+
+  /**
+   * Completes a grocery name, for example while the user is typing it.
+   *
+   * @param prefix The start of the name, in any case.
+   * @param limit The highest number of names to return.
+   * @return List of the names of groceries in storage that start with the prefix,
+   *         in alphabetical order.
+   * @throws IllegalArgumentException if the prefix is null, or the limit is not positive.
+   */
+  public List<String> groceryNamesStartingWith(String prefix, int limit) {
+    return nameIndex.startingWith(prefix, limit);
+  }
+
+  /**
+   * Finds the names of groceries in storage that are close to a name, for example one with
+   * a typo. See <code>NameIndex.closeTo</code>.
+   *
+   * @param nameOfGrocery The name to compare with.
+   * @param maxDistance The highest number of characters that may differ.
+   * @param limit The highest number of names to return.
+   * @return List of the names, the closest first.
+   * @throws IllegalArgumentException if the name is null, the distance is negative,
+   *                                  or the limit is not positive.
+   */
+  public List<String> groceryNamesCloseTo(String nameOfGrocery, int maxDistance, int limit) {
+    return nameIndex.closeTo(nameOfGrocery, maxDistance, limit);
   }
 
   /**
@@ -191,97 +590,384 @@ public class FoodStorage {
    */
   public BigDecimal valueOfExpiredGroceries(List<Grocery> expiredGroceries) {
     validateGroceryList(expiredGroceries);
-    return expiredGroceries.stream()
-        .map(Grocery::getPrice)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    long totalValueOfExpired = 0;
+    for (Grocery grocery : expiredGroceries) {
+      totalValueOfExpired += grocery.getPriceHundredths();
+    }
+    return FixedPoint.toBigDecimal(totalValueOfExpired);
+  }
+
+  /**
+   * Calculates the total value of the groceries that expire before the given date.
+   * Only the groceries in the requested range of the expiry date index are visited.
+   *
+   * @param providedExpiryDate The date to check against.
+   * @return The total value of expired groceries, zero if none are expired.
+   * @throws IllegalArgumentException if the date format is invalid.
+   */
+  public BigDecimal valueOfGroceriesExpiringBefore(String providedExpiryDate) {
+    LocalDate expiryDate = parseDate(providedExpiryDate);
+    long totalValueOfExpired = 0;
+    for (Map<Grocery, String> groceriesOnDate :
+        groceriesByExpiry.headMap(expiryDate, false).values()) {
+      for (Grocery grocery : groceriesOnDate.keySet()) {
+        totalValueOfExpired += grocery.getPriceHundredths();
+      }
+    }
+    return FixedPoint.toBigDecimal(totalValueOfExpired);
   }
 
   /**
    * Lists the groceries that expire before the given date.
    *
    * @param providedExpiryDate The date to check against.
-   * @return List of expired groceries.
+   * @return List of expired groceries, ordered by expiry date.
    * @throws IllegalArgumentException if the date format is invalid.
    */
   public List<Grocery> listOfExpiredGroceries(String providedExpiryDate) {
-    try {
-      LocalDate expiryDate = LocalDate.parse(providedExpiryDate);
-      List<Grocery> expiredGroceries = new ArrayList<>();
-      expiredGroceries(expiryDate, expiredGroceries);
+    LocalDate expiryDate = parseDate(providedExpiryDate);
+    return flattenExpiryRange(groceriesByExpiry.headMap(expiryDate, false));
+  }
 
-      return List.copyOf(expiredGroceries); // Use of copyOf inspired by CoPilot.
-    } catch (DateTimeException e) {
-      throw new IllegalArgumentException("Please enter date on format 'YYYY-MM-DD'.");
+  /**
+   * Lists the groceries that expire between the two given dates, both dates included.
+   *
+   * @param providedFromDate The first expiry date to include.
+   * @param providedToDate The last expiry date to include.
+   * @return List of groceries expiring in the range, ordered by expiry date.
+   * @throws IllegalArgumentException if a date format is invalid,
+   *                                  or if the first date is after the last date.
+   */
+  public List<Grocery> listOfGroceriesExpiringBetween(String providedFromDate,
+                                                      String providedToDate) {
+    LocalDate fromDate = parseDate(providedFromDate);
+    LocalDate toDate = parseDate(providedToDate);
+    return listOfGroceriesExpiringBetween(fromDate, toDate);
+  }
+
+  /**
+   * Lists the groceries that expire between the two given dates, both dates included.
+   *
+   * @param fromDate The first expiry date to include.
+   * @param toDate The last expiry date to include.
+   * @return List of groceries expiring in the range, ordered by expiry date.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last date.
+   */
+  public List<Grocery> listOfGroceriesExpiringBetween(LocalDate fromDate, LocalDate toDate) {
+    if (fromDate == null || toDate == null) {
+      throw new IllegalArgumentException("The dates cannot be null.");
+    }
+    if (fromDate.isAfter(toDate)) {
+      throw new IllegalArgumentException("The first date cannot be after the last date.");
     }
+    return flattenExpiryRange(groceriesByExpiry.subMap(fromDate, true, toDate, true));
   }
 
   /**
-   * Helper method to find the expired groceries.
+   * Moves every lot that expired before the given date from the storage to the waste ledger.
+   * Only the expired part of the expiry date index is visited, so the cost depends on the
+   * number of expired lots, and not on the amount of groceries in storage.
+   * Listeners are only told if any lot expired.
    *
-   * @param expiryDate The expiry date to check against.
-   * @param expiredGroceries The list of expired groceries.
+   * @param today The first date on which a lot is not expired.
+   * @return List of the expired lots, ordered by expiry date.
+   * @throws IllegalArgumentException if the date is null.
+   */
+  public List<Grocery> removeExpiredGroceries(LocalDate today) {
+    validateDate(today);
+    NavigableMap<LocalDate, Map<Grocery, String>> expiredRange =
+        groceriesByExpiry.headMap(today, false);
+    if (expiredRange.isEmpty()) {
+      return List.of();
+    }
+    List<Grocery> expiredGroceries = new ArrayList<>();
+    for (Map<Grocery, String> groceriesOnDate : expiredRange.values()) {
+      groceriesOnDate.forEach((grocery, key) -> {
+        GroceryLots groceryLots = groceries.get(key);
+        groceryLots.removeLot(grocery);
+        if (groceryLots.isEmpty()) {
+          removeLots(key);
+        }
+        adjustValue(grocery.getUnit(), -grocery.getPriceHundredths());
+        usageRollups.recordWaste(grocery.getExpiryDate(), key, grocery.getUnit(),
+            grocery.getQuantityHundredths(), grocery.getPriceHundredths());
+        wasteLedger.add(grocery);
+        expiredGroceries.add(grocery);
+      });
+    }
+    expiredRange.clear();
+    List<Grocery> expired = List.copyOf(expiredGroceries);
+    listeners.forEach(listener -> listener.groceriesExpired(today, expired));
+    return expired;
+  }
+
+  /**
+   * Get method to get the lots that should be used first.
+   * Returns at most <code>k</code> lots, sorted by expiry date, the lot that expires first
+   * being first. Lots that have already expired are included, since they expired first.
+   * Only the first dates of the expiry date index are visited, so the cost depends on
+   * <code>k</code> and not on the amount of groceries in storage.
+   * Lots that expire on the same date are in no particular order.
+   *
+   * @param k The highest number of lots to return.
+   * @return List of the lots closest to expiry, which is empty if the storage is empty.
+   * @throws IllegalArgumentException if <code>k</code> is not positive.
    */
-  private void expiredGroceries(LocalDate expiryDate, List<Grocery> expiredGroceries) {
-    for (List<Grocery> groceryList : groceries.values()) {
-      for (Grocery grocery : groceryList) {
-        if (grocery.getExpiryDate().isBefore(expiryDate)) {
-          expiredGroceries.add(grocery);
+  public List<Grocery> soonestExpiring(int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("The number of groceries must be positive.");
+    }
+    List<Grocery> soonestGroceries = new ArrayList<>(Math.min(k, 64));
+    for (Map<Grocery, String> groceriesOnDate : groceriesByExpiry.values()) {
+      for (Grocery grocery : groceriesOnDate.keySet()) {
+        if (soonestGroceries.size() == k) {
+          return List.copyOf(soonestGroceries);
         }
+        soonestGroceries.add(GroceryLots.copyOf(grocery));
       }
     }
+    return List.copyOf(soonestGroceries);
+  }
+
+  /**
+   * Helper method that collects the groceries of a range in the expiry date index.
+   *
+   * @param expiryRange The range of the expiry date index to collect.
+   * @return List of the groceries in the range.
+   */
+  private List<Grocery> flattenExpiryRange(Map<LocalDate, Map<Grocery, String>> expiryRange) {
+    List<Grocery> groceriesInRange = new ArrayList<>();
+    for (Map<Grocery, String> groceriesOnDate : expiryRange.values()) {
+      for (Grocery grocery : groceriesOnDate.keySet()) {
+        groceriesInRange.add(GroceryLots.copyOf(grocery));
+      }
+    }
+    return List.copyOf(groceriesInRange); // Use of copyOf inspired by CoPilot.
+  }
+
+  /**
+   * Helper method that parses a date on the format 'YYYY-MM-DD'.
+   *
+   * @param providedDate The date to parse.
+   * @return The parsed date.
+   * @throws IllegalArgumentException if the date format is invalid.
+   */
+  private LocalDate parseDate(String providedDate) {
+    try {
+      return LocalDate.parse(providedDate);
+    } catch (DateTimeException e) {
+      throw new IllegalArgumentException("Please enter date on format 'YYYY-MM-DD'.");
+    }
   }
 
   /**
-   * Calculates the total value of all groceries in storage.
+   * Updates the running value totals of the storage with the change in value of a grocery.
+   *
+   * @param unit The unit of measurement of the grocery.
+   * @param valueChange The change in value in hundredths, negative if value was removed.
+   */
+  private void adjustValue(Unit unit, long valueChange) {
+    totalValue += valueChange;
+    valueByUnit[unit.ordinal()] += valueChange;
+  }
+
+  /**
+   * Accessor method for the total value of all groceries in storage.
+   * The value is a running total, so the cost does not depend on the amount of groceries.
    *
    * @return The total value of all groceries.
    */
   public BigDecimal valueOfAllGroceries() {
-    return groceries.values().stream()
-        .filter(groceryList -> groceryList != null && !groceryList.isEmpty())
-        .flatMap(List::stream)
-        .map(Grocery::getPrice)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    return FixedPoint.toBigDecimal(totalValue);
+  }
+
+  /**
+   * Accessor method for the total value of the groceries with the given name.
+   *
+   * @param nameOfGrocery The name of the grocery.
+   * @return The total value of the grocery, zero if it is not in storage.
+   * @throws IllegalArgumentException if the input name is invalid.
+   */
+  public BigDecimal valueOfGrocery(String nameOfGrocery) {
+    validateString(nameOfGrocery);
+    GroceryLots groceryLots = groceries.get(canonicalName(nameOfGrocery));
+    return FixedPoint.toBigDecimal(groceryLots == null ? 0 : groceryLots.getValue());
+  }
+
+  /**
+   * Accessor method for the total value of the groceries measured in the given unit.
+   *
+   * @param unitOfMeasurement The unit of measurement.
+   * @return The total value of the groceries in the unit, zero if there are none.
+   * @throws IllegalArgumentException if the input unit is null.
+   */
+  public BigDecimal valueOfGroceriesByUnit(Unit unitOfMeasurement) {
+    validateUnit(unitOfMeasurement);
+    return FixedPoint.toBigDecimal(valueByUnit[unitOfMeasurement.ordinal()]);
+  }
+
+  /**
+   * Get method to get every grocery in storage, in no particular order.
+   * Unlike <code>getSortedList</code>, the list is not sorted, and may be empty.
+   *
+   * @return List of all groceries in storage.
+   */
+  public List<Grocery> getAllGroceries() {
+    List<Grocery> allGroceries = new ArrayList<>();
+    groceries.values().forEach(groceryLots -> allGroceries.addAll(groceryLots.copyOfLots()));
+    return allGroceries;
+  }
+
+  /**
+   * Accessor method for the canonical names of the groceries in storage.
+   * Used to find the recipes that can be matched, without looking at every lot.
+   *
+   * @return An unmodifiable view of the canonical names, in alphabetical order.
+   */
+  public Set<String> getGroceryKeys() {
+    return Collections.unmodifiableSet(groceriesByName.keySet());
+  }
+
+  /**
+   * Accessor method for the numbers the storage gives ingredient names, see
+   * <code>IngredientIds</code>. Sets of ingredients compared with the storage must be
+   * numbered by them.
+   *
+   * @return The ingredient numbers of the storage.
+   */
+  public IngredientIds getIngredientIds() {
+    return ingredientIds;
+  }
+
+  /**
+   * Accessor method for the set of groceries in storage, as bits, see <code>IngredientBits</code>.
+   * The set is numbered by <code>getIngredientIds</code>.
+   *
+   * @return A copy of the set of groceries in storage.
+   */
+  public long[] getStockBits() {
+    return stockBits.clone();
+  }
+
+  /**
+   * Checks if every ingredient of a set is in storage, whatever the quantities.
+   * A recipe whose set of ingredients is not contained can not be cooked, so it is rejected
+   * without looking at any quantity.
+   *
+   * @param ingredientBits The set of ingredients, numbered by <code>getIngredientIds</code>.
+   * @return <code>true</code> if every ingredient is in storage, <code>false</code> otherwise.
+   */
+  public boolean containsAllIngredients(long[] ingredientBits) {
+    return IngredientBits.containsAll(stockBits, ingredientBits);
+  }
+
+  /**
+   * Get method to get a summary of the lots of a grocery, used to score recipes.
+   * The days until expiry are counted from the day of the clock of the storage.
+   *
+   * @param nameOfGrocery The name of the grocery.
+   * @return The summary of the lots.
+   * @throws IllegalArgumentException if the name is null or empty.
+   * @throws NoSuchElementException if the grocery is not in storage.
+   */
+  public GroceryStock getStock(String nameOfGrocery) {
+    validateString(nameOfGrocery);
+    String key = canonicalName(nameOfGrocery);
+    GroceryLots groceryLots = groceries.get(key);
+    if (groceryLots == null) {
+      throw new NoSuchElementException("Grocery not found.");
+    }
+    long daysUntilExpiry = ChronoUnit.DAYS.between(LocalDate.now(clock),
+        groceryLots.firstLot().getExpiryDate());
+    return new GroceryStock(key, groceryLots.getQuantities(), groceryLots.getValues(),
+        daysUntilExpiry, unitConverter);
   }
 
   /**
    * Get method to get a sorted list of all groceries in storage.
-   * Sorted alphabetically by name
+   * Sorted alphabetically by name, and by expiry date within the same name.
+   * The groceries are read from the name index, so the list is not sorted on every call.
    *
    * @return Sorted list of groceries.
    * @throws NoSuchElementException if the grocery list is empty.
    */
   public List<Grocery> getSortedList() {
-    List<Grocery> sortedList = groceries.values().stream()
-        .flatMap(List::stream)
-        .sorted(Comparator.comparing(Grocery::getName))
-        .toList();
-
-    if (sortedList.isEmpty()) {
+    if (groceriesByName.isEmpty()) {
       throw new NoSuchElementException("The grocery list is empty!");
     }
+    List<Grocery> sortedList = new ArrayList<>();
+    groceriesByName.values().forEach(groceryLots -> sortedList.addAll(groceryLots.copyOfLots()));
     return List.copyOf(sortedList); // Use of copyOf inspired by CoPilot.
   }
 
+  /**
+   * Get method to get one page of the groceries in storage, sorted alphabetically by name.
+   * The page starts after the given grocery name, and holds at most the given number of names.
+   * Every lot of a name is on the same page, sorted by expiry date.
+   * The next key of the page is given as the after key to get the following page.
+   *
+   * @param afterKey The name to start after, or <code>null</code> to start at the first name.
+   * @param limit The highest number of grocery names on the page.
+   * @return The page of groceries, which is empty if there are no names after the key.
+   * @throws IllegalArgumentException if the limit is not positive.
+   */
+  public GroceryPage getPage(String afterKey, int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("The page limit must be positive.");
+    }
+    NavigableMap<String, GroceryLots> remaining = afterKey == null
+        ? groceriesByName : groceriesByName.tailMap(canonicalName(afterKey), false);
+
+    List<Grocery> pageGroceries = new ArrayList<>();
+    String lastKey = null;
+    int names = 0;
+    for (Map.Entry<String, GroceryLots> entry : remaining.entrySet()) {
+      if (names == limit) {
+        return new GroceryPage(pageGroceries, lastKey);
+      }
+      pageGroceries.addAll(entry.getValue().copyOfLots());
+      lastKey = entry.getKey();
+      names++;
+    }
+    return new GroceryPage(pageGroceries, null);
+  }
+
   /**
    * Checks if there is enough quantity of a specified grocery.
+   * The ingredient is looked up by its canonical name, and the required quantity is
+   * compared with the quantity of every lot that can be converted to the given unit.
    *
    * @param nameOfIngredient The name of the ingredient to check.
    * @param requiredQuantity The required quantity of ingredient.
    * @param unitOfMeasurement The unit of measurement.
    * @return <code>true</code> if the required quantity is available, <code>false</code> otherwise.>
+   * @throws IllegalArgumentException if the name or the unit is invalid,
+   *                                  or the required quantity is too large to be held.
    */
   public boolean isGroceryAvailable(String nameOfIngredient, BigDecimal requiredQuantity,
-                                    String unitOfMeasurement) {
-    for (List<Grocery> groceryList : groceries.values()) {
-      for (Grocery grocery : groceryList) {
-        if (grocery.getName().equals(nameOfIngredient)
-            && grocery.getQuantity().compareTo(requiredQuantity) >= 0
-            && grocery.getUnit().equalsIgnoreCase(unitOfMeasurement)) {
-          return true;
-        }
-      }
-    }
-    return false;
+                                    Unit unitOfMeasurement) {
+    validateString(nameOfIngredient);
+    validateUnit(unitOfMeasurement);
+    long[] requiredByDimension = new long[Dimension.values().length];
+    requiredByDimension[unitOfMeasurement.getDimension().ordinal()] =
+        unitOfMeasurement.toBase(FixedPoint.of(requiredQuantity));
+    return isGroceryAvailable(nameOfIngredient, requiredByDimension);
+  }
+
+  /**
+   * Checks if there is enough quantity of a specified grocery,
+   * with the required quantity already converted to base units.
+   * Used when matching recipes, so the recipe is not converted again on every match.
+   *
+   * @param nameOfIngredient The name of the ingredient to check.
+   * @param requiredByDimension The required quantities in base units in hundredths,
+   *                            indexed by dimension ordinal.
+   * @return <code>true</code> if the required quantity is available, <code>false</code> otherwise.
+   */
+  public boolean isGroceryAvailable(String nameOfIngredient, long[] requiredByDimension) {
+    String key = canonicalName(nameOfIngredient);
+    GroceryLots groceryLots = groceries.get(key);
+    return groceryLots != null
+        && unitConverter.covers(key, groceryLots.getQuantities(), requiredByDimension);
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Listener that is told about every change to a <code>FoodStorage</code>.
+ * Each method is called once per completed operation, after the storage has been changed,
+ * so a batch of groceries or the ingredients of a recipe arrive as one event.
+ * A change that throws an exception is not reported.
+ * All methods do nothing by default, so a listener only implements the events it needs.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public interface FoodStorageListener {
+  /**
+   * Called after a grocery has been added.
+   * The grocery is a copy of what was added, so changing it does not change the storage.
+   *
+   * @param grocery The grocery that was added.
+   */
+  default void groceryAdded(Grocery grocery) {
+    // Does nothing by default.
+  }
+
+  /**
+   * Called after a batch of groceries has been added.
+   * Lines with the same name and expiry date are already merged.
+   * The groceries are copies of what was added, so changing them does not change the storage.
+   * An empty batch is not reported.
+   *
+   * @param groceries The groceries that were added.
+   */
+  default void groceriesAdded(Collection<Grocery> groceries) {
+    // Does nothing by default.
+  }
+
+  /**
+   * Called after a quantity of a grocery has been removed.
+   *
+   * @param nameOfGrocery The name of the grocery, as given to the storage.
+   * @param quantity The quantity that was removed.
+   * @param unit The unit of measurement of the quantity.
+   * @param usedOn The date the quantity was counted as used on.
+   */
+  default void groceryRemoved(String nameOfGrocery, BigDecimal quantity, Unit unit,
+                              LocalDate usedOn) {
+    // Does nothing by default.
+  }
+
+  /**
+   * Called after the ingredients of a recipe have been removed in one step.
+   *
+   * @param ingredients Map of ingredients, name is key,
+   *                    key of value is quantity and value of value is unit of measurement.
+   * @param usedOn The date the ingredients were counted as used on.
+   */
+  default void ingredientsRemoved(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients,
+                                  LocalDate usedOn) {
+    // Does nothing by default.
+  }
+
+  /**
+   * Called after the lots that expired before a date have been moved to the waste ledger.
+   *
+   * @param today The date the lots were expired on, as given to the storage.
+   * @param groceries The lots that expired, ordered by expiry date.
+   */
+  default void groceriesExpired(LocalDate today, List<Grocery> groceries) {
+    // Does nothing by default.
+  }
+}
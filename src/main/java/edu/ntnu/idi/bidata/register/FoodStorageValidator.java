@@ -1,8 +1,13 @@
 package edu.ntnu.idi.bidata.register;
 
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 /**
@@ -58,6 +63,19 @@ public class FoodStorageValidator {
     }
   }
 
+  /**
+   * Validates the lots of a grocery.
+   * Checks if the grocery lots are not null or empty.
+   *
+   * @param groceryLots The lots of a grocery to validate.
+   * @throws NoSuchElementException if there are no lots.
+   */
+  static void validateGroceryLots(GroceryLots groceryLots) {
+    if (groceryLots == null || groceryLots.isEmpty()) {
+      throw new NoSuchElementException("The grocery was not found!");
+    }
+  }
+
   /**
    * Validates a grocery instance.
    * Checks if the provided grocery is not null.
@@ -71,6 +89,69 @@ public class FoodStorageValidator {
     }
   }
 
+  /**
+   * Validates a batch of groceries.
+   * Checks if the collection and every grocery in it is not null.
+   *
+   * @param providedGroceries the groceries to validate.
+   * @throws IllegalArgumentException if the collection or any of the groceries is null.
+   */
+  public static void validateGroceryBatch(Collection<Grocery> providedGroceries) {
+    if (providedGroceries == null) {
+      throw new IllegalArgumentException("The provided groceries cannot be null.");
+    }
+    for (Grocery providedGrocery : providedGroceries) {
+      validateGrocery(providedGrocery);
+    }
+  }
+
+  /**
+   * Validates the ingredients to remove from storage.
+   * Checks if the map is not null, and that every ingredient has a name, a quantity
+   * greater than zero and a unit of measurement.
+   *
+   * @param ingredients the ingredients to validate.
+   * @throws IllegalArgumentException if the map or any of the ingredients is invalid.
+   */
+  static void validateIngredients(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
+    if (ingredients == null) {
+      throw new IllegalArgumentException("The provided ingredients cannot be null.");
+    }
+    ingredients.forEach((name, quantityAndUnit) -> {
+      if (quantityAndUnit == null || quantityAndUnit.getKey() == null) {
+        throw new IllegalArgumentException("Quantity and unit cannot be null.");
+      }
+      validateInputs(name, quantityAndUnit.getKey());
+      validateUnit(quantityAndUnit.getValue());
+    });
+  }
+
+  /**
+   * Validates a unit of measurement.
+   * Checks if the provided unit is not null.
+   *
+   * @param providedUnit the unit to validate.
+   * @throws IllegalArgumentException if the unit is null.
+   */
+  public static void validateUnit(Unit providedUnit) {
+    if (providedUnit == null) {
+      throw new IllegalArgumentException("Unit of measurement cannot be null.");
+    }
+  }
+
+  /**
+   * Validates a date.
+   * Checks if the provided date is not null.
+   *
+   * @param providedDate the date to validate.
+   * @throws IllegalArgumentException if the date is null.
+   */
+  static void validateDate(LocalDate providedDate) {
+    if (providedDate == null) {
+      throw new IllegalArgumentException("The date cannot be null.");
+    }
+  }
+
   /**
    * Validates a string.
    * Checks if the provided string is not null, empty or blank.
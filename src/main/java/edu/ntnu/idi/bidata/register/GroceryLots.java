@@ -0,0 +1,321 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Dimension;
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * This class represents all lots of a grocery with the same name in a <code>FoodStorage</code>.
+ * A lot is an instance of <code>Grocery</code> with its own expiry date and unit of measurement,
+ * so groceries with the same expiry date are only merged if they are measured in the same unit.
+ * The lots are ordered by expiry date, so the lot that expires first is always at hand,
+ * and a lot with a given expiry date and unit is found without visiting the other lots.
+ * The container caches the total quantity per dimension and the total value,
+ * so that availability checks do not have to visit every lot.
+ * Totals are fixed-point hundredths, see <code>FixedPoint</code>.
+ * The quantity per dimension is kept in the base unit of the dimension, converted once when a lot
+ * is added or changed, in an array indexed by the ordinal of the <code>Dimension</code>.
+ * Lots are never changed in place. Merging or taking from a lot replaces it with a new instance,
+ * so the same logic serves <code>FoodStorage</code> and the copy-on-write
+ * <code>ConcurrentFoodStorage</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class GroceryLots {
+  private static final Comparator<LotKey> LOT_ORDER =
+      Comparator.comparing(LotKey::expiryDate).thenComparing(LotKey::unit);
+  private final NavigableMap<LotKey, Grocery> lots = new TreeMap<>(LOT_ORDER);
+  private final long[] quantityByDimension = new long[Dimension.values().length]; // Base unit
+  private final long[] valueByDimension = new long[Dimension.values().length];
+  private long totalValue;
+
+  /**
+   * Creates a copy of the container, that shares the lots but not the totals.
+   * Used by <code>ConcurrentFoodStorage</code> to change lots without affecting readers.
+   *
+   * @return A copy of the container.
+   */
+  GroceryLots copy() {
+    GroceryLots copy = new GroceryLots();
+    copy.lots.putAll(lots);
+    System.arraycopy(quantityByDimension, 0, copy.quantityByDimension, 0,
+        quantityByDimension.length);
+    System.arraycopy(valueByDimension, 0, copy.valueByDimension, 0, valueByDimension.length);
+    copy.totalValue = totalValue;
+    return copy;
+  }
+
+  /**
+   * Accessor method for the lots in the container.
+   *
+   * @return An unmodifiable view of the lots, ordered by expiry date.
+   */
+  Collection<Grocery> getLots() {
+    return Collections.unmodifiableCollection(lots.values());
+  }
+
+  /**
+   * Copies the lots in the container, to hand them out of the storage.
+   * Changing a copy does not change the container or its totals.
+   *
+   * @return A list of copies of the lots, ordered by expiry date.
+   */
+  List<Grocery> copyOfLots() {
+    List<Grocery> copies = new ArrayList<>(lots.size());
+    for (Grocery lot : lots.values()) {
+      copies.add(copyOf(lot));
+    }
+    return copies;
+  }
+
+  /**
+   * Creates a copy of a lot, so a lot that is stored is never shared with a caller.
+   *
+   * @param lot The lot to copy.
+   * @return A new lot with the same name, quantity, unit, price and expiry date.
+   */
+  static Grocery copyOf(Grocery lot) {
+    return new Grocery(lot.getQuantityHundredths(), lot.getName(), lot.getUnit(),
+        lot.getPriceHundredths(), lot.getExpiryDate());
+  }
+
+  /**
+   * Accessor method for the lots measured in a unit of the given dimension.
+   *
+   * @param dimension The dimension of the unit of measurement.
+   * @return A list of the lots in the dimension, ordered by expiry date.
+   */
+  List<Grocery> getLots(Dimension dimension) {
+    List<Grocery> lotsInDimension = new ArrayList<>();
+    for (Grocery lot : lots.values()) {
+      if (lot.getUnit().getDimension() == dimension) {
+        lotsInDimension.add(lot);
+      }
+    }
+    return lotsInDimension;
+  }
+
+  /**
+   * Finds the lot with the given expiry date and unit of measurement.
+   *
+   * @param expiryDate The expiry date of the lot.
+   * @param unit The unit of measurement of the lot.
+   * @return The lot with the expiry date and unit, or <code>null</code> if there is none.
+   */
+  Grocery findLot(LocalDate expiryDate, Unit unit) {
+    return lots.get(new LotKey(expiryDate, unit));
+  }
+
+  /**
+   * Checks if the container has no lots.
+   *
+   * @return <code>true</code> if there are no lots, <code>false</code> otherwise.
+   */
+  boolean isEmpty() {
+    return lots.isEmpty();
+  }
+
+  /**
+   * Accessor method for the lot that expires first.
+   *
+   * @return The lot with the earliest expiry date.
+   */
+  Grocery firstLot() {
+    return lots.firstEntry().getValue();
+  }
+
+  /**
+   * Adds a new lot to the container, and adds its quantity and value to the totals.
+   * If a lot with the same expiry date and unit is already in the container, both are replaced
+   * by a new lot that holds their sum, so neither of them is changed.
+   * The sums are checked before anything is changed, see <code>checkAdd</code>.
+   *
+   * @param lot The lot to add.
+   * @return The lot that was replaced, or <code>null</code> if there was none.
+   * @throws IllegalArgumentException if a summed quantity or price is too large.
+   */
+  Grocery addLot(Grocery lot) {
+    LotKey key = LotKey.of(lot);
+    Grocery existingLot = lots.get(key);
+    Grocery storedLot = checkAdd(lot);
+    lots.put(key, storedLot);
+    recordChange(lot.getUnit(), lot.getQuantityHundredths(), lot.getPriceHundredths());
+    return existingLot;
+  }
+
+  /**
+   * Checks that a lot can be added to the container, without changing it.
+   * The quantity and price of a lot with the same expiry date and unit, the total quantity of
+   * the dimension in base units, and the total value must all hold the sum.
+   *
+   * @param lot The lot to add.
+   * @return The lot that would be stored: the lot itself, or a new lot that holds the sum.
+   * @throws IllegalArgumentException if a summed quantity or price is too large.
+   */
+  Grocery checkAdd(Grocery lot) {
+    Grocery existingLot = lots.get(LotKey.of(lot));
+    long quantityInBaseUnit = lot.getUnit().toBase(lot.getQuantityHundredths());
+    try {
+      Math.addExact(getQuantity(lot.getUnit().getDimension()), quantityInBaseUnit);
+      Math.addExact(totalValue, lot.getPriceHundredths());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("The quantity or price of " + lot.getName()
+          + " is too large.");
+    }
+    return existingLot == null ? lot : merged(existingLot, lot);
+  }
+
+  /**
+   * Creates a new lot that holds two lots with the same name, expiry date and unit.
+   * Neither of the lots is changed.
+   *
+   * @param lot The first lot.
+   * @param addedLot The lot to add to the first one.
+   * @return A new lot with the summed quantity and price.
+   * @throws IllegalArgumentException if the summed quantity or price is too large.
+   */
+  static Grocery merged(Grocery lot, Grocery addedLot) {
+    try {
+      return new Grocery(
+          Math.addExact(lot.getQuantityHundredths(), addedLot.getQuantityHundredths()),
+          lot.getName(), lot.getUnit(),
+          Math.addExact(lot.getPriceHundredths(), addedLot.getPriceHundredths()),
+          lot.getExpiryDate());
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("The quantity or price of " + lot.getName()
+          + " is too large.");
+    }
+  }
+
+  /**
+   * Removes a lot from the container, and subtracts its quantity and value from the totals.
+   *
+   * @param lot The lot to remove.
+   */
+  void removeLot(Grocery lot) {
+    if (lots.remove(LotKey.of(lot), lot)) {
+      recordChange(lot.getUnit(), -lot.getQuantityHundredths(), -lot.getPriceHundredths());
+    }
+  }
+
+  /**
+   * Takes as much as possible of a quantity given in the base unit of the lot's dimension.
+   * What is taken is rounded up to the next hundredth of the lot's own unit, so a quantity
+   * below a hundredth of the unit still takes a hundredth, and nothing is under-deducted.
+   * A lot that is used up is removed. Otherwise it is replaced by a new lot with the quantity
+   * that is left, whose price is the old price scaled by the share of quantity that is left,
+   * rounded once to the nearest hundredth. The lot itself is never changed.
+   *
+   * @param lot The lot to take quantity from, which must be in the container.
+   * @param quantityInBaseUnit The quantity to take, in hundredths of the base unit.
+   * @return What was taken from the lot.
+   */
+  Taken take(Grocery lot, long quantityInBaseUnit) {
+    long quantity = lot.getQuantityHundredths();
+    long price = lot.getPriceHundredths();
+    long takenQuantity = Math.min(quantity, lot.getUnit().fromBaseRoundedUp(quantityInBaseUnit));
+    long remainingQuantity = quantity - takenQuantity;
+    removeLot(lot);
+    if (remainingQuantity <= 0) {
+      return new Taken(null, quantity, price);
+    }
+    Grocery remainder = new Grocery(remainingQuantity, lot.getName(), lot.getUnit(),
+        FixedPoint.multiplyDivide(price, remainingQuantity, quantity), lot.getExpiryDate());
+    lots.put(LotKey.of(remainder), remainder);
+    recordChange(remainder.getUnit(), remainingQuantity, remainder.getPriceHundredths());
+    return new Taken(remainder, takenQuantity, price - remainder.getPriceHundredths());
+  }
+
+  /**
+   * Updates the totals after a lot has been added or removed.
+   *
+   * @param unit The unit of measurement of the lot.
+   * @param quantityChange The change in quantity in hundredths of the unit,
+   *                       negative if quantity was removed.
+   * @param valueChange The change in value in hundredths, negative if value was removed.
+   */
+  private void recordChange(Unit unit, long quantityChange, long valueChange) {
+    int dimension = unit.getDimension().ordinal();
+    quantityByDimension[dimension] += unit.toBase(quantityChange);
+    valueByDimension[dimension] += valueChange;
+    totalValue += valueChange;
+  }
+
+  /**
+   * Accessor method for the total quantity in the given dimension, across all lots.
+   *
+   * @param dimension The dimension of the unit of measurement.
+   * @return The total quantity in the base unit in hundredths,
+   *         zero if no lot is measured in the dimension.
+   */
+  long getQuantity(Dimension dimension) {
+    return quantityByDimension[dimension.ordinal()];
+  }
+
+  /**
+   * Accessor method for the total quantity of every dimension, across all lots.
+   * The returned array is the cache itself, and must not be changed.
+   *
+   * @return The total quantities in base units in hundredths, indexed by dimension ordinal.
+   */
+  long[] getQuantities() {
+    return quantityByDimension;
+  }
+
+  /**
+   * Accessor method for the value of every dimension, across all lots.
+   * The returned array is the cache itself, and must not be changed.
+   *
+   * @return The values in hundredths, indexed by dimension ordinal.
+   */
+  long[] getValues() {
+    return valueByDimension;
+  }
+
+  /**
+   * Accessor method for the total value across all lots.
+   *
+   * @return The total value in hundredths.
+   */
+  long getValue() {
+    return totalValue;
+  }
+
+  /**
+   * What was taken from a lot by <code>take</code>.
+   *
+   * @param remainder The lot that replaced the lot, or <code>null</code> if it was used up.
+   * @param quantity The quantity that was taken, in hundredths of the unit of the lot.
+   * @param value The value that was taken, in hundredths.
+   */
+  record Taken(Grocery remainder, long quantity, long value) {
+  }
+
+  /**
+   * The key of a lot in the container, its expiry date and unit of measurement.
+   *
+   * @param expiryDate The expiry date of the lot.
+   * @param unit The unit of measurement of the lot.
+   */
+  private record LotKey(LocalDate expiryDate, Unit unit) {
+    /**
+     * Creates the key of the given lot.
+     *
+     * @param lot The lot to create the key of.
+     * @return The key of the lot.
+     */
+    static LotKey of(Grocery lot) {
+      return new LotKey(lot.getExpiryDate(), lot.getUnit());
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import java.util.List;
+
+/**
+ * This class represents one page of the groceries in a <code>FoodStorage</code>,
+ * sorted alphabetically by name. See <code>FoodStorage.getPage</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class GroceryPage {
+  private final List<Grocery> groceries;
+  private final String nextKey;
+
+  /**
+   * Constructor for <code>GroceryPage</code>.
+   *
+   * @param groceries The groceries on the page, in order.
+   * @param nextKey The key to get the next page with, or <code>null</code> if this is the last.
+   */
+  GroceryPage(List<Grocery> groceries, String nextKey) {
+    this.groceries = List.copyOf(groceries);
+    this.nextKey = nextKey;
+  }
+
+  /**
+   * Accessor method for <code>groceries</code>.
+   *
+   * @return The groceries on the page, which may be empty.
+   */
+  public List<Grocery> getGroceries() {
+    return groceries;
+  }
+
+  /**
+   * Accessor method for <code>nextKey</code>.
+   *
+   * @return The key to get the next page with, or <code>null</code> if this is the last page.
+   */
+  public String getNextKey() {
+    return nextKey;
+  }
+
+  /**
+   * Checks if there are more groceries after this page.
+   *
+   * @return <code>true</code> if there is a next page, <code>false</code> otherwise.
+   */
+  public boolean hasNext() {
+    return nextKey != null;
+  }
+}
@@ -0,0 +1,103 @@
+package edu.ntnu.idi.bidata.register;
+
+/**
+ * This class is a summary of the lots of one grocery, taken at one moment,
+ * see <code>FoodStorage.getStock</code>.
+ * It holds what is needed to score a recipe against the grocery: the quantities and the value
+ * of the lots in each dimension, and the number of days until the first lot expires.
+ * The summary does not change when the storage changes.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class GroceryStock {
+  private final String key;
+  private final long[] quantities;
+  private final long[] values;
+  private final long daysUntilExpiry;
+  private final UnitConverter unitConverter;
+
+  /**
+   * Constructor for <code>GroceryStock</code>. Only the storage creates summaries.
+   *
+   * @param key The canonical name of the grocery.
+   * @param quantities The total quantities in base units in hundredths, indexed by dimension
+   *                   ordinal. The array is copied.
+   * @param values The value of the lots in hundredths, indexed by dimension ordinal.
+   *               The array is copied.
+   * @param daysUntilExpiry The number of days until the first lot expires, negative if it has.
+   * @param unitConverter The converter used to compare quantities in different dimensions.
+   */
+  GroceryStock(String key, long[] quantities, long[] values, long daysUntilExpiry,
+               UnitConverter unitConverter) {
+    this.key = key;
+    this.quantities = quantities.clone();
+    this.values = values.clone();
+    this.daysUntilExpiry = daysUntilExpiry;
+    this.unitConverter = unitConverter;
+  }
+
+  /**
+   * Accessor method for the canonical name of the grocery.
+   *
+   * @return The canonical name.
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Accessor method for the total value of the lots.
+   *
+   * @return The value in hundredths.
+   */
+  public long getValueHundredths() {
+    long value = 0;
+    for (long dimensionValue : values) {
+      value += dimensionValue;
+    }
+    return value;
+  }
+
+  /**
+   * Accessor method for the number of days until the first lot expires.
+   *
+   * @return The number of days, zero if it expires today, and negative if it has expired.
+   */
+  public long getDaysUntilExpiry() {
+    return daysUntilExpiry;
+  }
+
+  /**
+   * Checks if the stock covers a required quantity, converting between dimensions if needed.
+   *
+   * @param requiredByDimension The required quantities in base units in hundredths,
+   *                            indexed by dimension ordinal.
+   * @return <code>true</code> if the required quantity is available, <code>false</code> otherwise.
+   */
+  public boolean covers(long[] requiredByDimension) {
+    return unitConverter.covers(key, quantities, requiredByDimension);
+  }
+
+  /**
+   * Estimates the value of the stock that a required quantity would use.
+   * Each dimension is priced on its own, at the average price of the lots in that dimension,
+   * so a kilogram is never priced as if it were a liter. Only the dimensions the grocery is
+   * stocked in are counted, so a quantity that is only covered by converting between
+   * dimensions uses no value.
+   *
+   * @param requiredByDimension The required quantities in base units in hundredths,
+   *                            indexed by dimension ordinal.
+   * @return The value in hundredths, at most the value of the stock.
+   */
+  public long valueOf(long[] requiredByDimension) {
+    long used = 0;
+    for (int i = 0; i < quantities.length; i++) {
+      if (quantities[i] > 0) {
+        long required = Math.min(requiredByDimension[i], quantities[i]);
+        used += Math.round((double) values[i] * required / quantities[i]);
+      }
+    }
+    return used;
+  }
+}
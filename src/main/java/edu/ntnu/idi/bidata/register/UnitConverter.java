@@ -0,0 +1,182 @@
+package edu.ntnu.idi.bidata.register;
+
+import static edu.ntnu.idi.bidata.register.FoodStorageValidator.validateString;
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import edu.ntnu.idi.bidata.entity.Dimension;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This class converts quantities of an ingredient between dimensions.
+ * Units of the same dimension are converted by <code>Unit</code> itself, but going from volume
+ * or pieces to mass depends on the ingredient, so the class holds a table of densities
+ * and a table of piece weights, with the canonical name of the ingredient as key.
+ * Mass is used as the common dimension, so an ingredient with both a density and a piece weight
+ * can be converted between volume and pieces as well.
+ * All quantities are fixed-point hundredths in the base unit of their dimension.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class UnitConverter {
+  private final Map<String, Long> densities = new HashMap<>(); // Gram per milliliter
+  private final Map<String, Long> pieceWeights = new HashMap<>(); // Gram per piece
+
+  /**
+   * Constructor for <code>UnitConverter</code>.
+   * Constructor is empty, because the tables start out empty.
+   */
+  public UnitConverter() {
+    // Currently empty
+  }
+
+  /**
+   * Sets the density of an ingredient, so it can be converted between volume and mass.
+   *
+   * @param ingredient The name of the ingredient.
+   * @param gramsPerMilliliter The weight of one milliliter of the ingredient, in gram.
+   * @throws IllegalArgumentException if the name is invalid, or the density is not positive.
+   */
+  public void setDensity(String ingredient, BigDecimal gramsPerMilliliter) {
+    densities.put(validKey(ingredient), validFactor(gramsPerMilliliter));
+  }
+
+  /**
+   * Sets the weight of one piece of an ingredient, so it can be converted between pieces and mass.
+   *
+   * @param ingredient The name of the ingredient.
+   * @param gramsPerPiece The weight of one piece of the ingredient, in gram.
+   * @throws IllegalArgumentException if the name is invalid, or the weight is not positive.
+   */
+  public void setPieceWeight(String ingredient, BigDecimal gramsPerPiece) {
+    pieceWeights.put(validKey(ingredient), validFactor(gramsPerPiece));
+  }
+
+  /**
+   * Checks if a quantity of an ingredient can be converted from one dimension to another.
+   *
+   * @param key The canonical name of the ingredient.
+   * @param from The dimension to convert from.
+   * @param to The dimension to convert to.
+   * @return <code>true</code> if the quantity can be converted, <code>false</code> otherwise.
+   */
+  boolean canConvert(String key, Dimension from, Dimension to) {
+    return from == to || (gramsPer(key, from) > 0 && gramsPer(key, to) > 0);
+  }
+
+  /**
+   * Converts a quantity of an ingredient from one dimension to another.
+   * The result is rounded half up to the nearest hundredth of the base unit.
+   *
+   * @param key The canonical name of the ingredient.
+   * @param quantity The quantity in the base unit of the dimension to convert from, in hundredths.
+   * @param from The dimension to convert from.
+   * @param to The dimension to convert to.
+   * @return The quantity in the base unit of the dimension to convert to, in hundredths.
+   * @throws IllegalArgumentException if the ingredient can not be converted between the dimensions.
+   */
+  long convert(String key, long quantity, Dimension from, Dimension to) {
+    if (from == to) {
+      return quantity;
+    }
+    if (!canConvert(key, from, to)) {
+      throw new IllegalArgumentException("The ingredient " + key + " can not be converted from "
+          + from + " to " + to + ".");
+    }
+    return FixedPoint.multiplyDivide(quantity, gramsPer(key, from), gramsPer(key, to));
+  }
+
+  /**
+   * Checks if the available quantities of an ingredient cover the required quantities.
+   * Each dimension is first covered by the quantity in the same dimension.
+   * What is missing in one dimension may then be covered by what is left in the others,
+   * if the ingredient can be converted between them.
+   *
+   * @param key The canonical name of the ingredient.
+   * @param available The available quantities in base units, indexed by dimension ordinal.
+   * @param required The required quantities in base units, indexed by dimension ordinal.
+   * @return <code>true</code> if the required quantities are available,
+   *         <code>false</code> otherwise.
+   */
+  boolean covers(String key, long[] available, long[] required) {
+    if (coversEachDimension(available, required)) {
+      return true;
+    }
+    long missingMass = 0;
+    long surplusMass = 0;
+    for (Dimension dimension : Dimension.values()) {
+      long difference = available[dimension.ordinal()] - required[dimension.ordinal()];
+      long gramsPerBaseUnit = gramsPer(key, dimension);
+      if (difference < 0) {
+        if (gramsPerBaseUnit == 0) {
+          return false;
+        }
+        missingMass += FixedPoint.multiplyDivide(-difference, gramsPerBaseUnit, FixedPoint.ONE);
+      } else if (gramsPerBaseUnit > 0) {
+        surplusMass += FixedPoint.multiplyDivide(difference, gramsPerBaseUnit, FixedPoint.ONE);
+      }
+    }
+    return missingMass <= surplusMass;
+  }
+
+  /**
+   * Checks if the required quantity of every dimension is available in the same dimension,
+   * so nothing has to be converted. This is the common case, and needs no lookups.
+   *
+   * @param available The available quantities in base units, indexed by dimension ordinal.
+   * @param required The required quantities in base units, indexed by dimension ordinal.
+   * @return <code>true</code> if every dimension is covered on its own.
+   */
+  private static boolean coversEachDimension(long[] available, long[] required) {
+    for (int i = 0; i < required.length; i++) {
+      if (required[i] > available[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Finds the weight in gram of one base unit of the dimension, for the given ingredient.
+   *
+   * @param key The canonical name of the ingredient.
+   * @param dimension The dimension.
+   * @return The weight in hundredths of a gram, zero if the weight is unknown.
+   */
+  private long gramsPer(String key, Dimension dimension) {
+    return switch (dimension) {
+      case MASS -> FixedPoint.ONE;
+      case VOLUME -> densities.getOrDefault(key, 0L);
+      case COUNT -> pieceWeights.getOrDefault(key, 0L);
+    };
+  }
+
+  /**
+   * Validates the name of an ingredient, and folds it into its canonical form.
+   *
+   * @param ingredient The name of the ingredient.
+   * @return The canonical name of the ingredient.
+   * @throws IllegalArgumentException if the name is null, empty or blank.
+   */
+  private static String validKey(String ingredient) {
+    validateString(ingredient);
+    return canonicalName(ingredient);
+  }
+
+  /**
+   * Validates a conversion factor, and converts it to a fixed-point value.
+   *
+   * @param factor The conversion factor.
+   * @return The conversion factor in hundredths.
+   * @throws IllegalArgumentException if the factor is null, or not greater than zero.
+   */
+  private static long validFactor(BigDecimal factor) {
+    if (factor == null || FixedPoint.of(factor) <= 0) {
+      throw new IllegalArgumentException("The conversion factor must be greater than zero.");
+    }
+    return FixedPoint.of(factor);
+  }
+}
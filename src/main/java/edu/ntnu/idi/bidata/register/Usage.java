@@ -0,0 +1,107 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.math.BigDecimal;
+
+/**
+ * This class represents the quantity and value of groceries that were wasted and consumed
+ * over a period, see <code>UsageRollups</code>.
+ * Quantities are in the unit they are grouped by. All amounts are kept as fixed-point
+ * hundredths, see <code>FixedPoint</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class Usage {
+  private final long wastedQuantity;
+  private final long wastedValue;
+  private final long consumedQuantity;
+  private final long consumedValue;
+
+  /**
+   * Constructor for <code>Usage</code>, with every amount in hundredths.
+   *
+   * @param wastedQuantity The quantity that expired before it was used.
+   * @param wastedValue The value that expired before it was used.
+   * @param consumedQuantity The quantity that was removed from storage.
+   * @param consumedValue The value that was removed from storage.
+   */
+  public Usage(long wastedQuantity, long wastedValue, long consumedQuantity, long consumedValue) {
+    this.wastedQuantity = wastedQuantity;
+    this.wastedValue = wastedValue;
+    this.consumedQuantity = consumedQuantity;
+    this.consumedValue = consumedValue;
+  }
+
+  /**
+   * Accessor method for the wasted quantity.
+   *
+   * @return The quantity that expired before it was used.
+   */
+  public BigDecimal getWastedQuantity() {
+    return FixedPoint.toBigDecimal(wastedQuantity);
+  }
+
+  /**
+   * Accessor method for the wasted quantity, in hundredths.
+   *
+   * @return The quantity that expired before it was used, in hundredths.
+   */
+  public long getWastedQuantityHundredths() {
+    return wastedQuantity;
+  }
+
+  /**
+   * Accessor method for the wasted value.
+   *
+   * @return The value that expired before it was used.
+   */
+  public BigDecimal getWastedValue() {
+    return FixedPoint.toBigDecimal(wastedValue);
+  }
+
+  /**
+   * Accessor method for the wasted value, in hundredths.
+   *
+   * @return The value that expired before it was used, in hundredths.
+   */
+  public long getWastedValueHundredths() {
+    return wastedValue;
+  }
+
+  /**
+   * Accessor method for the consumed quantity.
+   *
+   * @return The quantity that was removed from storage.
+   */
+  public BigDecimal getConsumedQuantity() {
+    return FixedPoint.toBigDecimal(consumedQuantity);
+  }
+
+  /**
+   * Accessor method for the consumed quantity, in hundredths.
+   *
+   * @return The quantity that was removed from storage, in hundredths.
+   */
+  public long getConsumedQuantityHundredths() {
+    return consumedQuantity;
+  }
+
+  /**
+   * Accessor method for the consumed value.
+   *
+   * @return The value that was removed from storage.
+   */
+  public BigDecimal getConsumedValue() {
+    return FixedPoint.toBigDecimal(consumedValue);
+  }
+
+  /**
+   * Accessor method for the consumed value, in hundredths.
+   *
+   * @return The value that was removed from storage, in hundredths.
+   */
+  public long getConsumedValueHundredths() {
+    return consumedValue;
+  }
+}
@@ -0,0 +1,73 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Unit;
+import java.time.LocalDate;
+
+/**
+ * This class represents the usage of one grocery name in one unit on one day,
+ * which is the finest level kept by <code>UsageRollups</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public final class UsageBucket {
+  private final LocalDate day;
+  private final String name;
+  private final Unit unit;
+  private final Usage usage;
+
+  /**
+   * Constructor for <code>UsageBucket</code>.
+   *
+   * @param day The day of the usage.
+   * @param name The canonical name of the grocery.
+   * @param unit The unit of the quantities.
+   * @param usage The usage.
+   * @throws IllegalArgumentException if an argument is null.
+   */
+  public UsageBucket(LocalDate day, String name, Unit unit, Usage usage) {
+    if (day == null || name == null || unit == null || usage == null) {
+      throw new IllegalArgumentException("Day, name, unit and usage cannot be null.");
+    }
+    this.day = day;
+    this.name = name;
+    this.unit = unit;
+    this.usage = usage;
+  }
+
+  /**
+   * Accessor method for <code>day</code>.
+   *
+   * @return The day of the usage.
+   */
+  public LocalDate getDay() {
+    return day;
+  }
+
+  /**
+   * Accessor method for <code>name</code>.
+   *
+   * @return The canonical name of the grocery.
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Accessor method for <code>unit</code>.
+   *
+   * @return The unit of the quantities.
+   */
+  public Unit getUnit() {
+    return unit;
+  }
+
+  /**
+   * Accessor method for <code>usage</code>.
+   *
+   * @return The usage.
+   */
+  public Usage getUsage() {
+    return usage;
+  }
+}
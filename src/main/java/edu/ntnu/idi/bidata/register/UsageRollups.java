@@ -0,0 +1,298 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Unit;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjuster;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * This class keeps running totals of the groceries that were wasted and consumed,
+ * so reports over a period do not have to go through every lot that was ever removed.
+ * Totals are kept per day, and within a day per unit and per grocery name and unit.
+ * They are updated by <code>FoodStorage</code> every time a lot expires or is used.
+ * Reports for weeks and months are merged from the days in the period, so the cost of a report
+ * depends on the number of days with usage in the period, and not on the number of lots.
+ * Wasted lots are counted on their expiry date, and consumed lots on the day they were used.
+ * All amounts are kept as fixed-point hundredths, see <code>FixedPoint</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class UsageRollups {
+  private static final int WASTED_QUANTITY = 0;
+  private static final int WASTED_VALUE = 1;
+  private static final int CONSUMED_QUANTITY = 2;
+  private static final int CONSUMED_VALUE = 3;
+  private static final int AMOUNTS = 4;
+  private static final Unit[] UNITS = Unit.values();
+
+  private final NavigableMap<LocalDate, DayTotals> totalsByDay = new TreeMap<>();
+
+  /**
+   * Counts a lot that expired before it was used.
+   *
+   * @param day The expiry date of the lot.
+   * @param name The canonical name of the grocery.
+   * @param unit The unit of the lot.
+   * @param quantity The quantity of the lot, in hundredths.
+   * @param value The value of the lot, in hundredths.
+   */
+  void recordWaste(LocalDate day, String name, Unit unit, long quantity, long value) {
+    add(day, name, unit, new long[] {quantity, value, 0, 0});
+  }
+
+  /**
+   * Counts a quantity that was used from a lot.
+   *
+   * @param day The day the quantity was used.
+   * @param name The canonical name of the grocery.
+   * @param unit The unit of the lot.
+   * @param quantity The quantity that was used, in hundredths.
+   * @param value The value of the quantity that was used, in hundredths.
+   */
+  void recordConsumption(LocalDate day, String name, Unit unit, long quantity, long value) {
+    add(day, name, unit, new long[] {0, 0, quantity, value});
+  }
+
+  /**
+   * Adds the usage of a bucket to the totals, for example one loaded from a snapshot.
+   *
+   * @param bucket The bucket to add.
+   * @throws IllegalArgumentException if the bucket is null.
+   */
+  public void restore(UsageBucket bucket) {
+    if (bucket == null) {
+      throw new IllegalArgumentException("The bucket cannot be null.");
+    }
+    Usage usage = bucket.getUsage();
+    add(bucket.getDay(), bucket.getName(), bucket.getUnit(), new long[] {
+        usage.getWastedQuantityHundredths(), usage.getWastedValueHundredths(),
+        usage.getConsumedQuantityHundredths(), usage.getConsumedValueHundredths()});
+  }
+
+  /**
+   * Get method to get every bucket of the totals, one per day, grocery name and unit.
+   *
+   * @return List of the buckets, ordered by day.
+   */
+  public List<UsageBucket> getBuckets() {
+    List<UsageBucket> buckets = new ArrayList<>();
+    totalsByDay.forEach((day, dayTotals) ->
+        dayTotals.byName.forEach((name, amountsByUnit) -> {
+          for (Unit unit : UNITS) {
+            long[] amounts = amountsByUnit[unit.ordinal()];
+            if (amounts != null) {
+              buckets.add(new UsageBucket(day, name, unit, toUsage(amounts)));
+            }
+          }
+        }));
+    return buckets;
+  }
+
+  /**
+   * Get method to get the usage per unit between two dates, both dates included.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @return Map with the usage of each unit that was used in the period.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  public Map<Unit, Usage> getTotalsByUnit(LocalDate fromDate, LocalDate toDate) {
+    long[][] amountsByUnit = new long[UNITS.length][];
+    for (DayTotals dayTotals : range(fromDate, toDate).values()) {
+      addAll(amountsByUnit, dayTotals.byUnit);
+    }
+    return toUsageByUnit(amountsByUnit);
+  }
+
+  /**
+   * Get method to get the usage per grocery name and unit between two dates,
+   * both dates included.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @return Map with the canonical name of each grocery used in the period as key,
+   *         ordered by name, and its usage per unit as value.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  public Map<String, Map<Unit, Usage>> getTotalsByName(LocalDate fromDate, LocalDate toDate) {
+    Map<String, long[][]> amountsByName = new TreeMap<>();
+    for (DayTotals dayTotals : range(fromDate, toDate).values()) {
+      dayTotals.byName.forEach((name, amountsByUnit) -> addAll(
+          amountsByName.computeIfAbsent(name, key -> new long[UNITS.length][]), amountsByUnit));
+    }
+    Map<String, Map<Unit, Usage>> totalsByName = new TreeMap<>();
+    amountsByName.forEach((name, amountsByUnit) ->
+        totalsByName.put(name, toUsageByUnit(amountsByUnit)));
+    return totalsByName;
+  }
+
+  /**
+   * Get method to get the usage per unit of each day between two dates, both dates included.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @return Map with each day that had usage as key, and its usage per unit as value.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  public NavigableMap<LocalDate, Map<Unit, Usage>> getDailyTotals(LocalDate fromDate,
+                                                                  LocalDate toDate) {
+    return rollUp(fromDate, toDate, day -> day);
+  }
+
+  /**
+   * Get method to get the usage per unit of each week between two dates, both dates included.
+   * A week starts on Monday. The first and last week only count the days within the dates.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @return Map with the Monday of each week that had usage as key,
+   *         and its usage per unit as value.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  public NavigableMap<LocalDate, Map<Unit, Usage>> getWeeklyTotals(LocalDate fromDate,
+                                                                   LocalDate toDate) {
+    return rollUp(fromDate, toDate, TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  /**
+   * Get method to get the usage per unit of each month between two dates, both dates included.
+   * The first and last month only count the days within the dates.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @return Map with the first day of each month that had usage as key,
+   *         and its usage per unit as value.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  public NavigableMap<LocalDate, Map<Unit, Usage>> getMonthlyTotals(LocalDate fromDate,
+                                                                    LocalDate toDate) {
+    return rollUp(fromDate, toDate, TemporalAdjusters.firstDayOfMonth());
+  }
+
+  /**
+   * Merges the day totals between two dates into one total per period.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @param periodStart Adjuster that gives the first day of the period a day belongs to.
+   * @return Map with the first day of each period as key, and its usage per unit as value.
+   */
+  private NavigableMap<LocalDate, Map<Unit, Usage>> rollUp(LocalDate fromDate, LocalDate toDate,
+                                                           TemporalAdjuster periodStart) {
+    NavigableMap<LocalDate, long[][]> amountsByPeriod = new TreeMap<>();
+    range(fromDate, toDate).forEach((day, dayTotals) -> addAll(amountsByPeriod.computeIfAbsent(
+        day.with(periodStart), period -> new long[UNITS.length][]), dayTotals.byUnit));
+
+    NavigableMap<LocalDate, Map<Unit, Usage>> totalsByPeriod = new TreeMap<>();
+    amountsByPeriod.forEach((period, amountsByUnit) ->
+        totalsByPeriod.put(period, toUsageByUnit(amountsByUnit)));
+    return totalsByPeriod;
+  }
+
+  /**
+   * Finds the day totals between two dates.
+   *
+   * @param fromDate The first day to include.
+   * @param toDate The last day to include.
+   * @return The day totals in the range.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  private NavigableMap<LocalDate, DayTotals> range(LocalDate fromDate, LocalDate toDate) {
+    if (fromDate == null || toDate == null) {
+      throw new IllegalArgumentException("The dates cannot be null.");
+    }
+    if (fromDate.isAfter(toDate)) {
+      throw new IllegalArgumentException("The first date cannot be after the last date.");
+    }
+    return totalsByDay.subMap(fromDate, true, toDate, true);
+  }
+
+  /**
+   * Adds amounts to the totals of a day, both for the unit and for the grocery name.
+   *
+   * @param day The day of the amounts.
+   * @param name The canonical name of the grocery.
+   * @param unit The unit of the quantities.
+   * @param amounts The amounts to add, in hundredths.
+   */
+  private void add(LocalDate day, String name, Unit unit, long[] amounts) {
+    DayTotals dayTotals = totalsByDay.computeIfAbsent(day, key -> new DayTotals());
+    add(dayTotals.byUnit, unit.ordinal(), amounts);
+    add(dayTotals.byName.computeIfAbsent(name, key -> new long[UNITS.length][]),
+        unit.ordinal(), amounts);
+  }
+
+  /**
+   * Adds amounts to the totals of a unit.
+   *
+   * @param amountsByUnit The totals, with the unit ordinal as index.
+   * @param unitIndex The ordinal of the unit.
+   * @param amounts The amounts to add, in hundredths.
+   */
+  private static void add(long[][] amountsByUnit, int unitIndex, long[] amounts) {
+    if (amountsByUnit[unitIndex] == null) {
+      amountsByUnit[unitIndex] = new long[AMOUNTS];
+    }
+    for (int i = 0; i < AMOUNTS; i++) {
+      amountsByUnit[unitIndex][i] = Math.addExact(amountsByUnit[unitIndex][i], amounts[i]);
+    }
+  }
+
+  /**
+   * Adds the totals of every unit to other totals.
+   *
+   * @param target The totals to add to, with the unit ordinal as index.
+   * @param source The totals to add, with the unit ordinal as index.
+   */
+  private static void addAll(long[][] target, long[][] source) {
+    for (int unitIndex = 0; unitIndex < UNITS.length; unitIndex++) {
+      if (source[unitIndex] != null) {
+        add(target, unitIndex, source[unitIndex]);
+      }
+    }
+  }
+
+  /**
+   * Turns the totals of every unit into usages.
+   *
+   * @param amountsByUnit The totals, with the unit ordinal as index.
+   * @return Map with the usage of each unit that has totals.
+   */
+  private static Map<Unit, Usage> toUsageByUnit(long[][] amountsByUnit) {
+    Map<Unit, Usage> usageByUnit = new EnumMap<>(Unit.class);
+    for (Unit unit : UNITS) {
+      if (amountsByUnit[unit.ordinal()] != null) {
+        usageByUnit.put(unit, toUsage(amountsByUnit[unit.ordinal()]));
+      }
+    }
+    return usageByUnit;
+  }
+
+  /**
+   * Turns totals into a usage.
+   *
+   * @param amounts The totals, in hundredths.
+   * @return The usage.
+   */
+  private static Usage toUsage(long[] amounts) {
+    return new Usage(amounts[WASTED_QUANTITY], amounts[WASTED_VALUE],
+        amounts[CONSUMED_QUANTITY], amounts[CONSUMED_VALUE]);
+  }
+
+  /**
+   * The totals of a single day.
+   */
+  private static final class DayTotals {
+    private final long[][] byUnit = new long[UNITS.length][];
+    private final Map<String, long[][]> byName = new HashMap<>();
+  }
+}
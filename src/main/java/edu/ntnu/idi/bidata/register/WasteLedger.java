@@ -0,0 +1,101 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.util.FixedPoint;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * This class represents the lots that expired before they were used.
+ * A <code>FoodStorage</code> moves its expired lots here, so they are no longer part of the
+ * storage or its value, but can still be listed and counted.
+ * The lots are kept by expiry date, and the value of all waste is kept as a running total,
+ * as fixed-point hundredths, see <code>FixedPoint</code>.
+ * The lots in the ledger are never changed again.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class WasteLedger {
+  private final NavigableMap<LocalDate, List<Grocery>> wasteByExpiry = new TreeMap<>();
+  private int size;
+  private long totalValue; // Hundredths
+
+  /**
+   * Adds an expired lot to the ledger, for example one loaded from a snapshot.
+   *
+   * @param grocery The expired lot.
+   * @throws IllegalArgumentException if the grocery is null.
+   */
+  public void add(Grocery grocery) {
+    if (grocery == null) {
+      throw new IllegalArgumentException("The grocery cannot be null.");
+    }
+    wasteByExpiry.computeIfAbsent(grocery.getExpiryDate(), date -> new ArrayList<>())
+        .add(grocery);
+    totalValue = Math.addExact(totalValue, grocery.getPriceHundredths());
+    size++;
+  }
+
+  /**
+   * Get method to get every lot in the ledger.
+   *
+   * @return List of the wasted lots, ordered by expiry date.
+   */
+  public List<Grocery> getWaste() {
+    return flatten(wasteByExpiry);
+  }
+
+  /**
+   * Get method to get the lots that expired between the two given dates, both dates included.
+   *
+   * @param fromDate The first expiry date to include.
+   * @param toDate The last expiry date to include.
+   * @return List of the wasted lots in the range, ordered by expiry date.
+   * @throws IllegalArgumentException if a date is null, or the first date is after the last.
+   */
+  public List<Grocery> getWasteBetween(LocalDate fromDate, LocalDate toDate) {
+    if (fromDate == null || toDate == null) {
+      throw new IllegalArgumentException("The dates cannot be null.");
+    }
+    if (fromDate.isAfter(toDate)) {
+      throw new IllegalArgumentException("The first date cannot be after the last date.");
+    }
+    return flatten(wasteByExpiry.subMap(fromDate, true, toDate, true));
+  }
+
+  /**
+   * Get method to get the value of every lot in the ledger.
+   *
+   * @return The total value of the waste.
+   */
+  public BigDecimal getTotalValue() {
+    return FixedPoint.toBigDecimal(totalValue);
+  }
+
+  /**
+   * Get method to get the number of lots in the ledger.
+   *
+   * @return The number of wasted lots.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Collects the lots of a range of expiry dates into a single list.
+   *
+   * @param wasteRange The lots of each expiry date in the range.
+   * @return List of the lots, ordered by expiry date.
+   */
+  private static List<Grocery> flatten(Map<LocalDate, List<Grocery>> wasteRange) {
+    List<Grocery> waste = new ArrayList<>();
+    wasteRange.values().forEach(waste::addAll);
+    return List.copyOf(waste);
+  }
+}
@@ -0,0 +1,52 @@
+package edu.ntnu.idi.bidata.util;
+
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import edu.ntnu.idi.bidata.entity.Dimension;
+import edu.ntnu.idi.bidata.entity.Unit;
+import java.math.BigDecimal;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Utility class for converting ingredient quantities to base units.
+ * A quantity in base units is a fixed-point value in the base unit of its dimension,
+ * so quantities in gram and kilogram can be compared and summed as plain numbers.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class BaseQuantities {
+  private BaseQuantities() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Converts a map of ingredients to the quantity of each ingredient in base units.
+   * Ingredients that share a canonical name are summed per dimension.
+   * The ingredients are expected to be validated.
+   *
+   * @param ingredients Map of ingredients, name is key,
+   *                    key of value is quantity and value of value is unit of measurement.
+   * @return Map with the canonical name as key, and the quantities in base units in hundredths,
+   *         indexed by dimension ordinal, as value.
+   * @throws IllegalArgumentException if a quantity is too large to be held.
+   */
+  public static Map<String, long[]> of(Map<String, SimpleEntry<BigDecimal, Unit>> ingredients) {
+    Map<String, long[]> baseQuantities = new HashMap<>();
+    ingredients.forEach((name, quantityAndUnit) -> {
+      long[] quantityByDimension = baseQuantities
+          .computeIfAbsent(canonicalName(name), key -> new long[Dimension.values().length]);
+      Unit unit = quantityAndUnit.getValue();
+      int dimension = unit.getDimension().ordinal();
+      long quantity = unit.toBase(FixedPoint.of(quantityAndUnit.getKey()));
+      try {
+        quantityByDimension[dimension] = Math.addExact(quantityByDimension[dimension], quantity);
+      } catch (ArithmeticException e) {
+        throw new IllegalArgumentException("The quantity of " + name + " is too large.");
+      }
+    });
+    return baseQuantities;
+  }
+}
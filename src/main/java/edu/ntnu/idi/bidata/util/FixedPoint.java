@@ -0,0 +1,98 @@
+package edu.ntnu.idi.bidata.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Utility class for fixed-point arithmetic on quantities and prices.
+ * A fixed-point value is a <code>long</code> that counts hundredths, so 1.25 is stored as 125.
+ * This is the same precision as the two decimals that groceries have always been rounded to,
+ * but sums and comparisons run on primitives and do not allocate.
+ * Conversion to and from <code>BigDecimal</code> only happens at the edges of the application.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class FixedPoint {
+  /**
+   * The number of decimals a fixed-point value holds.
+   */
+  public static final int SCALE = 2;
+  /**
+   * The fixed-point value of one.
+   */
+  public static final long ONE = 100;
+
+  private FixedPoint() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Converts a decimal to a fixed-point value, rounding half up to two decimals.
+   * A value that is too large is an invalid input, not an arithmetic error, so it is reported
+   * the same way as the other invalid quantities and prices.
+   *
+   * @param value The decimal to convert.
+   * @return The fixed-point value.
+   * @throws IllegalArgumentException if the value is too large to be held.
+   */
+  public static long of(BigDecimal value) {
+    try {
+      return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("The number " + value.toEngineeringString()
+          + " is too large.");
+    }
+  }
+
+  /**
+   * Converts a fixed-point value to a decimal with two decimals.
+   *
+   * @param value The fixed-point value to convert.
+   * @return The decimal.
+   */
+  public static BigDecimal toBigDecimal(long value) {
+    return BigDecimal.valueOf(value, SCALE);
+  }
+
+  /**
+   * Calculates <code>value * multiplier / divisor</code>, rounded half up.
+   * The product is not rounded before the division, so the result is exact to the last hundredth.
+   * Used to find the price of what is left of a lot, without going through a rounded unit price.
+   *
+   * @param value The fixed-point value to scale.
+   * @param multiplier The fixed-point multiplier.
+   * @param divisor The fixed-point divisor.
+   * @return The scaled fixed-point value.
+   * @throws ArithmeticException if the divisor is zero.
+   */
+  public static long multiplyDivide(long value, long multiplier, long divisor) {
+    if (divisor == 0) {
+      throw new ArithmeticException("Cannot divide by zero.");
+    }
+    long high = Math.multiplyHigh(value, multiplier);
+    long low = value * multiplier;
+    if ((high == 0 && low >= 0) || (high == -1 && low < 0)) {
+      return divideHalfUp(low, divisor);
+    }
+    return BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(multiplier))
+        .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+        .longValueExact();
+  }
+
+  /**
+   * Divides two longs, rounding half up, meaning halves are rounded away from zero.
+   *
+   * @param dividend The dividend.
+   * @param divisor The divisor.
+   * @return The rounded quotient.
+   */
+  private static long divideHalfUp(long dividend, long divisor) {
+    long quotient = dividend / divisor;
+    long remainder = dividend % divisor;
+    if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+      quotient += Long.signum(dividend) * Long.signum(divisor);
+    }
+    return quotient;
+  }
+}
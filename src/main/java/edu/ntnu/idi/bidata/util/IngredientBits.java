@@ -0,0 +1,101 @@
+package edu.ntnu.idi.bidata.util;
+
+import java.util.Arrays;
+
+/**
+ * Utility class for sets of ingredients kept as bits in an array of longs.
+ * Bit <code>id % 64</code> of word <code>id / 64</code> is set when the ingredient with the
+ * number <code>id</code> is in the set, see <code>IngredientIds</code>.
+ * Words past the end of an array count as zero, so sets of different lengths can be compared.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class IngredientBits {
+  private static final long[] EMPTY = new long[0];
+
+  private IngredientBits() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Creates the set of the given canonical ingredient names.
+   * The names are only looked up, so a name without a number is left out of the set,
+   * and the dictionary is not changed.
+   *
+   * @param keys The canonical names.
+   * @param dictionary The numbers of the names.
+   * @return The set of the names that have numbers.
+   */
+  public static long[] of(Iterable<String> keys, IngredientIds dictionary) {
+    long[] bits = EMPTY;
+    for (String key : keys) {
+      int id = dictionary.find(key);
+      if (id >= 0) {
+        bits = with(bits, id);
+      }
+    }
+    return bits;
+  }
+
+  /**
+   * Adds an ingredient to a set. The array is grown if the bit is past its end.
+   *
+   * @param bits The set to add to.
+   * @param id The number of the ingredient.
+   * @return The set with the ingredient, which is the same array unless it had to grow.
+   */
+  public static long[] with(long[] bits, int id) {
+    int word = id >>> 6;
+    long[] result = word < bits.length ? bits : Arrays.copyOf(bits, word + 1);
+    result[word] |= 1L << id;
+    return result;
+  }
+
+  /**
+   * Removes an ingredient from a set.
+   *
+   * @param bits The set to remove from.
+   * @param id The number of the ingredient.
+   */
+  public static void clear(long[] bits, int id) {
+    int word = id >>> 6;
+    if (word < bits.length) {
+      bits[word] &= ~(1L << id);
+    }
+  }
+
+  /**
+   * Checks if every ingredient of one set is in another.
+   *
+   * @param bits The set to look in.
+   * @param subset The ingredients to look for.
+   * @return <code>true</code> if every ingredient of the subset is in the set.
+   */
+  public static boolean containsAll(long[] bits, long[] subset) {
+    for (int i = 0; i < subset.length; i++) {
+      long word = i < bits.length ? bits[i] : 0;
+      if ((subset[i] & ~word) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if two sets have an ingredient in common.
+   *
+   * @param bits One set.
+   * @param other The other set.
+   * @return <code>true</code> if an ingredient is in both sets.
+   */
+  public static boolean intersects(long[] bits, long[] other) {
+    int words = Math.min(bits.length, other.length);
+    for (int i = 0; i < words; i++) {
+      if ((bits[i] & other[i]) != 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
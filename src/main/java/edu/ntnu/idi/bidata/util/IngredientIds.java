@@ -0,0 +1,77 @@
+package edu.ntnu.idi.bidata.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class gives each canonical ingredient name a dense number, starting at zero.
+ * The numbers are used as bit positions in the ingredient sets of recipes and of the storage,
+ * see <code>IngredientBits</code>, so sets of ingredients are compared word by word instead of
+ * name by name. Every <code>FoodStorage</code> owns its own numbers, and recipes are numbered
+ * by the numbers of the storage they are matched against, so sets are only compared when they
+ * are numbered by the same instance. A name keeps its number for as long as the instance lives,
+ * and numbers are never reused, so the sets only grow with the number of different names seen
+ * by that storage. The numbers are released together with the storage.
+ * Only the storage gives names numbers, recipes are numbered with <code>find</code>.
+ * The class is thread-safe.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class IngredientIds {
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for <code>IngredientIds</code>.
+   * Constructor is empty, because no name has a number yet.
+   */
+  public IngredientIds() {
+    // Currently empty
+  }
+
+  /**
+   * Finds the number of a canonical ingredient name, and gives it the next number if it has none.
+   *
+   * @param key The canonical name, see <code>StringFormatter.canonicalName</code>.
+   * @return The number of the name.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  public int idOf(String key) {
+    if (key == null) {
+      throw new IllegalArgumentException("The name cannot be null.");
+    }
+    Integer id = ids.get(key);
+    if (id != null) {
+      return id;
+    }
+    synchronized (ids) {
+      return ids.computeIfAbsent(key, k -> ids.size());
+    }
+  }
+
+  /**
+   * Finds the number of a canonical ingredient name, without giving it a number if it has none.
+   * Used when recipes are matched, so names that have never been in storage do not grow the
+   * numbers, and matching can run on several threads.
+   *
+   * @param key The canonical name, see <code>StringFormatter.canonicalName</code>.
+   * @return The number of the name, or <code>-1</code> if it has no number.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  public int find(String key) {
+    if (key == null) {
+      throw new IllegalArgumentException("The name cannot be null.");
+    }
+    Integer id = ids.get(key);
+    return id == null ? -1 : id;
+  }
+
+  /**
+   * Accessor method for the number of names that have been given a number.
+   *
+   * @return The number of names, which is also the next number to be given.
+   */
+  public int size() {
+    return ids.size();
+  }
+}
@@ -0,0 +1,353 @@
+package edu.ntnu.idi.bidata.util;
+
+import static edu.ntnu.idi.bidata.util.StringFormatter.canonicalName;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class is a trie of names, used to complete and correct names of groceries and recipes.
+ * Names are stored under their canonical name, see <code>StringFormatter.canonicalName</code>,
+ * so searches do not depend on case. Several names with the same canonical name are kept apart.
+ * The children of each node are kept in arrays sorted by character, so names are found
+ * in alphabetical order, and a prefix search stops as soon as it has enough names.
+ * Names within an edit distance are found by walking the trie with one row of the edit distance
+ * table per node, and leaving a branch as soon as every entry of its row is too far away,
+ * so only a small part of the trie is visited for small distances.
+ * The index is not thread-safe.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class NameIndex {
+  private final Node root = new Node();
+  private int size;
+
+  /**
+   * Adds a name to the index. A name that is already in the index is not added again.
+   *
+   * @param name The name to add.
+   * @return <code>true</code> if the name was added, <code>false</code> if it was already there.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  public boolean add(String name) {
+    String key = key(name);
+    Node node = root;
+    for (int i = 0; i < key.length(); i++) {
+      node = node.childOrCreate(key.charAt(i));
+    }
+    if (node.names == null) {
+      node.names = new ArrayList<>(1);
+    } else if (node.names.contains(name)) {
+      return false;
+    }
+    node.names.add(name);
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes a name from the index. Other names with the same canonical name are kept.
+   *
+   * @param name The name to remove.
+   * @return <code>true</code> if the name was removed, <code>false</code> if it was not there.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  public boolean remove(String name) {
+    return remove(name, false) > 0;
+  }
+
+  /**
+   * Removes every name with the same canonical name as the given name.
+   *
+   * @param name The name to remove.
+   * @return The number of names that were removed.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  public int removeAll(String name) {
+    return remove(name, true);
+  }
+
+  /**
+   * Checks if a name with the same canonical name as the given name is in the index.
+   *
+   * @param name The name to look for.
+   * @return <code>true</code> if the name is found, <code>false</code> otherwise.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  public boolean contains(String name) {
+    Node node = find(key(name));
+    return node != null && node.names != null;
+  }
+
+  /**
+   * Accessor method for the number of names in the index.
+   *
+   * @return The number of names.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Finds the names that start with the given prefix, in alphabetical order of their
+   * canonical names.
+   *
+   * @param prefix The start of the names.
+   * @param limit The highest number of names to return.
+   * @return List of the names, which is empty if no name starts with the prefix.
+   * @throws IllegalArgumentException if the prefix is null, or the limit is not positive.
+   */
+  public List<String> startingWith(String prefix, int limit) {
+    validateLimit(limit);
+    List<String> names = new ArrayList<>();
+    Node node = find(key(prefix));
+    if (node != null) {
+      collect(node, names, limit);
+    }
+    return names;
+  }
+
+  /**
+   * Finds the names within the given edit distance of a name.
+   * The edit distance is the number of characters that must be inserted, removed or replaced
+   * to turn one canonical name into the other.
+   *
+   * @param name The name to compare with, for example one with a typo.
+   * @param maxDistance The highest edit distance to include.
+   * @param limit The highest number of names to return.
+   * @return List of the names, the closest first, and in alphabetical order within a distance.
+   * @throws IllegalArgumentException if the name is null, the distance is negative,
+   *                                  or the limit is not positive.
+   */
+  public List<String> closeTo(String name, int maxDistance, int limit) {
+    validateLimit(limit);
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("The distance cannot be negative.");
+    }
+    String key = key(name);
+    int[] firstRow = new int[key.length() + 1];
+    for (int i = 0; i < firstRow.length; i++) {
+      firstRow[i] = i;
+    }
+    List<Match> matches = new ArrayList<>();
+    if (firstRow[key.length()] <= maxDistance && root.names != null) {
+      root.names.forEach(match -> matches.add(new Match(match, firstRow[key.length()])));
+    }
+    for (int i = 0; i < root.childCount; i++) {
+      searchClose(root.children[i], root.keys[i], key, firstRow, maxDistance, matches);
+    }
+    matches.sort(Comparator.comparingInt(Match::distance));
+    return matches.stream().limit(limit).map(Match::name).toList();
+  }
+
+  /**
+   * Computes the row of the edit distance table for a node, collects the names of the node if
+   * they are close enough, and goes on to its children if any entry of the row is close enough.
+   * Children are visited in alphabetical order, and the sort of the matches is stable,
+   * so names with the same distance stay in alphabetical order.
+   *
+   * @param node The node to visit.
+   * @param character The character of the edge to the node.
+   * @param key The canonical name to compare with.
+   * @param previousRow The row of the parent node.
+   * @param maxDistance The highest edit distance to include.
+   * @param matches The list to add the matches to.
+   */
+  private static void searchClose(Node node, char character, String key, int[] previousRow,
+                                  int maxDistance, List<Match> matches) {
+    int[] row = new int[previousRow.length];
+    row[0] = previousRow[0] + 1;
+    int smallest = row[0];
+    for (int i = 1; i < row.length; i++) {
+      int replaceCost = previousRow[i - 1] + (key.charAt(i - 1) == character ? 0 : 1);
+      row[i] = Math.min(replaceCost, Math.min(row[i - 1], previousRow[i]) + 1);
+      smallest = Math.min(smallest, row[i]);
+    }
+    int distance = row[row.length - 1];
+    if (distance <= maxDistance && node.names != null) {
+      node.names.forEach(name -> matches.add(new Match(name, distance)));
+    }
+    if (smallest <= maxDistance) {
+      for (int i = 0; i < node.childCount; i++) {
+        searchClose(node.children[i], node.keys[i], key, row, maxDistance, matches);
+      }
+    }
+  }
+
+  /**
+   * Collects the names of a node and the nodes below it, in alphabetical order.
+   *
+   * @param node The node to start at.
+   * @param names The list to add the names to.
+   * @param limit The highest number of names in the list.
+   */
+  private static void collect(Node node, List<String> names, int limit) {
+    if (node.names != null) {
+      for (String name : node.names) {
+        if (names.size() == limit) {
+          return;
+        }
+        names.add(name);
+      }
+    }
+    for (int i = 0; i < node.childCount && names.size() < limit; i++) {
+      collect(node.children[i], names, limit);
+    }
+  }
+
+  /**
+   * Removes a name, or every name with its canonical name, and removes the nodes that no
+   * longer lead to a name.
+   *
+   * @param name The name to remove.
+   * @param allNames <code>true</code> to remove every name with the same canonical name.
+   * @return The number of names that were removed.
+   */
+  private int remove(String name, boolean allNames) {
+    String key = key(name);
+    Node[] path = new Node[key.length() + 1];
+    path[0] = root;
+    for (int i = 0; i < key.length(); i++) {
+      path[i + 1] = path[i].child(key.charAt(i));
+      if (path[i + 1] == null) {
+        return 0;
+      }
+    }
+    Node node = path[key.length()];
+    if (node.names == null) {
+      return 0;
+    }
+    int removed;
+    if (allNames) {
+      removed = node.names.size();
+      node.names.clear();
+    } else {
+      removed = node.names.remove(name) ? 1 : 0;
+    }
+    if (node.names.isEmpty()) {
+      node.names = null;
+    }
+    for (int i = key.length(); i > 0 && path[i].names == null && path[i].childCount == 0; i--) {
+      path[i - 1].removeChild(key.charAt(i - 1));
+    }
+    size -= removed;
+    return removed;
+  }
+
+  /**
+   * Finds the node of a canonical name.
+   *
+   * @param key The canonical name.
+   * @return The node, or <code>null</code> if no name starts with the key.
+   */
+  private Node find(String key) {
+    Node node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = node.child(key.charAt(i));
+    }
+    return node;
+  }
+
+  /**
+   * Folds a name into the form it is stored under.
+   *
+   * @param name The name to fold.
+   * @return The canonical name.
+   * @throws IllegalArgumentException if the name is null.
+   */
+  private static String key(String name) {
+    if (name == null) {
+      throw new IllegalArgumentException("The name cannot be null.");
+    }
+    return canonicalName(name);
+  }
+
+  /**
+   * Validates the highest number of names to return.
+   *
+   * @param limit The limit to validate.
+   * @throws IllegalArgumentException if the limit is not positive.
+   */
+  private static void validateLimit(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("The limit must be positive.");
+    }
+  }
+
+  /**
+   * A name found by <code>closeTo</code>, with its edit distance.
+   *
+   * @param name The name.
+   * @param distance The edit distance.
+   */
+  private record Match(String name, int distance) {
+  }
+
+  /**
+   * A node of the trie, with its children sorted by character.
+   */
+  private static final class Node {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private char[] keys = NO_KEYS;
+    private Node[] children = NO_CHILDREN;
+    private int childCount;
+    private List<String> names; // Null unless a name ends here
+
+    /**
+     * Finds the child reached by a character.
+     *
+     * @param character The character.
+     * @return The child, or <code>null</code> if there is none.
+     */
+    private Node child(char character) {
+      int index = Arrays.binarySearch(keys, 0, childCount, character);
+      return index >= 0 ? children[index] : null;
+    }
+
+    /**
+     * Finds the child reached by a character, and creates it if there is none.
+     *
+     * @param character The character.
+     * @return The child.
+     */
+    private Node childOrCreate(char character) {
+      int index = Arrays.binarySearch(keys, 0, childCount, character);
+      if (index >= 0) {
+        return children[index];
+      }
+      int insertAt = -index - 1;
+      if (childCount == keys.length) {
+        int capacity = Math.max(2, childCount * 2);
+        keys = Arrays.copyOf(keys, capacity);
+        children = Arrays.copyOf(children, capacity);
+      }
+      System.arraycopy(keys, insertAt, keys, insertAt + 1, childCount - insertAt);
+      System.arraycopy(children, insertAt, children, insertAt + 1, childCount - insertAt);
+      Node child = new Node();
+      keys[insertAt] = character;
+      children[insertAt] = child;
+      childCount++;
+      return child;
+    }
+
+    /**
+     * Removes the child reached by a character.
+     *
+     * @param character The character.
+     */
+    private void removeChild(char character) {
+      int index = Arrays.binarySearch(keys, 0, childCount, character);
+      if (index >= 0) {
+        System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+        System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+        childCount--;
+        children[childCount] = null;
+      }
+    }
+  }
+}
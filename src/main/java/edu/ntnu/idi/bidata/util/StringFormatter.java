@@ -1,5 +1,8 @@
 package edu.ntnu.idi.bidata.util;
 
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Utility class for string formatting operations.
  * Provides methods to normalize strings by trimming whitespace,
@@ -39,5 +42,31 @@ public class StringFormatter {
     return Character.toUpperCase(input.charAt(0)) + input.substring(1);
   }
 
+  /**
+   * Canonical name method.
+   * Folds the string into the form used as key when looking up groceries and ingredients,
+   * by trimming whitespace and converting text to lowercase.
+   * Names that only differ in case or surrounding whitespace will share the same key.
+   *
+   * @param input The input to fold.
+   * @return Canonical form of the string.
+   */
+  public static String canonicalName(String input) {
+    return input.trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Suggestion method.
+   * Formats names that are close to a name that was not found, as a question to the user.
+   *
+   * @param names The names to suggest.
+   * @return The question, or an empty string if there are no names.
+   */
+  public static String suggestions(List<String> names) {
+    if (names.isEmpty()) {
+      return "";
+    }
+    return "Did you mean: " + String.join(", ", names) + "?";
+  }
 
 }
@@ -60,6 +60,22 @@ class GroceryTest {
     assertThrows(IllegalArgumentException.class, ()-> grocery.setQuantity(value));
   }
 
+  /**
+   * This is a negative test for the constructor and the <code>setQuantity</code> and
+   * <code>setPrice</code> methods, with numbers that are too large to be held.
+   * @throws IllegalArgumentException should be thrown, and the grocery should be left unchanged.
+   */
+  @Test
+  void numberTooLargeNegativeTest() {
+    BigDecimal tooLarge = new BigDecimal("1e30");
+
+    assertThrows(IllegalArgumentException.class, () -> grocery.setQuantity(tooLarge));
+    assertThrows(IllegalArgumentException.class, () -> grocery.setPrice(tooLarge));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Grocery(tooLarge, "Milk", "liter", BigDecimal.ONE, "2024-12-10"));
+    assertEquals(0, BigDecimal.valueOf(3).compareTo(grocery.getQuantity()));
+  }
+
   /**
    * This is a positive test for the <code>setName</code> method.
    * This test will set a valid input, and is expected to return the correct output when calling <code>getName</code>.
@@ -112,7 +128,7 @@ class GroceryTest {
   void setUnitOfMeasurementPositiveTest() {
     grocery.setUnit("Kilogram");
 
-    assertEquals("Kilogram", grocery.getUnit());
+    assertEquals(Unit.KILOGRAM, grocery.getUnit());
   }
 
   /**
@@ -0,0 +1,64 @@
+package edu.ntnu.idi.bidata.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for <code>Unit</code>.
+ * Checks that text input is turned into the shared instance of each unit.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class UnitTest {
+
+  /**
+   * This is a positive test for the <code>fromString</code> method.
+   * Will check that the lookup ignores case and surrounding whitespace.
+   */
+  @Test
+  void fromStringPositiveTest() {
+    assertSame(Unit.LITER, Unit.fromString("liter"));
+    assertSame(Unit.KILOGRAM, Unit.fromString(" Kilogram "));
+    assertSame(Unit.PCS, Unit.fromString("PCS"));
+    assertEquals("Kilogram", Unit.KILOGRAM.toString());
+  }
+
+  /**
+   * This is a negative test for the <code>fromString</code> method.
+   * @throws IllegalArgumentException should be thrown, because the input is not a unit.
+   */
+  @Test
+  void fromStringNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> Unit.fromString("gallon"));
+    assertThrows(IllegalArgumentException.class, () -> Unit.fromString(""));
+    assertThrows(IllegalArgumentException.class, () -> Unit.fromString(null));
+  }
+
+  /**
+   * This is a positive test for the <code>toBase</code> and <code>fromBase</code> methods.
+   * Will check that kilogram is converted to gram and back, rounding half up,
+   * or up when asked for.
+   */
+  @Test
+  void toBasePositiveTest() {
+    assertEquals(125_000, Unit.KILOGRAM.toBase(125));
+    assertEquals(Dimension.MASS, Unit.GRAM.getDimension());
+    assertEquals(75, Unit.KILOGRAM.fromBase(75_000));
+    assertEquals(92, Unit.KILOGRAM.fromBase(91_700));
+    assertEquals(1, Unit.KILOGRAM.fromBaseRoundedUp(400));
+    assertEquals(0, Unit.KILOGRAM.fromBase(400));
+    assertEquals(75, Unit.KILOGRAM.fromBaseRoundedUp(75_000));
+    assertSame(Unit.MILLILITER, Unit.fromString("ml"));
+  }
+
+  /**
+   * This is a negative test for the <code>toBase</code> method.
+   * @throws IllegalArgumentException should be thrown, because the result is too large to be held.
+   */
+  @Test
+  void toBaseNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> Unit.LITER.toBase(Long.MAX_VALUE / 10));
+  }
+}
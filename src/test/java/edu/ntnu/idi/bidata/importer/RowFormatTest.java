@@ -0,0 +1,50 @@
+package edu.ntnu.idi.bidata.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>RowFormat</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class RowFormatTest {
+
+  /**
+   * Positive test for <code>split</code>.
+   * Will check plain and quoted CSV fields, empty fields, and TSV fields.
+   */
+  @Test
+  void splitPositiveTest() {
+    assertEquals(List.of("Milk", "2", "liter"), RowFormat.CSV.split("Milk,2,liter"));
+    assertEquals(List.of("Rice, white", "He said \"boil\"", ""),
+        RowFormat.CSV.split("\"Rice, white\",\"He said \"\"boil\"\"\","));
+    assertEquals(List.of("", "", ""), RowFormat.CSV.split(",,"));
+    assertEquals(List.of("Rice, white", "1,5", "\"kg\""), RowFormat.TSV.split("Rice, white\t1,5\t\"kg\""));
+  }
+
+  /**
+   * Negative test for <code>split</code>.
+   * @throws IllegalArgumentException should be thrown, because the quoted fields are broken.
+   */
+  @Test
+  void splitNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> RowFormat.CSV.split("\"Milk,2"));
+    assertThrows(IllegalArgumentException.class, () -> RowFormat.CSV.split("\"Milk\"x,2"));
+  }
+
+  /**
+   * Positive test for <code>fromPath</code>.
+   */
+  @Test
+  void fromPathPositiveTest() {
+    assertEquals(RowFormat.TSV, RowFormat.fromPath(Path.of("export", "receipt.TSV")));
+    assertEquals(RowFormat.CSV, RowFormat.fromPath(Path.of("recipes.csv")));
+    assertThrows(IllegalArgumentException.class, () -> RowFormat.fromPath(null));
+  }
+}
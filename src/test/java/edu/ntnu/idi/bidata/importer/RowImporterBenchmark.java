@@ -0,0 +1,87 @@
+package edu.ntnu.idi.bidata.importer;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Benchmark that measures the throughput of a grocery import.
+ * A CSV file with a million rows is written to a temporary folder, and imported into an empty
+ * storage with one worker and with one worker per processor. Every hundredth row is invalid,
+ * so the error path is measured as well.
+ * The class is not a unit test, and is run by hand through its main method.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class RowImporterBenchmark {
+  private static final int ROWS = 1_000_000;
+  private static final int NAMES = 5_000;
+  private static final int WARMUP_ROUNDS = 2;
+  private static final int MEASURED_ROUNDS = 3;
+
+  private RowImporterBenchmark() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Runs the benchmark and prints the rows per second of each setup.
+   *
+   * @param args Not used.
+   * @throws IOException if the file can not be written or read.
+   */
+  public static void main(String[] args) throws IOException {
+    Path file = Files.createTempFile("receipts", ".csv");
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write("name,quantity,unit,price,expiry date\n");
+      LocalDate firstDate = LocalDate.of(2025, 1, 1);
+      for (int i = 0; i < ROWS; i++) {
+        String quantity = i % 100 == 99 ? "many" : (1 + i % 37) + ".5";
+        writer.write("Grocery" + (i % NAMES) + "," + quantity + ",kg," + (10 + i % 91) + ".25,"
+            + firstDate.plusDays(i % 365) + "\n");
+      }
+    }
+    System.out.printf("file: %d kB, %d rows%n", Files.size(file) / 1024, ROWS);
+
+    int processors = Runtime.getRuntime().availableProcessors();
+    report(file, 1);
+    if (processors > 1) {
+      report(file, processors);
+    }
+    Files.delete(file);
+  }
+
+  /**
+   * Imports the file a few times to warm up, then measures it and prints the throughput.
+   *
+   * @param file The file to import.
+   * @param threads The number of worker threads.
+   * @throws IOException if the file can not be read.
+   */
+  private static void report(Path file, int threads) throws IOException {
+    RowImporter<Grocery> importer = new RowImporter<>(
+        new GroceryRowParser(), RowFormat.CSV, true, threads, 1_000, 2 * threads);
+    double rowsPerSecond = 0;
+    long rejected = 0;
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      FoodStorage foodStorage = new FoodStorage();
+      ImportSummary summary;
+      try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+        summary = importer.importRows(reader, RowImporter.into(foodStorage), error -> { });
+      }
+      if (round >= WARMUP_ROUNDS) {
+        rowsPerSecond += summary.getRowsPerSecond() / MEASURED_ROUNDS;
+        rejected = summary.getRowsRejected();
+      }
+    }
+    System.out.printf("%2d worker(s): %,12.0f rows/s (%d rejected)%n",
+        threads, rowsPerSecond, rejected);
+  }
+}
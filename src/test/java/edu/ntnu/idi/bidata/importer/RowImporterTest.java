@@ -0,0 +1,180 @@
+package edu.ntnu.idi.bidata.importer;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>RowImporter</code>, <code>GroceryRowParser</code>
+ * and <code>RecipeRowParser</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class RowImporterTest {
+
+  /**
+   * Positive test for importing groceries.
+   * Will check that valid rows are added, and that every invalid row is reported with its number.
+   */
+  @Test
+  void importGroceriesPositiveTest() throws IOException {
+    String rows = "\uFEFFname,quantity,unit,price,expiry date\n"
+        + "Milk,2,liter,40,2024-12-10\n"
+        + "\n"
+        + "\"Rice, white\",1.25,kg,50,2025-01-01\n"
+        + "Ham,three,pcs,60,2024-12-20\n"
+        + "Ham,3,pcs,60,2024-13-20\n"
+        + "Ham,3,bucket,60,2024-12-20\n"
+        + "Ham,3,pcs,60\n";
+    FoodStorage foodStorage = new FoodStorage();
+    List<RowError> errors = new ArrayList<>();
+
+    ImportSummary summary = new RowImporter<>(new GroceryRowParser(), RowFormat.CSV, true, 2, 2, 1)
+        .importRows(reader(rows), RowImporter.into(foodStorage), errors::add);
+
+    assertEquals(6, summary.getRowsRead());
+    assertEquals(2, summary.getRowsImported());
+    assertEquals(4, summary.getRowsRejected());
+    assertEquals(List.of(5L, 6L, 7L, 8L), errors.stream().map(RowError::getRowNumber).toList());
+    assertEquals("Row 5: The quantity is not a number.", errors.getFirst().toString());
+    assertEquals(0, BigDecimal.valueOf(90).compareTo(foodStorage.valueOfAllGroceries()));
+    assertTrue(foodStorage.isGroceryAvailable("Rice, white", BigDecimal.valueOf(1250), Unit.GRAM));
+  }
+
+  /**
+   * Negative test for importing a grocery row with a number that is too large to be held.
+   * Will check that the row is reported, and that the valid rows around it are still added.
+   */
+  @Test
+  void importGroceriesNumberTooLargeNegativeTest() throws IOException {
+    String rows = "name,quantity,unit,price,expiry date\n"
+        + "Milk,2,liter,40,2030-01-01\n"
+        + "Huge,1e30,liter,10,2030-01-01\n"
+        + "Rice,1,kg,50,2030-01-01\n";
+    FoodStorage foodStorage = new FoodStorage();
+    List<RowError> errors = new ArrayList<>();
+
+    ImportSummary summary = new RowImporter<>(new GroceryRowParser(), RowFormat.CSV, true, 1, 3, 1)
+        .importRows(reader(rows), RowImporter.into(foodStorage), errors::add);
+
+    assertEquals(2, summary.getRowsImported());
+    assertEquals(List.of(3L), errors.stream().map(RowError::getRowNumber).toList());
+    assertEquals(0, BigDecimal.valueOf(90).compareTo(foodStorage.valueOfAllGroceries()));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Huge"));
+  }
+
+  /**
+   * Negative test for importing groceries into a storage that can not hold a row.
+   * The milk already in storage is so large that one more liter is too much, so the batch is
+   * rejected. Will check that only the milk row is reported, and the rest of the batch is added.
+   */
+  @Test
+  void importGroceriesTooLargeNegativeTest() throws IOException {
+    String rows = "name,quantity,unit,price,expiry date\n"
+        + "Rice,1,kg,50,2025-01-01\n"
+        + "Milk,1,liter,20,2024-12-10\n"
+        + "Ham,3,pcs,60,2024-12-20\n";
+    FoodStorage foodStorage = new FoodStorage();
+    foodStorage.addGrocery(new Grocery(Long.MAX_VALUE / 1000, "Milk", Unit.LITER, 100, LocalDate.of(2024, 12, 10)));
+    List<RowError> errors = new ArrayList<>();
+
+    ImportSummary summary = new RowImporter<>(new GroceryRowParser(), RowFormat.CSV, true, 1, 3, 1)
+        .importRows(reader(rows), RowImporter.into(foodStorage), errors::add);
+
+    assertEquals(2, summary.getRowsImported());
+    assertEquals(1, summary.getRowsRejected());
+    assertEquals(List.of(3L), errors.stream().map(RowError::getRowNumber).toList());
+    assertEquals(0, BigDecimal.valueOf(111).compareTo(foodStorage.valueOfAllGroceries()));
+    assertTrue(foodStorage.isGroceryAvailable("Ham", BigDecimal.valueOf(3), Unit.PCS));
+  }
+
+  /**
+   * Positive test for importing recipes from TSV.
+   * Will check that ingredients are parsed, and that a recipe with a name already in the
+   * cookbook is reported by the sink.
+   */
+  @Test
+  void importRecipesPositiveTest() throws IOException {
+    String rows = "Rice bowl\tA bowl of rice\tBoil the rice.\t2\tRice:0.25:kilogram;Milk:200:ml\n"
+        + "Rice bowl\tAnother bowl\tBoil it.\t1\tRice:0.5:kg\n"
+        + "Milk\tA glass\tPour.\t0\tMilk:200:ml\n"
+        + "Toast\tBread\tToast it.\t1\tBread 2 pcs\n";
+    CookBook cookBook = new CookBook();
+    List<RowError> errors = new ArrayList<>();
+
+    ImportSummary summary = new RowImporter<>(new RecipeRowParser(), RowFormat.TSV, false)
+        .importRows(reader(rows), RowImporter.into(cookBook), errors::add);
+
+    assertEquals(1, summary.getRowsImported());
+    assertEquals(List.of(3L, 4L, 2L), errors.stream().map(RowError::getRowNumber).toList());
+    Recipe recipe = cookBook.getRecipe("Rice bowl");
+    assertEquals(2, recipe.getAmountOfServings());
+    assertEquals(Unit.MILLILITER, recipe.getIngredients().get("Milk").getValue());
+  }
+
+  /**
+   * Positive test for the order of a long import.
+   * Many small batches are parsed by several workers, and the batches must still reach the sink
+   * in the order they were read.
+   */
+  @Test
+  void importOrderPositiveTest() throws IOException {
+    StringBuilder rows = new StringBuilder();
+    for (int i = 1; i <= 10_000; i++) {
+      rows.append("Grocery").append(i).append(",1,pcs,1,2025-01-01\n");
+    }
+    List<Long> rowNumbers = new ArrayList<>();
+    RowImporter.RowSink<Grocery> sink = (batch, errors) -> {
+      for (int i = 0; i < batch.size(); i++) {
+        assertEquals("Grocery" + batch.getRowNumber(i), batch.getValues().get(i).getName());
+        rowNumbers.add(batch.getRowNumber(i));
+      }
+    };
+
+    ImportSummary summary = new RowImporter<>(new GroceryRowParser(), RowFormat.CSV, false, 4, 7, 3)
+        .importRows(reader(rows.toString()), sink, error -> fail(error.toString()));
+
+    assertEquals(10_000, summary.getRowsImported());
+    for (int i = 0; i < rowNumbers.size(); i++) {
+      assertEquals(i + 1, rowNumbers.get(i));
+    }
+  }
+
+  /**
+   * Negative test for the constructor of <code>RowImporter</code>.
+   * @throws IllegalArgumentException should be thrown, because the arguments are invalid.
+   */
+  @Test
+  void constructorNegativeTest() {
+    GroceryRowParser parser = new GroceryRowParser();
+    assertThrows(IllegalArgumentException.class, () -> new RowImporter<>(null, RowFormat.CSV, true));
+    assertThrows(IllegalArgumentException.class, () -> new RowImporter<>(parser, null, true));
+    assertThrows(IllegalArgumentException.class, () -> new RowImporter<>(parser, RowFormat.CSV, true, 0, 1, 1));
+    assertThrows(IllegalArgumentException.class, () -> new RowImporter<>(parser, RowFormat.CSV, true, 1, 1, 0));
+  }
+
+  /**
+   * Wraps text in a reader.
+   *
+   * @param rows The rows to read.
+   * @return A reader of the rows.
+   */
+  private static BufferedReader reader(String rows) {
+    return new BufferedReader(new StringReader(rows));
+  }
+}
@@ -0,0 +1,206 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>Checkpointer</code>.
+ * Changes are made with a checkpointer attached, and the storage is then restored from the
+ * snapshot and the compacted journal, the same way the application starts.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class CheckpointerTest {
+  @TempDir
+  Path folder;
+  private Path journalPath;
+  private Path snapshotPath;
+
+  /**
+   * Sets up the paths of the journal and the snapshot before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    journalPath = folder.resolve("test.journal");
+    snapshotPath = folder.resolve("test.snapshot");
+  }
+
+  /**
+   * Positive test for checkpoints started by the number of bytes written.
+   * Every commit makes a checkpoint due, so the checkpoints run in the background while
+   * later changes are written. Checkpoints are only asked for after a commit, as between
+   * commands. Will check that the restored storage matches the one that was changed,
+   * and that the journal was compacted once per checkpoint.
+   */
+  @Test
+  void checkpointByBytesPositiveTest() throws IOException {
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal();
+         Checkpointer checkpointer = attach(journal, foodStorage, cookBook, 1, Duration.ofHours(1))) {
+      for (int day = 0; day < 50; day++) {
+        String expiryDate = LocalDate.of(2025, 1, 1).plusDays(day).toString();
+        foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), expiryDate));
+        foodStorage.removeGrocery("Milk", BigDecimal.ONE, Unit.LITER);
+        journal.commit(); // Once per day, as the main menu commits once per command
+        checkpointer.checkpointIfDue();
+      }
+      cookBook.addRecipe(new Recipe("Milk", "A glass of milk", "Pour the milk.",
+          Map.of("Milk", new SimpleEntry<>(BigDecimal.valueOf(200), Unit.MILLILITER)), 1));
+      checkpointer.checkpointIfDue(); // Not committed, so no checkpoint is started
+      journal.commit();
+      checkpointer.awaitCheckpoint();
+      assertTrue(checkpointer.getCheckpointCount() > 0);
+      assertNull(checkpointer.getLastFailure());
+      assertEquals(checkpointer.getCheckpointCount(), journal.getEpoch());
+    }
+
+    FoodStorage restoredStorage = new FoodStorage();
+    CookBook restoredCookBook = new CookBook();
+    restore(restoredStorage, restoredCookBook);
+    assertEquals(0, foodStorage.valueOfAllGroceries().compareTo(restoredStorage.valueOfAllGroceries()));
+    assertEquals(0, BigDecimal.valueOf(1000).compareTo(restoredStorage.valueOfAllGroceries()));
+    assertEquals(foodStorage.getAllGroceries().size(), restoredStorage.getAllGroceries().size());
+    assertEquals("Pour the milk.", restoredCookBook.getRecipe("Milk").getCookingInstructions());
+  }
+
+  /**
+   * Positive test for <code>checkpoint</code>.
+   * No checkpoint is due, so nothing is written until the checkpoint is asked for, and it is
+   * refused while a change is not committed.
+   * Will check that the journal only holds the file header afterwards.
+   */
+  @Test
+  void checkpointPositiveTest() throws IOException {
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal();
+         Checkpointer checkpointer = attach(journal, foodStorage, cookBook, 1 << 20, Duration.ofHours(1))) {
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2025-01-01"));
+      journal.commit();
+      checkpointer.checkpointIfDue();
+      assertEquals(0, checkpointer.getCheckpointCount());
+      assertFalse(Files.exists(snapshotPath));
+
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(30), "2025-01-01"));
+      assertThrows(IllegalStateException.class, checkpointer::checkpoint); // Not committed
+      journal.commit();
+      checkpointer.checkpoint();
+      assertEquals(1, checkpointer.getCheckpointCount());
+      assertEquals(1, journal.getEpoch());
+      assertEquals(Journal.FILE_HEADER_SIZE, Files.size(journalPath));
+    }
+
+    FoodStorage restoredStorage = new FoodStorage();
+    restore(restoredStorage, new CookBook());
+    assertEquals(0, BigDecimal.valueOf(70).compareTo(restoredStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Negative test for a checkpoint that fails in the background.
+   * The snapshot is written to a folder that does not exist. Will check that the failure is kept,
+   * and that the journal is left as it was, so every change can still be replayed.
+   */
+  @Test
+  void checkpointFailureNegativeTest() throws IOException {
+    snapshotPath = folder.resolve("missing").resolve("test.snapshot");
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal();
+         Checkpointer checkpointer = attach(journal, foodStorage, cookBook, 1, Duration.ofHours(1))) {
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2025-01-01"));
+      journal.commit();
+      checkpointer.checkpointIfDue();
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(30), "2025-01-01"));
+      checkpointer.awaitCheckpoint();
+
+      assertNotNull(checkpointer.getLastFailure());
+      assertEquals(0, checkpointer.getCheckpointCount());
+      assertEquals(0, journal.getEpoch());
+    }
+
+    FoodStorage restoredStorage = new FoodStorage();
+    restore(restoredStorage, new CookBook());
+    assertEquals(0, BigDecimal.valueOf(70).compareTo(restoredStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Negative test for the constructor of <code>Checkpointer</code>.
+   * @throws IllegalArgumentException should be thrown, because the arguments are invalid.
+   */
+  @Test
+  void constructorNegativeTest() throws IOException {
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal()) {
+      assertThrows(IllegalArgumentException.class,
+          () -> new Checkpointer(null, snapshotPath, foodStorage, cookBook, 1, Duration.ofHours(1)));
+      assertThrows(IllegalArgumentException.class,
+          () -> new Checkpointer(journal, snapshotPath, foodStorage, cookBook, 0, Duration.ofHours(1)));
+      assertThrows(IllegalArgumentException.class,
+          () -> new Checkpointer(journal, snapshotPath, foodStorage, cookBook, 1, Duration.ZERO));
+    }
+  }
+
+  /**
+   * Adds a recorder to the storage and the cookbook, and creates a checkpointer for them.
+   *
+   * @param journal The journal to write to.
+   * @param foodStorage The food storage.
+   * @param cookBook The cookbook.
+   * @param bytes The number of bytes between checkpoints.
+   * @param time The time between checkpoints.
+   * @return The checkpointer.
+   */
+  private Checkpointer attach(Journal journal, FoodStorage foodStorage, CookBook cookBook,
+                              long bytes, Duration time) {
+    JournalRecorder recorder = new JournalRecorder(journal);
+    Checkpointer checkpointer = new Checkpointer(journal, snapshotPath, foodStorage, cookBook, bytes, time);
+    foodStorage.addListener(recorder);
+    cookBook.addListener(recorder);
+    return checkpointer;
+  }
+
+  /**
+   * Loads the snapshot, if there is one, and replays the journal after it.
+   *
+   * @param foodStorage The food storage to restore into.
+   * @param cookBook The cookbook to restore into.
+   * @throws IOException if the files can not be read.
+   */
+  private void restore(FoodStorage foodStorage, CookBook cookBook) throws IOException {
+    JournalPosition covered = Files.exists(snapshotPath)
+        ? Snapshot.load(snapshotPath, foodStorage, cookBook) : JournalPosition.NONE;
+    try (Journal journal = openJournal()) {
+      JournalReplayer.replay(journal, foodStorage, cookBook, covered);
+    }
+  }
+
+  /**
+   * Opens the journal of the test.
+   *
+   * @return The opened journal.
+   * @throws IOException if the journal can not be opened.
+   */
+  private Journal openJournal() throws IOException {
+    return new Journal(journalPath, SyncPolicy.OS, Duration.ZERO);
+  }
+}
@@ -0,0 +1,357 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import edu.ntnu.idi.bidata.register.UnitConverter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>Journal</code>, <code>JournalRecorder</code> and <code>JournalReplayer</code>.
+ * Changes are recorded to a journal in a temporary folder, and replayed into a new storage.
+ * The recovery tests damage the journal the way a crash would, and check that startup still works.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class JournalTest {
+  private static final LocalDate USED_ON = LocalDate.of(2024, 12, 5);
+  @TempDir
+  Path folder;
+  private Path journalPath;
+
+  /**
+   * Sets up the path of the journal before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    journalPath = folder.resolve("test.journal");
+  }
+
+  /**
+   * Positive test for <code>replay</code>.
+   * Will record changes to a storage and a cookbook, and check that a replay restores them.
+   */
+  @Test
+  void replayPositiveTest() throws IOException {
+    recordChanges(SyncPolicy.EVERY_COMMIT);
+
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(5, JournalReplayer.replay(journal, foodStorage, cookBook));
+    }
+
+    assertEquals(0, BigDecimal.valueOf(1.5).compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(0.75).compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(60).compareTo(foodStorage.valueOfAllGroceries()));
+    assertEquals(Unit.KILOGRAM, cookBook.getRecipe("Rice bowl").getIngredients().get("Rice").getValue());
+  }
+
+  /**
+   * Positive test for <code>replay</code> on a later day.
+   * Will record removals on one day and replay them with a clock on another day, and check that
+   * what was used is counted on the day it was recorded, and not on the day of the replay.
+   */
+  @Test
+  void replayKeepsDayOfUsePositiveTest() throws IOException {
+    recordChanges(SyncPolicy.EVERY_COMMIT, storageOn(USED_ON));
+
+    LocalDate replayDay = USED_ON.plusDays(30);
+    FoodStorage foodStorage = storageOn(replayDay);
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(5, JournalReplayer.replay(journal, foodStorage, new CookBook()));
+    }
+
+    assertEquals(List.of(USED_ON),
+        List.copyOf(foodStorage.getUsageRollups().getDailyTotals(USED_ON, replayDay).keySet()));
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(foodStorage.getUsageRollups()
+        .getTotalsByUnit(USED_ON, USED_ON).get(Unit.KILOGRAM).getConsumedQuantity()));
+  }
+
+  /**
+   * Recovery test that cuts the journal in the middle of the last record, as a crash during
+   * a write would. Will check that the records before it are replayed, that the torn record is
+   * dropped, and that later records can be written and replayed.
+   */
+  @Test
+  void replayTruncatedRecordTest() throws IOException {
+    recordChanges(SyncPolicy.INTERVAL);
+    try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+      channel.truncate(channel.size() - 5);
+    }
+
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal(SyncPolicy.INTERVAL)) {
+      assertEquals(4, JournalReplayer.replay(journal, foodStorage, cookBook));
+      foodStorage.addListener(new JournalRecorder(journal));
+      foodStorage.removeGrocery("Milk", BigDecimal.ONE, Unit.LITER);
+    }
+
+    FoodStorage restoredStorage = new FoodStorage();
+    try (Journal journal = openJournal(SyncPolicy.INTERVAL)) {
+      assertEquals(5, JournalReplayer.replay(journal, restoredStorage, new CookBook()));
+    }
+    assertThrows(NoSuchElementException.class, () -> cookBook.getRecipe("Rice bowl"));
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(restoredStorage.searchGrocery("Milk").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(0.75).compareTo(restoredStorage.searchGrocery("Rice").getFirst().getQuantity()));
+  }
+
+  /**
+   * Recovery test that changes a byte inside the payload of the second record.
+   * Will check that replay stops at the record that does not match its checksum.
+   */
+  @Test
+  void replayCorruptChecksumTest() throws IOException {
+    recordChanges(SyncPolicy.OS);
+    long secondRecord = offsetOfRecord(1);
+    try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {(byte) 0x7f}), secondRecord + Journal.HEADER_SIZE + 2);
+    }
+
+    FoodStorage foodStorage = new FoodStorage();
+    try (Journal journal = openJournal(SyncPolicy.OS)) {
+      assertEquals(1, JournalReplayer.replay(journal, foodStorage, new CookBook()));
+    }
+    assertEquals(0, BigDecimal.valueOf(2).compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+  }
+
+  /**
+   * Positive test for <code>commit</code> of <code>JournalRecorder</code>.
+   * Will record several changes, and check that nothing is written until the recorder commits,
+   * and that the commit writes every change.
+   */
+  @Test
+  void recorderCommitPositiveTest() throws IOException {
+    FoodStorage foodStorage = new FoodStorage();
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      JournalRecorder recorder = new JournalRecorder(journal);
+      foodStorage.addListener(recorder);
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2024-12-10"));
+      foodStorage.removeGrocery("Milk", BigDecimal.valueOf(0.5), Unit.LITER);
+      assertEquals(0, journal.getBytesWritten());
+      assertEquals(Journal.FILE_HEADER_SIZE, journal.getPosition().getOffset());
+
+      recorder.commit();
+      assertTrue(journal.getBytesWritten() > 0);
+      assertEquals(Journal.FILE_HEADER_SIZE + journal.getBytesWritten(), journal.getPosition().getOffset());
+      long written = journal.getBytesWritten();
+      recorder.commit();
+      assertEquals(written, journal.getBytesWritten());
+    }
+
+    FoodStorage restoredStorage = new FoodStorage();
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(2, JournalReplayer.replay(journal, restoredStorage, new CookBook()));
+    }
+    assertEquals(0, BigDecimal.valueOf(1.5).compareTo(restoredStorage.searchGrocery("Milk").getFirst().getQuantity()));
+  }
+
+  /**
+   * Recovery test with a record that converts between dimensions.
+   * Will check that the record is skipped, and the records after it replayed, if the density
+   * is missing, and that it is applied when the density is added before the replay.
+   */
+  @Test
+  void replaySkipsFailingRecordTest() throws IOException {
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      journal.append(RecordType.GROCERY_ADDED, JournalCodec.encodeGrocery(
+          new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2024-12-10")));
+      journal.append(RecordType.INGREDIENTS_REMOVED, JournalCodec.encodeIngredients(USED_ON,
+          Map.of("Milk", new SimpleEntry<>(BigDecimal.valueOf(500), Unit.GRAM))));
+      journal.append(RecordType.RECIPE_REMOVED, JournalCodec.encodeName("Rice bowl"));
+      journal.append(RecordType.GROCERY_REMOVED, JournalCodec.encodeRemoval(USED_ON, "Milk", BigDecimal.ONE, Unit.LITER));
+      journal.commit();
+    }
+
+    FoodStorage foodStorage = new FoodStorage();
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(4, JournalReplayer.replay(journal, foodStorage, new CookBook()));
+    }
+    assertEquals(0, BigDecimal.ONE.compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+
+    FoodStorage convertingStorage = new FoodStorage();
+    convertingStorage.getUnitConverter().setDensity("Milk", BigDecimal.ONE);
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(4, JournalReplayer.replay(journal, convertingStorage, new CookBook()));
+    }
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(convertingStorage.searchGrocery("Milk").getFirst().getQuantity()));
+  }
+
+  /**
+   * Positive test for <code>compact</code>.
+   * Will compact the journal before the third record, and check that only the records from
+   * there on are kept, under the new epoch, and that new records are written after them.
+   */
+  @Test
+  void compactPositiveTest() throws IOException {
+    recordChanges(SyncPolicy.EVERY_COMMIT);
+    long thirdRecord = offsetOfRecord(2);
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      journal.compact(thirdRecord, 1);
+      assertEquals(1, journal.getEpoch());
+      assertThrows(IllegalArgumentException.class, () -> journal.compact(Journal.FILE_HEADER_SIZE, 1));
+      journal.append(RecordType.RECIPE_REMOVED, JournalCodec.encodeName("Rice bowl"));
+    }
+
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2024-12-10"));
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(1.25), "Rice", "kilogram", BigDecimal.valueOf(50), "2025-01-01"),
+        new Grocery(BigDecimal.valueOf(3), "Ham", "pcs", BigDecimal.valueOf(60), "2024-12-20")));
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(1, journal.getEpoch());
+      assertEquals(4, JournalReplayer.replay(journal, foodStorage, cookBook));
+    }
+    assertEquals(0, BigDecimal.valueOf(1.5).compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(0.75).compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+    assertThrows(NoSuchElementException.class, () -> cookBook.getRecipe("Rice bowl"));
+  }
+
+  /**
+   * Positive test for <code>compact</code> while a record is appended but not committed.
+   * Will check that the record is not written by the compaction, and that it is written after
+   * the kept records by the next commit.
+   */
+  @Test
+  void compactKeepsPendingRecordsPositiveTest() throws IOException {
+    recordChanges(SyncPolicy.EVERY_COMMIT);
+    long thirdRecord = offsetOfRecord(2);
+    long size = Files.size(journalPath);
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      journal.append(RecordType.RECIPE_REMOVED, JournalCodec.encodeName("Rice bowl"));
+      journal.compact(thirdRecord, 1);
+      assertTrue(journal.hasPendingRecords());
+      assertEquals(Journal.FILE_HEADER_SIZE + size - thirdRecord, Files.size(journalPath));
+
+      journal.commit();
+      assertFalse(journal.hasPendingRecords());
+    }
+
+    CookBook cookBook = new CookBook();
+    cookBook.addRecipe(new Recipe("Rice bowl", "A bowl of rice", "Boil the rice.",
+        Map.of("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM)), 1));
+    try (Journal journal = openJournal(SyncPolicy.EVERY_COMMIT)) {
+      assertEquals(4, JournalReplayer.replay(journal, storageOn(USED_ON), cookBook));
+    }
+    assertThrows(NoSuchElementException.class, () -> cookBook.getRecipe("Rice bowl"));
+  }
+
+  /**
+   * Negative test for the constructor of <code>Journal</code>.
+   * @throws IllegalArgumentException should be thrown, because the arguments are invalid.
+   */
+  @Test
+  void constructorNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> new Journal(null, SyncPolicy.OS, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> new Journal(journalPath, null, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Journal(journalPath, SyncPolicy.INTERVAL, Duration.ofSeconds(-1)));
+  }
+
+  /**
+   * Records five changes to a new storage and cookbook:
+   * milk is added, a batch of rice and ham is added, half a liter of milk and the ham are removed,
+   * and a recipe is added last.
+   *
+   * @param syncPolicy The sync policy of the journal.
+   * @throws IOException if the journal can not be written.
+   */
+  private void recordChanges(SyncPolicy syncPolicy) throws IOException {
+    recordChanges(syncPolicy, new FoodStorage());
+  }
+
+  /**
+   * Records the five changes of <code>recordChanges</code> to the given storage.
+   *
+   * @param syncPolicy The sync policy of the journal.
+   * @param foodStorage The empty storage to record the changes to.
+   * @throws IOException if the journal can not be written.
+   */
+  private void recordChanges(SyncPolicy syncPolicy, FoodStorage foodStorage) throws IOException {
+    CookBook cookBook = new CookBook();
+    try (Journal journal = openJournal(syncPolicy)) {
+      JournalRecorder recorder = new JournalRecorder(journal);
+      foodStorage.addListener(recorder);
+      cookBook.addListener(recorder);
+
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2024-12-10"));
+      foodStorage.addGroceries(List.of(
+          new Grocery(BigDecimal.valueOf(1.25), "Rice", "kilogram", BigDecimal.valueOf(50), "2025-01-01"),
+          new Grocery(BigDecimal.valueOf(3), "Ham", "pcs", BigDecimal.valueOf(60), "2024-12-20")));
+      foodStorage.removeIngredients(Map.of(
+          "milk", new SimpleEntry<>(BigDecimal.valueOf(500), Unit.MILLILITER),
+          "Ham", new SimpleEntry<>(BigDecimal.valueOf(3), Unit.PCS)));
+      foodStorage.removeGrocery("Rice", BigDecimal.valueOf(0.5), Unit.KILOGRAM);
+      cookBook.addRecipe(new Recipe("Rice bowl", "A bowl of rice", "Boil the rice.",
+          Map.of("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM)), 1));
+    }
+  }
+
+  /**
+   * Finds the offset of a record in the journal file, by following the length of every record
+   * before it.
+   *
+   * @param index The index of the record, zero for the first.
+   * @return The offset of the record.
+   * @throws IOException if the journal can not be read.
+   */
+  private long offsetOfRecord(int index) throws IOException {
+    long offset = Journal.FILE_HEADER_SIZE;
+    try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+      for (int i = 0; i < index; i++) {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        channel.read(length, offset);
+        offset += Journal.HEADER_SIZE + length.flip().getInt();
+      }
+    }
+    return offset;
+  }
+
+  /**
+   * Creates an empty storage whose clock is fixed on the given day.
+   *
+   * @param today The day of the clock.
+   * @return The storage.
+   */
+  private static FoodStorage storageOn(LocalDate today) {
+    return new FoodStorage(new UnitConverter(),
+        Clock.fixed(today.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+  }
+
+  /**
+   * Opens the journal of the test.
+   *
+   * @param syncPolicy The sync policy of the journal.
+   * @return The opened journal.
+   * @throws IOException if the journal can not be opened.
+   */
+  private Journal openJournal(SyncPolicy syncPolicy) throws IOException {
+    return new Journal(journalPath, syncPolicy, Duration.ofMillis(100));
+  }
+}
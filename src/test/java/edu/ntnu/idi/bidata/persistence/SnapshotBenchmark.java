@@ -0,0 +1,134 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Benchmark that compares startup from a full journal with startup from a snapshot.
+ * A large storage and cookbook are recorded to a journal one change at a time, and written
+ * to a snapshot. Both are then loaded into empty ones several times, and the time is printed.
+ * The class is not a unit test, and is run by hand through its main method.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class SnapshotBenchmark {
+  private static final int NAMES = 2_000;
+  private static final int LOTS = 200_000;
+  private static final int RECIPES = 20_000;
+  private static final int WARMUP_ROUNDS = 3;
+  private static final int MEASURED_ROUNDS = 5;
+
+  private SnapshotBenchmark() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Runs the benchmark and prints the time of each way to start.
+   *
+   * @param args Not used.
+   * @throws IOException if the files can not be written or read.
+   */
+  public static void main(String[] args) throws IOException {
+    Path folder = Files.createTempDirectory("snapshot-benchmark");
+    Path journalPath = folder.resolve("benchmark.journal");
+    Path snapshotPath = folder.resolve("benchmark.snapshot");
+
+    FoodStorage foodStorage = new FoodStorage();
+    CookBook cookBook = new CookBook();
+    try (Journal journal = new Journal(journalPath, SyncPolicy.OS, Duration.ZERO)) {
+      JournalRecorder recorder = new JournalRecorder(journal);
+      foodStorage.addListener(recorder);
+      cookBook.addListener(recorder);
+      fill(foodStorage, cookBook);
+      Snapshot.write(snapshotPath, foodStorage, cookBook, journal.getPosition());
+    }
+    System.out.printf("journal: %d kB, snapshot: %d kB%n",
+        Files.size(journalPath) / 1024, Files.size(snapshotPath) / 1024);
+
+    report("journal replay", () -> {
+      try (Journal journal = new Journal(journalPath, SyncPolicy.OS, Duration.ZERO)) {
+        return JournalReplayer.replay(journal, new FoodStorage(), new CookBook());
+      }
+    });
+    report("snapshot load", () -> {
+      CookBook loaded = new CookBook();
+      Snapshot.load(snapshotPath, new FoodStorage(), loaded);
+      return loaded.getRecipes().size();
+    });
+
+    Files.delete(journalPath);
+    Files.delete(snapshotPath);
+    Files.delete(folder);
+  }
+
+  /**
+   * Adds the lots one at a time, and the recipes with long texts.
+   *
+   * @param foodStorage The storage to fill.
+   * @param cookBook The cookbook to fill.
+   */
+  private static void fill(FoodStorage foodStorage, CookBook cookBook) {
+    LocalDate firstDate = LocalDate.of(2025, 1, 1);
+    for (int i = 0; i < LOTS; i++) {
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(100 + i % 37, 2), "Grocery" + (i % NAMES),
+          "kilogram", BigDecimal.valueOf(1999 + i % 101, 2), firstDate.plusDays(i / NAMES).toString()));
+    }
+    String text = "Stir and taste. ".repeat(40);
+    for (int i = 0; i < RECIPES; i++) {
+      Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = Map.of(
+          "Grocery" + (i % NAMES), new SimpleEntry<>(BigDecimal.valueOf(250), Unit.GRAM),
+          "Grocery" + ((i + 1) % NAMES), new SimpleEntry<>(BigDecimal.ONE, Unit.KILOGRAM));
+      cookBook.addRecipe(new Recipe("Recipe" + i, text, text, ingredients, 2));
+    }
+  }
+
+  /**
+   * Runs a task a few times to warm up, then measures it and prints the average time.
+   *
+   * @param name The name of the task.
+   * @param task The task to measure.
+   * @throws IOException if the task fails.
+   */
+  private static void report(String name, Startup task) throws IOException {
+    List<Long> times = new ArrayList<>();
+    long sink = 0;
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      long start = System.nanoTime();
+      sink += task.run();
+      if (round >= WARMUP_ROUNDS) {
+        times.add(System.nanoTime() - start);
+      }
+    }
+    double average = times.stream().mapToLong(Long::longValue).average().orElse(0);
+    System.out.printf("%-16s %8.1f ms (%d)%n", name, average / 1_000_000, sink);
+  }
+
+  /**
+   * A way of starting the application, that returns a count so the work is not optimized away.
+   */
+  @FunctionalInterface
+  private interface Startup {
+    /**
+     * Runs the startup.
+     *
+     * @return A count from the loaded state.
+     * @throws IOException if the files can not be read.
+     */
+    long run() throws IOException;
+  }
+}
@@ -0,0 +1,236 @@
+package edu.ntnu.idi.bidata.persistence;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.recipe.CookBook;
+import edu.ntnu.idi.bidata.recipe.Recipe;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>Snapshot</code>.
+ * A storage and a cookbook are written to a snapshot in a temporary folder, and loaded
+ * into new ones. The negative tests damage the snapshot, and check that nothing is loaded.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class SnapshotTest {
+  @TempDir
+  Path folder;
+  private Path snapshotPath;
+  private FoodStorage foodStorage;
+  private CookBook cookBook;
+
+  /**
+   * Sets up a storage with three groceries and a cookbook with one recipe before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    snapshotPath = folder.resolve("test.snapshot");
+    foodStorage = new FoodStorage();
+    cookBook = new CookBook();
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(1.5), "Milk", "liter", BigDecimal.valueOf(30), "2024-12-10"),
+        new Grocery(BigDecimal.valueOf(0.5), "Milk", "liter", BigDecimal.valueOf(12.5), "2024-12-01"),
+        new Grocery(BigDecimal.valueOf(3), "Ham", "pcs", BigDecimal.valueOf(60), "2024-12-20")));
+    cookBook.addRecipe(new Recipe("Milk and ham", "Cold milk, with ham on the side.", "Pour the milk.",
+        Map.of("Milk", new SimpleEntry<>(BigDecimal.valueOf(250), Unit.MILLILITER),
+            "Ham", new SimpleEntry<>(BigDecimal.ONE, Unit.PCS)), 1));
+  }
+
+  /**
+   * Positive test for <code>write</code> and <code>load</code>.
+   * Will check that every lot, the total value and the recipe survive the round trip,
+   * and that the covered journal position is returned.
+   */
+  @Test
+  void loadPositiveTest() throws IOException {
+    Snapshot.write(snapshotPath, foodStorage, cookBook, new JournalPosition(3, 120));
+
+    FoodStorage loadedStorage = new FoodStorage();
+    CookBook loadedCookBook = new CookBook();
+    JournalPosition position = Snapshot.load(snapshotPath, loadedStorage, loadedCookBook);
+    assertEquals(3, position.getEpoch());
+    assertEquals(120, position.getOffset());
+
+    List<Grocery> milk = loadedStorage.searchGrocery("Milk");
+    assertEquals(2, milk.size());
+    assertEquals(LocalDate.of(2024, 12, 1), milk.getFirst().getExpiryDate());
+    assertEquals(0, BigDecimal.valueOf(12.5).compareTo(milk.getFirst().getPrice()));
+    assertEquals(0, BigDecimal.valueOf(102.5).compareTo(loadedStorage.valueOfAllGroceries()));
+    assertTrue(loadedStorage.isGroceryAvailable("Ham", BigDecimal.valueOf(3), Unit.PCS));
+
+    Recipe recipe = loadedCookBook.getRecipe("Milk and ham");
+    assertEquals(1, recipe.getAmountOfServings());
+    assertEquals(Unit.MILLILITER, recipe.getIngredients().get("Milk").getValue());
+    assertEquals("Cold milk, with ham on the side.", recipe.getRecipeDescription());
+    assertEquals("Pour the milk.", recipe.getCookingInstructions());
+    assertFalse(Files.exists(folder.resolve("test.snapshot.tmp")));
+  }
+
+  /**
+   * Positive test for the lazy texts of a loaded recipe.
+   * Will check that a loaded recipe can be written to a new snapshot, and that the texts
+   * still read correctly after the first snapshot has been replaced.
+   */
+  @Test
+  void lazyTextPositiveTest() throws IOException {
+    Snapshot.write(snapshotPath, foodStorage, cookBook, startOf(0));
+    CookBook loadedCookBook = new CookBook();
+    Snapshot.load(snapshotPath, new FoodStorage(), loadedCookBook);
+
+    Snapshot.write(snapshotPath, new FoodStorage(), new CookBook(), startOf(1));
+
+    Recipe recipe = loadedCookBook.getRecipe("Milk and ham");
+    assertEquals("Pour the milk.", recipe.getCookingInstructions());
+    recipe.setRecipeDescription("Milk.");
+    assertEquals("Milk.", recipe.getRecipeDescription());
+  }
+
+  /**
+   * Positive test for the waste ledger in the snapshot and the journal.
+   * A lot expires while the journal is recorded, and another after the snapshot is written.
+   * Will check that both are in the waste ledger and the usage totals after the snapshot is
+   * loaded and the journal is replayed, and that they are no longer in storage.
+   */
+  @Test
+  void wastePositiveTest() throws IOException {
+    Path journalPath = folder.resolve("test.journal");
+    try (Journal journal = new Journal(journalPath, SyncPolicy.EVERY_COMMIT, Duration.ZERO)) {
+      foodStorage.addListener(new JournalRecorder(journal));
+      foodStorage.removeExpiredGroceries(LocalDate.of(2024, 12, 5));
+      journal.commit();
+      Snapshot.write(snapshotPath, foodStorage, cookBook, journal.getPosition());
+      foodStorage.removeExpiredGroceries(LocalDate.of(2024, 12, 15));
+    }
+
+    FoodStorage loadedStorage = new FoodStorage();
+    CookBook loadedCookBook = new CookBook();
+    JournalPosition covered = Snapshot.load(snapshotPath, loadedStorage, loadedCookBook);
+    assertEquals(1, loadedStorage.getWasteLedger().size());
+    try (Journal journal = new Journal(journalPath, SyncPolicy.EVERY_COMMIT, Duration.ZERO)) {
+      assertEquals(1, JournalReplayer.replay(journal, loadedStorage, loadedCookBook, covered));
+    }
+    assertEquals(2, loadedStorage.getWasteLedger().size());
+    assertEquals(foodStorage.getUsageRollups().getBuckets().size(),
+        loadedStorage.getUsageRollups().getBuckets().size());
+    assertEquals(0, BigDecimal.valueOf(42.5).compareTo(loadedStorage.getWasteLedger().getTotalValue()));
+    assertEquals(0, BigDecimal.valueOf(60).compareTo(loadedStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Negative test for <code>load</code>.
+   * @throws IOException should be thrown when a byte is changed, when the version is unknown,
+   *                     and when the file is not a snapshot. Nothing should be loaded.
+   */
+  @Test
+  void loadNegativeTest() throws IOException {
+    Snapshot.write(snapshotPath, foodStorage, cookBook, startOf(0));
+    FoodStorage loadedStorage = new FoodStorage();
+    CookBook loadedCookBook = new CookBook();
+
+    long size = Files.size(snapshotPath);
+    writeByte(size / 2, (byte) 0x7f);
+    assertThrows(IOException.class, () -> Snapshot.load(snapshotPath, loadedStorage, loadedCookBook));
+
+    Snapshot.write(snapshotPath, foodStorage, cookBook, startOf(0));
+    writeByte(Integer.BYTES + Integer.BYTES - 1, (byte) (Snapshot.VERSION + 1));
+    assertThrows(IOException.class, () -> Snapshot.load(snapshotPath, loadedStorage, loadedCookBook));
+
+    Files.write(snapshotPath, new byte[64]);
+    assertThrows(IOException.class, () -> Snapshot.load(snapshotPath, loadedStorage, loadedCookBook));
+
+    assertTrue(loadedStorage.getAllGroceries().isEmpty());
+    assertTrue(loadedCookBook.getRecipes().isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> Snapshot.write(snapshotPath, foodStorage, cookBook, JournalPosition.NONE));
+  }
+
+  /**
+   * Test of a stop between writing a snapshot and compacting the journal.
+   * Will check that the records already in the snapshot are not replayed again,
+   * and that the record written after the snapshot is.
+   */
+  @Test
+  void replayAfterSnapshotPositionTest() throws IOException {
+    Path journalPath = folder.resolve("test.journal");
+    try (Journal journal = new Journal(journalPath, SyncPolicy.EVERY_COMMIT, Duration.ZERO)) {
+      foodStorage.addListener(new JournalRecorder(journal));
+      foodStorage.removeGrocery("Ham", BigDecimal.ONE, Unit.PCS);
+      journal.commit();
+      Snapshot.write(snapshotPath, foodStorage, cookBook, journal.getPosition());
+      foodStorage.removeGrocery("Ham", BigDecimal.ONE, Unit.PCS);
+    }
+
+    FoodStorage loadedStorage = new FoodStorage();
+    CookBook loadedCookBook = new CookBook();
+    JournalPosition covered = Snapshot.load(snapshotPath, loadedStorage, loadedCookBook);
+    try (Journal journal = new Journal(journalPath, SyncPolicy.EVERY_COMMIT, Duration.ZERO)) {
+      assertEquals(1, JournalReplayer.replay(journal, loadedStorage, loadedCookBook, covered));
+    }
+    assertEquals(0, BigDecimal.ONE.compareTo(loadedStorage.searchGrocery("Ham").getFirst().getQuantity()));
+  }
+
+  /**
+   * Test of a journal that is older than the snapshot.
+   * Will check that nothing is replayed, and that the journal is moved on to the next epoch.
+   */
+  @Test
+  void replayOlderJournalTest() throws IOException {
+    Path journalPath = folder.resolve("test.journal");
+    try (Journal journal = new Journal(journalPath, SyncPolicy.EVERY_COMMIT, Duration.ZERO)) {
+      foodStorage.addListener(new JournalRecorder(journal));
+      foodStorage.removeGrocery("Ham", BigDecimal.ONE, Unit.PCS);
+    }
+    Snapshot.write(snapshotPath, foodStorage, cookBook, startOf(2));
+
+    FoodStorage loadedStorage = new FoodStorage();
+    JournalPosition covered = Snapshot.load(snapshotPath, loadedStorage, new CookBook());
+    try (Journal journal = new Journal(journalPath, SyncPolicy.EVERY_COMMIT, Duration.ZERO)) {
+      assertEquals(0, JournalReplayer.replay(journal, loadedStorage, new CookBook(), covered));
+      assertEquals(3, journal.getEpoch());
+    }
+    assertEquals(0, BigDecimal.valueOf(2).compareTo(loadedStorage.searchGrocery("Ham").getFirst().getQuantity()));
+    assertEquals(Journal.FILE_HEADER_SIZE, Files.size(journalPath));
+  }
+
+  /**
+   * Creates the position of the first record of a journal epoch.
+   *
+   * @param epoch The epoch of the journal.
+   * @return The position.
+   */
+  private static JournalPosition startOf(long epoch) {
+    return new JournalPosition(epoch, Journal.FILE_HEADER_SIZE);
+  }
+
+  /**
+   * Writes a single byte into the snapshot.
+   *
+   * @param position The position of the byte.
+   * @param value The new value of the byte.
+   * @throws IOException if the snapshot can not be written.
+   */
+  private void writeByte(long position, byte value) throws IOException {
+    try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[] {value}), position);
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package edu.ntnu.idi.bidata.recipe;
 
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
 import edu.ntnu.idi.bidata.register.FoodStorage;
 
 import java.math.BigDecimal;
@@ -10,8 +11,12 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -36,9 +41,9 @@ class CookBookTest {
         chicken = new Grocery(BigDecimal.valueOf(0.25), "Chicken", "kilogram", BigDecimal.valueOf(85), formattedToday);
         rice = new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(53), formattedToday);
 
-        Map<String, SimpleEntry<BigDecimal, String>> ingredients = new HashMap<>();
-        ingredients.put("Chicken", new SimpleEntry<>(BigDecimal.valueOf(0.25), "kilogram"));
-        ingredients.put("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.25), "kilogram"));
+        Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new HashMap<>();
+        ingredients.put("Chicken", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM));
+        ingredients.put("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM));
 
         String cookingInstructions =
                 """
@@ -88,8 +93,8 @@ class CookBookTest {
      */
     @Test
     void addRecipePositiveTest() {
-        Map<String, SimpleEntry<BigDecimal, String>> ingredients = new HashMap<>();
-        ingredients.put("rice", new SimpleEntry<>(BigDecimal.valueOf(0.2), "kilogram"));
+        Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new HashMap<>();
+        ingredients.put("rice", new SimpleEntry<>(BigDecimal.valueOf(0.2), Unit.KILOGRAM));
         Recipe friedRice = new Recipe("Fried rice", "This is a fried rice recipe", "1. Fry rice", ingredients, 1);
 
         cookBook.addRecipe(friedRice);
@@ -155,4 +160,186 @@ class CookBookTest {
         assertThrows(IllegalArgumentException.class, () -> cookBook.recipeRecommendation(null));
         assertThrows(NoSuchElementException.class, () -> cookBook.recipeRecommendation(foodStorage));
     }
-}
\ No newline at end of file
+
+    /**
+     * Positive test for <code>matchRecipeToGrocery</code>.
+     * Will assert that matching or ranking a recipe with an ingredient that has never been in
+     * storage does not give the ingredient a number, and that the recipe matches once it is added.
+     */
+    @Test
+    void matchRecipeToGroceryUnknownIngredientPositiveTest() {
+        FoodStorage foodStorage = new FoodStorage();
+        foodStorage.addGrocery(rice);
+        int numberedNames = foodStorage.getIngredientIds().size();
+
+        assertFalse(cookBook.matchRecipeToGrocery(foodStorage, chickenAndRice));
+        assertEquals(List.of(chickenAndRice), cookBook.recommend(foodStorage, 1, RecipeScoring.DEFAULT));
+        assertEquals(numberedNames, foodStorage.getIngredientIds().size());
+
+        foodStorage.addGrocery(chicken);
+        assertTrue(cookBook.matchRecipeToGrocery(foodStorage, chickenAndRice));
+    }
+
+    /**
+     * Positive test for the ingredient index used by <code>recipeRecommendation</code>.
+     * Will assert that only recipes with every ingredient in storage are recommended,
+     * and that a removed recipe is no longer in the index.
+     */
+    @Test
+    void recipeRecommendationIndexPositiveTest() {
+        cookBook.addRecipe(new Recipe("Chicken with salt", "Salty.", "Fry it.",
+                Map.of("chicken", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM),
+                        "Salt", new SimpleEntry<>(BigDecimal.ONE, Unit.GRAM)), 1));
+        FoodStorage foodStorage = new FoodStorage();
+        foodStorage.addGrocery(chicken);
+
+        assertEquals(Set.of("Chicken and Rice", "Chicken with salt"), cookBook.getRecipesWithIngredient("CHICKEN"));
+        assertThrows(NoSuchElementException.class, () -> cookBook.recipeRecommendation(foodStorage));
+
+        foodStorage.addGrocery(rice);
+        assertEquals(chickenAndRice, cookBook.recipeRecommendation(foodStorage));
+
+        cookBook.removeRecipe("Chicken and Rice");
+        assertEquals(Set.of("Chicken with salt"), cookBook.getRecipesWithIngredient("Chicken"));
+        assertTrue(cookBook.getRecipesWithIngredient("Rice").isEmpty());
+        assertThrows(NoSuchElementException.class, () -> cookBook.recipeRecommendation(foodStorage));
+    }
+
+    /**
+     * Positive test for <code>recommend</code>.
+     * Will assert that recipes are ranked by coverage first with the default scoring,
+     * that only the k best are returned, and that other weights change the ranking.
+     */
+    @Test
+    void recommendPositiveTest() {
+        cookBook.addRecipe(new Recipe("Fried rice", "Rice.", "Fry it.",
+                Map.of("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.2), Unit.KILOGRAM)), 1));
+        cookBook.addRecipe(new Recipe("Chicken salad", "Salad.", "Mix it.",
+                Map.of("Chicken", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM),
+                        "Lettuce", new SimpleEntry<>(BigDecimal.ONE, Unit.PCS)), 1));
+        cookBook.addRecipe(new Recipe("Pizza", "Pizza.", "Bake it.",
+                Map.of("Flour", new SimpleEntry<>(BigDecimal.valueOf(0.5), Unit.KILOGRAM)), 2));
+        FoodStorage foodStorage = new FoodStorage();
+        foodStorage.addGrocery(rice);
+        foodStorage.addGrocery(chicken);
+
+        assertEquals(List.of("Chicken and Rice", "Fried rice", "Chicken salad"),
+                names(cookBook.recommend(foodStorage, 5, RecipeScoring.DEFAULT)));
+        assertEquals(List.of("Chicken and Rice", "Fried rice"),
+                names(cookBook.recommend(foodStorage, 2, RecipeScoring.DEFAULT)));
+        assertEquals(List.of("Chicken and Rice", "Chicken salad", "Fried rice"),
+                names(cookBook.recommend(foodStorage, 3, new RecipeScoring(0, 0, 1, 1))));
+        assertTrue(cookBook.recommend(new FoodStorage(), 3, RecipeScoring.DEFAULT).isEmpty());
+    }
+
+    /**
+     * Negative test for <code>recommend</code> and <code>RecipeScoring</code>.
+     * Will assert that <code>IllegalArgumentException</code> is thrown for invalid arguments.
+     */
+    @Test
+    void recommendNegativeTest() {
+        FoodStorage foodStorage = new FoodStorage();
+
+        assertThrows(IllegalArgumentException.class, () -> cookBook.recommend(null, 3, RecipeScoring.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> cookBook.recommend(foodStorage, 0, RecipeScoring.DEFAULT));
+        assertThrows(IllegalArgumentException.class, () -> cookBook.recommend(foodStorage, 3, null));
+        assertThrows(IllegalArgumentException.class, () -> new RecipeScoring(-1, 0, 0, 7));
+        assertThrows(IllegalArgumentException.class, () -> new RecipeScoring(1, 0, 0, 0));
+    }
+
+    /**
+     * Positive test for <code>recommendParallel</code> and <code>cookableRecipesParallel</code>.
+     * Will assert that the results are the same as the results on one thread,
+     * with enough recipes for the work to be split.
+     */
+    @Test
+    void recommendParallelPositiveTest() {
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new HashMap<>();
+            int count = 1 + random.nextInt(3);
+            while (ingredients.size() < count) {
+                ingredients.put("Ingredient " + random.nextInt(40),
+                        new SimpleEntry<>(BigDecimal.valueOf(100 + random.nextInt(900)), Unit.GRAM));
+            }
+            cookBook.addRecipe(new Recipe("Recipe " + i, "Description.", "Instructions.", ingredients, 1));
+        }
+        FoodStorage foodStorage = new FoodStorage();
+        for (int i = 0; i < 20; i++) {
+            foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(0.5 + i % 3), "Ingredient " + i, "kilogram",
+                    BigDecimal.valueOf(10 + i), LocalDate.now().plusDays(i % 9).format(formatter)));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(names(cookBook.recommend(foodStorage, 25, RecipeScoring.DEFAULT)),
+                    names(cookBook.recommendParallel(foodStorage, 25, RecipeScoring.DEFAULT, pool)));
+            List<String> cookable = cookBook.getRecipes().stream()
+                    .filter(recipe -> cookBook.matchRecipeToGrocery(foodStorage, recipe))
+                    .map(Recipe::getRecipeName).sorted().toList();
+            assertFalse(cookable.isEmpty());
+            assertEquals(cookable, names(cookBook.cookableRecipesParallel(foodStorage, pool)));
+        } finally {
+            pool.shutdown();
+        }
+        assertThrows(IllegalArgumentException.class, () -> cookBook.cookableRecipesParallel(foodStorage, null));
+    }
+
+    /**
+     * Collects the names of a list of recipes.
+     *
+     * @param recipes The recipes.
+     * @return The names, in the same order.
+     */
+    private static List<String> names(List<Recipe> recipes) {
+        return recipes.stream().map(Recipe::getRecipeName).toList();
+    }
+
+    /**
+     * Positive test for <code>cookRecipe</code>.
+     * Will assert that every ingredient of the recipe is removed from the food storage.
+     */
+    @Test
+    void cookRecipePositiveTest() {
+        FoodStorage foodStorage = new FoodStorage();
+        foodStorage.addGrocery(rice);
+        foodStorage.addGrocery(chicken);
+
+        cookBook.cookRecipe("Chicken and Rice", foodStorage);
+
+        assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Chicken"));
+        assertEquals(0, BigDecimal.valueOf(0.75).compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+    }
+
+    /**
+     * Negative test for <code>cookRecipe</code>.
+     * Will assert that nothing is removed when one of the ingredients is missing,
+     * and that an unknown recipe or a null storage is rejected.
+     */
+    @Test
+    void cookRecipeNegativeTest() {
+        FoodStorage foodStorage = new FoodStorage();
+        foodStorage.addGrocery(rice);
+
+        assertThrows(NoSuchElementException.class, () -> cookBook.cookRecipe("Chicken and Rice", foodStorage));
+        assertEquals(0, BigDecimal.ONE.compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+        assertThrows(NoSuchElementException.class, () -> cookBook.cookRecipe("Pizza", foodStorage));
+        assertThrows(IllegalArgumentException.class, () -> cookBook.cookRecipe("Chicken and Rice", null));
+    }
+
+    /**
+     * Positive test for <code>recipeNamesStartingWith</code> and <code>recipeNamesCloseTo</code>.
+     * Will assert that the names follow the recipes that are added and removed.
+     */
+    @Test
+    void recipeNamesPositiveTest() {
+        cookBook.addRecipe(new Recipe("Chicken curry", "Curry.", "Cook it.",
+                Map.of("Chicken", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM)), 2));
+
+        assertEquals(List.of("Chicken and Rice", "Chicken curry"), cookBook.recipeNamesStartingWith("chick", 5));
+        assertEquals(List.of("Chicken curry"), cookBook.recipeNamesCloseTo("Chiken cury", 2, 5));
+
+        cookBook.removeRecipe("Chicken and Rice");
+        assertEquals(List.of("Chicken curry"), cookBook.recipeNamesStartingWith("chick", 5));
+    }
+}
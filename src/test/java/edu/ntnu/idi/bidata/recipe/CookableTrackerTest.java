@@ -0,0 +1,109 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>CookableTracker</code>.
+ * Groceries are added to and removed from a storage, and the cookable recipes and the events
+ * of the tracker are checked after each change.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class CookableTrackerTest {
+  private static final String EXPIRY_DATE = LocalDate.now().plusDays(7).toString();
+  private FoodStorage foodStorage;
+  private CookBook cookBook;
+  private CookableTracker tracker;
+  private final List<String> events = new ArrayList<>();
+
+  /**
+   * Sets up a storage with rice, a cookbook with two recipes using rice, and a tracker
+   * that records its events.
+   */
+  @BeforeEach
+  void setUp() {
+    foodStorage = new FoodStorage();
+    cookBook = new CookBook();
+    foodStorage.addGrocery(new Grocery(BigDecimal.ONE, "Rice", "kilogram", BigDecimal.valueOf(40), EXPIRY_DATE));
+    cookBook.addRecipe(new Recipe("Plain rice", "Rice.", "Boil it.",
+        Map.of("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.5), Unit.KILOGRAM)), 1));
+    cookBook.addRecipe(new Recipe("Milk rice", "Rice porridge.", "Boil it in milk.",
+        Map.of("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM),
+            "Milk", new SimpleEntry<>(BigDecimal.ONE, Unit.LITER)), 2));
+
+    tracker = CookableTracker.attach(cookBook, foodStorage);
+    tracker.addListener(new CookableListener() {
+      @Override
+      public void recipeCookable(Recipe recipe) {
+        events.add("+" + recipe.getRecipeName());
+      }
+
+      @Override
+      public void recipeUncookable(Recipe recipe) {
+        events.add("-" + recipe.getRecipeName());
+      }
+    });
+  }
+
+  /**
+   * Positive test for the changes of the storage.
+   * Will check that a recipe becomes cookable when its last ingredient is added,
+   * and uncookable when an ingredient runs short.
+   */
+  @Test
+  void storageChangesPositiveTest() {
+    assertTrue(tracker.isCookable("Plain rice"));
+    assertEquals(1, tracker.getMissingCount("Milk rice"));
+
+    foodStorage.addGrocery(new Grocery(BigDecimal.ONE, "milk", "liter", BigDecimal.valueOf(20), EXPIRY_DATE));
+    assertEquals(List.of("+Milk rice"), events);
+    assertEquals(2, tracker.getCookable().size());
+
+    foodStorage.removeGrocery("Rice", BigDecimal.valueOf(0.6), Unit.KILOGRAM);
+    assertEquals(List.of("+Milk rice", "-Plain rice"), events);
+    assertEquals(1, tracker.getMissingCount("Plain rice"));
+
+    cookBook.cookRecipe("Milk rice", foodStorage);
+    assertTrue(tracker.getCookable().isEmpty());
+    assertEquals(2, tracker.getMissingCount("Milk rice"));
+  }
+
+  /**
+   * Positive test for the changes of the cookbook.
+   * Will check that added recipes are tracked, and removed recipes are no longer cookable.
+   */
+  @Test
+  void cookBookChangesPositiveTest() {
+    cookBook.addRecipe(new Recipe("Rice bowl", "A bowl of rice.", "Boil it.",
+        Map.of("Rice", new SimpleEntry<>(BigDecimal.valueOf(0.1), Unit.KILOGRAM)), 1));
+    cookBook.removeRecipe("Plain rice");
+
+    assertEquals(List.of("+Rice bowl", "-Plain rice"), events);
+    assertEquals(List.of("Rice bowl"), tracker.getCookable().stream().map(Recipe::getRecipeName).toList());
+  }
+
+  /**
+   * Negative test for <code>CookableTracker</code>.
+   * @throws IllegalArgumentException should be thrown, because the arguments are invalid.
+   */
+  @Test
+  void cookableTrackerNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> CookableTracker.attach(null, foodStorage));
+    assertThrows(IllegalArgumentException.class, () -> tracker.addListener(null));
+    assertThrows(IllegalArgumentException.class, () -> tracker.getMissingCount("Pizza"));
+  }
+}
@@ -0,0 +1,122 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark of <code>CookBook.recommendParallel</code> and
+ * <code>CookBook.cookableRecipesParallel</code> on a large cookbook.
+ * The same cookbook is ranked in pools of 1, 2, 4 and up to the number of processors,
+ * to show how the time scales with the number of threads.
+ * The class is not a unit test, and is run by hand through its main method.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class ParallelRecommendBenchmark {
+  private static final int RECIPES = 300_000;
+  private static final int INGREDIENTS = 500;
+  private static final int GROCERIES = 300;
+  private static final int MAX_INGREDIENTS_PER_RECIPE = 6;
+  private static final int K = 10;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+  private static long checksum;
+
+  private ParallelRecommendBenchmark() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Runs the benchmark and prints the time per call for each number of threads.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    CookBook cookBook = new CookBook();
+    for (int i = 0; i < RECIPES; i++) {
+      Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new HashMap<>();
+      int count = 1 + random.nextInt(MAX_INGREDIENTS_PER_RECIPE);
+      while (ingredients.size() < count) {
+        ingredients.put("Ingredient " + random.nextInt(INGREDIENTS),
+            new SimpleEntry<>(BigDecimal.valueOf(50 + random.nextInt(450)), Unit.GRAM));
+      }
+      cookBook.addRecipe(new Recipe("Recipe " + i, "Description.", "Instructions.", ingredients, 2));
+    }
+    FoodStorage foodStorage = new FoodStorage();
+    LocalDate today = LocalDate.now();
+    for (int i = 0; i < GROCERIES; i++) {
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1 + random.nextInt(3)), "Ingredient " + i,
+          Unit.KILOGRAM, BigDecimal.valueOf(20 + random.nextInt(200)),
+          today.plusDays(random.nextInt(14)).toString()));
+    }
+
+    int processors = Runtime.getRuntime().availableProcessors();
+    System.out.printf("%d recipes, %d processors%n", RECIPES, processors);
+    for (int threads = 1; threads <= processors; threads = nextThreads(threads, processors)) {
+      ForkJoinPool pool = new ForkJoinPool(threads);
+      try {
+        double rankMillis = measure(() -> cookBook.recommendParallel(foodStorage, K,
+            RecipeScoring.DEFAULT, pool).getFirst().getRecipeName().hashCode());
+        double cookableMillis = measure(() -> cookBook.cookableRecipesParallel(foodStorage, pool).size());
+        System.out.printf("%2d threads: top %d %8.2f ms, cookable %8.2f ms%n",
+            threads, K, rankMillis, cookableMillis);
+      } finally {
+        pool.shutdown();
+      }
+    }
+    System.out.printf("checksum %d%n", checksum);
+  }
+
+  /**
+   * Finds the next number of threads to measure: the double, but never past the processors.
+   *
+   * @param threads The number of threads just measured.
+   * @param processors The number of processors.
+   * @return The next number of threads, or more than the processors when done.
+   */
+  private static int nextThreads(int threads, int processors) {
+    return threads < processors ? Math.min(threads * 2, processors) : threads + 1;
+  }
+
+  /**
+   * Runs a call a number of rounds, and returns the average time per call.
+   * The checksums of the calls are added to <code>checksum</code>.
+   *
+   * @param call The call to measure. It returns a checksum so the work is not removed.
+   * @return The average time in milliseconds.
+   */
+  private static double measure(Call call) {
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      checksum += call.run();
+    }
+    long start = System.nanoTime();
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      checksum += call.run();
+    }
+    long elapsed = System.nanoTime() - start;
+    return elapsed / 1e6 / MEASURED_ROUNDS;
+  }
+
+  /**
+   * A measured call, that returns a checksum so the work is not removed by the compiler.
+   */
+  @FunctionalInterface
+  private interface Call {
+    /**
+     * Runs the call once.
+     *
+     * @return A checksum of the result.
+     */
+    long run();
+  }
+}
@@ -1,6 +1,8 @@
 package edu.ntnu.idi.bidata.recipe;
 
+import edu.ntnu.idi.bidata.entity.Dimension;
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
 import edu.ntnu.idi.bidata.register.FoodStorage;
 
 import java.math.BigDecimal;
@@ -23,7 +25,7 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class RecipeTest {
     private Recipe recipe;
-    private Map<String, SimpleEntry<BigDecimal, String>> ingredients;
+    private Map<String, SimpleEntry<BigDecimal, Unit>> ingredients;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     FoodStorage foodStorage;
 
@@ -48,9 +50,9 @@ class RecipeTest {
 
         ingredients = new HashMap<>();
 
-        ingredients.put("Tomato Sauce", new SimpleEntry<>(BigDecimal.valueOf(0.25), "liter"));
-        ingredients.put("Pizza Crust", new SimpleEntry<>(BigDecimal.valueOf(0.75), "kilogram"));
-        ingredients.put("Topping", new SimpleEntry<>(BigDecimal.valueOf(0.35), "kilogram"));
+        ingredients.put("Tomato Sauce", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.LITER));
+        ingredients.put("Pizza Crust", new SimpleEntry<>(BigDecimal.valueOf(0.75), Unit.KILOGRAM));
+        ingredients.put("Topping", new SimpleEntry<>(BigDecimal.valueOf(0.35), Unit.KILOGRAM));
 
         recipe = new Recipe("Pizza", "This is a pizza recipe", "Bake pizza crust, add tomato sauce & topping, bake at 200 deg for 20 min.", ingredients, 2);
     }
@@ -140,28 +142,38 @@ class RecipeTest {
     }
 
     /**
-     * Positive test method for <code>setIngredients</code>.
-     * Will check the ingredients are set correctly.
+     * Positive test method for the ingredients of a recipe.
+     * Will check the ingredients are set correctly, and that changing the map the recipe was
+     * created with, or the map it returns, does not change the recipe.
      */
     @Test
-    void setIngredientsPositiveTest() {
-        Map<String, SimpleEntry<BigDecimal, String>> testIngredients = new HashMap<>();
-        testIngredients.put("Cheese", new SimpleEntry<>(BigDecimal.valueOf(0.25), "kilogram"));
-        recipe.setIngredients(testIngredients);
-
-        assertEquals(testIngredients, recipe.getIngredients());
+    void ingredientsAreCopiedPositiveTest() {
+        Map<String, SimpleEntry<BigDecimal, Unit>> testIngredients = new HashMap<>();
+        testIngredients.put("Cheese", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM));
+        Recipe cheese = new Recipe("Cheese", "A slice of cheese", "Slice the cheese.", testIngredients, 1);
+
+        assertEquals(testIngredients, cheese.getIngredients());
+        testIngredients.get("Cheese").setValue(Unit.GRAM);
+        testIngredients.put("Ham", new SimpleEntry<>(BigDecimal.ONE, Unit.PCS));
+        cheese.getIngredients().get("Cheese").setValue(Unit.GRAM);
+
+        assertEquals(Map.of("Cheese", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM)),
+            cheese.getIngredients());
+        assertEquals(25_000, cheese.getBaseQuantities().get("cheese")[Dimension.MASS.ordinal()]);
+        assertThrows(UnsupportedOperationException.class, () -> cheese.getIngredients().clear());
     }
 
     /**
-     * Negative test method for <code>setIngredients</code>.
-     * Will check that an exception is thrown when the ingredient to set is invalid.
+     * Negative test method for the ingredients of a recipe.
+     * Will check that an exception is thrown when an ingredient is invalid.
      */
     @Test
-    void setIngredientsNegativeTest() {
-        Map<String, SimpleEntry<BigDecimal, String>> testIngredients = new HashMap<>();
-        testIngredients.put("", new SimpleEntry<>(BigDecimal.valueOf(0.25), "kilogram"));
+    void ingredientsNegativeTest() {
+        Map<String, SimpleEntry<BigDecimal, Unit>> testIngredients = new HashMap<>();
+        testIngredients.put("", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM));
 
-        assertThrows(IllegalArgumentException.class, () -> recipe.setIngredients(testIngredients));
+        assertThrows(IllegalArgumentException.class,
+            () -> new Recipe("Cheese", "A slice of cheese", "Slice the cheese.", testIngredients, 1));
     }
 
     /**
@@ -194,4 +206,25 @@ class RecipeTest {
     void setAmountOfServingsNegativeTest() {
         assertThrows(IllegalArgumentException.class, () -> recipe.setAmountOfServings(-1));
     }
-}
\ No newline at end of file
+
+    /**
+     * Positive test method for <code>copy</code>.
+     * Will copy a recipe whose description has not been read, and check that copying does not
+     * read it, and that the copy reads it from the same supplier.
+     */
+    @Test
+    void copyPositiveTest() {
+        int[] reads = new int[1];
+        Recipe lazyRecipe = new Recipe("Pizza", () -> {
+            reads[0]++;
+            return "This is a pizza recipe";
+        }, () -> "Bake the pizza.", ingredients, 2);
+
+        Recipe copy = lazyRecipe.copy();
+        assertEquals(0, reads[0]);
+        assertEquals("This is a pizza recipe", copy.getRecipeDescription());
+        assertEquals(1, reads[0]);
+        assertEquals(recipe.getCookingInstructions(), recipe.copy().getCookingInstructions());
+        assertEquals(2, copy.getAmountOfServings());
+    }
+}
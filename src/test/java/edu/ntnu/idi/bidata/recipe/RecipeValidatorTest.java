@@ -1,5 +1,6 @@
 package edu.ntnu.idi.bidata.recipe;
 
+import edu.ntnu.idi.bidata.entity.Unit;
 import java.math.BigDecimal;
 import java.util.AbstractMap.SimpleEntry;
 import org.junit.jupiter.api.Test;
@@ -22,8 +23,8 @@ class RecipeValidatorTest {
    */
   @Test
   void mapInputValidationPositiveTest() {
-    Map<String, SimpleEntry<BigDecimal, String>> validIngredients = new HashMap<>();
-    validIngredients.put("Tomato Sauce", new SimpleEntry<>(BigDecimal.valueOf(0.25), "kilogram"));
+    Map<String, SimpleEntry<BigDecimal, Unit>> validIngredients = new HashMap<>();
+    validIngredients.put("Tomato Sauce", new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM));
 
     assertDoesNotThrow(() -> RecipeValidator.mapInputValidation(validIngredients));
   }
@@ -34,8 +35,8 @@ class RecipeValidatorTest {
    */
   @Test
   void mapInputValidationNegativeTest() {
-    Map<String, SimpleEntry<BigDecimal, String>> invalidIngredients = new HashMap<>();
-    invalidIngredients.put(null, new SimpleEntry<>(BigDecimal.valueOf(0.25), "kilogram"));
+    Map<String, SimpleEntry<BigDecimal, Unit>> invalidIngredients = new HashMap<>();
+    invalidIngredients.put(null, new SimpleEntry<>(BigDecimal.valueOf(0.25), Unit.KILOGRAM));
 
     assertThrows(IllegalArgumentException.class, () -> RecipeValidator.mapInputValidation(invalidIngredients));
   }
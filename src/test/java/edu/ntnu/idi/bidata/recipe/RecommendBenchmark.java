@@ -0,0 +1,85 @@
+package edu.ntnu.idi.bidata.recipe;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.register.FoodStorage;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Benchmark of <code>CookBook.recommend</code> on a large cookbook.
+ * The recipes use random ingredients from a fixed set, and the storage holds part of the set,
+ * so most recipes are scored but only some can be cooked.
+ * The class is not a unit test, and is run by hand through its main method.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class RecommendBenchmark {
+  private static final int RECIPES = 100_000;
+  private static final int INGREDIENTS = 500;
+  private static final int GROCERIES = 300;
+  private static final int MAX_INGREDIENTS_PER_RECIPE = 6;
+  private static final int K = 10;
+  private static final int WARMUP_ROUNDS = 10;
+  private static final int MEASURED_ROUNDS = 20;
+
+  private RecommendBenchmark() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Runs the benchmark and prints the time per recommendation.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    Random random = new Random(42);
+    CookBook cookBook = new CookBook();
+    for (int i = 0; i < RECIPES; i++) {
+      Map<String, SimpleEntry<BigDecimal, Unit>> ingredients = new HashMap<>();
+      int count = 1 + random.nextInt(MAX_INGREDIENTS_PER_RECIPE);
+      while (ingredients.size() < count) {
+        ingredients.put("Ingredient " + random.nextInt(INGREDIENTS),
+            new SimpleEntry<>(BigDecimal.valueOf(50 + random.nextInt(450)), Unit.GRAM));
+      }
+      cookBook.addRecipe(new Recipe("Recipe " + i, "Description.", "Instructions.", ingredients, 2));
+    }
+    FoodStorage foodStorage = new FoodStorage();
+    LocalDate today = LocalDate.now();
+    for (int i = 0; i < GROCERIES; i++) {
+      foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1 + random.nextInt(3)), "Ingredient " + i,
+          Unit.KILOGRAM, BigDecimal.valueOf(20 + random.nextInt(200)),
+          today.plusDays(random.nextInt(14)).toString()));
+    }
+
+    long checksum = 0;
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      checksum += run(cookBook, foodStorage);
+    }
+    long start = System.nanoTime();
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      checksum += run(cookBook, foodStorage);
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("recommend top %d of %d recipes %8.2f ms (checksum %d)%n",
+        K, RECIPES, elapsed / 1e6 / MEASURED_ROUNDS, checksum);
+  }
+
+  /**
+   * Recommends the best recipes once.
+   *
+   * @param cookBook The cookbook to rank.
+   * @param foodStorage The storage to rank the recipes against.
+   * @return A checksum of the result, so the work is not removed by the compiler.
+   */
+  private static long run(CookBook cookBook, FoodStorage foodStorage) {
+    List<Recipe> best = cookBook.recommend(foodStorage, K, RecipeScoring.DEFAULT);
+    return best.getFirst().getRecipeName().hashCode();
+  }
+}
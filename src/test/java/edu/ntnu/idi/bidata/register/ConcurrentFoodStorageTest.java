@@ -0,0 +1,173 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>ConcurrentFoodStorage</code>.
+ * The stress test lets several threads add and remove groceries at the same time,
+ * and checks that quantities and prices are conserved.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class ConcurrentFoodStorageTest {
+  private static final int THREADS = 8;
+  private static final int OPERATIONS_PER_THREAD = 2_000;
+  private static final int NAMES = 4;
+  private static final BigDecimal PRICE_PER_UNIT = BigDecimal.TEN;
+  private ConcurrentFoodStorage foodStorage;
+
+  /**
+   * Sets up an empty storage before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    foodStorage = new ConcurrentFoodStorage();
+  }
+
+  /**
+   * Positive test for <code>addGrocery</code> and <code>removeGrocery</code>.
+   * Will check that lots with the same expiry date are merged, and that the lot that
+   * expires first is used first.
+   */
+  @Test
+  void addAndRemoveGroceryPositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), "2024-12-10"));
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "milk", "liter", BigDecimal.valueOf(20), "2024-12-10"));
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), "2024-12-01"));
+
+    foodStorage.removeGrocery("MILK", BigDecimal.valueOf(1.5), Unit.LITER);
+
+    List<Grocery> milk = foodStorage.searchGrocery("Milk");
+    assertEquals(1, milk.size());
+    assertEquals(0, BigDecimal.valueOf(1.5).compareTo(milk.getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(30).compareTo(foodStorage.valueOfAllGroceries()));
+    assertTrue(foodStorage.isGroceryAvailable("milk", BigDecimal.valueOf(1.5), Unit.LITER));
+  }
+
+  /**
+   * Negative test for <code>removeGrocery</code>.
+   * Will check that invalid removals and availability checks throw, and leave the storage unchanged.
+   */
+  @Test
+  void removeGroceryNegativeTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), "2024-12-10"));
+    BigDecimal tooMuch = BigDecimal.valueOf(2);
+
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Milk", tooMuch, Unit.LITER));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.removeGrocery("Ham", BigDecimal.ONE, Unit.KILOGRAM));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.isGroceryAvailable("Milk", BigDecimal.ONE, null));
+    assertEquals(0, BigDecimal.valueOf(20).compareTo(foodStorage.valueOfAllGroceries()));
+    assertEquals(0, BigDecimal.ONE.compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+  }
+
+  /**
+   * Positive test for <code>removeGrocery</code>.
+   * Will check that a lot is dropped when what is taken from it, rounded up to a hundredth of
+   * its unit, is the whole lot, instead of being kept with no quantity.
+   */
+  @Test
+  void removeGroceryRoundsUpToWholeLotPositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Flour", "kilogram", BigDecimal.valueOf(30), "2024-12-10"));
+
+    foodStorage.removeGrocery("Flour", BigDecimal.valueOf(999.5), Unit.GRAM);
+
+    assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Flour"));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.getSortedList());
+    assertEquals(0, BigDecimal.ZERO.compareTo(foodStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Negative test for <code>addGrocery</code>.
+   * Will check that a merged quantity that is too large is rejected as an invalid argument,
+   * and leaves the storage unchanged.
+   */
+  @Test
+  void addGroceryNegativeTest() {
+    foodStorage.addGrocery(new Grocery(Long.MAX_VALUE / 1000, "Milk", Unit.LITER, 100, LocalDate.of(2024, 12, 10)));
+    Grocery moreMilk = new Grocery(BigDecimal.ONE, "Milk", "liter", BigDecimal.ONE, "2024-12-10");
+
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.addGrocery(moreMilk));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.addGrocery(null));
+    assertEquals(0, BigDecimal.ONE.compareTo(foodStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Stress test that lets several threads add and remove the same groceries at the same time,
+   * while another thread keeps reading.
+   * Every lot is priced at a fixed price per unit, so no value is lost to rounding,
+   * and the total value must always match the quantity left in storage.
+   */
+  @Test
+  void concurrentWritesConserveQuantityAndPriceTest() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+    CountDownLatch startSignal = new CountDownLatch(1);
+    AtomicBoolean writersDone = new AtomicBoolean(false);
+    List<Future<?>> writers = new ArrayList<>();
+
+    for (int thread = 0; thread < THREADS; thread++) {
+      final int threadNumber = thread;
+      writers.add(executor.submit(() -> {
+        startSignal.await();
+        for (int operation = 0; operation < OPERATIONS_PER_THREAD; operation++) {
+          String name = "Grocery" + ((threadNumber + operation) % NAMES);
+          String expiryDate = LocalDate.of(2025, 1, 1).plusDays(operation % 5).toString();
+          foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), name, "pcs",
+              PRICE_PER_UNIT.multiply(BigDecimal.valueOf(2)), expiryDate));
+          foodStorage.removeGrocery(name, BigDecimal.ONE, Unit.PCS);
+        }
+        return null;
+      }));
+    }
+    Future<?> reader = executor.submit(() -> {
+      startSignal.await();
+      while (!writersDone.get()) {
+        try {
+          for (Grocery grocery : foodStorage.getSortedList()) {
+            assertEquals(0, PRICE_PER_UNIT.multiply(grocery.getQuantity()).compareTo(grocery.getPrice()));
+          }
+        } catch (NoSuchElementException e) {
+          // Storage was empty when read.
+        }
+        assertTrue(foodStorage.valueOfAllGroceries().signum() >= 0);
+      }
+      return null;
+    });
+
+    startSignal.countDown();
+    for (Future<?> writer : writers) {
+      writer.get(60, TimeUnit.SECONDS);
+    }
+    writersDone.set(true);
+    reader.get(60, TimeUnit.SECONDS);
+    executor.shutdown();
+
+    BigDecimal expectedQuantity = BigDecimal.valueOf((long) THREADS * OPERATIONS_PER_THREAD);
+    BigDecimal storedQuantity = BigDecimal.ZERO;
+    BigDecimal storedValue = BigDecimal.ZERO;
+    for (Grocery grocery : foodStorage.getSortedList()) {
+      storedQuantity = storedQuantity.add(grocery.getQuantity());
+      storedValue = storedValue.add(grocery.getPrice());
+    }
+    assertEquals(0, expectedQuantity.compareTo(storedQuantity));
+    assertEquals(0, storedValue.compareTo(foodStorage.valueOfAllGroceries()));
+    assertEquals(0, PRICE_PER_UNIT.multiply(expectedQuantity).compareTo(storedValue));
+  }
+}
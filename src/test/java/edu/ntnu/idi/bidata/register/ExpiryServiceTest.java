@@ -0,0 +1,131 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>ExpiryService</code> and the <code>WasteLedger</code> it fills.
+ * The service is advanced by hand, one or more days at a time.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class ExpiryServiceTest {
+  private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 10);
+  private FoodStorage foodStorage;
+  private ExpiryService expiryService;
+  private final List<List<Grocery>> warnings = new ArrayList<>();
+
+  /**
+   * Sets up a storage with four lots that expire on different days, and a service that
+   * warns two days before expiry.
+   */
+  @BeforeEach
+  void setUp() {
+    foodStorage = new FoodStorage();
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), "2025-01-08"),
+        new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(25), "2025-01-11"),
+        new Grocery(BigDecimal.valueOf(3), "Ham", "pcs", BigDecimal.valueOf(60), "2025-01-12"),
+        new Grocery(BigDecimal.valueOf(2), "Rice", "kilogram", BigDecimal.valueOf(45), "2025-06-01")));
+    Clock clock = Clock.fixed(FIRST_DAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    expiryService = new ExpiryService(foodStorage, clock, 2);
+    expiryService.addListener((today, groceries) -> warnings.add(groceries));
+  }
+
+  /**
+   * Positive test for <code>advance</code>.
+   * Will check that the expired lot is moved to the waste ledger and no longer counted in
+   * storage, and that the lots within the warning period are reported once.
+   */
+  @Test
+  void advancePositiveTest() {
+    List<Grocery> expired = expiryService.advance();
+
+    assertEquals(1, expired.size());
+    assertEquals(LocalDate.of(2025, 1, 8), expired.getFirst().getExpiryDate());
+    assertEquals(0, BigDecimal.valueOf(130).compareTo(foodStorage.valueOfAllGroceries()));
+    assertEquals(1, foodStorage.getWasteLedger().size());
+    assertEquals(0, BigDecimal.valueOf(20).compareTo(foodStorage.getWasteLedger().getTotalValue()));
+    assertEquals(1, warnings.size());
+    assertEquals(2, warnings.getFirst().size());
+
+    assertTrue(expiryService.advance().isEmpty());
+    assertEquals(1, warnings.size());
+  }
+
+  /**
+   * Positive test for <code>advanceTo</code> over several days.
+   * Will check that skipped days are caught up, that the last lot of a name removes the name,
+   * and that a day before the current day changes nothing.
+   */
+  @Test
+  void advanceToPositiveTest() {
+    expiryService.advanceTo(FIRST_DAY);
+    List<Grocery> expired = expiryService.advanceTo(FIRST_DAY.plusDays(3));
+
+    assertEquals(2, expired.size());
+    assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Milk"));
+    assertEquals(List.of("Rice"), foodStorage.getSortedList().stream().map(Grocery::getName).toList());
+    assertEquals(3, foodStorage.getWasteLedger().size());
+    assertEquals(2, foodStorage.getWasteLedger()
+        .getWasteBetween(LocalDate.of(2025, 1, 11), LocalDate.of(2025, 1, 31)).size());
+    assertEquals(1, warnings.size());
+
+    assertTrue(expiryService.advanceTo(FIRST_DAY).isEmpty());
+    assertEquals(FIRST_DAY.plusDays(3), expiryService.getToday());
+  }
+
+  /**
+   * Positive test for lots added after the service has been advanced.
+   * Will check that a lot added with an expiry date inside the period that was already reported
+   * is reported when it is added, that other lots are not, and that it is not reported again
+   * on the next day.
+   */
+  @Test
+  void addedLotExpiringSoonPositiveTest() {
+    expiryService.advanceTo(FIRST_DAY);
+    assertEquals(1, warnings.size());
+
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(25), "2025-01-11"));
+    assertEquals(2, warnings.size());
+    assertEquals(LocalDate.of(2025, 1, 11), warnings.get(1).getFirst().getExpiryDate());
+
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(2), "Rice", "kilogram", BigDecimal.valueOf(45), "2025-06-01"),
+        new Grocery(BigDecimal.valueOf(1), "Bread", "pcs", BigDecimal.valueOf(30), "2025-01-12")));
+    assertEquals(3, warnings.size());
+    assertEquals(List.of("Bread"), warnings.get(2).stream().map(Grocery::getName).toList());
+
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Ham", "pcs", BigDecimal.valueOf(20), "2025-01-13"));
+    assertEquals(3, warnings.size());
+    expiryService.advanceTo(FIRST_DAY.plusDays(1));
+    assertEquals(4, warnings.size());
+    assertEquals(List.of("Ham"), warnings.get(3).stream().map(Grocery::getName).toList());
+  }
+
+  /**
+   * Negative test for the constructor and <code>advanceTo</code>.
+   * @throws IllegalArgumentException should be thrown, because the arguments are invalid.
+   */
+  @Test
+  void expiryServiceNegativeTest() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExpiryService(null, Clock.systemUTC(), 2));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ExpiryService(foodStorage, Clock.systemUTC(), -1));
+    assertThrows(IllegalArgumentException.class, () -> expiryService.advanceTo(null));
+    assertThrows(IllegalArgumentException.class, () -> expiryService.addListener(null));
+  }
+}
@@ -1,14 +1,21 @@
 package edu.ntnu.idi.bidata.register;
 
+import edu.ntnu.idi.bidata.entity.Dimension;
 import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import edu.ntnu.idi.bidata.util.IngredientBits;
+import edu.ntnu.idi.bidata.util.IngredientIds;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -69,21 +76,87 @@ class FoodStorageTest {
     assertThrows(IllegalArgumentException.class, () -> foodStorage.addGrocery(null));
   }
 
+  /**
+   * Positive test for the method <code>addGroceries</code>.
+   * Will add a batch where lines share name and expiry date, with each other and with storage.
+   * The lines that share name and expiry date are merged into a new grocery, and are not changed.
+   */
+  @Test
+  void addGroceriesPositiveTest() {
+    Grocery rice = new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(40), formattedToday);
+    foodStorage.addGroceries(List.of(
+        rice,
+        new Grocery(BigDecimal.valueOf(2), "rice", "kilogram", BigDecimal.valueOf(80), formattedToday),
+        new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), formattedToday)));
+
+    assertEquals(1, foodStorage.searchGrocery("Rice").size());
+    assertNotSame(rice, foodStorage.searchGrocery("Rice").getFirst());
+    assertEquals(0, BigDecimal.valueOf(3).compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(1).compareTo(rice.getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(40).compareTo(rice.getPrice()));
+    assertEquals(0, BigDecimal.valueOf(2).compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(280).compareTo(foodStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Negative test for the method <code>addGroceries</code>.
+   * Will check that no line of a batch is added, when one of the lines is invalid,
+   * or when a line can not be merged into a lot in storage because the sum is too large.
+   */
+  @Test
+  void addGroceriesNegativeTest() {
+    List<Grocery> batch = new ArrayList<>();
+    batch.add(new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(40), formattedToday));
+    batch.add(null);
+
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.addGroceries(batch));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.addGroceries(null));
+    List<Grocery> tooMuchMilk = List.of(
+        new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(40), formattedToday),
+        new Grocery(Long.MAX_VALUE, "Milk", Unit.LITER, 100, today));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.addGroceries(tooMuchMilk));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Rice"));
+    assertEquals(0, BigDecimal.ONE.compareTo(milk.getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(140).compareTo(foodStorage.valueOfAllGroceries()));
+  }
+
   /**
    * Positive test for the method <code>removeGrocery</code>.
    * Will remove a grocery that does exist in <code>foodStorage</code>
    */
   @Test
   void removeGroceryPositiveTest() {
-    foodStorage.removeGrocery("Chicken", BigDecimal.valueOf(0.6));
+    foodStorage.removeGrocery("Chicken", BigDecimal.valueOf(0.6), Unit.LITER);
     List<Grocery> groceries = foodStorage.searchGrocery("Chicken");
     assertFalse(groceries.isEmpty());
     assertEquals(0, BigDecimal.valueOf(0.6).compareTo(groceries.getFirst().getQuantity()));
 
-    foodStorage.removeGrocery("Chicken", BigDecimal.valueOf(0.6));
+    foodStorage.removeGrocery("Chicken", BigDecimal.valueOf(0.6), Unit.LITER);
     assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Chicken"));
   }
 
+  /**
+   * Positive test for the method <code>removeGrocery</code>.
+   * Will check that the lot that expires first is used first, regardless of insertion order.
+   */
+  @Test
+  void removeGroceryExpiresFirstPositiveTest() {
+    Grocery freshMilk = new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20),
+        today.plusDays(7).format(formatter));
+    Grocery oldMilk = new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20),
+        today.minusDays(7).format(formatter));
+    foodStorage.addGrocery(freshMilk);
+    foodStorage.addGrocery(oldMilk);
+
+    foodStorage.removeGrocery("Milk", BigDecimal.valueOf(1.5), Unit.LITER);
+
+    List<Grocery> milkLots = foodStorage.searchGrocery("Milk");
+    assertEquals(2, milkLots.size());
+    assertEquals(milk.getExpiryDate(), milkLots.getFirst().getExpiryDate());
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(milkLots.getFirst().getQuantity()));
+    assertEquals(freshMilk.getExpiryDate(), milkLots.get(1).getExpiryDate());
+  }
+
   /**
    * Negative test for the method <code>removeGrocery</code>.
    * Will remove a bigger quantity than the available quantity.
@@ -92,10 +165,35 @@ class FoodStorageTest {
   void removeGroceryNegativeTest() {
     BigDecimal quantity = BigDecimal.valueOf(10);
     BigDecimal negativeValue = BigDecimal.valueOf(-1);
-    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Chicken", quantity));
-    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery(null, quantity));
-    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("", quantity));
-    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Chicken", negativeValue));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Chicken", quantity, Unit.LITER));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery(null, quantity, Unit.KILOGRAM));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("", quantity, Unit.KILOGRAM));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Chicken", negativeValue, Unit.LITER));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Chicken", quantity, null));
+    BigDecimal tooLarge = BigDecimal.valueOf(Long.MAX_VALUE / 1000);
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Milk", tooLarge, Unit.LITER));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.isGroceryAvailable("Milk", tooLarge, Unit.LITER));
+  }
+
+  /**
+   * Positive test for the method <code>removeGrocery</code>.
+   * Will check that the quantity is read in the given unit, and not in the unit of the lot
+   * that expires first.
+   */
+  @Test
+  void removeGroceryInGivenUnitPositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(500), "Milk", "milliliter", BigDecimal.valueOf(10),
+        today.plusDays(7).format(formatter)));
+
+    foodStorage.removeGrocery("Milk", BigDecimal.valueOf(250), Unit.MILLILITER);
+    assertTrue(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1.25), Unit.LITER));
+    assertFalse(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1.26), Unit.LITER));
+
+    foodStorage.removeGrocery("Milk", BigDecimal.ONE, Unit.LITER);
+    List<Grocery> milkLots = foodStorage.searchGrocery("Milk");
+    assertEquals(1, milkLots.size());
+    assertEquals(Unit.MILLILITER, milkLots.getFirst().getUnit());
+    assertEquals(0, BigDecimal.valueOf(250).compareTo(milkLots.getFirst().getQuantity()));
   }
 
   /**
@@ -109,6 +207,80 @@ class FoodStorageTest {
     assertEquals("Chicken", groceries.getFirst().getName());
   }
 
+  /**
+   * Positive test for the method <code>searchGrocery</code>.
+   * Will search for a grocery with a name that only differs in case and whitespace.
+   */
+  @Test
+  void searchGroceryIgnoresCasePositiveTest() {
+    List<Grocery> groceries = foodStorage.searchGrocery("  cHICKEN ");
+
+    assertSameLot(chicken, groceries.getFirst());
+  }
+
+  /**
+   * Positive test for <code>addGrocery</code> and <code>searchGrocery</code>.
+   * Will change the added grocery and a returned lot, and check that neither changes the lots,
+   * the value or the expiry date index of the storage.
+   */
+  @Test
+  void groceriesAreCopiedInAndOutPositiveTest() {
+    milk.setQuantity(BigDecimal.valueOf(5));
+    foodStorage.searchGrocery("Milk").getFirst().setPrice(BigDecimal.valueOf(1000));
+    foodStorage.getSortedList().getFirst().setExpiryDate("2023-10-10");
+
+    assertEquals(0, BigDecimal.ONE.compareTo(foodStorage.searchGrocery("Milk").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(140).compareTo(foodStorage.valueOfAllGroceries()));
+    assertTrue(foodStorage.listOfExpiredGroceries(formattedToday).isEmpty());
+    assertTrue(foodStorage.isGroceryAvailable("Milk", BigDecimal.ONE, Unit.LITER));
+    assertFalse(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(2), Unit.LITER));
+  }
+
+  /**
+   * Positive test for the listeners of <code>addGrocery</code> and <code>addGroceries</code>.
+   * Will change the groceries a listener is given, and check that the storage is not changed,
+   * and that an empty batch is not reported.
+   */
+  @Test
+  void listenersAreGivenCopiesPositiveTest() {
+    List<Grocery> reported = new ArrayList<>();
+    int[] batches = new int[1];
+    foodStorage.addListener(new FoodStorageListener() {
+      @Override
+      public void groceryAdded(Grocery grocery) {
+        reported.add(grocery);
+      }
+
+      @Override
+      public void groceriesAdded(Collection<Grocery> groceries) {
+        reported.addAll(groceries);
+        batches[0]++;
+      }
+    });
+
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Bread", "pcs", BigDecimal.valueOf(30), formattedToday));
+    foodStorage.addGroceries(List.of(new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(40), formattedToday)));
+    foodStorage.addGroceries(List.of());
+    reported.forEach(grocery -> grocery.setQuantity(BigDecimal.valueOf(100)));
+
+    assertEquals(2, reported.size());
+    assertEquals(1, batches[0]);
+    assertEquals(0, BigDecimal.valueOf(2).compareTo(foodStorage.searchGrocery("Bread").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.ONE.compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+  }
+
+  /**
+   * Positive test for the method <code>removeGrocery</code>.
+   * Will remove a grocery by a name that only differs in case.
+   */
+  @Test
+  void removeGroceryIgnoresCasePositiveTest() {
+    foodStorage.removeGrocery("milk", BigDecimal.valueOf(1), Unit.LITER);
+
+    assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Milk"));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.removeGrocery("MILK", BigDecimal.ONE, Unit.LITER));
+  }
+
   /**
    * Negative test for the method <code>searchGrocery</code>.
    * Will search for a grocery that does not exist in <code>foodStorage</code>.
@@ -137,6 +309,34 @@ class FoodStorageTest {
   }
 
 
+  /**
+   * Positive test for <code>listOfGroceriesExpiringBetween</code>.
+   * Will check that only groceries inside the range are listed, ordered by expiry date.
+   */
+  @Test
+  void listOfGroceriesExpiringBetweenPositiveTest() {
+    Grocery oldMilk = new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), "2023-10-10");
+    Grocery ham = new Grocery(BigDecimal.valueOf(1), "Ham", "kilogram", BigDecimal.valueOf(30), "2023-10-05");
+    Grocery rice = new Grocery(BigDecimal.valueOf(1), "Rice", "kilogram", BigDecimal.valueOf(40), "2023-11-01");
+    foodStorage.addGrocery(oldMilk);
+    foodStorage.addGrocery(ham);
+    foodStorage.addGrocery(rice);
+
+    List<Grocery> expiringGroceries = foodStorage.listOfGroceriesExpiringBetween("2023-10-01", "2023-10-10");
+
+    assertSameLots(List.of(ham, oldMilk), expiringGroceries);
+  }
+
+  /**
+   * Negative test for <code>listOfGroceriesExpiringBetween</code>.
+   * Will check that an exception is thrown when the range is reversed or a date is invalid.
+   */
+  @Test
+  void listOfGroceriesExpiringBetweenNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.listOfGroceriesExpiringBetween("2023-10-10", "2023-10-01"));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.listOfGroceriesExpiringBetween("2023-10-01", "20231010"));
+  }
+
   /**
    * Negative test for method <code>listOfExpiredGroceries</code>.
    * Will test for invalid parameters of year, month and day.
@@ -156,6 +356,38 @@ class FoodStorageTest {
     assertEquals(0, BigDecimal.valueOf(140).compareTo(foodStorage.valueOfAllGroceries()));
   }
 
+  /**
+   * Positive test method for the running value totals.
+   * Will check that merging and partial removal keep the totals per name and unit in sync.
+   */
+  @Test
+  void valueOfGroceryPositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), formattedToday));
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Ham", "kilogram", BigDecimal.valueOf(30), formattedToday));
+
+    assertEquals(0, BigDecimal.valueOf(40).compareTo(foodStorage.valueOfGrocery("milk")));
+    assertEquals(0, BigDecimal.valueOf(30).compareTo(foodStorage.valueOfGroceriesByUnit(Unit.KILOGRAM)));
+
+    foodStorage.removeGrocery("Milk", BigDecimal.valueOf(0.5), Unit.LITER);
+
+    assertEquals(0, BigDecimal.valueOf(30).compareTo(foodStorage.valueOfGrocery("Milk")));
+    assertEquals(0, BigDecimal.valueOf(180).compareTo(foodStorage.valueOfAllGroceries()));
+    assertEquals(0, BigDecimal.valueOf(150).compareTo(foodStorage.valueOfGroceriesByUnit(Unit.LITER)));
+  }
+
+  /**
+   * Negative test method for <code>valueOfGrocery</code>.
+   * Will check that a removed or unknown grocery has no value, and that invalid names throw.
+   */
+  @Test
+  void valueOfGroceryNegativeTest() {
+    foodStorage.removeGrocery("Milk", BigDecimal.valueOf(1), Unit.LITER);
+
+    assertEquals(0, BigDecimal.ZERO.compareTo(foodStorage.valueOfGrocery("Milk")));
+    assertEquals(0, BigDecimal.ZERO.compareTo(foodStorage.valueOfGroceriesByUnit(Unit.PCS)));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.valueOfGrocery(" "));
+  }
+
   /**
    * Negative test method for <code>valueOfAllGroceries</code>
    */
@@ -175,8 +407,153 @@ class FoodStorageTest {
   void getSortedListTest() {
     List<Grocery> sortedGroceryList = foodStorage.getSortedList();
 
-    assertEquals(chicken, sortedGroceryList.getFirst()); // Check if first item is chicken.
-    assertEquals(milk, sortedGroceryList.get(1)); // Check if second item is milk.
+    assertSameLot(chicken, sortedGroceryList.getFirst()); // Check if first item is chicken.
+    assertSameLot(milk, sortedGroceryList.get(1)); // Check if second item is milk.
+  }
+
+  /**
+   * Test to check that the sorted list follows the groceries that are added and removed.
+   */
+  @Test
+  void getSortedListAfterChangesTest() {
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(3), "apple", "pcs", BigDecimal.valueOf(15), "2024-12-20"),
+        new Grocery(BigDecimal.valueOf(2), "Apple", "pcs", BigDecimal.valueOf(10), "2024-12-10")));
+    foodStorage.removeGrocery("Milk", BigDecimal.ONE, Unit.LITER);
+
+    List<Grocery> sortedGroceryList = foodStorage.getSortedList();
+    assertEquals(3, sortedGroceryList.size());
+    assertEquals(LocalDate.of(2024, 12, 10), sortedGroceryList.getFirst().getExpiryDate());
+    assertEquals(LocalDate.of(2024, 12, 20), sortedGroceryList.get(1).getExpiryDate());
+    assertSameLot(chicken, sortedGroceryList.get(2));
+
+    foodStorage.removeIngredients(Map.of(
+        "Chicken", new SimpleEntry<>(BigDecimal.valueOf(1.2), Unit.LITER),
+        "Apple", new SimpleEntry<>(BigDecimal.valueOf(5), Unit.PCS)));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.getSortedList());
+  }
+
+  /**
+   * Positive test for <code>getPage</code>.
+   * Will page through five grocery names, two names at a time, and check that every lot
+   * of a name is on the same page and that the last page has no next key.
+   */
+  @Test
+  void getPagePositiveTest() {
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(2), "Apple", "pcs", BigDecimal.valueOf(10), "2024-12-10"),
+        new Grocery(BigDecimal.valueOf(3), "Apple", "pcs", BigDecimal.valueOf(15), "2024-12-20"),
+        new Grocery(BigDecimal.valueOf(1), "Butter", "kilogram", BigDecimal.valueOf(80), "2024-12-10"),
+        new Grocery(BigDecimal.valueOf(6), "Eggs", "pcs", BigDecimal.valueOf(30), "2024-12-10")));
+
+    GroceryPage firstPage = foodStorage.getPage(null, 2);
+    assertEquals(3, firstPage.getGroceries().size());
+    assertEquals("butter", firstPage.getNextKey());
+
+    GroceryPage secondPage = foodStorage.getPage(firstPage.getNextKey(), 2);
+    assertEquals(List.of("Chicken", "Eggs"),
+        secondPage.getGroceries().stream().map(Grocery::getName).toList());
+
+    GroceryPage lastPage = foodStorage.getPage(secondPage.getNextKey(), 2);
+    assertSameLots(List.of(milk), lastPage.getGroceries());
+    assertFalse(lastPage.hasNext());
+
+    assertTrue(foodStorage.getPage("Milk", 2).getGroceries().isEmpty());
+    assertSameLot(milk, foodStorage.getPage("Eggs", 2).getGroceries().getFirst());
+  }
+
+  /**
+   * Positive test for <code>soonestExpiring</code>.
+   * Will check that the lots are returned by expiry date, that expired lots come first,
+   * and that no more lots than available are returned.
+   */
+  @Test
+  void soonestExpiringPositiveTest() {
+    Grocery oldHam = new Grocery(BigDecimal.valueOf(1), "Ham", "pcs", BigDecimal.valueOf(25), "2024-12-10");
+    Grocery newHam = new Grocery(BigDecimal.valueOf(1), "Ham", "pcs", BigDecimal.valueOf(25), today.plusDays(3).format(formatter));
+    Grocery butter = new Grocery(BigDecimal.valueOf(1), "Butter", "kilogram", BigDecimal.valueOf(80), today.plusDays(1).format(formatter));
+    foodStorage.addGroceries(List.of(newHam, butter, oldHam));
+
+    assertSameLots(List.of(oldHam), foodStorage.soonestExpiring(1));
+    List<Grocery> soonestGroceries = foodStorage.soonestExpiring(4);
+    assertEquals(4, soonestGroceries.size());
+    assertSameLot(butter, soonestGroceries.get(3));
+    assertEquals(5, foodStorage.soonestExpiring(10).size());
+    assertSameLot(newHam, foodStorage.soonestExpiring(10).getLast());
+  }
+
+  /**
+   * Negative test for <code>soonestExpiring</code>.
+   * @throws IllegalArgumentException should be thrown, because the number of lots is not positive.
+   */
+  @Test
+  void soonestExpiringNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.soonestExpiring(0));
+    assertTrue(new FoodStorage().soonestExpiring(3).isEmpty());
+  }
+
+  /**
+   * Positive test for <code>getStockBits</code> and <code>containsAllIngredients</code>.
+   * Will check that a grocery is in the set while it has lots, and leaves it when it is used up,
+   * and that a set that was read is a copy that does not change with the storage.
+   */
+  @Test
+  void getStockBitsPositiveTest() {
+    IngredientIds ingredientIds = foodStorage.getIngredientIds();
+    long[] milkAndChicken = IngredientBits.of(List.of("milk", "chicken"), ingredientIds);
+    long[] stockBits = foodStorage.getStockBits();
+    assertTrue(IngredientBits.containsAll(stockBits, milkAndChicken));
+    assertTrue(foodStorage.containsAllIngredients(milkAndChicken));
+
+    foodStorage.removeGrocery("Milk", BigDecimal.ONE, Unit.LITER);
+    assertTrue(IngredientBits.containsAll(stockBits, milkAndChicken));
+    assertFalse(foodStorage.containsAllIngredients(milkAndChicken));
+    assertTrue(foodStorage.containsAllIngredients(IngredientBits.of(List.of("chicken"), ingredientIds)));
+    assertNotSame(foodStorage.getStockBits(), foodStorage.getStockBits());
+  }
+
+  /**
+   * Positive test for <code>getStock</code> and <code>GroceryStock.valueOf</code>.
+   * The grocery is stocked by weight and by volume at very different prices.
+   * Will check that a required weight is priced at the price of the lots by weight only.
+   */
+  @Test
+  void getStockValueByDimensionPositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.ONE, "Sugar", "kilogram", BigDecimal.valueOf(100), formattedToday));
+    foodStorage.addGrocery(new Grocery(BigDecimal.ONE, "Sugar", "liter", BigDecimal.TEN, formattedToday));
+    long[] required = new long[Dimension.values().length];
+    required[Dimension.MASS.ordinal()] = Unit.GRAM.toBase(50_000);
+
+    GroceryStock stock = foodStorage.getStock("sugar");
+
+    assertEquals(11_000, stock.getValueHundredths());
+    assertEquals(5_000, stock.valueOf(required));
+    assertEquals(0, stock.getDaysUntilExpiry());
+  }
+
+  /**
+   * Positive test for <code>groceryNamesStartingWith</code> and <code>groceryNamesCloseTo</code>.
+   * Will check that the names follow the groceries that are added and used up.
+   */
+  @Test
+  void groceryNamesPositiveTest() {
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(1), "Mint", "pcs", BigDecimal.valueOf(15), formattedToday)));
+
+    assertEquals(List.of("Milk", "Mint"), foodStorage.groceryNamesStartingWith("mi", 5));
+    assertEquals(List.of("Chicken"), foodStorage.groceryNamesCloseTo("Chikcen", 2, 5));
+
+    foodStorage.removeGrocery("milk", BigDecimal.ONE, Unit.LITER);
+    assertEquals(List.of("Mint"), foodStorage.groceryNamesStartingWith("mi", 5));
+  }
+
+  /**
+   * Negative test for <code>getPage</code>.
+   * @throws IllegalArgumentException should be thrown, because the limit is not positive.
+   */
+  @Test
+  void getPageNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.getPage(null, 0));
   }
 
   /**
@@ -193,6 +570,23 @@ class FoodStorageTest {
     assertEquals(0, BigDecimal.valueOf(175).compareTo(totalValue));
   }
 
+  /**
+   * Positive test for value of expired groceries before a given date.
+   * Will check that groceries removed from storage are no longer counted.
+   */
+  @Test
+  void valueOfGroceriesExpiringBeforePositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(2), "Salmon", "kilogram", BigDecimal.valueOf(150), "2023-12-10"));
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Salad", "kilogram", BigDecimal.valueOf(25), "2023-12-10"));
+
+    assertEquals(0, BigDecimal.valueOf(175).compareTo(foodStorage.valueOfGroceriesExpiringBefore(formattedToday)));
+
+    foodStorage.removeGrocery("Salad", BigDecimal.valueOf(1), Unit.KILOGRAM);
+
+    assertEquals(0, BigDecimal.valueOf(150).compareTo(foodStorage.valueOfGroceriesExpiringBefore(formattedToday)));
+    assertEquals(0, BigDecimal.ZERO.compareTo(foodStorage.valueOfGroceriesExpiringBefore("2023-01-01")));
+  }
+
   /**
    * Negative test for value of expired groceries.
    */
@@ -204,4 +598,191 @@ class FoodStorageTest {
     assertThrows(NoSuchElementException.class, () -> foodStorage.valueOfExpiredGroceries(null));
   }
 
-}
\ No newline at end of file
+  /**
+   * Positive test for <code>isGroceryAvailable</code>.
+   * Will check that the quantity of every lot in the requested unit is counted.
+   */
+  @Test
+  void isGroceryAvailablePositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1.5), "Milk", "liter", BigDecimal.valueOf(30), "2023-10-10"));
+
+    assertTrue(foodStorage.isGroceryAvailable("milk", BigDecimal.valueOf(2.5), Unit.LITER));
+  }
+
+  /**
+   * Negative test for <code>isGroceryAvailable</code>.
+   * Will check that missing groceries, other units and too high quantities are not available.
+   */
+  @Test
+  void isGroceryAvailableNegativeTest() {
+    assertFalse(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1.01), Unit.LITER));
+    assertFalse(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1), Unit.PCS));
+    assertFalse(foodStorage.isGroceryAvailable("Ham", BigDecimal.valueOf(1), Unit.KILOGRAM));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.isGroceryAvailable("Milk", BigDecimal.ONE, null));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.isGroceryAvailable(null, BigDecimal.ONE, Unit.LITER));
+  }
+
+  /**
+   * Positive test for lots of the same grocery and expiry date in different units.
+   * Will check that 1 kilogram and 200 gram of flour are kept as two lots instead of being added
+   * up as 201 kilogram, and that removal and availability count them in base units.
+   */
+  @Test
+  void mixedUnitsSameDatePositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1), "Flour", "kilogram", BigDecimal.valueOf(30), "2023-10-10"));
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(150), "Flour", "gram", BigDecimal.valueOf(6), "2023-10-10"),
+        new Grocery(BigDecimal.valueOf(50), "flour", "gram", BigDecimal.valueOf(2), "2023-10-10")));
+
+    assertEquals(2, foodStorage.searchGrocery("Flour").size());
+    assertTrue(foodStorage.isGroceryAvailable("flour", BigDecimal.valueOf(1.2), Unit.KILOGRAM));
+    assertFalse(foodStorage.isGroceryAvailable("flour", BigDecimal.valueOf(150), Unit.KILOGRAM));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeGrocery("Flour", BigDecimal.valueOf(150), Unit.KILOGRAM));
+
+    foodStorage.removeGrocery("Flour", BigDecimal.valueOf(1.1), Unit.KILOGRAM);
+    List<Grocery> flour = foodStorage.searchGrocery("Flour");
+    assertEquals(1, flour.size());
+    assertEquals(Unit.GRAM, flour.getFirst().getUnit());
+    assertEquals(0, BigDecimal.valueOf(100).compareTo(flour.getFirst().getQuantity()));
+  }
+
+  /**
+   * Positive test for <code>removeIngredients</code>.
+   * Will check that only lots in the required unit are used, and that names are case-insensitive.
+   */
+  @Test
+  void removeIngredientsPositiveTest() {
+    Grocery milkCartons = new Grocery(BigDecimal.valueOf(2), "Milk", "pcs", BigDecimal.valueOf(40), "2023-10-10");
+    foodStorage.addGrocery(milkCartons);
+
+    foodStorage.removeIngredients(Map.of(
+        "milk", new SimpleEntry<>(BigDecimal.valueOf(0.5), Unit.LITER),
+        "Chicken", new SimpleEntry<>(BigDecimal.valueOf(1.2), Unit.LITER)));
+
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(lotIn("Milk", Unit.LITER).getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(2).compareTo(lotIn("Milk", Unit.PCS).getQuantity()));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.searchGrocery("Chicken"));
+  }
+
+  /**
+   * Positive test for <code>removeIngredients</code> with quantities below a hundredth of the
+   * unit of the lot. Will check that 4 gram and 5 gram from a kilogram lot each take 10 gram,
+   * so less is never taken than the recipe uses.
+   */
+  @Test
+  void removeIngredientsRoundsUpPositiveTest() {
+    Grocery flour = new Grocery(BigDecimal.valueOf(1), "Flour", "kilogram", BigDecimal.valueOf(30), formattedToday);
+    foodStorage.addGrocery(flour);
+
+    foodStorage.removeIngredients(Map.of("Flour", new SimpleEntry<>(BigDecimal.valueOf(4), Unit.GRAM)));
+    assertEquals(0, BigDecimal.valueOf(0.99).compareTo(lotIn("Flour", Unit.KILOGRAM).getQuantity()));
+
+    foodStorage.removeIngredients(Map.of("Flour", new SimpleEntry<>(BigDecimal.valueOf(5), Unit.GRAM)));
+    assertEquals(0, BigDecimal.valueOf(0.98).compareTo(lotIn("Flour", Unit.KILOGRAM).getQuantity()));
+  }
+
+  /**
+   * Negative test for <code>removeIngredients</code>.
+   * Will check that nothing is removed when one ingredient is short, missing or invalid.
+   */
+  @Test
+  void removeIngredientsNegativeTest() {
+    Map<String, SimpleEntry<BigDecimal, Unit>> tooMuchMilk = Map.of(
+        "Chicken", new SimpleEntry<>(BigDecimal.valueOf(1), Unit.LITER),
+        "Milk", new SimpleEntry<>(BigDecimal.valueOf(2), Unit.LITER));
+    Map<String, SimpleEntry<BigDecimal, Unit>> missingHam = Map.of(
+        "Chicken", new SimpleEntry<>(BigDecimal.valueOf(1), Unit.LITER),
+        "Ham", new SimpleEntry<>(BigDecimal.valueOf(1), Unit.KILOGRAM));
+    Map<String, SimpleEntry<BigDecimal, Unit>> negativeMilk = Map.of(
+        "Milk", new SimpleEntry<>(BigDecimal.valueOf(-1), Unit.LITER));
+
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeIngredients(tooMuchMilk));
+    assertThrows(NoSuchElementException.class, () -> foodStorage.removeIngredients(missingHam));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeIngredients(negativeMilk));
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeIngredients(null));
+    assertEquals(0, BigDecimal.valueOf(1.2).compareTo(lotIn("Chicken", Unit.LITER).getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(140).compareTo(foodStorage.valueOfAllGroceries()));
+  }
+
+  /**
+   * Positive test for unit conversion in <code>isGroceryAvailable</code> and <code>removeIngredients</code>.
+   * Will check that gram is compared with kilogram, and that milliliter is taken from liter.
+   * With a density, a recipe in gram can also be covered by milk in liter.
+   */
+  @Test
+  void unitConversionPositiveTest() {
+    foodStorage.addGrocery(new Grocery(BigDecimal.valueOf(1.25), "Rice", "kilogram", BigDecimal.valueOf(50), formattedToday));
+
+    assertTrue(foodStorage.isGroceryAvailable("Rice", BigDecimal.valueOf(500), Unit.GRAM));
+    assertTrue(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1000), Unit.MILLILITER));
+    assertFalse(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(500), Unit.GRAM));
+
+    foodStorage.getUnitConverter().setDensity("milk", BigDecimal.valueOf(1.03));
+    assertTrue(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1030), Unit.GRAM));
+    assertFalse(foodStorage.isGroceryAvailable("Milk", BigDecimal.valueOf(1031), Unit.GRAM));
+
+    foodStorage.removeIngredients(Map.of(
+        "rice", new SimpleEntry<>(BigDecimal.valueOf(500), Unit.GRAM),
+        "milk", new SimpleEntry<>(BigDecimal.valueOf(515), Unit.GRAM)));
+
+    assertEquals(0, BigDecimal.valueOf(0.75).compareTo(foodStorage.searchGrocery("Rice").getFirst().getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(lotIn("Milk", Unit.LITER).getQuantity()));
+    assertEquals(0, BigDecimal.valueOf(10).compareTo(lotIn("Milk", Unit.LITER).getPrice()));
+  }
+
+  /**
+   * Negative test for unit conversion in <code>removeIngredients</code>.
+   * Will check that quantities are not converted between dimensions without a density or piece weight.
+   */
+  @Test
+  void unitConversionNegativeTest() {
+    Map<String, SimpleEntry<BigDecimal, Unit>> milkInGram = Map.of(
+        "Milk", new SimpleEntry<>(BigDecimal.valueOf(100), Unit.GRAM));
+
+    assertThrows(IllegalArgumentException.class, () -> foodStorage.removeIngredients(milkInGram));
+    assertThrows(IllegalArgumentException.class, () -> new FoodStorage(null));
+    assertEquals(0, BigDecimal.ONE.compareTo(milk.getQuantity()));
+  }
+
+  /**
+   * Asserts that a lot returned by the storage holds the same grocery as the given one.
+   * The storage returns copies of its lots, so they are compared field by field.
+   *
+   * @param expected The grocery that was added.
+   * @param actual The lot returned by the storage.
+   */
+  private static void assertSameLot(Grocery expected, Grocery actual) {
+    assertEquals(expected.getName(), actual.getName());
+    assertEquals(expected.getUnit(), actual.getUnit());
+    assertEquals(expected.getExpiryDate(), actual.getExpiryDate());
+    assertEquals(expected.getQuantityHundredths(), actual.getQuantityHundredths());
+    assertEquals(expected.getPriceHundredths(), actual.getPriceHundredths());
+  }
+
+  /**
+   * Asserts that the lots returned by the storage hold the given groceries, in the same order.
+   *
+   * @param expected The groceries that were added.
+   * @param actual The lots returned by the storage.
+   */
+  private static void assertSameLots(List<Grocery> expected, List<Grocery> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertSameLot(expected.get(i), actual.get(i));
+    }
+  }
+
+  /**
+   * Helper method that finds the lot of a grocery in the given unit, as it is in storage.
+   *
+   * @param name The name of the grocery.
+   * @param unit The unit of measurement of the lot.
+   * @return The lot in storage.
+   */
+  private Grocery lotIn(String name, Unit unit) {
+    return foodStorage.searchGrocery(name).stream()
+        .filter(lot -> lot.getUnit() == unit)
+        .findFirst()
+        .orElseThrow();
+  }
+}
@@ -0,0 +1,81 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Dimension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>UnitConverter</code>.
+ * Checks conversion between dimensions through the density and piece weight tables.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class UnitConverterTest {
+  private UnitConverter unitConverter;
+
+  /**
+   * Sets up a converter with a density for milk and a piece weight for eggs before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    unitConverter = new UnitConverter();
+    unitConverter.setDensity("Milk", BigDecimal.valueOf(1.03));
+    unitConverter.setPieceWeight("Egg", BigDecimal.valueOf(60));
+  }
+
+  /**
+   * Positive test for <code>convert</code>.
+   * Will check that milliliter is converted to gram, and gram to pieces.
+   */
+  @Test
+  void convertPositiveTest() {
+    assertEquals(103_000, unitConverter.convert("milk", 100_000, Dimension.VOLUME, Dimension.MASS));
+    assertEquals(200, unitConverter.convert("egg", 12_000, Dimension.MASS, Dimension.COUNT));
+    assertEquals(500, unitConverter.convert("ham", 500, Dimension.MASS, Dimension.MASS));
+  }
+
+  /**
+   * Negative test for <code>convert</code>.
+   * @throws IllegalArgumentException should be thrown, because there is no density for eggs.
+   */
+  @Test
+  void convertNegativeTest() {
+    assertFalse(unitConverter.canConvert("egg", Dimension.VOLUME, Dimension.MASS));
+    assertThrows(IllegalArgumentException.class,
+        () -> unitConverter.convert("egg", 100, Dimension.VOLUME, Dimension.MASS));
+    assertThrows(IllegalArgumentException.class,
+        () -> unitConverter.setDensity("Milk", BigDecimal.ZERO));
+    assertThrows(IllegalArgumentException.class,
+        () -> unitConverter.setPieceWeight(" ", BigDecimal.ONE));
+  }
+
+  /**
+   * Positive test for <code>covers</code>.
+   * Will check that missing mass is covered by the volume that is left over.
+   */
+  @Test
+  void coversPositiveTest() {
+    long[] available = {10_000, 100_000, 0};
+    long[] required = {50_000, 50_000, 0};
+
+    assertTrue(unitConverter.covers("milk", available, required));
+  }
+
+  /**
+   * Negative test for <code>covers</code>.
+   * Will check that a missing quantity is not covered without a conversion, or when too little is left.
+   */
+  @Test
+  void coversNegativeTest() {
+    long[] available = {10_000, 100_000, 0};
+    long[] required = {70_000, 50_000, 0};
+
+    assertFalse(unitConverter.covers("milk", available, required));
+    assertFalse(unitConverter.covers("water", available, new long[] {20_000, 0, 0}));
+  }
+}
@@ -0,0 +1,114 @@
+package edu.ntnu.idi.bidata.register;
+
+import edu.ntnu.idi.bidata.entity.Grocery;
+import edu.ntnu.idi.bidata.entity.Unit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>UsageRollups</code>.
+ * Groceries are used and expired in a storage with a fixed clock, and the totals are read back
+ * per unit, per name, and per week and month.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class UsageRollupsTest {
+  private static final LocalDate TODAY = LocalDate.of(2025, 2, 3); // A Monday
+  private FoodStorage foodStorage;
+  private UsageRollups usageRollups;
+
+  /**
+   * Sets up a storage where half a liter of milk is used today, and two lots expire in
+   * January, in different weeks.
+   */
+  @BeforeEach
+  void setUp() {
+    Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+    foodStorage = new FoodStorage(new UnitConverter(), clock);
+    usageRollups = foodStorage.getUsageRollups();
+    foodStorage.addGroceries(List.of(
+        new Grocery(BigDecimal.valueOf(1), "Milk", "liter", BigDecimal.valueOf(20), "2025-01-08"),
+        new Grocery(BigDecimal.valueOf(2), "Milk", "liter", BigDecimal.valueOf(40), "2025-02-10"),
+        new Grocery(BigDecimal.valueOf(3), "Ham", "pcs", BigDecimal.valueOf(60), "2025-01-20")));
+    foodStorage.removeExpiredGroceries(TODAY);
+    foodStorage.removeIngredients(Map.of(
+        "Milk", new SimpleEntry<>(BigDecimal.valueOf(500), Unit.MILLILITER)));
+  }
+
+  /**
+   * Positive test for <code>getTotalsByUnit</code> and <code>getTotalsByName</code>.
+   * Will check that waste and consumption are counted in the unit of the lot,
+   * and that days outside the range are left out.
+   */
+  @Test
+  void getTotalsPositiveTest() {
+    Map<Unit, Usage> byUnit = usageRollups.getTotalsByUnit(LocalDate.of(2025, 1, 1), TODAY);
+    Usage liters = byUnit.get(Unit.LITER);
+    assertEquals(0, BigDecimal.valueOf(1).compareTo(liters.getWastedQuantity()));
+    assertEquals(0, BigDecimal.valueOf(20).compareTo(liters.getWastedValue()));
+    assertEquals(0, BigDecimal.valueOf(0.5).compareTo(liters.getConsumedQuantity()));
+    assertEquals(0, BigDecimal.valueOf(10).compareTo(liters.getConsumedValue()));
+    assertEquals(0, BigDecimal.valueOf(60).compareTo(byUnit.get(Unit.PCS).getWastedValue()));
+
+    Map<String, Map<Unit, Usage>> byName = usageRollups.getTotalsByName(TODAY, TODAY);
+    assertEquals(List.of("milk"), List.copyOf(byName.keySet()));
+    assertEquals(0, BigDecimal.ZERO.compareTo(byName.get("milk").get(Unit.LITER).getWastedValue()));
+  }
+
+  /**
+   * Positive test for <code>getWeeklyTotals</code> and <code>getMonthlyTotals</code>.
+   * Will check that each day is merged into the week and month it belongs to.
+   */
+  @Test
+  void getPeriodTotalsPositiveTest() {
+    LocalDate fromDate = LocalDate.of(2025, 1, 1);
+    NavigableMap<LocalDate, Map<Unit, Usage>> weeks = usageRollups.getWeeklyTotals(fromDate, TODAY);
+    assertEquals(List.of(LocalDate.of(2025, 1, 6), LocalDate.of(2025, 1, 20), TODAY),
+        List.copyOf(weeks.keySet()));
+
+    NavigableMap<LocalDate, Map<Unit, Usage>> months = usageRollups.getMonthlyTotals(fromDate, TODAY);
+    assertEquals(2, months.size());
+    Map<Unit, Usage> january = months.get(fromDate);
+    assertEquals(0, BigDecimal.valueOf(20).compareTo(january.get(Unit.LITER).getWastedValue()));
+    assertEquals(0, BigDecimal.valueOf(3).compareTo(january.get(Unit.PCS).getWastedQuantity()));
+    assertFalse(months.get(LocalDate.of(2025, 2, 1)).containsKey(Unit.PCS));
+  }
+
+  /**
+   * Positive test for <code>getBuckets</code> and <code>restore</code>.
+   * Will check that totals restored from the buckets match the original totals.
+   */
+  @Test
+  void restorePositiveTest() {
+    UsageRollups restored = new UsageRollups();
+    usageRollups.getBuckets().forEach(restored::restore);
+
+    assertEquals(3, restored.getBuckets().size());
+    assertEquals(0, BigDecimal.valueOf(10).compareTo(
+        restored.getTotalsByUnit(TODAY, TODAY).get(Unit.LITER).getConsumedValue()));
+  }
+
+  /**
+   * Negative test for the reports.
+   * @throws IllegalArgumentException should be thrown, because the dates are invalid.
+   */
+  @Test
+  void getTotalsNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> usageRollups.getTotalsByUnit(TODAY, null));
+    assertThrows(IllegalArgumentException.class,
+        () -> usageRollups.getWeeklyTotals(TODAY, TODAY.minusDays(1)));
+    assertThrows(IllegalArgumentException.class, () -> usageRollups.restore(null));
+  }
+}
@@ -0,0 +1,130 @@
+package edu.ntnu.idi.bidata.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Benchmark that compares the old <code>BigDecimal</code> arithmetic of the storage with
+ * the fixed-point arithmetic in <code>FixedPoint</code>.
+ * Three paths are measured: merging a lot, taking part of a lot, and summing values.
+ * The class is not a unit test, and is run by hand through its main method.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+public class FixedPointBenchmark {
+  private static final int LOTS = 1_000;
+  private static final int WARMUP_ROUNDS = 5;
+  private static final int MEASURED_ROUNDS = 10;
+  private static final int OPERATIONS_PER_ROUND = 2_000;
+
+  private FixedPointBenchmark() {
+    // Private constructor to prevent instantiation.
+  }
+
+  /**
+   * Runs the benchmark and prints the time per operation for each path.
+   *
+   * @param args Not used.
+   */
+  public static void main(String[] args) {
+    BigDecimal[] decimalQuantities = new BigDecimal[LOTS];
+    BigDecimal[] decimalPrices = new BigDecimal[LOTS];
+    long[] quantities = new long[LOTS];
+    long[] prices = new long[LOTS];
+    for (int i = 0; i < LOTS; i++) {
+      decimalQuantities[i] = BigDecimal.valueOf(100 + i % 37, 2).add(BigDecimal.ONE);
+      decimalPrices[i] = BigDecimal.valueOf(1999 + i * 13L, 2);
+      quantities[i] = FixedPoint.of(decimalQuantities[i]);
+      prices[i] = FixedPoint.of(decimalPrices[i]);
+    }
+
+    report("merge, BigDecimal", () -> {
+      BigDecimal quantity = BigDecimal.ZERO;
+      BigDecimal price = BigDecimal.ZERO;
+      for (int i = 0; i < LOTS; i++) {
+        quantity = quantity.add(decimalQuantities[i]).setScale(2, RoundingMode.HALF_UP);
+        price = price.add(decimalPrices[i]).setScale(2, RoundingMode.HALF_UP);
+      }
+      return quantity.add(price).longValue();
+    });
+    report("merge, fixed-point", () -> {
+      long quantity = 0;
+      long price = 0;
+      for (int i = 0; i < LOTS; i++) {
+        quantity = Math.addExact(quantity, quantities[i]);
+        price = Math.addExact(price, prices[i]);
+      }
+      return quantity + price;
+    });
+    report("partial removal, BigDecimal", () -> {
+      long checksum = 0;
+      for (int i = 0; i < LOTS; i++) {
+        BigDecimal pricePerUnit = decimalPrices[i].divide(decimalQuantities[i], RoundingMode.HALF_UP);
+        BigDecimal remaining = decimalQuantities[i].subtract(BigDecimal.ONE);
+        checksum += pricePerUnit.multiply(remaining).setScale(2, RoundingMode.HALF_UP)
+            .unscaledValue().longValue();
+      }
+      return checksum;
+    });
+    report("partial removal, fixed-point", () -> {
+      long checksum = 0;
+      for (int i = 0; i < LOTS; i++) {
+        long remaining = quantities[i] - FixedPoint.ONE;
+        checksum += FixedPoint.multiplyDivide(prices[i], remaining, quantities[i]);
+      }
+      return checksum;
+    });
+    report("sum, BigDecimal", () -> {
+      BigDecimal total = BigDecimal.ZERO;
+      for (BigDecimal price : decimalPrices) {
+        total = total.add(price);
+      }
+      return total.longValue();
+    });
+    report("sum, fixed-point", () -> {
+      long total = 0;
+      for (long price : prices) {
+        total += price;
+      }
+      return total;
+    });
+  }
+
+  /**
+   * Runs a path a number of rounds, and prints the average time per lot.
+   *
+   * @param label The name of the path.
+   * @param path The path to measure. It visits every lot once and returns a checksum.
+   */
+  private static void report(String label, Path path) {
+    long checksum = 0;
+    for (int round = 0; round < WARMUP_ROUNDS; round++) {
+      for (int operation = 0; operation < OPERATIONS_PER_ROUND; operation++) {
+        checksum += path.run();
+      }
+    }
+    long start = System.nanoTime();
+    for (int round = 0; round < MEASURED_ROUNDS; round++) {
+      for (int operation = 0; operation < OPERATIONS_PER_ROUND; operation++) {
+        checksum += path.run();
+      }
+    }
+    long elapsed = System.nanoTime() - start;
+    double nanosPerLot = (double) elapsed / ((long) MEASURED_ROUNDS * OPERATIONS_PER_ROUND * LOTS);
+    System.out.printf("%-30s %8.2f ns/lot (checksum %d)%n", label, nanosPerLot, checksum);
+  }
+
+  /**
+   * A measured path, that returns a checksum so the work is not removed by the compiler.
+   */
+  @FunctionalInterface
+  private interface Path {
+    /**
+     * Runs the path once over every lot.
+     *
+     * @return A checksum of the result.
+     */
+    long run();
+  }
+}
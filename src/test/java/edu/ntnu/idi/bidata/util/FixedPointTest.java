@@ -0,0 +1,72 @@
+package edu.ntnu.idi.bidata.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+
+/**
+ * Test class for <code>FixedPoint</code>.
+ * Checks conversion to and from <code>BigDecimal</code>, and that scaling rounds exactly.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class FixedPointTest {
+
+  /**
+   * Positive test for <code>of</code>.
+   * Will check that decimals are rounded half up to hundredths.
+   */
+  @Test
+  void ofPositiveTest() {
+    assertEquals(125, FixedPoint.of(new BigDecimal("1.25")));
+    assertEquals(113, FixedPoint.of(new BigDecimal("1.125")));
+    assertEquals(-113, FixedPoint.of(new BigDecimal("-1.125")));
+    assertEquals(500, FixedPoint.of(BigDecimal.valueOf(5)));
+  }
+
+  /**
+   * Negative test for <code>of</code>.
+   * @throws IllegalArgumentException should be thrown, because the value is too large for a long.
+   */
+  @Test
+  void ofNegativeTest() {
+    BigDecimal tooLarge = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    assertThrows(IllegalArgumentException.class, () -> FixedPoint.of(tooLarge));
+  }
+
+  /**
+   * Positive test for <code>toBigDecimal</code>.
+   * Will check that the value is returned with two decimals.
+   */
+  @Test
+  void toBigDecimalPositiveTest() {
+    assertEquals(new BigDecimal("1.25"), FixedPoint.toBigDecimal(125));
+    assertEquals(new BigDecimal("0.00"), FixedPoint.toBigDecimal(0));
+  }
+
+  /**
+   * Positive test for <code>multiplyDivide</code>.
+   * Will check that the result is rounded once, half up, and that large products do not overflow.
+   */
+  @Test
+  void multiplyDividePositiveTest() {
+    assertEquals(667, FixedPoint.multiplyDivide(1000, 200, 300));
+    assertEquals(333, FixedPoint.multiplyDivide(1000, 100, 300));
+    assertEquals(-667, FixedPoint.multiplyDivide(-1000, 200, 300));
+    assertEquals(5, FixedPoint.multiplyDivide(9, 1, 2));
+    assertEquals(Long.MAX_VALUE / 2,
+        FixedPoint.multiplyDivide(Long.MAX_VALUE / 2, 1_000_000, 1_000_000));
+  }
+
+  /**
+   * Negative test for <code>multiplyDivide</code>.
+   * @throws ArithmeticException should be thrown, because the divisor is zero.
+   */
+  @Test
+  void multiplyDivideNegativeTest() {
+    assertThrows(ArithmeticException.class, () -> FixedPoint.multiplyDivide(100, 100, 0));
+  }
+}
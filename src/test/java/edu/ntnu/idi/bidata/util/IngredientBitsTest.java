@@ -0,0 +1,84 @@
+package edu.ntnu.idi.bidata.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>IngredientBits</code> and <code>IngredientIds</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class IngredientBitsTest {
+  /**
+   * Positive test for <code>idOf</code>.
+   * Will check that a name keeps its number, that different names get different numbers,
+   * and that every instance numbers names on its own, from zero.
+   */
+  @Test
+  void idOfPositiveTest() {
+    IngredientIds ingredientIds = new IngredientIds();
+    int milk = ingredientIds.idOf("milk");
+    int ham = ingredientIds.idOf("ham");
+
+    assertEquals(milk, ingredientIds.idOf("milk"));
+    assertEquals(0, milk);
+    assertEquals(1, ham);
+    assertEquals(2, ingredientIds.size());
+    assertEquals(0, new IngredientIds().idOf("ham"));
+  }
+
+  /**
+   * Positive test for <code>with</code>, <code>clear</code>, <code>containsAll</code>
+   * and <code>intersects</code>.
+   * Will check the set operations on sets of different lengths, with bits past the first word.
+   */
+  @Test
+  void setOperationsPositiveTest() {
+    long[] bits = IngredientBits.with(new long[0], 3);
+    bits = IngredientBits.with(bits, 130);
+    assertEquals(3, bits.length);
+    long[] subset = IngredientBits.with(new long[0], 130);
+
+    assertTrue(IngredientBits.containsAll(bits, subset));
+    assertTrue(IngredientBits.containsAll(bits, new long[0]));
+    assertFalse(IngredientBits.containsAll(subset, bits));
+    assertTrue(IngredientBits.intersects(bits, subset));
+
+    IngredientBits.clear(bits, 130);
+    IngredientBits.clear(bits, 1_000);
+    assertFalse(IngredientBits.containsAll(bits, subset));
+    assertFalse(IngredientBits.intersects(bits, subset));
+    assertTrue(IngredientBits.containsAll(bits, IngredientBits.with(new long[1], 3)));
+  }
+
+  /**
+   * Positive test for <code>of</code>.
+   * Will check that the set of names holds the numbers of the names, and that a name without
+   * a number is left out without being given one.
+   */
+  @Test
+  void ofPositiveTest() {
+    IngredientIds ingredientIds = new IngredientIds();
+    long[] rice = IngredientBits.with(new long[0], ingredientIds.idOf("rice"));
+    ingredientIds.idOf("salt");
+    long[] bits = IngredientBits.of(List.of("rice", "salt", "pepper"), ingredientIds);
+
+    assertTrue(IngredientBits.containsAll(bits, rice));
+    assertFalse(IngredientBits.containsAll(rice, bits));
+    assertEquals(-1, ingredientIds.find("pepper"));
+    assertEquals(2, ingredientIds.size());
+  }
+
+  /**
+   * Negative test for <code>idOf</code>.
+   * @throws IllegalArgumentException should be thrown, because the name is null.
+   */
+  @Test
+  void idOfNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> new IngredientIds().idOf(null));
+  }
+}
@@ -0,0 +1,89 @@
+package edu.ntnu.idi.bidata.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for <code>NameIndex</code>.
+ *
+ * @author Mathias Erik Nord
+ * @version 1.0.0
+ */
+class NameIndexTest {
+  private NameIndex nameIndex;
+
+  /**
+   * Sets up an index with a few names before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    nameIndex = new NameIndex();
+    for (String name : List.of("Milk", "Milk chocolate", "Mint", "Minced meat", "Ham", "Rice")) {
+      nameIndex.add(name);
+    }
+  }
+
+  /**
+   * Positive test for <code>startingWith</code>.
+   * Will check that names are found in alphabetical order regardless of case,
+   * and that the limit is respected.
+   */
+  @Test
+  void startingWithPositiveTest() {
+    assertEquals(List.of("Milk", "Milk chocolate", "Minced meat", "Mint"),
+        nameIndex.startingWith("mi", 10));
+    assertEquals(List.of("Milk", "Milk chocolate"), nameIndex.startingWith("MI", 2));
+    assertEquals(6, nameIndex.startingWith("", 10).size());
+    assertTrue(nameIndex.startingWith("Salmon", 10).isEmpty());
+  }
+
+  /**
+   * Positive test for <code>closeTo</code>.
+   * Will check that names with a typo are found, the closest first.
+   */
+  @Test
+  void closeToPositiveTest() {
+    assertEquals(List.of("Milk"), nameIndex.closeTo("Mlik", 2, 10));
+    assertEquals(List.of("Milk", "Mint"), nameIndex.closeTo("Mink", 1, 10));
+    assertEquals(List.of("Rice"), nameIndex.closeTo("rise", 1, 10));
+    assertEquals(List.of("Ham"), nameIndex.closeTo("ham", 0, 10));
+    assertTrue(nameIndex.closeTo("Salmon", 2, 10).isEmpty());
+    assertEquals(1, nameIndex.closeTo("Mink", 1, 1).size());
+  }
+
+  /**
+   * Positive test for <code>remove</code> and <code>removeAll</code>.
+   * Will check that removed names are no longer found, and that names sharing a prefix or a
+   * canonical name are kept.
+   */
+  @Test
+  void removePositiveTest() {
+    nameIndex.add("milk");
+    assertEquals(7, nameIndex.size());
+
+    assertTrue(nameIndex.remove("Milk"));
+    assertTrue(nameIndex.contains("MILK"));
+    assertEquals(1, nameIndex.removeAll("MILK"));
+    assertFalse(nameIndex.contains("Milk"));
+    assertEquals(List.of("Milk chocolate"), nameIndex.startingWith("milk", 10));
+
+    assertFalse(nameIndex.remove("Milk"));
+    assertFalse(nameIndex.add("Ham"));
+    assertEquals(5, nameIndex.size());
+  }
+
+  /**
+   * Negative test for <code>NameIndex</code>.
+   * @throws IllegalArgumentException should be thrown, because the arguments are invalid.
+   */
+  @Test
+  void nameIndexNegativeTest() {
+    assertThrows(IllegalArgumentException.class, () -> nameIndex.add(null));
+    assertThrows(IllegalArgumentException.class, () -> nameIndex.startingWith("mi", 0));
+    assertThrows(IllegalArgumentException.class, () -> nameIndex.closeTo("mi", -1, 10));
+  }
+}